@@ -0,0 +1,156 @@
+package com.app.suggestly;
+
+import android.app.Application;
+import android.os.StrictMode;
+import android.os.SystemClock;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Observer;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.app.suggestly.app.Repository;
+import com.app.suggestly.app.scheduler.SuggestlySchedulers;
+import com.app.suggestly.app.subscription.SubscriptionScope;
+import com.app.suggestly.utility.Config;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Calls the Repository read APIs from the main thread under a StrictMode policy that kills the
+ * process on any disk access, while every database thread is held busy. An API that waits on
+ * the database pools would hang here, so each call has to return well inside a frame, starting
+ * and stopping to observe its result must not touch the database either, and the result has to
+ * arrive once the pools are released.
+ */
+@RunWith(AndroidJUnit4.class)
+public class MainThreadReadTest {
+    private static final long MAX_CALL_MILLIS = 16;
+    private static final long RESULT_TIMEOUT_SECONDS = 10;
+
+    private Repository repository;
+    private SubscriptionScope scope;
+    private CountDownLatch release;
+
+    @Before
+    public void setUp() throws InterruptedException {
+        Application application = (Application) InstrumentationRegistry.getInstrumentation().getTargetContext().getApplicationContext();
+        repository = Repository.getInstance(application);
+        scope = new SubscriptionScope("main-thread-read-test");
+
+        release = new CountDownLatch(1);
+        occupy(SuggestlySchedulers.dbReadExecutor());
+        occupy(SuggestlySchedulers.dbWriteExecutor());
+    }
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        scope.dispose();
+    }
+
+    @Test
+    public void readsNeverWaitOnTheMainThread() throws InterruptedException {
+        Map<String, LiveData<?>> results = new LinkedHashMap<>();
+        List<String> slowCalls = new ArrayList<>();
+
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            StrictMode.ThreadPolicy previous = StrictMode.getThreadPolicy();
+            StrictMode.setThreadPolicy(new StrictMode.ThreadPolicy.Builder()
+                    .detectDiskReads()
+                    .detectDiskWrites()
+                    .penaltyLog()
+                    .penaltyDeath()
+                    .build());
+            try{
+                results.put("readSavedVenues", timed(slowCalls, "readSavedVenues", () -> repository.readSavedVenues(scope)));
+                results.put("readSavedBooks", timed(slowCalls, "readSavedBooks", () -> repository.readSavedBooks(scope)));
+                results.put("readFavoriteVenues", timed(slowCalls, "readFavoriteVenues", () -> repository.readFavoriteVenues(scope)));
+                results.put("readFavoriteBooks", timed(slowCalls, "readFavoriteBooks", () -> repository.readFavoriteBooks(scope)));
+                results.put("readRecommendedVenuesLiveData", timed(slowCalls, "readRecommendedVenuesLiveData", () -> repository.readRecommendedVenuesLiveData(scope)));
+                results.put("readNewYorkTimesBestsellingListLiveData", timed(slowCalls, "readNewYorkTimesBestsellingListLiveData",
+                        () -> repository.readNewYorkTimesBestsellingListLiveData(scope, Config.HARD_COVER_FICTION)));
+                results.put("readNewYorkTimesBestsellingListLimitThree", timed(slowCalls, "readNewYorkTimesBestsellingListLimitThree",
+                        () -> repository.readNewYorkTimesBestsellingListLimitThree(scope, "", Config.HARD_COVER_FICTION)));
+
+                results.put("readVenuesDetails", timed(slowCalls, "readVenuesDetails", () -> repository.readVenuesDetails("")));
+                results.put("readSimilarVenuesLiveData", timed(slowCalls, "readSimilarVenuesLiveData", () -> repository.readSimilarVenuesLiveData("")));
+                // becoming active and inactive registers with Room's invalidation tracker
+                for(Map.Entry<String, LiveData<?>> result : results.entrySet()){
+                    timed(slowCalls, "observe " + result.getKey(), () -> observeOnce(result.getValue()));
+                }
+                timed(slowCalls, "readRecommendedVenuesDataFactoryHomeFragment", () -> repository.readRecommendedVenuesDataFactoryHomeFragment());
+                timed(slowCalls, "readVenuesUsingCategoryDataFactoryHomeFragment", () -> repository.readVenuesUsingCategoryDataFactoryHomeFragment(Config.FOOD));
+                timed(slowCalls, "readRelatedCategories", () -> repository.readRelatedCategories(scope, Config.FOOD));
+                timed(slowCalls, "readNewYorkTimesBestsellingListHomeFragment", () -> repository.readNewYorkTimesBestsellingListHomeFragment(Config.HARD_COVER_FICTION));
+                timed(slowCalls, "suggestlySearch", () -> repository.suggestlySearch("coffee"));
+            }finally {
+                StrictMode.setThreadPolicy(previous);
+            }
+        });
+
+        assertTrue("calls waited on the main thread: " + slowCalls, slowCalls.isEmpty());
+
+        release.countDown();
+        for(Map.Entry<String, LiveData<?>> result : results.entrySet()){
+            assertTrue(result.getKey() + " never delivered", awaitValue(result.getValue()));
+        }
+    }
+
+    private <T> T timed(List<String> slowCalls, String name, Call<T> call){
+        long start = SystemClock.elapsedRealtime();
+        T result = call.run();
+        long elapsed = SystemClock.elapsedRealtime() - start;
+        if(elapsed > MAX_CALL_MILLIS){
+            slowCalls.add(name + " " + elapsed + "ms");
+        }
+        return result;
+    }
+
+    private boolean observeOnce(LiveData<?> liveData){
+        Observer<Object> observer = value -> {};
+        liveData.observeForever(observer);
+        liveData.removeObserver(observer);
+        return true;
+    }
+
+    private boolean awaitValue(LiveData<?> liveData) throws InterruptedException {
+        CountDownLatch delivered = new CountDownLatch(1);
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> liveData.observeForever(value -> delivered.countDown()));
+        return delivered.await(RESULT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private void occupy(ExecutorService executorService) throws InterruptedException {
+        int threads = ((ThreadPoolExecutor) executorService).getMaximumPoolSize();
+        CountDownLatch started = new CountDownLatch(threads);
+        for(int i = 0; i < threads; i++){
+            executorService.execute(() -> {
+                started.countDown();
+                try{
+                    release.await();
+                }catch (InterruptedException e){
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        started.await(RESULT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private interface Call<T> {
+        T run();
+    }
+}
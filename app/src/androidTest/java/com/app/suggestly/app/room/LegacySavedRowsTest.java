@@ -0,0 +1,97 @@
+package com.app.suggestly.app.room;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.app.suggestly.app.model.nyt.Book;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Upgrades a file laid out like the last release (version 41, string keys) and checks that the
+ * saved venues and books are still there after the destructive upgrade to the keyed schema.
+ */
+@RunWith(AndroidJUnit4.class)
+public class LegacySavedRowsTest {
+    private static final String DATABASE_NAME = "legacy-saved-rows-test";
+    private static final String UID = "legacy-user";
+
+    private Context context;
+    private RoomDB database;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(DATABASE_NAME);
+    }
+
+    @After
+    public void tearDown() {
+        if(database != null){
+            database.close();
+        }
+        context.deleteDatabase(DATABASE_NAME);
+    }
+
+    @Test
+    public void savedRowsSurviveTheKeyedUpgrade() {
+        File file = context.getDatabasePath(DATABASE_NAME);
+        file.getParentFile().mkdirs();
+        SQLiteDatabase legacy = SQLiteDatabase.openOrCreateDatabase(file, null);
+        legacy.execSQL("CREATE TABLE Venue (id TEXT NOT NULL, venue_category_id TEXT NOT NULL, venue_name TEXT, "
+                + "venue_verified INTEGER NOT NULL, is_venue_recommended INTEGER, PRIMARY KEY(id))");
+        legacy.execSQL("CREATE TABLE UserSavedVenue (uid TEXT NOT NULL, vid TEXT NOT NULL, is_saved INTEGER NOT NULL DEFAULT false, "
+                + "is_favorite INTEGER NOT NULL DEFAULT false, PRIMARY KEY(uid, vid))");
+        legacy.execSQL("CREATE TABLE Book (primaryIsbn13 TEXT NOT NULL, title TEXT, PRIMARY KEY(primaryIsbn13))");
+        legacy.execSQL("CREATE TABLE UserSavedBook (uid TEXT NOT NULL, bid TEXT NOT NULL, is_saved INTEGER NOT NULL DEFAULT false, "
+                + "is_favorite INTEGER NOT NULL DEFAULT false, PRIMARY KEY(uid, bid))");
+        legacy.execSQL("INSERT INTO Venue VALUES ('saved-venue', 'pizza', 'Saved', 1, 0), ('other-venue', 'pizza', 'Other', 0, 0)");
+        legacy.execSQL("INSERT INTO UserSavedVenue VALUES ('" + UID + "', 'saved-venue', 1, 1)");
+        legacy.execSQL("INSERT INTO Book VALUES ('9780000000001', 'Saved Book')");
+        legacy.execSQL("INSERT INTO UserSavedBook VALUES ('" + UID + "', '9780000000001', 1, 0)");
+        legacy.setVersion(41);
+        legacy.close();
+
+        LegacySavedRows.salvage(file);
+        database = Room.databaseBuilder(context, RoomDB.class, DATABASE_NAME)
+                .fallbackToDestructiveMigration()
+                .addCallback(LegacySavedRows.RESTORE)
+                .build();
+
+        List<String> venues = new ArrayList<>();
+        try(Cursor cursor = database.query("SELECT v.id, s.is_favorite FROM UserSavedVenue s JOIN Venue v ON(v.venue_key = s.venue_key) "
+                + "WHERE s.uid = ? AND s.is_saved = 1", new Object[]{UID})){
+            while(cursor.moveToNext()){
+                venues.add(cursor.getString(0));
+                assertEquals(1, cursor.getInt(1));
+            }
+        }
+        assertEquals(1, venues.size());
+        assertEquals("saved-venue", venues.get(0));
+
+        List<Book> books = database.getUserDao().readSavedBook(UID);
+        assertEquals(1, books.size());
+        assertEquals("9780000000001", books.get(0).getPrimaryIsbn13());
+
+        try(Cursor cursor = database.query("SELECT name FROM sqlite_master WHERE name LIKE 'Legacy%'", null)){
+            assertFalse(cursor.moveToFirst());
+        }
+        assertTrue(database.getFoursquareDao().readVenue("saved-venue") != null);
+    }
+}
@@ -0,0 +1,230 @@
+package com.app.suggestly.app.sync;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+import androidx.work.Configuration;
+import androidx.work.ListenableWorker;
+import androidx.work.WorkInfo;
+import androidx.work.WorkManager;
+import androidx.work.WorkerFactory;
+import androidx.work.WorkerParameters;
+import androidx.work.testing.SynchronousExecutor;
+import androidx.work.testing.TestDriver;
+import androidx.work.testing.WorkManagerTestInitHelper;
+
+import com.app.suggestly.app.category.CategoryHierarchyStore;
+import com.app.suggestly.app.model.foursquare.Category;
+import com.app.suggestly.app.model.foursquare.Venue;
+import com.app.suggestly.app.model.relations.VenueAndCategory;
+import com.app.suggestly.app.model.user.LocationTuple;
+import com.app.suggestly.app.model.user.SavedToggle;
+import com.app.suggestly.app.network.retrofit.FixtureNaming;
+import com.app.suggestly.app.network.retrofit.FoursquareService;
+import com.app.suggestly.app.network.retrofit.NewYorkTimesService;
+import com.app.suggestly.app.network.retrofit.ServiceFactory;
+import com.app.suggestly.app.refresh.HomeRefresh;
+import com.app.suggestly.app.room.RoomDB;
+import com.app.suggestly.app.source.FoursquareSource;
+import com.app.suggestly.app.source.NewYorkTimesSource;
+import com.app.suggestly.app.source.UserSource;
+import com.app.suggestly.utility.Config;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the periodic sync the way WorkManager would: the work is enqueued through
+ * SuggestlySyncScheduler, its constraints and period are met through the TestDriver and the
+ * worker runs one BackgroundSync pass against an in-memory database and a local server that
+ * answers with the recorded API fixtures.
+ */
+@RunWith(AndroidJUnit4.class)
+public class SuggestlySyncWorkerTest {
+    private static final String UID = "sync-worker-test";
+    private static final String VENUE_ID = "49b7ed6df964a52030531fe3";
+    private static final String CATEGORY_ID = "4bf58dd8d48988d1ca941735";
+
+    private Context context;
+    private MockWebServer server;
+    private FixtureDispatcher dispatcher;
+    private RoomDB database;
+    private SuggestlySyncWorker.Pass pass;
+
+    @Before
+    public void setUp() throws IOException {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        dispatcher = new FixtureDispatcher();
+        server = new MockWebServer();
+        server.setDispatcher(dispatcher);
+        server.start();
+        ServiceFactory.overrideBaseUrl(server.url("/").toString());
+        database = Room.inMemoryDatabaseBuilder(context, RoomDB.class).build();
+
+        Configuration configuration = new Configuration.Builder()
+                .setMinimumLoggingLevel(Log.DEBUG)
+                .setExecutor(new SynchronousExecutor())
+                .setWorkerFactory(new WorkerFactory() {
+                    @Override
+                    public ListenableWorker createWorker(@NonNull Context appContext, @NonNull String workerClassName,
+                                                         @NonNull WorkerParameters workerParameters) {
+                        return new SuggestlySyncWorker(appContext, workerParameters, pass);
+                    }
+                })
+                .build();
+        WorkManagerTestInitHelper.initializeTestWorkManager(context, configuration);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        database.close();
+        ServiceFactory.overrideBaseUrl(null);
+        server.shutdown();
+    }
+
+    @Test
+    public void syncRefreshesRegionListsAndSavedDetails() throws Exception {
+        saveVenue();
+        BackgroundSync backgroundSync = buildBackgroundSync();
+        LocationTuple location = new LocationTuple();
+        location.lat = 40.7484;
+        location.lng = -73.9857;
+        List<BackgroundSync.Report> reports = new ArrayList<>();
+        pass = () -> {
+            BackgroundSync.Report report = backgroundSync.run(location);
+            reports.add(report);
+            return report;
+        };
+
+        WorkInfo workInfo = runScheduledWork();
+
+        assertEquals(WorkInfo.State.ENQUEUED, workInfo.getState());
+        assertEquals(0, workInfo.getRunAttemptCount());
+        assertEquals(1, reports.size());
+        BackgroundSync.Report report = reports.get(0);
+        assertEquals(0, report.failures);
+        assertTrue(report.venues > 0);
+        assertTrue(report.books > 0);
+        assertEquals(1, report.details);
+
+        assertTrue(database.getFoursquareDao().readVenue(VENUE_ID).hasDetails);
+        assertEquals(NewYorkTimesSync.LISTS.size(), database.getNewYorkTimesDAO().readBookListSync(NewYorkTimesSync.LISTS).size());
+        assertTrue(dispatcher.paths.contains("/svc/books/v3/lists/overview.json"));
+        assertTrue(dispatcher.paths.contains("/v2/venues/" + VENUE_ID));
+        assertEquals(0, dispatcher.missing.get());
+    }
+
+    @Test
+    public void failedPassIsRetried() throws Exception {
+        pass = () -> {
+            throw new IllegalStateException("database unavailable");
+        };
+
+        WorkInfo workInfo = runScheduledWork();
+
+        assertEquals(WorkInfo.State.ENQUEUED, workInfo.getState());
+        assertEquals(1, workInfo.getRunAttemptCount());
+    }
+
+    private WorkInfo runScheduledWork() throws Exception {
+        SuggestlySyncScheduler.schedule(context);
+        WorkManager workManager = WorkManager.getInstance(context);
+        UUID id = workManager.getWorkInfosForUniqueWork(SuggestlySyncScheduler.SYNC_WORK_NAME).get().get(0).getId();
+
+        TestDriver testDriver = WorkManagerTestInitHelper.getTestDriver(context);
+        testDriver.setAllConstraintsMet(id);
+        testDriver.setPeriodDelayMet(id);
+        return workManager.getWorkInfoById(id).get();
+    }
+
+    private BackgroundSync buildBackgroundSync(){
+        FoursquareSource foursquareSource = new FoursquareSource(database.getFoursquareDao(), database.getFoursquareCategoryDao(),
+                database.getTileCoverageDao(), ServiceFactory.getFoursquareClient(Config.FOURSQUARE_BASE_URL, FoursquareService.class));
+        NewYorkTimesSource newYorkTimesSource = new NewYorkTimesSource(
+                ServiceFactory.getNewYorkTimesClient(Config.NEW_YORK_TIMES_BASE_URL, NewYorkTimesService.class), database.getNewYorkTimesDAO());
+        // the signed in user comes from Firebase, the test reads its saved venues directly
+        UserSource userSource = new UserSource(database.getUserDao(), database.getFoursquareDao(),
+                database.getNewYorkTimesDAO(), new CategoryHierarchyStore(null)) {
+            @Override
+            public List<VenueAndCategory> readSavedVenuesSync() {
+                return database.getUserDao().readSavedVenues(UID);
+            }
+        };
+        return new BackgroundSync(new HomeRefresh(foursquareSource), foursquareSource, new NewYorkTimesSync(newYorkTimesSource), userSource);
+    }
+
+    private void saveVenue(){
+        Category category = new Category();
+        category.id = CATEGORY_ID;
+        category.name = "Pizza Place";
+        database.getFoursquareCategoryDao().createCategories(Collections.singletonList(category));
+
+        Venue venue = new Venue();
+        venue.venueId = VENUE_ID;
+        venue.categoryId = CATEGORY_ID;
+        venue.name = "Saved Venue";
+        database.getFoursquareDao().create(venue);
+
+        SavedToggle toggle = new SavedToggle(UID, VENUE_ID);
+        toggle.save(true);
+        database.getUserDao().applyVenueToggles(Collections.singletonList(toggle));
+    }
+
+    private static class FixtureDispatcher extends Dispatcher {
+        final List<String> paths = Collections.synchronizedList(new ArrayList<>());
+        final AtomicInteger missing = new AtomicInteger();
+
+        @NonNull
+        @Override
+        public MockResponse dispatch(@NonNull RecordedRequest request) {
+            HttpUrl url = request.getRequestUrl();
+            String path = url.encodedPath();
+            paths.add(path);
+
+            String name;
+            if(path.matches("/v2/venues/[^/]+/similar")){
+                name = "GET_v2_venues_similar";
+            }else if(path.matches("/v2/venues/(?!search$|categories$)[^/]+")){
+                name = "GET_v2_venues_details";
+            }else{
+                name = FixtureNaming.pathName(request.getMethod(), url);
+            }
+
+            try(InputStream inputStream = SuggestlySyncWorkerTest.class.getResourceAsStream("/fixtures/" + name + ".json")){
+                if(inputStream == null){
+                    missing.incrementAndGet();
+                    return new MockResponse().setResponseCode(404);
+                }
+                Buffer buffer = new Buffer();
+                buffer.readFrom(inputStream);
+                return new MockResponse().setHeader("Content-Type", "application/json").setBody(buffer);
+            }catch (IOException e){
+                return new MockResponse().setResponseCode(500);
+            }
+        }
+    }
+}
@@ -26,6 +26,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class HomeBookAdapter extends PagedListAdapter<Book, HomeBookAdapter.HomeViewHolder> {
+    public static final int VIEW_TYPE = 2;
 
     private final BookSelectedListener listener;
     private final SaveCallback saveVenueListener;
@@ -37,6 +38,11 @@ public class HomeBookAdapter extends PagedListAdapter<Book, HomeBookAdapter.Home
         this.saved = new ArrayList<>();
     }
 
+    @Override
+    public int getItemViewType(int position) {
+        return VIEW_TYPE;
+    }
+
     @NonNull
     @Override
     public HomeViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -61,6 +67,7 @@ public class HomeBookAdapter extends PagedListAdapter<Book, HomeBookAdapter.Home
     public void setSavedList(List<Book> saved){
         this.saved.clear();
         this.saved.addAll(saved);
+        notifyDataSetChanged();
     }
 
     public class HomeViewHolder extends RecyclerView.ViewHolder {
@@ -86,11 +93,15 @@ public class HomeBookAdapter extends PagedListAdapter<Book, HomeBookAdapter.Home
         }
 
         public void bindSavedImage(@NotNull Book book){
+            boolean isSaved = false;
             for(Book temp: saved){
                 if(temp.getId().equals(book.getId())){
-                    binding.saveImage.setChecked(true);
+                    isSaved = true;
+                    break;
                 }
             }
+            binding.saveImage.setOnCheckedChangeListener(null);
+            binding.saveImage.setChecked(isSaved);
         }
 
         public void bindSavedAnimation(Book book) {
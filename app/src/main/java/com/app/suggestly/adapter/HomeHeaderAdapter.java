@@ -0,0 +1,79 @@
+package com.app.suggestly.adapter;
+
+import android.view.LayoutInflater;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.databinding.DataBindingUtil;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.swiperefreshlayout.widget.CircularProgressDrawable;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.load.engine.DiskCacheStrategy;
+import com.app.suggestly.R;
+import com.app.suggestly.app.model.nyt.Book;
+import com.app.suggestly.callbacks.DetailsCallback;
+import com.app.suggestly.databinding.RowItemHomeHeaderBinding;
+
+public class HomeHeaderAdapter extends RecyclerView.Adapter<HomeHeaderAdapter.HeaderViewHolder> {
+    public static final int VIEW_TYPE = R.layout.row_item_home_header;
+
+    private final DetailsCallback details;
+    private Book topSuggestion;
+
+    public HomeHeaderAdapter(DetailsCallback details) {
+        this.details = details;
+    }
+
+    public void setTopSuggestion(Book book){
+        topSuggestion = book;
+        notifyItemChanged(0);
+    }
+
+    @Override
+    public int getItemCount() {
+        return 1;
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        return VIEW_TYPE;
+    }
+
+    @NonNull
+    @Override
+    public HeaderViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        RowItemHomeHeaderBinding binding = DataBindingUtil.inflate(LayoutInflater.from(parent.getContext()), R.layout.row_item_home_header, parent, false);
+        return new HeaderViewHolder(binding);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull HeaderViewHolder holder, int position) {
+        if(topSuggestion != null){
+            holder.bind(topSuggestion);
+        }
+    }
+
+    public class HeaderViewHolder extends RecyclerView.ViewHolder {
+        private final RowItemHomeHeaderBinding binding;
+
+        public HeaderViewHolder(@NonNull RowItemHomeHeaderBinding binding) {
+            super(binding.getRoot());
+            this.binding = binding;
+            binding.setDetails(details);
+        }
+
+        public void bind(@NonNull Book book){
+            CircularProgressDrawable circularProgressDrawable = new CircularProgressDrawable(binding.getRoot().getContext());
+            circularProgressDrawable.start();
+            binding.titleMainTitle.setText(book.getTitleWithAuthor());
+            binding.titleTopSuggestionDescription.setText(book.getDescription());
+            binding.setSuggestion(book);
+            Glide.with(binding.getRoot())
+                    .load(book.getBookImage())
+                    .placeholder(circularProgressDrawable)
+                    .diskCacheStrategy(DiskCacheStrategy.ALL)
+                    .into(binding.imageTopSuggestion);
+        }
+    }
+}
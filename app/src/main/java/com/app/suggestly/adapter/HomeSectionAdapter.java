@@ -0,0 +1,156 @@
+package com.app.suggestly.adapter;
+
+import android.os.Parcelable;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.StringRes;
+import androidx.databinding.DataBindingUtil;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.app.suggestly.R;
+import com.app.suggestly.callbacks.MoreCallback;
+import com.app.suggestly.databinding.RowItemHomeSectionBinding;
+import com.app.suggestly.utility.SuggestionType;
+
+import java.util.List;
+
+/*
+ * One carousel row of the home feed. Every section returns the same view type, so inside a
+ * ConcatAdapter that does not isolate view types a row scrolled off screen is rebound for the
+ * next section instead of inflating another, and all carousels take their cards from one
+ * RecycledViewPool. Nothing is queried up front: onRequest runs the first time RecyclerView
+ * binds the row, which happens when it is laid out or prefetched just ahead of the viewport,
+ * or earlier if the owner calls request() to load the section ahead of scrolling.
+ */
+public class HomeSectionAdapter extends RecyclerView.Adapter<HomeSectionAdapter.SectionViewHolder> {
+    public static final int VIEW_TYPE = R.layout.row_item_home_section;
+    private static final int CAROUSEL_INITIAL_PREFETCH = 3;
+    private static final Object PAYLOAD_LOADED = new Object();
+
+    @StringRes private final int title;
+    @StringRes private final int description;
+    private final SuggestionType type;
+    private final String id;
+    private final RecyclerView.Adapter<?> carousel;
+    private final RecyclerView.RecycledViewPool pool;
+    private final MoreCallback more;
+    private Runnable onRequest;
+    private boolean isRequested;
+    private boolean isLoaded;
+    private Parcelable carouselState;
+
+    public HomeSectionAdapter(@StringRes int title, @StringRes int description, SuggestionType type, String id,
+                              RecyclerView.Adapter<?> carousel, RecyclerView.RecycledViewPool pool, MoreCallback more) {
+        this.title = title;
+        this.description = description;
+        this.type = type;
+        this.id = id;
+        this.carousel = carousel;
+        this.pool = pool;
+        this.more = more;
+    }
+
+    public void setOnRequest(Runnable onRequest){
+        this.onRequest = onRequest;
+    }
+
+    public void request(){
+        if(!isRequested && onRequest != null){
+            isRequested = true;
+            onRequest.run();
+        }
+    }
+
+    public boolean isRequested(){
+        return isRequested;
+    }
+
+    public void setLoaded(){
+        if(!isLoaded){
+            isLoaded = true;
+            notifyItemChanged(0, PAYLOAD_LOADED);
+        }
+    }
+
+    @Override
+    public int getItemCount() {
+        return 1;
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        return VIEW_TYPE;
+    }
+
+    @NonNull
+    @Override
+    public SectionViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        RowItemHomeSectionBinding binding = DataBindingUtil.inflate(LayoutInflater.from(parent.getContext()), R.layout.row_item_home_section, parent, false);
+        LinearLayoutManager layoutManager = new LinearLayoutManager(parent.getContext(), LinearLayoutManager.HORIZONTAL, false);
+        layoutManager.setInitialPrefetchItemCount(CAROUSEL_INITIAL_PREFETCH);
+        layoutManager.setRecycleChildrenOnDetach(true);
+        binding.carousel.setLayoutManager(layoutManager);
+        binding.carousel.setRecycledViewPool(pool);
+        return new SectionViewHolder(binding);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull SectionViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if(payloads.contains(PAYLOAD_LOADED)){
+            holder.bindProgress();
+        }else{
+            onBindViewHolder(holder, position);
+        }
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull SectionViewHolder holder, int position) {
+        holder.bind();
+        request();
+    }
+
+    @Override
+    public void onViewRecycled(@NonNull SectionViewHolder holder) {
+        carouselState = holder.unbind();
+    }
+
+    public class SectionViewHolder extends RecyclerView.ViewHolder {
+        private final RowItemHomeSectionBinding binding;
+
+        public SectionViewHolder(@NonNull RowItemHomeSectionBinding binding) {
+            super(binding.getRoot());
+            this.binding = binding;
+        }
+
+        public void bind(){
+            String text = binding.getRoot().getContext().getString(title);
+            binding.title.setText(text);
+            binding.shortDescription.setText(description);
+            binding.more.setOnClickListener(view -> more.onMoreSuggestions(type, id, text));
+            if(binding.carousel.getAdapter() != carousel){
+                binding.carousel.swapAdapter(carousel, true);
+            }
+            RecyclerView.LayoutManager layoutManager = binding.carousel.getLayoutManager();
+            if(carouselState != null && layoutManager != null){
+                layoutManager.onRestoreInstanceState(carouselState);
+            }
+            bindProgress();
+        }
+
+        public void bindProgress(){
+            binding.progressBar.setVisibility(isLoaded ? View.GONE : View.VISIBLE);
+        }
+
+        public Parcelable unbind(){
+            RecyclerView.LayoutManager layoutManager = binding.carousel.getLayoutManager();
+            Parcelable state = layoutManager != null ? layoutManager.onSaveInstanceState() : null;
+            // hands the cards back to the shared pool for whichever row binds next
+            binding.carousel.setAdapter(null);
+            return state;
+        }
+    }
+}
@@ -20,6 +20,7 @@ import com.bumptech.glide.Glide;
 import com.bumptech.glide.load.engine.DiskCacheStrategy;
 import com.app.suggestly.R;
 import com.app.suggestly.callbacks.SaveCallback;
+import com.app.suggestly.callbacks.VisibleCallback;
 import com.app.suggestly.databinding.CardViewHomeBinding;
 import com.app.suggestly.app.model.foursquare.Category;
 import com.app.suggestly.app.model.foursquare.Location;
@@ -34,9 +35,12 @@ import java.util.List;
 import java.util.Locale;
 
 public class HomeVenueAdapter extends PagedListAdapter<VenueAndCategory, HomeVenueAdapter.HomeViewHolder> {
+    // distinct from HomeBookAdapter, both inflate card_view_home into a shared pool
+    public static final int VIEW_TYPE = 1;
     private final VenueSelectedListener listener;
     private final SaveCallback saveVenueListener;
     private final List<VenueAndCategory> saved = new ArrayList<>();
+    private VisibleCallback visibleListener;
 
     public HomeVenueAdapter(VenueSelectedListener listener, SaveCallback saveVenueListener) {
         super(VENUE_CALLBACK);
@@ -44,6 +48,15 @@ public class HomeVenueAdapter extends PagedListAdapter<VenueAndCategory, HomeVen
         this.saveVenueListener = saveVenueListener;
     }
 
+    public void setVisibleListener(VisibleCallback visibleListener){
+        this.visibleListener = visibleListener;
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        return VIEW_TYPE;
+    }
+
     @NonNull
     @Override
     public HomeViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -54,6 +67,7 @@ public class HomeVenueAdapter extends PagedListAdapter<VenueAndCategory, HomeVen
     @Override
     public void onBindViewHolder(@NonNull HomeViewHolder holder, int position) {
         final VenueAndCategory venue = getItem(position);
+        holder.bound = venue;
         if(venue != null){
             if(venue.venue != null && venue.category != null){
                 holder.bindSavedImage(venue);
@@ -65,6 +79,13 @@ public class HomeVenueAdapter extends PagedListAdapter<VenueAndCategory, HomeVen
         }
     }
 
+    @Override
+    public void onViewAttachedToWindow(@NonNull HomeViewHolder holder) {
+        if(visibleListener != null && holder.bound != null){
+            visibleListener.onSuggestionVisible(holder.bound);
+        }
+    }
+
     public void setSavedList(List<VenueAndCategory> saved){
         this.saved.clear();
         this.saved.addAll(saved);
@@ -78,6 +99,7 @@ public class HomeVenueAdapter extends PagedListAdapter<VenueAndCategory, HomeVen
 
     public class HomeViewHolder extends RecyclerView.ViewHolder {
         private final CardViewHomeBinding binding;
+        private VenueAndCategory bound;
 
         public HomeViewHolder(@NotNull CardViewHomeBinding binding) {
             super(binding.getRoot());
@@ -113,11 +135,16 @@ public class HomeVenueAdapter extends PagedListAdapter<VenueAndCategory, HomeVen
         }
 
         public void bindSavedImage(@NotNull VenueAndCategory venueAndCategory){
+            boolean isSaved = false;
             for(VenueAndCategory temp: saved){
                 if(temp.getId().equals(venueAndCategory.getId())){
-                    binding.saveImage.setChecked(true);
+                    isSaved = true;
+                    break;
                 }
             }
+            // the card may come from another carousel, drop its listener before resetting the state
+            binding.saveImage.setOnCheckedChangeListener(null);
+            binding.saveImage.setChecked(isSaved);
         }
 
         public void bindSavedAnimation(Venue venue) {
@@ -16,6 +16,7 @@ import com.app.suggestly.R;
 import com.app.suggestly.callbacks.DetailsCallback;
 import com.app.suggestly.callbacks.FavoriteCallback;
 import com.app.suggestly.callbacks.SaveCallback;
+import com.app.suggestly.callbacks.VisibleCallback;
 import com.app.suggestly.databinding.RowItemMoreBinding;
 import com.app.suggestly.app.model.Suggestion;
 import com.app.suggestly.app.model.nyt.Book;
@@ -23,15 +24,17 @@ import com.app.suggestly.app.model.relations.VenueAndCategory;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class MoreFragmentAdapter extends RecyclerView.Adapter<MoreFragmentAdapter.MoreViewHolder> {
     private final List<Suggestion> suggestions;
-    private List<Suggestion> savedSuggestions;
-    private List<Suggestion> favoriteSuggestions;
+    private List<Suggestion> savedSuggestions = new ArrayList<>();
+    private List<Suggestion> favoriteSuggestions = new ArrayList<>();
     private final DetailsCallback listener;
     private final SaveCallback saveListener;
     private final FavoriteCallback favoriteListener;
+    private VisibleCallback visibleListener;
     public MoreFragmentAdapter(List<Suggestion> suggestions, DetailsCallback detailsCallback, SaveCallback saveListener, FavoriteCallback favoriteListener){
         this.suggestions = suggestions;
         this.listener = detailsCallback;
@@ -55,12 +58,26 @@ public class MoreFragmentAdapter extends RecyclerView.Adapter<MoreFragmentAdapte
         return suggestions.size();
     }
 
+    @Override
+    public void onViewAttachedToWindow(@NonNull MoreViewHolder holder) {
+        int position = holder.getBindingAdapterPosition();
+        if(visibleListener != null && position != RecyclerView.NO_POSITION){
+            visibleListener.onSuggestionVisible(suggestions.get(position));
+        }
+    }
+
+    public void setVisibleListener(VisibleCallback visibleListener){
+        this.visibleListener = visibleListener;
+    }
+
     public void setSavedSuggestions(List<Suggestion> savedSuggestions){
         this.savedSuggestions = savedSuggestions;
+        notifyDataSetChanged();
     }
 
     public void setFavoriteSuggestions(List<Suggestion> favoriteSuggestions){
         this.favoriteSuggestions = favoriteSuggestions;
+        notifyDataSetChanged();
     }
 
     public class MoreViewHolder extends RecyclerView.ViewHolder{
@@ -5,8 +5,8 @@ import android.view.ViewGroup;
 
 import androidx.annotation.NonNull;
 import androidx.databinding.DataBindingUtil;
-import androidx.paging.PagedListAdapter;
 import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
@@ -15,7 +15,7 @@ import com.app.suggestly.R;
 import com.app.suggestly.databinding.CardViewCategoryBinding;
 import com.app.suggestly.app.model.relations.CategoryTuple;
 
-public class SimilarCategoryAdapter extends PagedListAdapter<CategoryTuple, SimilarCategoryAdapter.SimilarViewHolder> {
+public class SimilarCategoryAdapter extends ListAdapter<CategoryTuple, SimilarCategoryAdapter.SimilarViewHolder> {
 
     private final CategorySelectedListener selectedListener;
 
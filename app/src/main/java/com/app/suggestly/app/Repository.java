@@ -11,9 +11,14 @@ import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 import androidx.paging.DataSource;
 
+import com.app.suggestly.app.cache.CacheStats;
+import com.app.suggestly.app.cache.Resource;
+import com.app.suggestly.app.location.LocationSnapshot;
+import com.app.suggestly.app.location.LocationStore;
 import com.app.suggestly.app.network.auth.AuthResponse;
 import com.app.suggestly.app.network.auth.LoggedInUser;
 import com.app.suggestly.app.network.interfaces.RegisterCompleteListener;
+import com.app.suggestly.app.network.retrofit.CircuitBreaker;
 import com.firebase.ui.auth.IdpResponse;
 import com.google.android.libraries.places.api.model.AutocompletePrediction;
 import com.google.firebase.FirebaseApp;
@@ -28,7 +33,6 @@ import com.app.suggestly.app.model.google.Geometry;
 import com.app.suggestly.app.model.nyt.Book;
 import com.app.suggestly.app.model.relations.CategoryTuple;
 import com.app.suggestly.app.model.relations.SearchTuple;
-import com.app.suggestly.app.model.relations.SimilarVenues;
 import com.app.suggestly.app.model.relations.VenueAndCategory;
 import com.app.suggestly.app.model.user.LocationTuple;
 import com.app.suggestly.app.model.user.User;
@@ -36,12 +40,22 @@ import com.app.suggestly.app.network.auth.AuthSource;
 import com.app.suggestly.app.network.interfaces.AuthCompleteListener;
 import com.app.suggestly.app.network.interfaces.ResetCompleteListener;
 import com.app.suggestly.app.notification.SuggestlyNotificationManager;
+import com.app.suggestly.app.prefetch.VenuePrefetcher;
+import com.app.suggestly.app.refresh.HomeRefresh;
+import com.app.suggestly.app.refresh.HomeRefreshProgress;
+import com.app.suggestly.app.room.InvalidationThrottle;
+import com.app.suggestly.app.scheduler.InstrumentedExecutor;
+import com.app.suggestly.app.scheduler.SuggestlySchedulers;
+import com.app.suggestly.app.sync.BackgroundSync;
+import com.app.suggestly.app.sync.NewYorkTimesSync;
+import com.app.suggestly.app.sync.SuggestlySyncScheduler;
 import com.app.suggestly.app.source.FoursquareSource;
 import com.app.suggestly.app.source.GoogleSource;
 import com.app.suggestly.app.source.LocationSource;
 import com.app.suggestly.app.source.NewYorkTimesSource;
 import com.app.suggestly.app.source.SearchSource;
 import com.app.suggestly.app.source.UserSource;
+import com.app.suggestly.app.subscription.SubscriptionScope;
 import com.app.suggestly.utility.Config;
 import com.app.suggestly.utility.DistanceCalculator;
 
@@ -50,6 +64,7 @@ import org.jetbrains.annotations.NotNull;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
 import io.reactivex.rxjava3.annotations.NonNull;
@@ -65,19 +80,26 @@ public class Repository{
     private static Repository INSTANCE;
     private NewYorkTimesSource newYorkTimesSource;
     private SharedPreferences sharedPreferences;
+    private LocationStore locationStore;
     private FoursquareSource foursquareSource;
     private LocationSource locationSource;
     private GoogleSource googleSource;
     private SearchSource searchSource;
     private UserSource userSource;
     private AuthSource authSource;
+    private HomeRefresh homeRefresh;
+    private VenuePrefetcher venuePrefetcher;
+    private NewYorkTimesSync newYorkTimesSync;
+    private BackgroundSync backgroundSync;
+    private final SubscriptionScope applicationScope = new SubscriptionScope("application");
 
     private Repository(Application application){
         FirebaseApp.initializeApp(application);
         initializeSources(application);
         initializeLocationObservable();
         buildFoursquareCategoryTableIfEmpty();
-        isNewYorkTimesBooksTableFresh();
+        syncNewYorkTimesLists();
+        SuggestlySyncScheduler.schedule(application);
     }
 
     public static Repository getInstance(Application application){
@@ -93,12 +115,17 @@ public class Repository{
     public void initializeSources(Application application){
         newYorkTimesSource = new NewYorkTimesSource(application);
         sharedPreferences = application.getSharedPreferences(Config.USER_SHARED_PREFERENCE_NAME, Context.MODE_PRIVATE);
+        locationStore = new LocationStore(sharedPreferences);
         foursquareSource = new FoursquareSource(application);
         locationSource = new LocationSource(application);
         googleSource = new GoogleSource(application);
         searchSource = new SearchSource(application);
         userSource = new UserSource(application);
         authSource = new AuthSource();
+        homeRefresh = new HomeRefresh(foursquareSource);
+        venuePrefetcher = new VenuePrefetcher(foursquareSource, locationStore);
+        newYorkTimesSync = new NewYorkTimesSync(newYorkTimesSource);
+        backgroundSync = new BackgroundSync(homeRefresh, foursquareSource, newYorkTimesSync, userSource);
     }
 
     public void initializeLocationObservable(){
@@ -106,11 +133,12 @@ public class Repository{
             Disposable disposable;
             @Override
             public void onSubscribe(@NonNull Disposable d) {
-                disposable = d;
+                disposable = applicationScope.track(d);
             }
 
             @Override
             public void onNext(@NonNull Location location) {
+                locationStore.updateCurrentLocation(location.getLatitude(), location.getLongitude());
                 if(FirebaseAuth.getInstance().getCurrentUser()!= null){
                     String message = FirebaseAuth.getInstance().getCurrentUser().getUid() + " " + location.getLatitude() + " " + location.getLongitude();
                     Log.println(Log.ASSERT, "Repository", message);
@@ -123,15 +151,55 @@ public class Repository{
             @Override
             public void onError(@NonNull Throwable e) {
                 e.printStackTrace();
+                applicationScope.release(disposable);
             }
 
             @Override
             public void onComplete() {
-                disposable.dispose();
+                applicationScope.release(disposable);
             }
         });
     }
 
+    /* ******************************************************************************
+        Network
+     *******************************************************************************/
+    public List<CacheStats.Metrics> readCacheMetrics(){
+        return CacheStats.snapshot();
+    }
+
+    public VenuePrefetcher.Metrics readPrefetchMetrics(){
+        return venuePrefetcher.metrics();
+    }
+
+    public NewYorkTimesSync.Metrics readNewYorkTimesSyncMetrics(){
+        return newYorkTimesSync.metrics();
+    }
+
+    public List<InvalidationThrottle.Metrics> readInvalidationMetrics(){
+        return InvalidationThrottle.snapshot();
+    }
+
+    public Map<String, Long> readTableInvalidations(){
+        return InvalidationThrottle.tableInvalidations();
+    }
+
+    public List<CircuitBreaker.Metrics> readCircuitBreakerMetrics(){
+        return CircuitBreaker.snapshot();
+    }
+
+    public List<InstrumentedExecutor.Metrics> readSchedulerMetrics(){
+        return SuggestlySchedulers.snapshot();
+    }
+
+    public int readLiveSubscriptionCount(){
+        return SubscriptionScope.liveSubscriptionCount();
+    }
+
+    public BackgroundSync.Report runBackgroundSync(){
+        return backgroundSync.run(getLastFetchedLocation(181.0, 181.0));
+    }
+
     /* ******************************************************************************
         Cloud Messaging Shared Preferences
      *******************************************************************************/
@@ -194,12 +262,12 @@ public class Repository{
         searchSource.removeSuggestlySearch();
     }
 
-    public void initializeVenueSearch(double lat, double lng){
+    public void initializeVenueSearch(SubscriptionScope scope, double lat, double lng){
         searchSource.initializeVenueSearch(lat, lng, new Observer<List<Venue>>() {
             Disposable disposable;
             @Override
             public void onSubscribe(@NonNull Disposable d) {
-                disposable = d;
+                disposable = scope.track(d);
             }
 
             @Override
@@ -207,18 +275,19 @@ public class Repository{
                 for(Venue venue: venues){
                     venue.categoryId = venue.categories.get(0).id;
                     venue.location.distance = DistanceCalculator.distanceMeter(venue.location.lat, lat, venue.location.lng, lng);
-                    createVenue(venue);
                 }
+                createVenues(venues);
             }
 
             @Override
             public void onError(@NonNull Throwable e) {
                 e.printStackTrace();
+                scope.release(disposable);
             }
 
             @Override
             public void onComplete() {
-                disposable.dispose();
+                scope.release(disposable);
             }
         });
     }
@@ -242,26 +311,32 @@ public class Repository{
     }
 
     public void storeLastFetchedLocation(double lat, double lng){
-        SharedPreferences.Editor editor = sharedPreferences.edit();
-        editor.putString(Config.USER_SHARED_PREFERENCE_PREVIOUS_LATITUDE, String.valueOf(lat));
-        editor.putString(Config.USER_SHARED_PREFERENCE_PREVIOUS_LONGITUDE, String.valueOf(lng));
-        editor.apply();
+        locationStore.updateLastFetchedLocation(lat, lng);
     }
 
     public LocationTuple getLastFetchedLocation(double lat, double lng){
-        LocationTuple locationTuple = new LocationTuple();
-        locationTuple.lat = Double.parseDouble(sharedPreferences.getString(Config.USER_SHARED_PREFERENCE_PREVIOUS_LATITUDE, String.valueOf(lat)));
-        locationTuple.lng = Double.parseDouble(sharedPreferences.getString(Config.USER_SHARED_PREFERENCE_PREVIOUS_LONGITUDE, String.valueOf(lng)));
-        return locationTuple;
+        LocationSnapshot snapshot = locationStore.readLastFetchedLocation();
+        if(snapshot == null){
+            return new LocationSnapshot(lat, lng, 0).toLocationTuple();
+        }
+        return snapshot.toLocationTuple();
+    }
+
+    public LocationSnapshot readCurrentLocation(){
+        return locationStore.readCurrentLocation();
+    }
+
+    public Observable<LocationSnapshot> observeCurrentLocation(){
+        return locationStore.observeCurrentLocation();
     }
 
-    public LiveData<List<AutocompletePrediction>> subscribeToAddressAutoCompletePredictions(){
+    public LiveData<List<AutocompletePrediction>> subscribeToAddressAutoCompletePredictions(SubscriptionScope scope){
         MutableLiveData<List<AutocompletePrediction>> predictions = new MutableLiveData<>();
         googleSource.subscribeToManualLocationAutoCompleteResponse(new Observer<List<AutocompletePrediction>>() {
             Disposable disposable;
             @Override
             public void onSubscribe(@NonNull Disposable d) {
-                disposable = d;
+                disposable = scope.track(d);
             }
 
             @Override
@@ -272,11 +347,12 @@ public class Repository{
             @Override
             public void onError(@NonNull Throwable e) {
                 e.printStackTrace();
+                scope.release(disposable);
             }
 
             @Override
             public void onComplete() {
-                disposable.dispose();
+                scope.release(disposable);
             }
         });
 
@@ -287,18 +363,19 @@ public class Repository{
         googleSource.fetchAddressAutoCompleteResults(target);
     }
 
-    public LiveData<Boolean> convertManualLocationInputToCoordinates(String target){
+    public LiveData<Boolean> convertManualLocationInputToCoordinates(SubscriptionScope scope, String target){
         MutableLiveData<Boolean> mutableLiveData = new MutableLiveData<>();
         googleSource.fetchCoordinatesForAddress(target, new Observer<GeocodeResponse>() {
             Disposable disposable;
             @Override
             public void onSubscribe(@NonNull Disposable d) {
-                disposable = d;
+                disposable = scope.track(d);
             }
 
             @Override
             public void onNext(@NonNull GeocodeResponse geocodeResponse) {
                 Geometry geometry = geocodeResponse.results.get(0).geometry;
+                locationStore.updateCurrentLocation(geometry.location.lat, geometry.location.lng);
                 updateUserLocation(FirebaseAuth.getInstance().getCurrentUser().getUid(), geometry.location.lat, geometry.location.lng);
                 updateVenueDistance(geometry.location.lat, geometry.location.lng);
                 mutableLiveData.postValue(true);
@@ -308,11 +385,12 @@ public class Repository{
             public void onError(@NonNull Throwable e) {
                 e.printStackTrace();
                 mutableLiveData.postValue(false);
+                scope.release(disposable);
             }
 
             @Override
             public void onComplete() {
-                disposable.dispose();
+                scope.release(disposable);
             }
         });
         return mutableLiveData;
@@ -347,13 +425,13 @@ public class Repository{
         return mutableLiveData;
     }
 
-    public LiveData<Boolean> checkIfUserInRoom(String id){
+    public LiveData<Boolean> checkIfUserInRoom(SubscriptionScope scope, String id){
         MutableLiveData<Boolean> mutableLiveData = new MutableLiveData<>();
         userSource.checkIfUserInRoom(id, new Observer<Boolean>() {
             Disposable disposable;
             @Override
             public void onSubscribe(@NonNull Disposable d) {
-                disposable = d;
+                disposable = scope.track(d);
             }
 
             @Override
@@ -364,11 +442,12 @@ public class Repository{
             @Override
             public void onError(@NonNull Throwable e) {
                 e.printStackTrace();
+                scope.release(disposable);
             }
 
             @Override
             public void onComplete() {
-                disposable.dispose();
+                scope.release(disposable);
             }
         });
         return mutableLiveData;
@@ -380,17 +459,19 @@ public class Repository{
             Disposable disposable;
             @Override
             public void onSubscribe(@NonNull Disposable d) {
-                disposable = d;
+                disposable = applicationScope.track(d);
             }
 
             @Override
             public void onSuccess(@NonNull Boolean aBoolean) {
                 mutableLiveData.setValue(aBoolean);
+                applicationScope.release(disposable);
             }
 
             @Override
             public void onError(@NonNull Throwable e) {
                 mutableLiveData.setValue(false);
+                applicationScope.release(disposable);
             }
         });
         return mutableLiveData;
@@ -401,17 +482,19 @@ public class Repository{
             Disposable disposable;
             @Override
             public void onSubscribe(@NonNull Disposable d) {
-                disposable = d;
+                disposable = applicationScope.track(d);
             }
 
             @Override
             public void onSuccess(@NonNull Boolean aBoolean) {
                 registerCompleteListener.onSuccess(new AuthResponse.Success<Boolean>(true));
+                applicationScope.release(disposable);
             }
 
             @Override
             public void onError(@NonNull Throwable e) {
                 registerCompleteListener.onFailed(new AuthResponse.Error(new IOException(e.getMessage())));
+                applicationScope.release(disposable);
             }
         });
     }
@@ -434,23 +517,19 @@ public class Repository{
             Disposable disposable;
             @Override
             public void onSubscribe(@NonNull Disposable d) {
-                disposable = d;
+                disposable = applicationScope.track(d);
             }
 
             @Override
             public void onSuccess(@NonNull Boolean aBoolean) {
                 mutableLiveData.setValue(aBoolean);
-                if(disposable != null){
-                    disposable.dispose();
-                }
+                applicationScope.release(disposable);
             }
 
             @Override
             public void onError(@NonNull Throwable e) {
                 mutableLiveData.setValue(false);
-                if(disposable != null){
-                    disposable.dispose();
-                }
+                applicationScope.release(disposable);
             }
         });
         return mutableLiveData;
@@ -462,7 +541,7 @@ public class Repository{
             Disposable disposable;
             @Override
             public void onSubscribe(@NonNull Disposable d) {
-                disposable = d;
+                disposable = applicationScope.track(d);
             }
 
             @Override
@@ -473,23 +552,24 @@ public class Repository{
             @Override
             public void onError(@NonNull Throwable e) {
                 e.printStackTrace();
+                applicationScope.release(disposable);
             }
 
             @Override
             public void onComplete() {
-                disposable.dispose();
+                applicationScope.release(disposable);
             }
         });
         return mutableLiveData;
     }
 
-    public LiveData<List<Suggestion>> readSavedSuggestions(){
+    public LiveData<List<Suggestion>> readSavedSuggestions(SubscriptionScope scope){
         MutableLiveData<List<Suggestion>> mutableLiveData = new MutableLiveData<>();
         userSource.readSavedSuggestions(new Observer<List<Suggestion>>() {
             Disposable disposable;
             @Override
             public void onSubscribe(@NonNull Disposable d) {
-                disposable = d;
+                disposable = scope.track(d);
             }
 
             @Override
@@ -500,24 +580,25 @@ public class Repository{
             @Override
             public void onError(@NonNull Throwable e) {
                 e.printStackTrace();
+                scope.release(disposable);
             }
 
             @Override
             public void onComplete() {
-                disposable.dispose();
+                scope.release(disposable);
             }
         });
 
         return mutableLiveData;
     }
 
-    public LiveData<List<Suggestion>> readFavoriteSuggestions(){
+    public LiveData<List<Suggestion>> readFavoriteSuggestions(SubscriptionScope scope){
         MutableLiveData<List<Suggestion>> mutableLiveData = new MutableLiveData<>();
         userSource.readFavoriteSuggestions(new Observer<List<Suggestion>>() {
             Disposable disposable;
             @Override
             public void onSubscribe(@NonNull Disposable d) {
-                disposable = d;
+                disposable = scope.track(d);
             }
 
             @Override
@@ -528,54 +609,55 @@ public class Repository{
             @Override
             public void onError(@NonNull Throwable e) {
                 e.printStackTrace();
+                scope.release(disposable);
             }
 
             @Override
             public void onComplete() {
-                disposable.dispose();
+                scope.release(disposable);
             }
         });
         return mutableLiveData;
     }
 
-    public long saveBookmarkedVenue(Venue venue, Boolean isFavorite){
-        return userSource.upsertSavedVenue(venue, isFavorite);
+    public LiveData<Boolean> saveBookmarkedVenue(Venue venue, Boolean isFavorite){
+        return new MutableLiveData<>(userSource.upsertSavedVenue(venue, isFavorite));
     }
 
-    public List<VenueAndCategory> readSavedVenues(){
-        return userSource.readSavedVenues();
+    public LiveData<List<VenueAndCategory>> readSavedVenues(SubscriptionScope scope){
+        return toLiveData(scope, userSource.readSavedVenues());
     }
 
-    public List<Book> readSavedBooks(){
-        return userSource.readSavedBooks();
+    public LiveData<List<Book>> readSavedBooks(SubscriptionScope scope){
+        return toLiveData(scope, userSource.readSavedBooks());
     }
 
-    public List<VenueAndCategory> readFavoriteVenues(){
-        return userSource.readFavoriteVenues();
+    public LiveData<List<VenueAndCategory>> readFavoriteVenues(SubscriptionScope scope){
+        return toLiveData(scope, userSource.readFavoriteVenues());
     }
 
-    public List<Book> readFavoriteBooks(){
-        return userSource.readFavoriteBooks();
+    public LiveData<List<Book>> readFavoriteBooks(SubscriptionScope scope){
+        return toLiveData(scope, userSource.readFavoriteBooks());
     }
 
-    public long saveFavoriteVenue(Venue venue, boolean isFavorite){
-        return userSource.upsertFavoriteVenue(venue, isFavorite);
+    public LiveData<Boolean> saveFavoriteVenue(Venue venue, boolean isFavorite){
+        return new MutableLiveData<>(userSource.upsertFavoriteVenue(venue, isFavorite));
     }
 
-    public int deletedSavedVenue(Venue venue){
-        return userSource.deletedSavedVenue(venue);
+    public LiveData<Boolean> deletedSavedVenue(Venue venue){
+        return new MutableLiveData<>(userSource.deletedSavedVenue(venue));
     }
 
-    public long saveBookmarkedBook(Book book, Boolean isFavorite){
-        return userSource.upsertSavedBook(book, isFavorite);
+    public LiveData<Boolean> saveBookmarkedBook(Book book, Boolean isFavorite){
+        return new MutableLiveData<>(userSource.upsertSavedBook(book, isFavorite));
     }
 
-    public long saveFavoriteBook(Book book, boolean isFavorite){
-        return userSource.upsertFavoriteBook(book, isFavorite);
+    public LiveData<Boolean> saveFavoriteBook(Book book, boolean isFavorite){
+        return new MutableLiveData<>(userSource.upsertFavoriteBook(book, isFavorite));
     }
 
-    public int deletedSavedBook(Book book){
-        return userSource.deletedSavedBook(book);
+    public LiveData<Boolean> deletedSavedBook(Book book){
+        return new MutableLiveData<>(userSource.deletedSavedBook(book));
     }
 
 /* ********************************************************************************************
@@ -586,7 +668,7 @@ public class Repository{
             Disposable disposable;
             @Override
             public void onSubscribe(@NonNull Disposable d) {
-                disposable = d;
+                disposable = applicationScope.track(d);
             }
 
             @Override
@@ -599,11 +681,12 @@ public class Repository{
             @Override
             public void onError(@NonNull Throwable e) {
                 e.printStackTrace();
+                applicationScope.release(disposable);
             }
 
             @Override
             public void onComplete() {
-                disposable.dispose();
+                applicationScope.release(disposable);
             }
         });
     }
@@ -613,43 +696,41 @@ public class Repository{
             Disposable disposable;
             @Override
             public void onSubscribe(@NonNull Disposable d) {
-                disposable = d;
+                disposable = applicationScope.track(d);
             }
 
             @Override
             public void onNext(@NonNull List<Category> categories) {
-                for(Category category : categories){
-                    List<Category> tree = new ArrayList<>();
-                    foursquareSource.buildCategoryClosureTable(tree, category,0);
-                }
+                foursquareSource.createCategories(categories);
             }
 
             @Override
             public void onError(@NonNull Throwable e) {
                 e.printStackTrace();
+                applicationScope.release(disposable);
             }
 
             @Override
             public void onComplete() {
-                disposable.dispose();
+                applicationScope.release(disposable);
             }
         });
     }
 
-    public DataSource.Factory<Integer, CategoryTuple> readRelatedCategoriesDataFactory(String categoryId){
-        return foursquareSource.readRelatedCategoriesDataFactory(categoryId);
+    public LiveData<List<CategoryTuple>> readRelatedCategories(SubscriptionScope scope, String categoryId){
+        return toLiveData(scope, foursquareSource.readRelatedCategories(categoryId));
     }
 
 /* ********************************************************************************************
     Foursquare Venues
 *********************************************************************************************** */
-    public LiveData<Boolean> isVenueTableFresh(double lat, double lng){
+    public LiveData<Boolean> isVenueTableFresh(SubscriptionScope scope, double lat, double lng){
         MutableLiveData<Boolean> mutableLiveData = new MutableLiveData<>();
         foursquareSource.isVenueTableFresh(lat, lng, new Observer<Boolean>() {
             Disposable disposable;
             @Override
             public void onSubscribe(@NonNull Disposable d) {
-                disposable = d;
+                disposable = scope.track(d);
             }
 
             @Override
@@ -660,23 +741,24 @@ public class Repository{
             @Override
             public void onError(@NonNull Throwable e) {
                 e.printStackTrace();
+                scope.release(disposable);
             }
 
             @Override
             public void onComplete() {
-                disposable.dispose();
+                scope.release(disposable);
             }
         });
         return mutableLiveData;
     }
 
-    public LiveData<Boolean> isVenueTableFresh(){
+    public LiveData<Boolean> isVenueTableFresh(SubscriptionScope scope){
         MutableLiveData<Boolean> mutableLiveData = new MutableLiveData<>();
         foursquareSource.isVenueTableFresh(new Observer<Boolean>() {
             Disposable disposable;
             @Override
             public void onSubscribe(@NonNull Disposable d) {
-                disposable = d;
+                disposable = scope.track(d);
             }
 
             @Override
@@ -687,148 +769,133 @@ public class Repository{
             @Override
             public void onError(@NonNull Throwable e) {
                 e.printStackTrace();
+                scope.release(disposable);
             }
 
             @Override
             public void onComplete() {
-                disposable.dispose();
+                scope.release(disposable);
             }
         });
         return mutableLiveData;
     }
 
-    public LiveData<Boolean> getGeneralFoursquareVenuesNearUserById(double lat, double lng, String categoryId){
+    public LiveData<Boolean> getGeneralFoursquareVenuesNearUserById(SubscriptionScope scope, double lat, double lng, String categoryId){
         MutableLiveData<Boolean> mutableLiveData = new MutableLiveData<>();
         foursquareSource.getGeneralFoursquareVenuesNearUserById(lat, lng, categoryId, new Observer<List<Venue>>() {
             Disposable disposable;
+            boolean isFetched;
             @Override
             public void onSubscribe(@NonNull Disposable d) {
-                disposable = d;
+                disposable = scope.track(d);
             }
 
             @Override
             public void onNext(@NonNull List<Venue> venues) {
+                isFetched = true;
                 for(Venue venue: venues){
                     venue.categoryId = venue.categories.get(0).id;
                     venue.location.distance = DistanceCalculator.distanceMeter(venue.location.lat, lat, venue.location.lng, lng);
-                    createVenue(venue);
                 }
+                createVenues(venues);
                 mutableLiveData.postValue(venues.size() > 0);
             }
 
             @Override
             public void onError(@NonNull Throwable e) {
                 e.printStackTrace();
+                scope.release(disposable);
             }
 
             @Override
             public void onComplete() {
-                disposable.dispose();
+                if(!isFetched){
+                    // the tile already covers this category
+                    mutableLiveData.postValue(true);
+                }
+                scope.release(disposable);
             }
         });
         return mutableLiveData;
     }
 
-    public LiveData<Boolean> getRecommendedFoursquareVenuesNearUser(double lat, double lng){
-        MutableLiveData<Boolean> mutableLiveData = new MutableLiveData<>();
-        foursquareSource.getRecommendedFoursquareVenuesNearUser(lat, lng, new Observer<List<FoursquareResult>>() {
+    public LiveData<HomeRefreshProgress> refreshHomeVenues(SubscriptionScope scope, double lat, double lng){
+        MutableLiveData<HomeRefreshProgress> mutableLiveData = new MutableLiveData<>();
+        homeRefresh.refresh(lat, lng).subscribe(new Observer<HomeRefreshProgress>() {
             Disposable disposable;
             @Override
             public void onSubscribe(@NonNull Disposable d) {
-                disposable = d;
+                disposable = scope.track(d);
             }
 
             @Override
-            public void onNext(@NonNull List<FoursquareResult> venues) {
-                for(FoursquareResult result: venues){
-                    String categoryId = result.venue.categories.get(0).id;
-                    result.venue.isRecommended = true;
-                    result.venue.categoryId = categoryId;
-                    result.venue.location.distance = DistanceCalculator.distanceMeter(result.venue.location.lat, lat, result.venue.location.lng, lng);
-                    createRecommendedVenue(result.venue);
-                }
-                mutableLiveData.postValue(venues.size() > 0);
+            public void onNext(@NonNull HomeRefreshProgress progress) {
+                Log.println(Log.DEBUG, "HomeRefresh", progress.toString());
+                mutableLiveData.postValue(progress);
             }
 
             @Override
             public void onError(@NonNull Throwable e) {
                 e.printStackTrace();
+                scope.release(disposable);
             }
 
             @Override
             public void onComplete() {
-                disposable.dispose();
+                scope.release(disposable);
             }
         });
-
         return mutableLiveData;
     }
 
-    @NotNull
-    public void getFoursquareVenuesDetails(Venue venue){
+    public LiveData<Boolean> getRecommendedFoursquareVenuesNearUser(SubscriptionScope scope, double lat, double lng){
         MutableLiveData<Boolean> mutableLiveData = new MutableLiveData<>();
-        foursquareSource.getFoursquareVenuesDetails(venue.venueId, new Observer<Venue>() {
+        foursquareSource.getRecommendedFoursquareVenuesNearUser(lat, lng, new Observer<List<FoursquareResult>>() {
             Disposable disposable;
+            boolean isFetched;
             @Override
             public void onSubscribe(@NonNull Disposable d) {
-                disposable = d;
+                disposable = scope.track(d);
             }
 
             @Override
-            public void onNext(@NonNull Venue venue) {
-                mutableLiveData.postValue(true);
-                LocationTuple location = getLastFetchedLocation(venue.location.lat, venue.location.lng);
-                venue.location.distance = DistanceCalculator.distanceMeter(venue.location.lat, location.lat, venue.location.lng, location.lng);
-                updateVenueWithDetails(venue);
+            public void onNext(@NonNull List<FoursquareResult> venues) {
+                isFetched = true;
+                List<Venue> recommended = new ArrayList<>();
+                for(FoursquareResult result: venues){
+                    String categoryId = result.venue.categories.get(0).id;
+                    result.venue.categoryId = categoryId;
+                    result.venue.location.distance = DistanceCalculator.distanceMeter(result.venue.location.lat, lat, result.venue.location.lng, lng);
+                    recommended.add(result.venue);
+                }
+                createRecommendedVenues(recommended);
+                mutableLiveData.postValue(venues.size() > 0);
             }
 
             @Override
             public void onError(@NonNull Throwable e) {
-                mutableLiveData.postValue(false);
                 e.printStackTrace();
+                scope.release(disposable);
             }
 
             @Override
             public void onComplete() {
-                disposable.dispose();
+                if(!isFetched){
+                    mutableLiveData.postValue(true);
+                }
+                scope.release(disposable);
             }
         });
 
+        return mutableLiveData;
     }
 
-    @NotNull
-    public void getFoursquareVenuesSimilar(Venue venue){
-        MutableLiveData<Boolean> mutableLiveData = new MutableLiveData<>();
-        foursquareSource.getSimilarFoursquareVenuesNearby(venue.venueId, new Observer<List<Venue>>() {
-            Disposable disposable;
-            @Override
-            public void onSubscribe(@NonNull Disposable d) {
-                disposable = d;
-            }
-
-            @Override
-            public void onNext(@NonNull List<Venue> venues) {
-                for(Venue foursquareVenue: venues){
-                    //todo create relationship to other venue;
-                    foursquareVenue.categoryId = foursquareVenue.categories.get(0).id;
-                    LocationTuple location = getLastFetchedLocation(venue.location.lat, venue.location.lng);
-                    foursquareVenue.location.distance = DistanceCalculator.distanceMeter(foursquareVenue.location.lat, location.lat, foursquareVenue.location.lng, location.lng);
-                    createVenue(foursquareVenue);
-                    createSimilarVenue(venue, foursquareVenue);
-                }
-            }
-
-            @Override
-            public void onError(@NonNull Throwable e) {
-                e.printStackTrace();
-            }
-
-            @Override
-            public void onComplete() {
-                disposable.dispose();
-            }
-        });
+    public LiveData<Resource<Venue>> loadVenueDetails(SubscriptionScope scope, String id){
+        return toLiveData(scope, foursquareSource.loadVenueDetails(id, locationStore.readCurrentLocation()));
+    }
 
+    public void prefetchVenueDetails(String id){
+        venuePrefetcher.offer(id);
     }
 
     public void createVenue(Venue venue){
@@ -836,7 +903,7 @@ public class Repository{
             Disposable disposable;
             @Override
             public void onSubscribe(@NonNull Disposable d) {
-                disposable = d;
+                disposable = applicationScope.track(d);
             }
 
             @Override
@@ -849,55 +916,48 @@ public class Repository{
             @Override
             public void onError(@NonNull Throwable e) {
                 e.printStackTrace();
+                applicationScope.release(disposable);
             }
 
             @Override
             public void onComplete() {
-                disposable.dispose();
+                applicationScope.release(disposable);
             }
         });
     }
 
-    public void createSimilarVenue(Venue owner, Venue sibling){
-        SimilarVenues similarVenues = new SimilarVenues();
-        similarVenues.ownerId = owner.venueId;
-        similarVenues.siblingId = sibling.venueId;
-        foursquareSource.createSimilarVenue(similarVenues);
-    }
-
-    public void createRecommendedVenue(Venue venue){
-        foursquareSource.createRecommendedVenue(venue, new Observer<Boolean>() {
+    public void createVenues(List<Venue> venues){
+        foursquareSource.createVenues(venues, new Observer<Boolean>() {
             Disposable disposable;
             @Override
             public void onSubscribe(@NonNull Disposable d) {
-                disposable = d;
+                disposable = applicationScope.track(d);
             }
 
             @Override
             public void onNext(@NonNull Boolean aBoolean) {
-                if(!aBoolean){
-                    foursquareSource.updateVenueRecommended(venue, true);
-                }
+
             }
 
             @Override
             public void onError(@NonNull Throwable e) {
                 e.printStackTrace();
+                applicationScope.release(disposable);
             }
 
             @Override
             public void onComplete() {
-                disposable.dispose();
+                applicationScope.release(disposable);
             }
         });
     }
 
-    public void updateVenue(Venue venue){
-        foursquareSource.updateVenue(venue, new Observer<Boolean>() {
+    public void createRecommendedVenues(List<Venue> venues){
+        foursquareSource.createRecommendedVenues(venues, new Observer<Boolean>() {
             Disposable disposable;
             @Override
             public void onSubscribe(@NonNull Disposable d) {
-                disposable = d;
+                disposable = applicationScope.track(d);
             }
 
             @Override
@@ -908,25 +968,22 @@ public class Repository{
             @Override
             public void onError(@NonNull Throwable e) {
                 e.printStackTrace();
+                applicationScope.release(disposable);
             }
 
             @Override
             public void onComplete() {
-                disposable.dispose();
+                applicationScope.release(disposable);
             }
         });
     }
 
-    public void updateVenueDistance(double lat, double lng){
-        foursquareSource.updateVenueDistance(lat, lng);
-    }
-
-    public void updateVenueWithDetails(Venue venue){
-        foursquareSource.updateVenueWithDetails(venue, new Observer<Boolean>() {
+    public void updateVenue(Venue venue){
+        foursquareSource.updateVenue(venue, new Observer<Boolean>() {
             Disposable disposable;
             @Override
             public void onSubscribe(@NonNull Disposable d) {
-                disposable = d;
+                disposable = applicationScope.track(d);
             }
 
             @Override
@@ -937,15 +994,20 @@ public class Repository{
             @Override
             public void onError(@NonNull Throwable e) {
                 e.printStackTrace();
+                applicationScope.release(disposable);
             }
 
             @Override
             public void onComplete() {
-                disposable.dispose();
+                applicationScope.release(disposable);
             }
         });
     }
 
+    public void updateVenueDistance(double lat, double lng){
+        foursquareSource.updateVenueDistance(lat, lng);
+    }
+
     public DataSource.Factory<Integer, VenueAndCategory> readRecommendedVenuesDataFactoryHomeFragment(){
         return foursquareSource.readRecommendedVenuesDataFactoryHomeFragment();
     }
@@ -954,24 +1016,22 @@ public class Repository{
         return foursquareSource.readVenuesUsingCategoryIdDataFactoryHomeFragment(categoryId);
     }
 
-    public LiveData<List<Suggestion>> readRecommendedVenuesLiveData(){
-        MutableLiveData<List<Suggestion>> mutableLiveData = new MutableLiveData<>();
-        List<Suggestion> suggestions = new ArrayList<>(foursquareSource.readRecommendedVenuesLiveData());
-        mutableLiveData.postValue(suggestions);
-        return mutableLiveData;
+    public LiveData<List<Suggestion>> readRecommendedVenuesLiveData(SubscriptionScope scope){
+        return toLiveData(scope, foursquareSource.readRecommendedVenuesSingle()
+                .<List<Suggestion>>map(ArrayList::new));
     }
 
     public LiveData<List<VenueAndCategory>> readSimilarVenuesLiveData(String id){
         return foursquareSource.readSimilarVenuesLiveData(id);
     }
 
-    public LiveData<List<Suggestion>> readVenuesUsingCategoryIdLiveData(String categoryId){
+    public LiveData<List<Suggestion>> readVenuesUsingCategoryIdLiveData(SubscriptionScope scope, String categoryId){
         MutableLiveData<List<Suggestion>> mutableLiveData = new MutableLiveData<>();
         foursquareSource.readVenuesObservable(categoryId, new Observer<List<VenueAndCategory>>() {
             Disposable disposable;
             @Override
             public void onSubscribe(@NonNull Disposable d) {
-                disposable = d;
+                disposable = scope.track(d);
             }
 
             @Override
@@ -982,11 +1042,12 @@ public class Repository{
             @Override
             public void onError(@NonNull Throwable e) {
                 e.printStackTrace();
+                scope.release(disposable);
             }
 
             @Override
             public void onComplete() {
-                disposable.dispose();
+                scope.release(disposable);
             }
         });
 
@@ -1000,26 +1061,24 @@ public class Repository{
     /* ********************************************************************************************
         Foursquare Venues
     *********************************************************************************************** */
-    public void isNewYorkTimesBooksTableFresh(){
-        newYorkTimesSource.isNewYorkTimesTableFresh(new Observer<Boolean>() {
+    public void syncNewYorkTimesLists(){
+        newYorkTimesSync.sync().subscribe(new SingleObserver<Integer>() {
             Disposable disposable;
             @Override
             public void onSubscribe(@NonNull Disposable d) {
-                disposable = d;
+                disposable = applicationScope.track(d);
             }
 
             @Override
-            public void onNext(@NonNull Boolean aBoolean) {
-                fetchNewYorkTimesBestsellingByListName(Config.HARD_COVER_FICTION);
-                fetchNewYorkTimesBestsellingByListName(Config.HARD_COVER_NON_FICTION);
+            public void onSuccess(@NonNull Integer books) {
+                Log.println(Log.DEBUG, "NewYorkTimesSync", newYorkTimesSync.metrics().toString());
+                applicationScope.release(disposable);
             }
 
             @Override
-            public void onError(@NonNull Throwable e) {}
-
-            @Override
-            public void onComplete() {
-                disposable.dispose();
+            public void onError(@NonNull Throwable e) {
+                e.printStackTrace();
+                applicationScope.release(disposable);
             }
         });
     }
@@ -1030,7 +1089,7 @@ public class Repository{
             Disposable disposable;
             @Override
             public void onSubscribe(@NonNull Disposable d) {
-                disposable = d;
+                disposable = applicationScope.track(d);
             }
 
             @Override
@@ -1043,11 +1102,12 @@ public class Repository{
             public void onError(@NonNull Throwable e) {
                 e.printStackTrace();
                 books.postValue(false);
+                applicationScope.release(disposable);
             }
 
             @Override
             public void onComplete() {
-                disposable.dispose();
+                applicationScope.release(disposable);
             }
         });
         return books;
@@ -1058,7 +1118,7 @@ public class Repository{
             Disposable disposable;
             @Override
             public void onSubscribe(@NonNull Disposable d) {
-                disposable = d;
+                disposable = applicationScope.track(d);
             }
 
             @Override
@@ -1069,22 +1129,23 @@ public class Repository{
             @Override
             public void onError(@NonNull Throwable e) {
                 e.printStackTrace();
+                applicationScope.release(disposable);
             }
 
             @Override
             public void onComplete() {
-                disposable.dispose();
+                applicationScope.release(disposable);
             }
         });
     }
 
-    public LiveData<Book> readTopSuggestionNewYorkTimesBooksTable(){
+    public LiveData<Book> readTopSuggestionNewYorkTimesBooksTable(SubscriptionScope scope){
         MutableLiveData<Book> mutableLiveData = new MutableLiveData<>();
         newYorkTimesSource.readTopSuggestionBook(new Observer<Book>() {
             Disposable disposable;
             @Override
             public void onSubscribe(@NonNull Disposable d) {
-                disposable = d;
+                disposable = scope.track(d);
             }
 
             @Override
@@ -1095,23 +1156,24 @@ public class Repository{
             @Override
             public void onError(@NonNull Throwable e) {
                 e.printStackTrace();
+                scope.release(disposable);
             }
 
             @Override
             public void onComplete() {
-                disposable.dispose();
+                scope.release(disposable);
             }
         });
         return mutableLiveData;
     }
 
-    public LiveData<Book> readNewYorkTimesBookUsingISBN13(String isbn13){
+    public LiveData<Book> readNewYorkTimesBookUsingISBN13(SubscriptionScope scope, String isbn13){
         MutableLiveData<Book> mutableLiveData = new MutableLiveData<>();
         newYorkTimesSource.readTopBookUsingISBN13(isbn13, new Observer<Book>() {
             Disposable disposable;
             @Override
             public void onSubscribe(@NonNull Disposable d) {
-                disposable = d;
+                disposable = scope.track(d);
             }
 
             @Override
@@ -1122,11 +1184,12 @@ public class Repository{
             @Override
             public void onError(@NonNull Throwable e) {
                 e.printStackTrace();
+                scope.release(disposable);
             }
 
             @Override
             public void onComplete() {
-                disposable.dispose();
+                scope.release(disposable);
             }
         });
         return mutableLiveData;
@@ -1136,15 +1199,69 @@ public class Repository{
         return newYorkTimesSource.readNewYorkTimesBookListDataFactoryHomeFragment(listName);
     }
 
-    public LiveData<List<Suggestion>> readNewYorkTimesBestsellingListLiveData(String listName){
-        MutableLiveData<List<Suggestion>> mutableLiveData = new MutableLiveData<>();
-        List<Suggestion> suggestions = new ArrayList<>(newYorkTimesSource.readBooksByListName(listName));
-        mutableLiveData.postValue(suggestions);
+    public LiveData<List<Suggestion>> readNewYorkTimesBestsellingListLiveData(SubscriptionScope scope, String listName){
+        return toLiveData(scope, newYorkTimesSource.readBooksByListName(listName)
+                .<List<Suggestion>>map(ArrayList::new));
+    }
+
+    public LiveData<List<Suggestion>> readNewYorkTimesBestsellingListLimitThree(SubscriptionScope scope, String isbn13, String listName){
+        return toLiveData(scope, newYorkTimesSource.readBooksByListNameLimitThree(isbn13, listName)
+                .<List<Suggestion>>map(ArrayList::new));
+    }
+
+/* ********************************************************************************************
+    Helpers
+*********************************************************************************************** */
+    private <T> LiveData<Resource<T>> toLiveData(SubscriptionScope scope, Observable<Resource<T>> resource){
+        MutableLiveData<Resource<T>> mutableLiveData = new MutableLiveData<>();
+        resource.subscribe(new Observer<Resource<T>>() {
+            Disposable disposable;
+            @Override
+            public void onSubscribe(@NonNull Disposable d) {
+                disposable = scope.track(d);
+            }
+
+            @Override
+            public void onNext(@NonNull Resource<T> value) {
+                mutableLiveData.postValue(value);
+            }
+
+            @Override
+            public void onError(@NonNull Throwable e) {
+                e.printStackTrace();
+                scope.release(disposable);
+            }
+
+            @Override
+            public void onComplete() {
+                scope.release(disposable);
+            }
+        });
         return mutableLiveData;
     }
 
-    public List<Suggestion> readNewYorkTimesBestsellingListLimitThree(String isbn13, String listName){
-        return new ArrayList<>(newYorkTimesSource.readBooksByListNameLimitThree(isbn13, listName));
+    private <T> LiveData<T> toLiveData(SubscriptionScope scope, Single<T> single){
+        MutableLiveData<T> mutableLiveData = new MutableLiveData<>();
+        single.subscribe(new SingleObserver<T>() {
+            Disposable disposable;
+            @Override
+            public void onSubscribe(@NonNull Disposable d) {
+                disposable = scope.track(d);
+            }
+
+            @Override
+            public void onSuccess(@NonNull T value) {
+                mutableLiveData.postValue(value);
+                scope.release(disposable);
+            }
+
+            @Override
+            public void onError(@NonNull Throwable e) {
+                e.printStackTrace();
+                scope.release(disposable);
+            }
+        });
+        return mutableLiveData;
     }
 
 }
\ No newline at end of file
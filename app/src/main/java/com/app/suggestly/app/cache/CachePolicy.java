@@ -0,0 +1,50 @@
+package com.app.suggestly.app.cache;
+
+import androidx.annotation.NonNull;
+
+/*
+ * How a CachedResource answers a read. maxAgeMillis is only consulted by CACHE_FIRST and
+ * STALE_WHILE_REVALIDATE, a cached value older than that counts as stale.
+ */
+public class CachePolicy {
+    public enum Mode {
+        CACHE_ONLY,
+        CACHE_FIRST,
+        NETWORK_FIRST,
+        STALE_WHILE_REVALIDATE,
+    }
+
+    public final Mode mode;
+    public final long maxAgeMillis;
+
+    private CachePolicy(Mode mode, long maxAgeMillis){
+        this.mode = mode;
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    public static CachePolicy cacheOnly(){
+        return new CachePolicy(Mode.CACHE_ONLY, Long.MAX_VALUE);
+    }
+
+    public static CachePolicy cacheFirst(long maxAgeMillis){
+        return new CachePolicy(Mode.CACHE_FIRST, maxAgeMillis);
+    }
+
+    public static CachePolicy networkFirst(){
+        return new CachePolicy(Mode.NETWORK_FIRST, 0);
+    }
+
+    public static CachePolicy staleWhileRevalidate(long maxAgeMillis){
+        return new CachePolicy(Mode.STALE_WHILE_REVALIDATE, maxAgeMillis);
+    }
+
+    public boolean isFresh(long fetchedAt, long now){
+        return fetchedAt > 0 && now - fetchedAt < maxAgeMillis;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return mode + (mode == Mode.CACHE_FIRST || mode == Mode.STALE_WHILE_REVALIDATE ? " maxAge=" + maxAgeMillis + "ms" : "");
+    }
+}
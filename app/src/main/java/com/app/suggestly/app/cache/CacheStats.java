@@ -0,0 +1,87 @@
+package com.app.suggestly.app.cache;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Per resource counts of how reads were answered. cacheServed reads never left the device,
+ * staleServed reads were answered from the cache and revalidated behind it, networkServed reads
+ * ended with a fetch that succeeded and failed reads with one that did not.
+ */
+public class CacheStats {
+    private static final Map<String, CacheStats> STATS = new HashMap<>();
+
+    private final String resource;
+    private long cacheServed;
+    private long staleServed;
+    private long networkServed;
+    private long failed;
+
+    private CacheStats(String resource){
+        this.resource = resource;
+    }
+
+    public static synchronized CacheStats forResource(String resource){
+        CacheStats stats = STATS.get(resource);
+        if(stats == null){
+            stats = new CacheStats(resource);
+            STATS.put(resource, stats);
+        }
+        return stats;
+    }
+
+    public static synchronized List<Metrics> snapshot(){
+        List<Metrics> metrics = new ArrayList<>();
+        for(CacheStats stats : STATS.values()){
+            metrics.add(stats.metrics());
+        }
+        return metrics;
+    }
+
+    synchronized void onCacheServed(){
+        cacheServed++;
+    }
+
+    synchronized void onStaleServed(){
+        staleServed++;
+    }
+
+    synchronized void onNetworkServed(){
+        networkServed++;
+    }
+
+    synchronized void onFailed(){
+        failed++;
+    }
+
+    public synchronized Metrics metrics(){
+        return new Metrics(resource, cacheServed, staleServed, networkServed, failed);
+    }
+
+    public static class Metrics {
+        public final String resource;
+        public final long cacheServed;
+        public final long staleServed;
+        public final long networkServed;
+        public final long failed;
+
+        Metrics(String resource, long cacheServed, long staleServed, long networkServed, long failed){
+            this.resource = resource;
+            this.cacheServed = cacheServed;
+            this.staleServed = staleServed;
+            this.networkServed = networkServed;
+            this.failed = failed;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return resource + " cache=" + cacheServed + " stale=" + staleServed
+                    + " network=" + networkServed + " failed=" + failed;
+        }
+    }
+}
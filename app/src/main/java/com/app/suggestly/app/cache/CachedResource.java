@@ -0,0 +1,93 @@
+package com.app.suggestly.app.cache;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Single;
+
+/*
+ * A read that is backed by Room and refreshed from the network. Subclasses say how to read the
+ * cached value, when it was fetched and how to fetch it again (the fetch writes to Room and the
+ * value is read back from there), the policy decides which of those run. load() always emits
+ * whatever is cached first, tagged LOADING or REFRESHING while a fetch is in flight, and ends with
+ * SUCCESS or ERROR.
+ */
+public abstract class CachedResource<T> {
+    private final CachePolicy policy;
+    private final CacheStats stats;
+
+    protected CachedResource(String name, CachePolicy policy){
+        this.policy = policy;
+        this.stats = CacheStats.forResource(name);
+    }
+
+    protected abstract Maybe<T> readCache();
+
+    protected abstract long fetchedAt(@NonNull T cached);
+
+    protected abstract Completable fetch();
+
+    public Observable<Resource<T>> load(){
+        return readCached().flatMapObservable(cached -> resolve(cached.value));
+    }
+
+    private Observable<Resource<T>> resolve(@Nullable T cached){
+        boolean isFresh = cached != null && policy.isFresh(fetchedAt(cached), System.currentTimeMillis());
+        switch (policy.mode){
+            case CACHE_ONLY:
+                stats.onCacheServed();
+                return Observable.just(Resource.success(cached, true));
+            case CACHE_FIRST:
+                if(isFresh){
+                    stats.onCacheServed();
+                    return Observable.just(Resource.success(cached, true));
+                }
+                return Observable.concat(Observable.just(Resource.loading(cached)), revalidate(cached));
+            case NETWORK_FIRST:
+                return Observable.concat(Observable.just(Resource.loading(cached)), revalidate(cached));
+            case STALE_WHILE_REVALIDATE:
+            default:
+                if(isFresh){
+                    stats.onCacheServed();
+                    return Observable.just(Resource.success(cached, true));
+                }
+                if(cached == null){
+                    return Observable.concat(Observable.just(Resource.loading(null)), revalidate(null));
+                }
+                stats.onStaleServed();
+                return Observable.concat(Observable.just(Resource.refreshing(cached)), revalidate(cached));
+        }
+    }
+
+    private Observable<Resource<T>> revalidate(@Nullable T cached){
+        return fetch()
+                .andThen(readCached())
+                .map(fetched -> {
+                    stats.onNetworkServed();
+                    return Resource.success(fetched.value, false);
+                })
+                .onErrorReturn(e -> {
+                    stats.onFailed();
+                    return Resource.error(e, cached);
+                })
+                .toObservable();
+    }
+
+    private Single<Cached<T>> readCached(){
+        return readCache()
+                .map(Cached::new)
+                .defaultIfEmpty(new Cached<>(null));
+    }
+
+    // Rx streams cannot carry null, a missing cache entry travels as an empty holder
+    private static class Cached<T> {
+        @Nullable final T value;
+
+        Cached(@Nullable T value){
+            this.value = value;
+        }
+    }
+}
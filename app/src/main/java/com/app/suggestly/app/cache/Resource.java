@@ -0,0 +1,52 @@
+package com.app.suggestly.app.cache;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+public class Resource<T> {
+    public enum Status {
+        LOADING,
+        REFRESHING,
+        SUCCESS,
+        ERROR,
+    }
+
+    public final Status status;
+    @Nullable public final T data;
+    @Nullable public final Throwable error;
+    public final boolean isFromCache;
+
+    private Resource(Status status, @Nullable T data, @Nullable Throwable error, boolean isFromCache){
+        this.status = status;
+        this.data = data;
+        this.error = error;
+        this.isFromCache = isFromCache;
+    }
+
+    public static <T> Resource<T> loading(@Nullable T cached){
+        return new Resource<>(Status.LOADING, cached, null, cached != null);
+    }
+
+    public static <T> Resource<T> refreshing(@NonNull T cached){
+        return new Resource<>(Status.REFRESHING, cached, null, true);
+    }
+
+    public static <T> Resource<T> success(@Nullable T data, boolean isFromCache){
+        return new Resource<>(Status.SUCCESS, data, null, isFromCache);
+    }
+
+    public static <T> Resource<T> error(@NonNull Throwable error, @Nullable T cached){
+        return new Resource<>(Status.ERROR, cached, error, cached != null);
+    }
+
+    public boolean isDone(){
+        return status == Status.SUCCESS || status == Status.ERROR;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return status + (isFromCache ? " cached" : "") + (data == null ? " empty" : "")
+                + (error != null ? " " + error : "");
+    }
+}
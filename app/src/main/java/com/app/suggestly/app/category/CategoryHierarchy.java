@@ -0,0 +1,243 @@
+package com.app.suggestly.app.category;
+
+import com.app.suggestly.app.model.foursquare.Category;
+import com.app.suggestly.app.model.relations.CategoryTuple;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/*
+ * The Foursquare category tree, held as arrays over dense int ids. Ids are handed out in
+ * preorder, so every subtree is the contiguous range [index, last[index]]: checking whether a
+ * category sits under another is two int comparisons, and "all venues under Food" is a
+ * BETWEEN on venue_category_index rather than a join through a closure table.
+ *
+ * The tree is written to a small binary snapshot whenever categories are fetched and read
+ * back by memory-mapping the file, so a cold start never has to rebuild it from SQLite.
+ */
+public final class CategoryHierarchy {
+    public static final CategoryHierarchy EMPTY = new CategoryHierarchy(new String[0], new String[0],
+            new String[0], new String[0], new int[0], new int[0]);
+
+    private static final int MAGIC = 0x53434831;
+    private static final int VERSION = 1;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final String[] ids;
+    private final String[] names;
+    private final String[] iconPrefixes;
+    private final String[] iconSuffixes;
+    private final int[] parent;
+    private final int[] last;
+    private final HashMap<String, Integer> indexById;
+
+    private CategoryHierarchy(String[] ids, String[] names, String[] iconPrefixes, String[] iconSuffixes,
+                              int[] parent, int[] last){
+        this.ids = ids;
+        this.names = names;
+        this.iconPrefixes = iconPrefixes;
+        this.iconSuffixes = iconSuffixes;
+        this.parent = parent;
+        this.last = last;
+        this.indexById = new HashMap<>(ids.length * 2);
+        for(int i = 0; i < ids.length; i++){
+            indexById.put(ids[i], i);
+        }
+    }
+
+    public static CategoryHierarchy fromTree(List<Category> roots){
+        Builder builder = new Builder();
+        for(Category root : roots){
+            builder.visit(root, -1);
+        }
+        return builder.build();
+    }
+
+    public int size(){
+        return ids.length;
+    }
+
+    public boolean isEmpty(){
+        return ids.length == 0;
+    }
+
+    public int indexOf(String categoryId){
+        Integer index = categoryId == null ? null : indexById.get(categoryId);
+        return index == null ? -1 : index;
+    }
+
+    public String idAt(int index){
+        return ids[index];
+    }
+
+    public int parentOf(int index){
+        return parent[index];
+    }
+
+    public int lastDescendantOf(int index){
+        return last[index];
+    }
+
+    public boolean isDescendant(int index, int ancestor){
+        return index >= 0 && ancestor >= 0 && ancestor <= index && index <= last[ancestor];
+    }
+
+    public List<CategoryTuple> readRelated(String categoryId, int limit){
+        List<CategoryTuple> related = new ArrayList<>();
+        int index = indexOf(categoryId);
+        if(index < 0){
+            return related;
+        }
+
+        // widen one ancestor at a time; each range contains the previous one, so skip it
+        int covered = -1;
+        for(int ancestor = index; ancestor >= 0 && related.size() < limit; ancestor = parent[ancestor]){
+            for(int i = ancestor; i <= last[ancestor] && related.size() < limit; i++){
+                if(i == index || (covered >= 0 && i >= covered && i <= last[covered])){
+                    continue;
+                }
+                related.add(toTuple(i));
+            }
+            covered = ancestor;
+        }
+        return related;
+    }
+
+    private CategoryTuple toTuple(int index){
+        CategoryTuple tuple = new CategoryTuple();
+        tuple.category_id = ids[index];
+        tuple.category_name = names[index];
+        tuple.category_icon_prefix = iconPrefixes[index];
+        tuple.category_icon_suffix = iconSuffixes[index];
+        return tuple;
+    }
+
+/* *****************************************************************************************
+    SNAPSHOT
+******************************************************************************************** */
+    public void writeTo(File file) throws IOException {
+        File temp = new File(file.getPath() + ".tmp");
+        try(DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))){
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(ids.length);
+            for(int value : parent){
+                output.writeInt(value);
+            }
+            for(int value : last){
+                output.writeInt(value);
+            }
+            for(int i = 0; i < ids.length; i++){
+                writeString(output, ids[i]);
+                writeString(output, names[i]);
+                writeString(output, iconPrefixes[i]);
+                writeString(output, iconSuffixes[i]);
+            }
+        }
+        if(!temp.renameTo(file)){
+            throw new IOException("could not replace " + file);
+        }
+    }
+
+    public static CategoryHierarchy readFrom(File file) throws IOException {
+        try(RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+            FileChannel channel = randomAccessFile.getChannel()){
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if(buffer.getInt() != MAGIC || buffer.getInt() != VERSION){
+                throw new IOException("unknown category snapshot " + file);
+            }
+
+            int count = buffer.getInt();
+            int[] parent = new int[count];
+            int[] last = new int[count];
+            buffer.asIntBuffer().get(parent);
+            buffer.position(buffer.position() + count * 4);
+            buffer.asIntBuffer().get(last);
+            buffer.position(buffer.position() + count * 4);
+
+            String[] ids = new String[count];
+            String[] names = new String[count];
+            String[] iconPrefixes = new String[count];
+            String[] iconSuffixes = new String[count];
+            for(int i = 0; i < count; i++){
+                ids[i] = readString(buffer);
+                names[i] = readString(buffer);
+                iconPrefixes[i] = readString(buffer);
+                iconSuffixes[i] = readString(buffer);
+            }
+            return new CategoryHierarchy(ids, names, iconPrefixes, iconSuffixes, parent, last);
+        }catch (RuntimeException e){
+            // a truncated file underflows the buffer
+            throw new IOException("corrupt category snapshot " + file, e);
+        }
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        if(value == null){
+            output.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer){
+        int length = buffer.getInt();
+        if(length < 0){
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    private static class Builder {
+        final List<String> ids = new ArrayList<>();
+        final List<String> names = new ArrayList<>();
+        final List<String> iconPrefixes = new ArrayList<>();
+        final List<String> iconSuffixes = new ArrayList<>();
+        final List<Integer> parent = new ArrayList<>();
+        final List<Integer> last = new ArrayList<>();
+
+        void visit(Category category, int parentIndex){
+            int index = ids.size();
+            ids.add(category.getId());
+            names.add(category.getName());
+            iconPrefixes.add(category.icon == null ? null : category.icon.prefix);
+            iconSuffixes.add(category.icon == null ? null : category.icon.suffix);
+            parent.add(parentIndex);
+            last.add(index);
+
+            if(category.categories != null){
+                for(Category child : category.categories){
+                    visit(child, index);
+                }
+            }
+            last.set(index, ids.size() - 1);
+        }
+
+        CategoryHierarchy build(){
+            int count = ids.size();
+            int[] parentArray = new int[count];
+            int[] lastArray = new int[count];
+            for(int i = 0; i < count; i++){
+                parentArray[i] = parent.get(i);
+                lastArray[i] = last.get(i);
+            }
+            return new CategoryHierarchy(ids.toArray(new String[0]), names.toArray(new String[0]),
+                    iconPrefixes.toArray(new String[0]), iconSuffixes.toArray(new String[0]), parentArray, lastArray);
+        }
+    }
+}
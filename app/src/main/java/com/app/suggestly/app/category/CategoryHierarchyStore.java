@@ -0,0 +1,71 @@
+package com.app.suggestly.app.category;
+
+import android.content.Context;
+
+import java.io.File;
+import java.io.IOException;
+
+/*
+ * Holds the current CategoryHierarchy for the process. The snapshot is mapped the first time
+ * someone asks for it, which always happens off the main thread: on a read scheduler, a write
+ * scheduler or inside a paging DataSource.Factory.
+ */
+public class CategoryHierarchyStore {
+    public static final String SNAPSHOT_NAME = "category_hierarchy.bin";
+    private static volatile CategoryHierarchyStore INSTANCE;
+
+    private final File snapshot;
+    private volatile CategoryHierarchy hierarchy;
+
+    public CategoryHierarchyStore(File snapshot){
+        this.snapshot = snapshot;
+    }
+
+    public static CategoryHierarchyStore getInstance(Context context){
+        if(INSTANCE == null){
+            synchronized (CategoryHierarchyStore.class){
+                if(INSTANCE == null){
+                    INSTANCE = new CategoryHierarchyStore(new File(context.getApplicationContext().getFilesDir(), SNAPSHOT_NAME));
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    public CategoryHierarchy get(){
+        CategoryHierarchy current = hierarchy;
+        if(current == null){
+            synchronized (this){
+                if(hierarchy == null){
+                    hierarchy = load();
+                }
+                current = hierarchy;
+            }
+        }
+        return current;
+    }
+
+    public void replace(CategoryHierarchy replacement){
+        hierarchy = replacement;
+        if(snapshot == null){
+            return;
+        }
+        try{
+            replacement.writeTo(snapshot);
+        }catch (IOException e){
+            e.printStackTrace();
+        }
+    }
+
+    private CategoryHierarchy load(){
+        if(snapshot == null || !snapshot.exists()){
+            return CategoryHierarchy.EMPTY;
+        }
+        try{
+            return CategoryHierarchy.readFrom(snapshot);
+        }catch (IOException e){
+            e.printStackTrace();
+            return CategoryHierarchy.EMPTY;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.app.suggestly.app.location;
+
+import com.app.suggestly.app.model.user.LocationTuple;
+
+public final class LocationSnapshot {
+    public final double lat;
+    public final double lng;
+    public final long time;
+
+    public LocationSnapshot(double lat, double lng, long time){
+        this.lat = lat;
+        this.lng = lng;
+        this.time = time;
+    }
+
+    public LocationTuple toLocationTuple(){
+        LocationTuple locationTuple = new LocationTuple();
+        locationTuple.lat = lat;
+        locationTuple.lng = lng;
+        return locationTuple;
+    }
+
+    @Override
+    public String toString() {
+        return lat + "," + lng + " @" + time;
+    }
+}
@@ -0,0 +1,106 @@
+package com.app.suggestly.app.location;
+
+import android.content.SharedPreferences;
+
+import com.app.suggestly.app.scheduler.SuggestlySchedulers;
+import com.app.suggestly.utility.Config;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.subjects.BehaviorSubject;
+import io.reactivex.rxjava3.subjects.Subject;
+
+/*
+ * The one place the app keeps where the user is. Both locations are immutable snapshots behind
+ * an AtomicReference, so any thread can read them without locking, disk access or parsing.
+ * Preferences are only read once at startup; after that updates are written back in a single
+ * apply() a couple of seconds after the first change, however many fixes arrive in between.
+ *
+ * current is the latest fix from LocationSource or manual geocoding and is what distances are
+ * measured from. lastFetched is where venues were last fetched for, which the screens compare
+ * against to decide whether a refetch is worth it.
+ */
+public class LocationStore {
+    private static final long PERSIST_DELAY_MILLIS = 2000;
+
+    private final SharedPreferences sharedPreferences;
+    private final AtomicReference<LocationSnapshot> current;
+    private final AtomicReference<LocationSnapshot> lastFetched;
+    private final Subject<LocationSnapshot> currentSubject;
+    private final AtomicBoolean isPersistScheduled;
+
+    public LocationStore(SharedPreferences sharedPreferences){
+        this.sharedPreferences = sharedPreferences;
+        lastFetched = new AtomicReference<>(read(Config.USER_SHARED_PREFERENCE_PREVIOUS_LATITUDE, Config.USER_SHARED_PREFERENCE_PREVIOUS_LONGITUDE));
+        LocationSnapshot stored = read(Config.USER_SHARED_PREFERENCE_CURRENT_LATITUDE, Config.USER_SHARED_PREFERENCE_CURRENT_LONGITUDE);
+        current = new AtomicReference<>(stored != null ? stored : lastFetched.get());
+        currentSubject = BehaviorSubject.<LocationSnapshot>create().toSerialized();
+        isPersistScheduled = new AtomicBoolean(false);
+
+        if(current.get() != null){
+            currentSubject.onNext(current.get());
+        }
+    }
+
+    public LocationSnapshot readCurrentLocation(){
+        return current.get();
+    }
+
+    public LocationSnapshot readLastFetchedLocation(){
+        return lastFetched.get();
+    }
+
+    public Observable<LocationSnapshot> observeCurrentLocation(){
+        return currentSubject.hide();
+    }
+
+    public void updateCurrentLocation(double lat, double lng){
+        LocationSnapshot snapshot = new LocationSnapshot(lat, lng, System.currentTimeMillis());
+        current.set(snapshot);
+        currentSubject.onNext(snapshot);
+        schedulePersist();
+    }
+
+    public void updateLastFetchedLocation(double lat, double lng){
+        lastFetched.set(new LocationSnapshot(lat, lng, System.currentTimeMillis()));
+        schedulePersist();
+    }
+
+    private void schedulePersist(){
+        if(isPersistScheduled.compareAndSet(false, true)){
+            SuggestlySchedulers.cpu().scheduleDirect(this::persist, PERSIST_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void persist(){
+        isPersistScheduled.set(false);
+        SharedPreferences.Editor editor = sharedPreferences.edit();
+        write(editor, current.get(), Config.USER_SHARED_PREFERENCE_CURRENT_LATITUDE, Config.USER_SHARED_PREFERENCE_CURRENT_LONGITUDE);
+        write(editor, lastFetched.get(), Config.USER_SHARED_PREFERENCE_PREVIOUS_LATITUDE, Config.USER_SHARED_PREFERENCE_PREVIOUS_LONGITUDE);
+        editor.apply();
+    }
+
+    private LocationSnapshot read(String latKey, String lngKey){
+        String lat = sharedPreferences.getString(latKey, null);
+        String lng = sharedPreferences.getString(lngKey, null);
+        if(lat == null || lng == null){
+            return null;
+        }
+        try{
+            return new LocationSnapshot(Double.parseDouble(lat), Double.parseDouble(lng), 0);
+        }catch (NumberFormatException e){
+            return null;
+        }
+    }
+
+    private static void write(SharedPreferences.Editor editor, LocationSnapshot snapshot, String latKey, String lngKey){
+        if(snapshot == null){
+            return;
+        }
+        editor.putString(latKey, String.valueOf(snapshot.lat));
+        editor.putString(lngKey, String.valueOf(snapshot.lng));
+    }
+}
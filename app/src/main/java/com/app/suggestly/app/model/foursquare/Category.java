@@ -5,6 +5,7 @@ import androidx.room.ColumnInfo;
 import androidx.room.Embedded;
 import androidx.room.Entity;
 import androidx.room.Ignore;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
 import com.google.gson.annotations.SerializedName;
@@ -15,10 +16,13 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
 
-@Entity()
+@Entity(indices = {@Index(value = {"category_id"}, unique = true)})
 public class Category extends Suggestion {
+    @PrimaryKey(autoGenerate = true)
+    @ColumnInfo(name = "category_key")
+    public long key;
+
     @SerializedName("id")
-    @PrimaryKey
     @ColumnInfo(name = "category_id")
     @NonNull
     public String id;
@@ -0,0 +1,34 @@
+package com.app.suggestly.app.model.foursquare;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+
+/*
+ * One fetched section (a category id or the recommended list) for one grid tile. Rows expire
+ * on their own fetched_at, so a tile can stay covered for food while its events go stale. A fetch
+ * marks every tile within Config.COVERAGE_RADIUS_METERS of where it ran, so crossing into the
+ * next tile does not count as a new place.
+ */
+@Entity(primaryKeys = {"tile_x", "tile_y", "section"})
+public class TileCoverage {
+    @ColumnInfo(name = "tile_x")
+    public int tileX;
+
+    @ColumnInfo(name = "tile_y")
+    public int tileY;
+
+    @NonNull
+    @ColumnInfo(name = "section")
+    public String section;
+
+    @ColumnInfo(name = "fetched_at")
+    public long fetchedAt;
+
+    public TileCoverage(int tileX, int tileY, @NonNull String section, long fetchedAt){
+        this.tileX = tileX;
+        this.tileY = tileY;
+        this.section = section;
+        this.fetchedAt = fetchedAt;
+    }
+}
@@ -5,6 +5,7 @@ import androidx.room.ColumnInfo;
 import androidx.room.Embedded;
 import androidx.room.Entity;
 import androidx.room.Ignore;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
 import com.google.gson.annotations.SerializedName;
@@ -14,12 +15,17 @@ import com.app.suggestly.utility.SuggestionType;
 import java.sql.Date;
 import java.util.List;
 
-@Entity
+@Entity(indices = {@Index(value = {"id"}, unique = true),
+        @Index(value = {"venue_rank"}),
+        @Index(value = {"venue_category_index", "venue_rank"})})
 public class Venue extends Suggestion {
 
+    @ColumnInfo(name = "venue_key")
+    @PrimaryKey(autoGenerate = true)
+    public long venueKey;
+
     @ColumnInfo(name = "id")
     @SerializedName(value = "id")
-    @PrimaryKey
     @NonNull
     public String venueId;
 
@@ -27,6 +33,12 @@ public class Venue extends Suggestion {
     @ColumnInfo(name = "venue_category_id")
     public String categoryId;
 
+    @ColumnInfo(name = "venue_category_key", defaultValue = "0")
+    public long categoryKey;
+
+    @ColumnInfo(name = "venue_category_index", defaultValue = "-1")
+    public int categoryIndex = -1;
+
     @ColumnInfo(name = "venue_name")
     public String name;
     
@@ -56,12 +68,15 @@ public class Venue extends Suggestion {
     @Embedded public Hours hours;
     @Embedded public BestPhoto bestPhoto;
     
-    @ColumnInfo(name = "is_venue_recommended")
+    @Ignore
     public Boolean isRecommended = false;
 
     @Ignore
     public Boolean isSaved = false;
 
+    @ColumnInfo(name = "venue_rank", defaultValue = "0")
+    public double rank;
+
     @ColumnInfo(name = "venue_has_details")
     public Boolean hasDetails = false;
 
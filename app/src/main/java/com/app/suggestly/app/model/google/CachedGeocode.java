@@ -0,0 +1,43 @@
+package com.app.suggestly.app.model.google;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+import java.util.ArrayList;
+
+@Entity
+public class CachedGeocode {
+    @PrimaryKey
+    @NonNull
+    @ColumnInfo(name = "search_query")
+    public String searchQuery;
+
+    public double lat;
+    public double lng;
+
+    @ColumnInfo(name = "cached_at")
+    public long cachedAt;
+
+    public CachedGeocode(@NonNull String searchQuery, double lat, double lng, long cachedAt){
+        this.searchQuery = searchQuery;
+        this.lat = lat;
+        this.lng = lng;
+        this.cachedAt = cachedAt;
+    }
+
+    public GeocodeResponse toGeocodeResponse(){
+        Location location = new Location();
+        location.lat = lat;
+        location.lng = lng;
+        Geometry geometry = new Geometry();
+        geometry.location = location;
+        Result result = new Result();
+        result.geometry = geometry;
+        GeocodeResponse response = new GeocodeResponse();
+        response.results = new ArrayList<>();
+        response.results.add(result);
+        return response;
+    }
+}
@@ -0,0 +1,58 @@
+package com.app.suggestly.app.model.google;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+
+import com.google.android.libraries.places.api.model.AutocompletePrediction;
+
+@Entity(primaryKeys = {"search_query", "position"})
+public class CachedPrediction {
+    @NonNull
+    @ColumnInfo(name = "search_query")
+    public String searchQuery;
+
+    public int position;
+
+    @NonNull
+    @ColumnInfo(name = "place_id")
+    public String placeId;
+
+    @ColumnInfo(name = "primary_text")
+    public String primaryText;
+
+    @ColumnInfo(name = "secondary_text")
+    public String secondaryText;
+
+    @ColumnInfo(name = "full_text")
+    public String fullText;
+
+    @ColumnInfo(name = "cached_at")
+    public long cachedAt;
+
+    public CachedPrediction(@NonNull String searchQuery, int position, @NonNull String placeId,
+                            String primaryText, String secondaryText, String fullText, long cachedAt){
+        this.searchQuery = searchQuery;
+        this.position = position;
+        this.placeId = placeId;
+        this.primaryText = primaryText;
+        this.secondaryText = secondaryText;
+        this.fullText = fullText;
+        this.cachedAt = cachedAt;
+    }
+
+    public static CachedPrediction from(String searchQuery, int position, AutocompletePrediction prediction, long cachedAt){
+        return new CachedPrediction(searchQuery, position, prediction.getPlaceId(),
+                prediction.getPrimaryText(null).toString(),
+                prediction.getSecondaryText(null).toString(),
+                prediction.getFullText(null).toString(), cachedAt);
+    }
+
+    public AutocompletePrediction toAutocompletePrediction(){
+        return AutocompletePrediction.builder(placeId)
+                .setPrimaryText(primaryText)
+                .setSecondaryText(secondaryText)
+                .setFullText(fullText)
+                .build();
+    }
+}
@@ -2,6 +2,7 @@ package com.app.suggestly.app.model.nyt;
 import androidx.annotation.NonNull;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
 import com.app.suggestly.app.model.Suggestion;
@@ -12,7 +13,7 @@ import com.google.gson.annotations.SerializedName;
 import java.sql.Date;
 import java.util.List;
 
-@Entity
+@Entity(indices = {@Index(value = {"book_rank"}), @Index(value = {"listNameEncoded", "book_rank"})})
 public class Book extends Suggestion {
     @SerializedName("primary_isbn13")
     @PrimaryKey()
@@ -125,6 +126,15 @@ public class Book extends Suggestion {
     @ColumnInfo(defaultValue = "CURRENT_TIMESTAMP")
     public Date createdAt;
 
+    @ColumnInfo(name = "book_rank", defaultValue = "0")
+    public double rankScore;
+
+    @ColumnInfo(name = "book_content_hash", defaultValue = "0")
+    public long contentHash;
+
+    @ColumnInfo(name = "book_listing_hash", defaultValue = "0")
+    public long listingHash;
+
     public void addExtra(Result result){
         this.listName = result.listName;
         this.listNameEncoded = result.listNameEncoded;
@@ -138,6 +148,33 @@ public class Book extends Suggestion {
         this.updated = result.updated;
     }
 
+    // what describes the book, it changes rarely and a change rewrites the row
+    public long computeContentHash(){
+        long hash = hash(17, primaryIsbn10, publisher, description, price, title, author, contributor,
+                contributorNote, bookImage, bookImageWidth, bookImageHeight, amazonProductUrl, ageGroup,
+                bookReviewLink, firstChapterLink, sundayReviewLink, articleChapterLink, bookUri, asterisk,
+                dagger, listName, listNameEncoded, displayName, normalListEndsAt, updated);
+        if(buyLinks != null){
+            for(BuyLink buyLink : buyLinks){
+                hash = hash(hash, buyLink.name, buyLink.url);
+            }
+        }
+        return hash;
+    }
+
+    // where the book stands on this week's list, it changes every week
+    public long computeListingHash(){
+        return hash(17, rank, rankLastWeek, weeksOnList, bestsellersDate, publishedDate,
+                publishedDateDescription, nextPublishedDate, previousPublishedDate);
+    }
+
+    private static long hash(long hash, Object... fields){
+        for(Object field : fields){
+            hash = 1099511628211L * hash + (field == null ? 0 : field.hashCode());
+        }
+        return hash;
+    }
+
     @Override
     public String getId() {
         return primaryIsbn13;
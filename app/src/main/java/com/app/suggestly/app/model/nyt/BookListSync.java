@@ -0,0 +1,30 @@
+package com.app.suggestly.app.model.nyt;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/*
+ * When a bestseller list was last checked and the next_published_date it reported. Kept apart
+ * from Book so a check that returns the list unchanged still moves checked_at.
+ */
+@Entity
+public class BookListSync {
+    @PrimaryKey
+    @NonNull
+    @ColumnInfo(name = "list_name_encoded")
+    public String listNameEncoded;
+
+    @ColumnInfo(name = "next_published_date")
+    public String nextPublishedDate;
+
+    @ColumnInfo(name = "checked_at")
+    public long checkedAt;
+
+    public BookListSync(@NonNull String listNameEncoded, String nextPublishedDate, long checkedAt){
+        this.listNameEncoded = listNameEncoded;
+        this.nextPublishedDate = nextPublishedDate;
+        this.checkedAt = checkedAt;
+    }
+}
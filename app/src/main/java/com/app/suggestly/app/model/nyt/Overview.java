@@ -0,0 +1,27 @@
+package com.app.suggestly.app.model.nyt;
+
+import com.google.gson.annotations.Expose;
+import com.google.gson.annotations.SerializedName;
+
+import java.util.List;
+
+public class Overview {
+    @SerializedName("bestsellers_date")
+    @Expose
+    public String bestsellersDate;
+    @SerializedName("published_date")
+    @Expose
+    public String publishedDate;
+    @SerializedName("published_date_description")
+    @Expose
+    public String publishedDateDescription;
+    @SerializedName("previous_published_date")
+    @Expose
+    public String previousPublishedDate;
+    @SerializedName("next_published_date")
+    @Expose
+    public String nextPublishedDate;
+    @SerializedName("lists")
+    @Expose
+    public List<OverviewList> lists = null;
+}
@@ -0,0 +1,43 @@
+package com.app.suggestly.app.model.nyt;
+
+import com.google.gson.annotations.Expose;
+import com.google.gson.annotations.SerializedName;
+
+import java.util.List;
+
+public class OverviewList {
+    @SerializedName("list_id")
+    @Expose
+    public Integer listId;
+    @SerializedName("list_name")
+    @Expose
+    public String listName;
+    @SerializedName("list_name_encoded")
+    @Expose
+    public String listNameEncoded;
+    @SerializedName("display_name")
+    @Expose
+    public String displayName;
+    @SerializedName("updated")
+    @Expose
+    public String updated;
+    @SerializedName("books")
+    @Expose
+    public List<Book> books = null;
+
+    // the overview carries the dates once for every list, a Result is what Book.addExtra reads
+    public Result toResult(Overview overview){
+        Result result = new Result();
+        result.listName = listName;
+        result.listNameEncoded = listNameEncoded;
+        result.bestsellersDate = overview.bestsellersDate;
+        result.publishedDate = overview.publishedDate;
+        result.publishedDateDescription = overview.publishedDateDescription;
+        result.nextPublishedDate = overview.nextPublishedDate;
+        result.previousPublishedDate = overview.previousPublishedDate;
+        result.displayName = displayName;
+        result.updated = updated;
+        result.books = books;
+        return result;
+    }
+}
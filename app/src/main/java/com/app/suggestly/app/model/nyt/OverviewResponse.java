@@ -0,0 +1,19 @@
+package com.app.suggestly.app.model.nyt;
+
+import com.google.gson.annotations.Expose;
+import com.google.gson.annotations.SerializedName;
+
+public class OverviewResponse {
+    @SerializedName("status")
+    @Expose
+    public String status;
+    @SerializedName("copyright")
+    @Expose
+    public String copyright;
+    @SerializedName("num_results")
+    @Expose
+    public Integer numResults;
+    @SerializedName("results")
+    @Expose
+    public Overview results;
+}
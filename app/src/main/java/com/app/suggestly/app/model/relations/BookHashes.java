@@ -0,0 +1,13 @@
+package com.app.suggestly.app.model.relations;
+
+import androidx.room.ColumnInfo;
+
+public class BookHashes {
+    public String primaryIsbn13;
+
+    @ColumnInfo(name = "book_content_hash")
+    public long contentHash;
+
+    @ColumnInfo(name = "book_listing_hash")
+    public long listingHash;
+}
@@ -0,0 +1,6 @@
+package com.app.suggestly.app.model.relations;
+
+public class CategoryAffinity {
+    public String category_id;
+    public double weight;
+}
@@ -0,0 +1,146 @@
+package com.app.suggestly.app.model.relations;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Ignore;
+
+import com.app.suggestly.app.model.foursquare.Category;
+import com.app.suggestly.app.model.foursquare.Venue;
+import com.app.suggestly.utility.DistanceCalculator;
+
+import java.util.Objects;
+
+/*
+ * One card of a home carousel (a category id or Config.RECOMMENDED), holding only what
+ * HomeVenueAdapter binds. Columns keep their Venue and Category names, so a page of the feed
+ * reads straight into VenueAndCategory without joining either table. Rank and the raw distance
+ * move on every location fix, so isCardSame() compares what the card shows instead: the same
+ * venue in the same slot, the same text and images, and the distance as the tenth of a mile
+ * printed on it.
+ */
+@Entity(primaryKeys = {"home_section", "home_position"})
+public class HomeFeed {
+    public static final int SIZE = 10;
+
+    @NonNull
+    @ColumnInfo(name = "home_section")
+    public String section;
+
+    @ColumnInfo(name = "home_position")
+    public int position;
+
+    @NonNull
+    @ColumnInfo(name = "id")
+    public String venueId;
+
+    @NonNull
+    @ColumnInfo(name = "venue_category_id")
+    public String venueCategoryId;
+
+    @ColumnInfo(name = "venue_name")
+    public String name;
+
+    @ColumnInfo(name = "venue_url")
+    public String url;
+
+    @ColumnInfo(name = "address")
+    public String address;
+
+    @ColumnInfo(name = "city")
+    public String city;
+
+    @ColumnInfo(name = "country")
+    public String country;
+
+    @ColumnInfo(name = "postalCode")
+    public String postalCode;
+
+    @ColumnInfo(name = "distance")
+    public Double distance;
+
+    @ColumnInfo(name = "venue_photo_prefix")
+    public String photoPrefix;
+
+    @ColumnInfo(name = "venue_photo_suffix")
+    public String photoSuffix;
+
+    @ColumnInfo(name = "venue_photo_width")
+    public Integer photoWidth;
+
+    @ColumnInfo(name = "venue_photo_height")
+    public Integer photoHeight;
+
+    @NonNull
+    @ColumnInfo(name = "category_id")
+    public String categoryId;
+
+    @ColumnInfo(name = "category_name")
+    public String categoryName;
+
+    @ColumnInfo(name = "category_icon_prefix")
+    public String iconPrefix;
+
+    @ColumnInfo(name = "category_icon_suffix")
+    public String iconSuffix;
+
+    public HomeFeed(){}
+
+    @Ignore
+    public HomeFeed(@NonNull String section, int position, VenueAndCategory card){
+        Venue venue = card.venue;
+        Category category = card.category;
+        this.section = section;
+        this.position = position;
+        this.venueId = venue.venueId;
+        this.venueCategoryId = venue.categoryId;
+        this.name = venue.name;
+        this.url = venue.url;
+        if(venue.location != null){
+            this.address = venue.location.address;
+            this.city = venue.location.city;
+            this.country = venue.location.country;
+            this.postalCode = venue.location.postalCode;
+            this.distance = venue.location.distance;
+        }
+        if(venue.bestPhoto != null){
+            this.photoPrefix = venue.bestPhoto.prefix;
+            this.photoSuffix = venue.bestPhoto.suffix;
+            this.photoWidth = venue.bestPhoto.width;
+            this.photoHeight = venue.bestPhoto.height;
+        }
+        this.categoryId = category.id;
+        this.categoryName = category.name;
+        if(category.icon != null){
+            this.iconPrefix = category.icon.prefix;
+            this.iconSuffix = category.icon.suffix;
+        }
+    }
+
+    public boolean isCardSame(HomeFeed other){
+        return other != null
+                && position == other.position
+                && section.equals(other.section)
+                && venueId.equals(other.venueId)
+                && categoryId.equals(other.categoryId)
+                && Objects.equals(name, other.name)
+                && Objects.equals(url, other.url)
+                && Objects.equals(address, other.address)
+                && Objects.equals(city, other.city)
+                && Objects.equals(country, other.country)
+                && Objects.equals(postalCode, other.postalCode)
+                && Objects.equals(photoPrefix, other.photoPrefix)
+                && Objects.equals(photoSuffix, other.photoSuffix)
+                && Objects.equals(photoWidth, other.photoWidth)
+                && Objects.equals(photoHeight, other.photoHeight)
+                && Objects.equals(categoryName, other.categoryName)
+                && Objects.equals(iconPrefix, other.iconPrefix)
+                && Objects.equals(iconSuffix, other.iconSuffix)
+                && shownDistance() == other.shownDistance();
+    }
+
+    // HomeVenueAdapter prints the distance in miles with one decimal
+    private long shownDistance(){
+        return distance == null ? Long.MIN_VALUE : Math.round(DistanceCalculator.meterToMiles(distance) * 10);
+    }
+}
@@ -0,0 +1,28 @@
+package com.app.suggestly.app.model.relations;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+
+/*
+ * One venue of a recommended set. Every fetch of recommendations is written as a new generation
+ * and the latest generation is the recommended set, older ones are deleted in the transaction
+ * that writes it. Rows are keyed generation first, so finding the latest generation and reading
+ * its venues are both lookups on the primary key.
+ */
+@Entity(primaryKeys = {"recommended_generation", "recommended_position"})
+public class RecommendedVenue {
+    @ColumnInfo(name = "recommended_generation")
+    public long generation;
+
+    @ColumnInfo(name = "recommended_position")
+    public int position;
+
+    @ColumnInfo(name = "venue_key")
+    public long venueKey;
+
+    public RecommendedVenue(long generation, int position, long venueKey){
+        this.generation = generation;
+        this.position = position;
+        this.venueKey = venueKey;
+    }
+}
@@ -1,12 +1,17 @@
 package com.app.suggestly.app.model.relations;
 
-import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 
-@Entity(primaryKeys = {"ownerId", "siblingId"})
+@Entity(primaryKeys = {"owner_key", "sibling_key"})
 public class SimilarVenues {
-    @NonNull
-    public String ownerId;
-    @NonNull
-    public String siblingId;
+    @ColumnInfo(name = "owner_key")
+    public long ownerKey;
+    @ColumnInfo(name = "sibling_key")
+    public long siblingKey;
+
+    public SimilarVenues(long ownerKey, long siblingKey){
+        this.ownerKey = ownerKey;
+        this.siblingKey = siblingKey;
+    }
 }
@@ -4,12 +4,12 @@ import androidx.annotation.NonNull;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 
-@Entity(primaryKeys = {"uid", "vid"})
+@Entity(primaryKeys = {"uid", "venue_key"})
 public class UserSavedVenue {
     @NonNull
     public String uid;
-    @NonNull
-    public String vid;
+    @ColumnInfo(name = "venue_key")
+    public long venueKey;
 
     @ColumnInfo(name = "is_saved", defaultValue = "false")
     public boolean isSaved;
@@ -17,9 +17,9 @@ public class UserSavedVenue {
     @ColumnInfo(name = "is_favorite", defaultValue = "false")
     public boolean isFavorite;
 
-    public UserSavedVenue(@NonNull String uid, @NonNull  String vid, @NonNull  Boolean isSaved, @NonNull  Boolean isFavorite){
+    public UserSavedVenue(@NonNull String uid, long venueKey, @NonNull  Boolean isSaved, @NonNull  Boolean isFavorite){
         this.uid = uid;
-        this.vid = vid;
+        this.venueKey = venueKey;
         this.isSaved = isSaved;
         this.isFavorite = isFavorite;
     }
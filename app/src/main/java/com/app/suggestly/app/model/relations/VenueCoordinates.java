@@ -0,0 +1,10 @@
+package com.app.suggestly.app.model.relations;
+
+import androidx.room.ColumnInfo;
+
+public class VenueCoordinates {
+    @ColumnInfo(name = "venue_key")
+    public long key;
+    public double lat;
+    public double lng;
+}
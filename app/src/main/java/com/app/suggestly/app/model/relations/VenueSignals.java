@@ -0,0 +1,27 @@
+package com.app.suggestly.app.model.relations;
+
+import androidx.room.ColumnInfo;
+
+public class VenueSignals {
+    @ColumnInfo(name = "venue_key")
+    public long key;
+
+    @ColumnInfo(name = "venue_category_id")
+    public String categoryId;
+
+    @ColumnInfo(name = "venue_category_index")
+    public int categoryIndex;
+
+    @ColumnInfo(name = "venue_rating")
+    public Float rating;
+
+    @ColumnInfo(name = "venue_rating_signals")
+    public Long ratingSignals;
+
+    public Long checkinsCount;
+    public Boolean isOpen;
+    public Double distance;
+
+    @ColumnInfo(name = "venue_rank")
+    public double rank;
+}
@@ -0,0 +1,37 @@
+package com.app.suggestly.app.model.user;
+
+/*
+ * The net effect of every save, favorite and delete tap on one venue or book since the last
+ * flush. A null flag means that column was not touched, and isDeleted means the row has to be
+ * cleared before the flags are applied.
+ */
+public class SavedToggle {
+    public final String uid;
+    public final String id;
+    public Boolean isSaved;
+    public Boolean isFavorite;
+    public boolean isDeleted;
+
+    public SavedToggle(String uid, String id){
+        this.uid = uid;
+        this.id = id;
+    }
+
+    public void save(boolean saved){
+        isSaved = saved;
+    }
+
+    public void favorite(boolean favorite){
+        isFavorite = favorite;
+    }
+
+    public void delete(){
+        isSaved = null;
+        isFavorite = null;
+        isDeleted = true;
+    }
+
+    public boolean hasFlags(){
+        return isSaved != null || isFavorite != null;
+    }
+}
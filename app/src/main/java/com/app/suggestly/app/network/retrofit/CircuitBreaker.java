@@ -0,0 +1,142 @@
+package com.app.suggestly.app.network.retrofit;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class CircuitBreaker {
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN,
+    }
+
+    public static final int DEFAULT_FAILURE_THRESHOLD = 5;
+    public static final long DEFAULT_OPEN_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    private static final Map<String, CircuitBreaker> BREAKERS = new HashMap<>();
+
+    private final String host;
+    private final int failureThreshold;
+    private final long openNanos;
+
+    private State state = State.CLOSED;
+    private boolean isTrialInFlight = false;
+    private long openedAt;
+    private int consecutiveFailures;
+    private long successCount;
+    private long failureCount;
+    private long rejectedCount;
+    private long openCount;
+
+    public CircuitBreaker(String host, int failureThreshold, long openMillis){
+        this.host = host;
+        this.failureThreshold = failureThreshold;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+    }
+
+    public static synchronized CircuitBreaker forHost(String host){
+        CircuitBreaker breaker = BREAKERS.get(host);
+        if(breaker == null){
+            breaker = new CircuitBreaker(host, DEFAULT_FAILURE_THRESHOLD, DEFAULT_OPEN_MILLIS);
+            BREAKERS.put(host, breaker);
+        }
+        return breaker;
+    }
+
+    @VisibleForTesting
+    static synchronized void install(CircuitBreaker breaker){
+        BREAKERS.put(breaker.host, breaker);
+    }
+
+    public static synchronized List<Metrics> snapshot(){
+        List<Metrics> metrics = new ArrayList<>();
+        for(CircuitBreaker breaker : BREAKERS.values()){
+            metrics.add(breaker.metrics());
+        }
+        return metrics;
+    }
+
+    public synchronized boolean allowRequest(){
+        if(state == State.OPEN && System.nanoTime() - openedAt >= openNanos){
+            state = State.HALF_OPEN;
+            isTrialInFlight = false;
+        }
+
+        if(state == State.CLOSED){
+            return true;
+        }
+        if(state == State.HALF_OPEN && !isTrialInFlight){
+            isTrialInFlight = true;
+            return true;
+        }
+        rejectedCount++;
+        return false;
+    }
+
+    public synchronized void onSuccess(){
+        successCount++;
+        consecutiveFailures = 0;
+        isTrialInFlight = false;
+        state = State.CLOSED;
+    }
+
+    // a cancelled half-open trial hands the trial to the next request
+    public synchronized void onCancelled(){
+        isTrialInFlight = false;
+    }
+
+    public synchronized void onFailure(){
+        failureCount++;
+        consecutiveFailures++;
+        isTrialInFlight = false;
+        if(state == State.HALF_OPEN || consecutiveFailures >= failureThreshold){
+            if(state != State.OPEN){
+                openCount++;
+            }
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+        }
+    }
+
+    public synchronized State getState(){
+        return state;
+    }
+
+    public synchronized Metrics metrics(){
+        return new Metrics(host, state, consecutiveFailures, successCount, failureCount, rejectedCount, openCount);
+    }
+
+    public static class Metrics {
+        public final String host;
+        public final State state;
+        public final int consecutiveFailures;
+        public final long successCount;
+        public final long failureCount;
+        public final long rejectedCount;
+        public final long openCount;
+
+        Metrics(String host, State state, int consecutiveFailures, long successCount,
+                long failureCount, long rejectedCount, long openCount){
+            this.host = host;
+            this.state = state;
+            this.consecutiveFailures = consecutiveFailures;
+            this.successCount = successCount;
+            this.failureCount = failureCount;
+            this.rejectedCount = rejectedCount;
+            this.openCount = openCount;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return host + " " + state + " success=" + successCount + " failure=" + failureCount
+                    + " rejected=" + rejectedCount + " opened=" + openCount;
+        }
+    }
+}
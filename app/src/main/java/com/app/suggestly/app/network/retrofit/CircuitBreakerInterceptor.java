@@ -0,0 +1,42 @@
+package com.app.suggestly.app.network.retrofit;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+public class CircuitBreakerInterceptor implements Interceptor {
+
+    @NotNull
+    @Override
+    public Response intercept(@NotNull Chain chain) throws IOException {
+        String host = chain.request().url().host();
+        CircuitBreaker breaker = CircuitBreaker.forHost(host);
+        if(!breaker.allowRequest()){
+            throw new CircuitOpenException(host);
+        }
+
+        Response response;
+        try{
+            response = chain.proceed(chain.request());
+        }catch (IOException | RuntimeException e){
+            // a dispose cancels the call, which says nothing about the host
+            if(chain.call().isCanceled()){
+                breaker.onCancelled();
+            }else{
+                breaker.onFailure();
+            }
+            throw e;
+        }
+
+        // 429 asks the client to back off, so repeated ones open the breaker like a 5xx
+        if(response.code() >= 500 || response.code() == 429){
+            breaker.onFailure();
+        }else{
+            breaker.onSuccess();
+        }
+        return response;
+    }
+}
@@ -0,0 +1,9 @@
+package com.app.suggestly.app.network.retrofit;
+
+import java.io.IOException;
+
+public class CircuitOpenException extends IOException {
+    public CircuitOpenException(String host){
+        super("Circuit open for " + host + ", failing fast");
+    }
+}
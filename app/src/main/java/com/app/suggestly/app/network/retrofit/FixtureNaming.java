@@ -0,0 +1,35 @@
+package com.app.suggestly.app.network.retrofit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import okhttp3.HttpUrl;
+
+/*
+ * Maps a request to the fixture file its response is recorded under. Credentials are left out
+ * of the name so fixtures recorded with one set of keys replay for any other.
+ */
+public class FixtureNaming {
+    private static final List<String> SECRET_PARAMS = Arrays.asList(FoursquareManager.CLIENT_ID_FIELD,
+            FoursquareManager.CLIENT_SECRET_FIELD, NewYorkTimesManager.CLIENT_KEY_PARAM, GoogleManager.CLIENT_KEY_PARAM);
+
+    private FixtureNaming(){}
+
+    public static String pathName(String method, HttpUrl url){
+        String path = url.encodedPath().replaceAll("[^A-Za-z0-9]+", "_");
+        return method + path;
+    }
+
+    public static String fullName(String method, HttpUrl url){
+        List<String> params = new ArrayList<>();
+        for(String name : url.queryParameterNames()){
+            if(!SECRET_PARAMS.contains(name)){
+                params.add(name + "=" + url.queryParameter(name));
+            }
+        }
+        Collections.sort(params);
+        return pathName(method, url) + "__" + Integer.toHexString(params.toString().hashCode());
+    }
+}
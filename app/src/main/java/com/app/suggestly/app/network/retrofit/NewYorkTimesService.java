@@ -1,6 +1,7 @@
 package com.app.suggestly.app.network.retrofit;
 
 import com.app.suggestly.app.model.nyt.BookResponse;
+import com.app.suggestly.app.model.nyt.OverviewResponse;
 import java.util.HashMap;
 import io.reactivex.rxjava3.core.Observable;
 import retrofit2.http.GET;
@@ -10,4 +11,7 @@ import retrofit2.http.QueryMap;
 public interface NewYorkTimesService {
     @GET("/svc/books/v3/lists/current/{listName}.json")
     Observable<BookResponse> fetchBestsellingBooksByListName(@Path("listName") String name, @QueryMap HashMap<String, String> argumentMap);
+
+    @GET("/svc/books/v3/lists/overview.json")
+    Observable<OverviewResponse> fetchBestsellingOverview(@QueryMap HashMap<String, String> argumentMap);
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.app.suggestly.app.network.retrofit;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/*
+ * Copies every successful response body into a fixture directory. Each response is written
+ * twice, under its exact name and under its path-only name, so the replay server can fall
+ * back to the most recent response for a path when no exact match was recorded.
+ */
+public class RecordingInterceptor implements Interceptor {
+    private static final long MAX_RECORDED_BYTES = 4 * 1024 * 1024;
+
+    private final File directory;
+
+    public RecordingInterceptor(File directory){
+        this.directory = directory;
+    }
+
+    @NotNull
+    @Override
+    public Response intercept(@NotNull Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+        if(!response.isSuccessful() || response.body() == null){
+            return response;
+        }
+
+        ResponseBody body = response.peekBody(MAX_RECORDED_BYTES);
+        byte[] bytes = body.bytes();
+        if(directory.isDirectory() || directory.mkdirs()){
+            write(new File(directory, FixtureNaming.fullName(request.method(), request.url()) + ".json"), bytes);
+            write(new File(directory, FixtureNaming.pathName(request.method(), request.url()) + ".json"), bytes);
+        }
+        return response;
+    }
+
+    private static void write(File file, byte[] bytes){
+        try(OutputStream outputStream = new FileOutputStream(file)){
+            outputStream.write(bytes);
+        }catch (IOException e){
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.app.suggestly.app.network.retrofit;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import io.reactivex.rxjava3.core.Observable;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Retrofit;
+import retrofit2.http.GET;
+
+/*
+ * Wraps another CallAdapter.Factory and adds RetryWithBackoff to every Observable returned by a
+ * @GET method. Non idempotent methods are handed back untouched.
+ */
+public class ResilientCallAdapterFactory extends CallAdapter.Factory {
+    private final CallAdapter.Factory delegate;
+
+    private ResilientCallAdapterFactory(CallAdapter.Factory delegate){
+        this.delegate = delegate;
+    }
+
+    public static ResilientCallAdapterFactory create(CallAdapter.Factory delegate){
+        return new ResilientCallAdapterFactory(delegate);
+    }
+
+    @Nullable
+    @Override
+    @SuppressWarnings("unchecked")
+    public CallAdapter<?, ?> get(@NonNull Type returnType, @NonNull Annotation[] annotations, @NonNull Retrofit retrofit) {
+        CallAdapter<?, ?> adapter = delegate.get(returnType, annotations, retrofit);
+        if(adapter == null || getRawType(returnType) != Observable.class || !isIdempotent(annotations)){
+            return adapter;
+        }
+        return new RetryingCallAdapter<>((CallAdapter<Object, ?>) adapter);
+    }
+
+    private static boolean isIdempotent(Annotation[] annotations){
+        for(Annotation annotation : annotations){
+            if(annotation instanceof GET){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class RetryingCallAdapter<R> implements CallAdapter<R, Object> {
+        private final CallAdapter<R, ?> delegate;
+
+        RetryingCallAdapter(CallAdapter<R, ?> delegate){
+            this.delegate = delegate;
+        }
+
+        @NonNull
+        @Override
+        public Type responseType() {
+            return delegate.responseType();
+        }
+
+        @NonNull
+        @Override
+        public Object adapt(@NonNull Call<R> call) {
+            Observable<?> observable = (Observable<?>) delegate.adapt(call);
+            return observable.retryWhen(new RetryWithBackoff());
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.app.suggestly.app.network.retrofit;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.ObservableSource;
+import io.reactivex.rxjava3.functions.Function;
+import retrofit2.HttpException;
+
+/*
+ * Exponential backoff with full jitter for retryWhen. Only transient failures are retried:
+ * I/O errors, 5xx and 429 responses. An open circuit is never retried so callers fall back
+ * to whatever Room already holds.
+ */
+public class RetryWithBackoff implements Function<Observable<Throwable>, ObservableSource<?>> {
+    public static final int DEFAULT_MAX_RETRIES = 3;
+    public static final long DEFAULT_BASE_DELAY_MILLIS = 500;
+    public static final long DEFAULT_MAX_DELAY_MILLIS = 8000;
+
+    private static final Random random = new Random();
+
+    private final int maxRetries;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+
+    public RetryWithBackoff(){
+        this(DEFAULT_MAX_RETRIES, DEFAULT_BASE_DELAY_MILLIS, DEFAULT_MAX_DELAY_MILLIS);
+    }
+
+    public RetryWithBackoff(int maxRetries, long baseDelayMillis, long maxDelayMillis){
+        this.maxRetries = maxRetries;
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+    }
+
+    @Override
+    public ObservableSource<?> apply(Observable<Throwable> errors) {
+        int[] attempt = {0};
+        return errors.flatMap(error -> {
+            attempt[0]++;
+            if(attempt[0] > maxRetries || !isRetryable(error)){
+                return Observable.error(error);
+            }
+            return Observable.timer(delayMillis(attempt[0]), TimeUnit.MILLISECONDS);
+        });
+    }
+
+    public long delayMillis(int attempt){
+        long ceiling = Math.min(maxDelayMillis, baseDelayMillis << Math.min(attempt - 1, 20));
+        synchronized (random){
+            return (long) (random.nextDouble() * ceiling);
+        }
+    }
+
+    public static boolean isRetryable(Throwable error){
+        if(error instanceof CircuitOpenException){
+            return false;
+        }
+        if(error instanceof HttpException){
+            int code = ((HttpException) error).code();
+            return code >= 500 || code == 429;
+        }
+        return error instanceof IOException;
+    }
+}
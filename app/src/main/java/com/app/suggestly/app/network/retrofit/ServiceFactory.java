@@ -1,13 +1,14 @@
 package com.app.suggestly.app.network.retrofit;
 
+import com.app.suggestly.app.scheduler.SuggestlySchedulers;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.io.File;
 import java.util.concurrent.TimeUnit;
 
-import io.reactivex.rxjava3.schedulers.Schedulers;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.logging.HttpLoggingInterceptor;
@@ -22,73 +23,74 @@ public class ServiceFactory {
     private static final GsonConverterFactory converterFactory = GsonConverterFactory.create(gson);
 
     private static Retrofit retrofitFoursquare;
-    private static final Retrofit.Builder retrofitBuilderFoursquare = new Retrofit.Builder();
-
     private static Retrofit retrofit_Google;
-    private static final Retrofit.Builder googleBuilder = new Retrofit.Builder();
-
     private static Retrofit retrofit_NYT;
-    private static final Retrofit.Builder nytBuilder = new Retrofit.Builder();
 
-    private static final RxJava3CallAdapterFactory adapterFactory = RxJava3CallAdapterFactory.createWithScheduler(Schedulers.computation());
+    private static final ResilientCallAdapterFactory adapterFactory = ResilientCallAdapterFactory.create(RxJava3CallAdapterFactory.createWithScheduler(SuggestlySchedulers.network()));
 
     private static OkHttpClient okHttpClient;
+    private static String baseUrlOverride;
+    private static File recordingDirectory;
+
+    /*
+     * Points every client at one host, e.g. a local replay server. Must be called before any
+     * source is created since services are bound to their Retrofit instance on creation.
+     */
+    public static synchronized void overrideBaseUrl(String baseUrl){
+        baseUrlOverride = baseUrl;
+        reset();
+    }
 
-    @NotNull
-    public static <service> service getFoursquareClient(String baseUrl, Class<service> serviceClass){
+    public static synchronized void recordResponsesTo(File directory){
+        recordingDirectory = directory;
+        reset();
+    }
 
-        if(okHttpClient == null){
-            initializeOkHttp();
-        }
+    private static void reset(){
+        okHttpClient = null;
+        retrofitFoursquare = null;
+        retrofit_Google = null;
+        retrofit_NYT = null;
+    }
 
+    @NotNull
+    public static synchronized <service> service getFoursquareClient(String baseUrl, Class<service> serviceClass){
         if(retrofitFoursquare == null){
-            retrofitFoursquare = retrofitBuilderFoursquare
-                    .baseUrl(baseUrl)
-                    .client(okHttpClient)
-                    .addConverterFactory(converterFactory)
-                    .addCallAdapterFactory(adapterFactory)
-                    .build();
+            retrofitFoursquare = buildRetrofit(baseUrl);
         }
 
         return retrofitFoursquare.create(serviceClass);
     }
 
     @NotNull
-    public static <service> service getGeoCodeClient(String baseUrl, Class<service> serviceClass){
-
-        if(okHttpClient == null){
-            initializeOkHttp();
-        }
-
+    public static synchronized <service> service getGeoCodeClient(String baseUrl, Class<service> serviceClass){
         if(retrofit_Google == null){
-            retrofit_Google = googleBuilder
-                    .baseUrl(baseUrl)
-                    .client(okHttpClient)
-                    .addConverterFactory(converterFactory)
-                    .addCallAdapterFactory(adapterFactory)
-                    .build();
+            retrofit_Google = buildRetrofit(baseUrl);
         }
 
         return retrofit_Google.create(serviceClass);
     }
 
     @NotNull
-    public static <service> service getNewYorkTimesClient(String baseUrl, Class<service> serviceClass){
+    public static synchronized <service> service getNewYorkTimesClient(String baseUrl, Class<service> serviceClass){
+        if(retrofit_NYT == null){
+            retrofit_NYT = buildRetrofit(baseUrl);
+        }
+
+        return retrofit_NYT.create(serviceClass);
+    }
 
+    private static Retrofit buildRetrofit(String baseUrl){
         if(okHttpClient == null){
             initializeOkHttp();
         }
 
-        if(retrofit_NYT == null){
-            retrofit_NYT = nytBuilder
-                    .baseUrl(baseUrl)
-                    .client(okHttpClient)
-                    .addConverterFactory(converterFactory)
-                    .addCallAdapterFactory(adapterFactory)
-                    .build();
-        }
-
-        return retrofit_NYT.create(serviceClass);
+        return new Retrofit.Builder()
+                .baseUrl(baseUrlOverride != null ? baseUrlOverride : baseUrl)
+                .client(okHttpClient)
+                .addConverterFactory(converterFactory)
+                .addCallAdapterFactory(adapterFactory)
+                .build();
     }
 
     public static void initializeOkHttp(){
@@ -101,6 +103,10 @@ public class ServiceFactory {
         HttpLoggingInterceptor interceptor = new HttpLoggingInterceptor();
         interceptor.level(HttpLoggingInterceptor.Level.BODY);
 
+        builder.addInterceptor(new CircuitBreakerInterceptor());
+        if(recordingDirectory != null){
+            builder.addInterceptor(new RecordingInterceptor(recordingDirectory));
+        }
         builder.addInterceptor(interceptor);
         builder.addInterceptor(chain ->  {
             Request original = chain.request();
@@ -14,29 +14,27 @@ import com.app.suggestly.R;
 import com.app.suggestly.app.model.foursquare.Venue;
 import com.app.suggestly.app.room.FoursquareDao;
 import com.app.suggestly.app.room.RoomDB;
+import com.app.suggestly.app.scheduler.SuggestlySchedulers;
 import com.app.suggestly.ui.splash.SplashActivity;
 import com.app.suggestly.utility.Config;
 
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-
 public class SuggestlyNotificationReceiver extends BroadcastReceiver {
     @Override
     public void onReceive(Context context, Intent intent) {
-        ExecutorService executorService = Executors.newFixedThreadPool(1);
-        RoomDB roomDB = RoomDB.getInstance(context);
-        FoursquareDao foursquareDao = roomDB.getFoursquareDao();
-        try{
-            Venue venue = executorService.submit(foursquareDao::readRandomRecommendedVenue).get();
-            String title = context.getString(R.string.title_push_notification_notification);
-            String message = context.getString(R.string.message_push_notification_notification, venue.getName());
-            notificationBuilder(context, title, message);
-        }
-        catch (ExecutionException |InterruptedException e){
-            //do not send
-        }
-
+        PendingResult pendingResult = goAsync();
+        FoursquareDao foursquareDao = RoomDB.getInstance(context).getFoursquareDao();
+        SuggestlySchedulers.dbReadExecutor().execute(() -> {
+            try{
+                Venue venue = foursquareDao.readTopRecommendedVenue();
+                if(venue != null){
+                    String title = context.getString(R.string.title_push_notification_notification);
+                    String message = context.getString(R.string.message_push_notification_notification, venue.getName());
+                    notificationBuilder(context, title, message);
+                }
+            }finally {
+                pendingResult.finish();
+            }
+        });
     }
 
     public void notificationBuilder(Context context, String title , String body){
@@ -0,0 +1,120 @@
+package com.app.suggestly.app.prefetch;
+
+import androidx.annotation.NonNull;
+
+import com.app.suggestly.app.cache.Resource;
+import com.app.suggestly.app.location.LocationStore;
+import com.app.suggestly.app.model.foursquare.Venue;
+import com.app.suggestly.app.scheduler.SuggestlySchedulers;
+import com.app.suggestly.app.source.FoursquareSource;
+
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * Loads details and similar venues for venue cards as they come on screen, so opening one of them
+ * is a read of Room. Only the MAX_PENDING most recently shown venues wait in line, older ones are
+ * dropped as the user scrolls past, and at most MAX_CONCURRENT loads run at a time on the
+ * prefetch pool. Loads go through the venue details policy, so a venue that is still fresh costs
+ * a single Room read and a venue shown again within the session is not queued twice.
+ */
+public class VenuePrefetcher {
+    public static final int MAX_PENDING = 6;
+    public static final int MAX_CONCURRENT = 2;
+    private static final int MAX_REMEMBERED = 200;
+
+    private final FoursquareSource foursquareSource;
+    private final LocationStore locationStore;
+    private final ArrayDeque<String> pending = new ArrayDeque<>();
+    private final Map<String, Boolean> seen = new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > MAX_REMEMBERED;
+        }
+    };
+    private int running;
+    private long offeredCount;
+    private long droppedCount;
+    private long fetchedCount;
+    private long failedCount;
+
+    public VenuePrefetcher(FoursquareSource foursquareSource, LocationStore locationStore){
+        this.foursquareSource = foursquareSource;
+        this.locationStore = locationStore;
+    }
+
+    public synchronized void offer(String venueId){
+        if(seen.containsKey(venueId)){
+            return;
+        }
+        seen.put(venueId, true);
+        offeredCount++;
+        pending.addFirst(venueId);
+        if(pending.size() > MAX_PENDING){
+            seen.remove(pending.removeLast());
+            droppedCount++;
+        }
+        drain();
+    }
+
+    private synchronized void drain(){
+        while(running < MAX_CONCURRENT && !pending.isEmpty()){
+            String venueId = pending.removeFirst();
+            running++;
+            SuggestlySchedulers.prefetchExecutor().execute(() -> prefetch(venueId));
+        }
+    }
+
+    private void prefetch(String venueId){
+        boolean failed = true;
+        boolean fetched = false;
+        try{
+            Resource<Venue> resource = foursquareSource.loadVenueDetails(venueId, locationStore.readCurrentLocation()).blockingLast();
+            failed = resource.status == Resource.Status.ERROR;
+            fetched = !failed && !resource.isFromCache;
+        }catch (RuntimeException e){
+            e.printStackTrace();
+        }
+        synchronized (this){
+            running--;
+            if(failed){
+                // let the next time the card is shown try again
+                seen.remove(venueId);
+                failedCount++;
+            }else if(fetched){
+                fetchedCount++;
+            }
+            drain();
+        }
+    }
+
+    public synchronized Metrics metrics(){
+        return new Metrics(offeredCount, droppedCount, fetchedCount, failedCount, pending.size(), running);
+    }
+
+    public static class Metrics {
+        public final long offeredCount;
+        public final long droppedCount;
+        public final long fetchedCount;
+        public final long failedCount;
+        public final int pending;
+        public final int running;
+
+        Metrics(long offeredCount, long droppedCount, long fetchedCount, long failedCount, int pending, int running){
+            this.offeredCount = offeredCount;
+            this.droppedCount = droppedCount;
+            this.fetchedCount = fetchedCount;
+            this.failedCount = failedCount;
+            this.pending = pending;
+            this.running = running;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return "prefetch offered=" + offeredCount + " dropped=" + droppedCount + " fetched=" + fetchedCount
+                    + " failed=" + failedCount + " pending=" + pending + " running=" + running;
+        }
+    }
+}
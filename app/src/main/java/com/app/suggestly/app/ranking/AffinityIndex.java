@@ -0,0 +1,44 @@
+package com.app.suggestly.app.ranking;
+
+import com.app.suggestly.app.category.CategoryHierarchy;
+import com.app.suggestly.app.model.relations.CategoryAffinity;
+
+import java.util.List;
+
+/*
+ * How much the user's saved and favorite history leans towards a category, between 0 and 1.
+ * Weights are pushed up to every ancestor category, so saving a ramen shop also lifts other
+ * Japanese restaurants a little and other ramen shops the most: a category's affinity is the
+ * average weight across its ancestors, relative to the heaviest category.
+ */
+public class AffinityIndex {
+    private final CategoryHierarchy hierarchy;
+    private final double[] weights;
+    private double maxWeight;
+
+    public AffinityIndex(List<CategoryAffinity> affinities, CategoryHierarchy hierarchy){
+        this.hierarchy = hierarchy;
+        this.weights = new double[hierarchy.size()];
+        for(CategoryAffinity affinity : affinities){
+            for(int i = hierarchy.indexOf(affinity.category_id); i >= 0; i = hierarchy.parentOf(i)){
+                weights[i] += affinity.weight;
+                maxWeight = Math.max(maxWeight, weights[i]);
+            }
+        }
+    }
+
+    public double affinity(String categoryId){
+        int index = hierarchy.indexOf(categoryId);
+        if(maxWeight <= 0 || index < 0){
+            return 0;
+        }
+
+        double total = 0;
+        int depth = 0;
+        for(int i = index; i >= 0; i = hierarchy.parentOf(i)){
+            total += weights[i];
+            depth++;
+        }
+        return total / (maxWeight * depth);
+    }
+}
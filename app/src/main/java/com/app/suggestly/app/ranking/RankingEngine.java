@@ -0,0 +1,86 @@
+package com.app.suggestly.app.ranking;
+
+import com.app.suggestly.app.model.relations.VenueSignals;
+
+/*
+ * Scores suggestions from the signals stored with them. Every term is scaled to [0, 1] before
+ * weighting, so a score is comparable across categories and lists. Scores are computed when
+ * rows are written and stored in an indexed column; lists read them with ORDER BY ... LIMIT,
+ * which walks the index and stops after the first rows instead of scoring or sorting anything
+ * at query time.
+ *
+ * Ratings are shrunk towards PRIOR_RATING by PRIOR_SIGNALS pseudo votes, so a 9.8 from four
+ * people does not outrank a 9.1 from four thousand.
+ */
+public final class RankingEngine {
+    static final double WEIGHT_RATING = 0.30;
+    static final double WEIGHT_DISTANCE = 0.25;
+    static final double WEIGHT_AFFINITY = 0.20;
+    static final double WEIGHT_POPULARITY = 0.15;
+    static final double WEIGHT_OPEN = 0.10;
+
+    static final double PRIOR_RATING = 6.0;
+    static final double PRIOR_SIGNALS = 10.0;
+    static final double MAX_RATING = 10.0;
+    static final double DISTANCE_SCALE_METERS = 5000.0;
+    static final double POPULAR_CHECKINS = 100000.0;
+    static final double UNKNOWN_OPEN = 0.5;
+
+    static final double WEIGHT_BOOK_LIST_RANK = 0.45;
+    static final double WEIGHT_BOOK_MOMENTUM = 0.15;
+    static final double WEIGHT_BOOK_WEEKS = 0.15;
+    static final double WEIGHT_BOOK_AFFINITY = 0.25;
+    static final double LONG_RUNNING_WEEKS = 52.0;
+
+    private RankingEngine(){}
+
+    public static double scoreVenue(VenueSignals venue, double affinity){
+        return WEIGHT_RATING * rating(venue.rating, venue.ratingSignals)
+                + WEIGHT_DISTANCE * nearness(venue.distance)
+                + WEIGHT_AFFINITY * clamp(affinity)
+                + WEIGHT_POPULARITY * popularity(venue.checkinsCount)
+                + WEIGHT_OPEN * (venue.isOpen == null ? UNKNOWN_OPEN : venue.isOpen ? 1 : 0);
+    }
+
+    public static double scoreBook(Integer rank, Integer rankLastWeek, Integer weeksOnList, double affinity){
+        double listRank = rank == null || rank <= 0 ? 0 : 1.0 / rank;
+        double momentum = 0.5;
+        if(rank != null && rankLastWeek != null){
+            // a new entry (rank_last_week 0) counts as a climb from the bottom of the list
+            int previous = rankLastWeek <= 0 ? 16 : rankLastWeek;
+            momentum = clamp(0.5 + (previous - rank) / 30.0);
+        }
+        double weeks = weeksOnList == null ? 0 : Math.log1p(weeksOnList) / Math.log1p(LONG_RUNNING_WEEKS);
+
+        return WEIGHT_BOOK_LIST_RANK * listRank
+                + WEIGHT_BOOK_MOMENTUM * momentum
+                + WEIGHT_BOOK_WEEKS * clamp(weeks)
+                + WEIGHT_BOOK_AFFINITY * clamp(affinity);
+    }
+
+    // FoursquareSource stores -1 for a rating or vote count the details response left out
+    static double rating(Float rating, Long signals){
+        if(rating == null || rating < 0 || signals == null || signals <= 0){
+            return PRIOR_RATING / MAX_RATING;
+        }
+        return clamp((rating * signals + PRIOR_RATING * PRIOR_SIGNALS) / (signals + PRIOR_SIGNALS) / MAX_RATING);
+    }
+
+    static double nearness(Double distance){
+        if(distance == null || distance < 0){
+            return 0;
+        }
+        return Math.exp(-distance / DISTANCE_SCALE_METERS);
+    }
+
+    static double popularity(Long checkins){
+        if(checkins == null || checkins <= 0){
+            return 0;
+        }
+        return clamp(Math.log1p(checkins) / Math.log1p(POPULAR_CHECKINS));
+    }
+
+    private static double clamp(double value){
+        return Math.max(0, Math.min(1, value));
+    }
+}
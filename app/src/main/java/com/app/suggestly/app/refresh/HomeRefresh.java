@@ -0,0 +1,141 @@
+package com.app.suggestly.app.refresh;
+
+import com.app.suggestly.app.model.foursquare.FoursquareResult;
+import com.app.suggestly.app.model.foursquare.Venue;
+import com.app.suggestly.app.room.InvalidationThrottle;
+import com.app.suggestly.app.scheduler.SuggestlySchedulers;
+import com.app.suggestly.app.source.FoursquareSource;
+import com.app.suggestly.utility.Config;
+import com.app.suggestly.utility.DistanceCalculator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.reactivex.rxjava3.core.Observable;
+
+/*
+ * Fetches every home carousel in one pass. Sections the tile coverage map already holds for
+ * the user's tile are skipped, so moving around inside covered tiles costs no requests. The
+ * remaining category requests share a bounded number of in-flight calls, venues returned by
+ * several categories are merged by id and the whole result is written in a single
+ * transaction once every request has finished, followed by the coverage of the sections
+ * that succeeded.
+ */
+public class HomeRefresh {
+    public static final int MAX_CONCURRENT_REQUESTS = 3;
+
+    private final FoursquareSource foursquareSource;
+
+    public HomeRefresh(FoursquareSource foursquareSource){
+        this.foursquareSource = foursquareSource;
+    }
+
+    public Observable<HomeRefreshProgress> refresh(double lat, double lng){
+        return Observable.defer(() -> {
+            long start = System.currentTimeMillis();
+            List<String> sections = foursquareSource.readUncoveredSections(lat, lng, Arrays.asList(Config.HOME_SECTIONS));
+            int coveredSections = Config.HOME_SECTIONS.length - sections.size();
+            if(sections.isEmpty()){
+                return Observable.just(HomeRefreshProgress.committed(0, 0, coveredSections, 0, System.currentTimeMillis() - start));
+            }
+
+            List<Observable<Batch>> requests = buildRequests(lat, lng, sections);
+            Map<String, Venue> merged = new LinkedHashMap<>();
+            List<String> fetched = new ArrayList<>();
+            int[] completed = {0};
+
+            return Observable.fromIterable(requests)
+                    .flatMap(request -> request, MAX_CONCURRENT_REQUESTS)
+                    .map(batch -> {
+                        merge(merged, batch.venues, lat, lng);
+                        if(!batch.failed){
+                            fetched.add(batch.section);
+                        }
+                        completed[0]++;
+                        return HomeRefreshProgress.fetched(batch.section, batch.venues.size(), batch.failed,
+                                completed[0], requests.size(), batch.millis, System.currentTimeMillis() - start);
+                    })
+                    .concatWith(Observable.fromCallable(() -> {
+                        long commitStart = System.currentTimeMillis();
+                        InvalidationThrottle.beginBulkWrite();
+                        try{
+                            foursquareSource.createVenues(new ArrayList<>(merged.values()));
+                            foursquareSource.createCoverage(lat, lng, fetched);
+                        }finally {
+                            InvalidationThrottle.endBulkWrite();
+                        }
+                        long now = System.currentTimeMillis();
+                        return HomeRefreshProgress.committed(merged.size(), requests.size(), coveredSections, now - commitStart, now - start);
+                    }).subscribeOn(SuggestlySchedulers.dbWrite()));
+        }).subscribeOn(SuggestlySchedulers.dbRead());
+    }
+
+    private List<Observable<Batch>> buildRequests(double lat, double lng, List<String> sections){
+        List<Observable<Batch>> requests = new ArrayList<>();
+        for(String section : sections){
+            if(Config.RECOMMENDED.equals(section)){
+                requests.add(timed(section, foursquareSource.fetchRecommendedFoursquareVenuesNearUser(lat, lng)
+                        .map(HomeRefresh::toRecommendedVenues)));
+            }else{
+                requests.add(timed(section, foursquareSource.fetchGeneralFoursquareVenuesNearUserById(lat, lng, section)));
+            }
+        }
+        return requests;
+    }
+
+    private static Observable<Batch> timed(String section, Observable<List<Venue>> request){
+        return Observable.defer(() -> {
+            long start = System.currentTimeMillis();
+            return request.take(1)
+                    .map(venues -> new Batch(section, venues, System.currentTimeMillis() - start, false))
+                    .onErrorReturn(e -> {
+                        e.printStackTrace();
+                        return new Batch(section, new ArrayList<>(), System.currentTimeMillis() - start, true);
+                    });
+        });
+    }
+
+    private static List<Venue> toRecommendedVenues(List<FoursquareResult> results){
+        List<Venue> venues = new ArrayList<>();
+        for(FoursquareResult result : results){
+            result.venue.isRecommended = true;
+            venues.add(result.venue);
+        }
+        return venues;
+    }
+
+    private static void merge(Map<String, Venue> merged, List<Venue> venues, double lat, double lng){
+        for(Venue venue : venues){
+            if(venue.categories == null || venue.categories.isEmpty()){
+                continue;
+            }
+
+            Venue existing = merged.get(venue.venueId);
+            if(existing != null){
+                existing.isRecommended = existing.isRecommended || venue.isRecommended;
+                continue;
+            }
+
+            venue.categoryId = venue.categories.get(0).id;
+            venue.location.distance = DistanceCalculator.distanceMeter(venue.location.lat, lat, venue.location.lng, lng);
+            merged.put(venue.venueId, venue);
+        }
+    }
+
+    private static class Batch {
+        final String section;
+        final List<Venue> venues;
+        final long millis;
+        final boolean failed;
+
+        Batch(String section, List<Venue> venues, long millis, boolean failed){
+            this.section = section;
+            this.venues = venues;
+            this.millis = millis;
+            this.failed = failed;
+        }
+    }
+}
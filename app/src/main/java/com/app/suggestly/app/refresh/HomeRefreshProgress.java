@@ -0,0 +1,57 @@
+package com.app.suggestly.app.refresh;
+
+import androidx.annotation.NonNull;
+
+public class HomeRefreshProgress {
+    public enum Stage {
+        FETCHED,
+        COMMITTED,
+    }
+
+    public final Stage stage;
+    public final String section;
+    public final int venueCount;
+    public final boolean failed;
+    public final int completedSections;
+    public final int totalSections;
+    public final int coveredSections;
+    public final long stageMillis;
+    public final long elapsedMillis;
+
+    private HomeRefreshProgress(Stage stage, String section, int venueCount, boolean failed,
+                                int completedSections, int totalSections, int coveredSections, long stageMillis, long elapsedMillis){
+        this.stage = stage;
+        this.section = section;
+        this.venueCount = venueCount;
+        this.failed = failed;
+        this.completedSections = completedSections;
+        this.totalSections = totalSections;
+        this.coveredSections = coveredSections;
+        this.stageMillis = stageMillis;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public static HomeRefreshProgress fetched(String section, int venueCount, boolean failed, int completedSections,
+                                              int totalSections, long stageMillis, long elapsedMillis){
+        return new HomeRefreshProgress(Stage.FETCHED, section, venueCount, failed, completedSections, totalSections, 0, stageMillis, elapsedMillis);
+    }
+
+    public static HomeRefreshProgress committed(int venueCount, int totalSections, int coveredSections, long stageMillis, long elapsedMillis){
+        return new HomeRefreshProgress(Stage.COMMITTED, null, venueCount, false, totalSections, totalSections, coveredSections, stageMillis, elapsedMillis);
+    }
+
+    public boolean isComplete(){
+        return stage == Stage.COMMITTED;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        if(isComplete()){
+            return "committed " + venueCount + " venues in " + stageMillis + "ms, total " + elapsedMillis + "ms, "
+                    + coveredSections + " sections already covered";
+        }
+        return section + " fetched " + venueCount + " venues in " + stageMillis + "ms" + (failed ? " (failed)" : "")
+                + " [" + completedSections + "/" + totalSections + "]";
+    }
+}
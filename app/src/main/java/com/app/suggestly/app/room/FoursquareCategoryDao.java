@@ -1,15 +1,16 @@
 package com.app.suggestly.app.room;
 
 import androidx.lifecycle.LiveData;
-import androidx.paging.DataSource;
 import androidx.room.Dao;
 import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
 import androidx.room.Transaction;
+import androidx.room.Update;
 
 import com.app.suggestly.app.model.foursquare.Category;
-import com.app.suggestly.app.model.relations.CategoryClosure;
-import com.app.suggestly.app.model.relations.CategoryTuple;
+
+import java.util.List;
 
 @Dao
 public abstract class FoursquareCategoryDao {
@@ -22,16 +23,29 @@ public abstract class FoursquareCategoryDao {
         return checkIfTableIsEmpty() == null;
     }
 
-    @Insert
-    public abstract void createBaseTable(Category category);
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    protected abstract long insert(Category category);
+
+    @Update
+    protected abstract int update(Category category);
 
-    @Insert
-    public abstract void createClosureTable(CategoryClosure categoryClosure);
+    @Query("SELECT category_key FROM Category WHERE category_id = :id")
+    protected abstract Long readCategoryKey(String id);
 
-    @Query("SELECT DISTINCT category_id, category_name, category_icon_prefix, category_icon_suffix FROM " +
-            "CategoryClosure JOIN category c on(child == category_id) WHERE parent IN (select parent " +
-            "FROM categoryclosure WHERE child=:id) LIMIT 5 ")
-    public abstract DataSource.Factory<Integer, CategoryTuple> readRelatedCategories(String id);
+    // keeps the rowid of a category that is already stored, so venues and saved rows that point
+    // at it stay valid when the tree is fetched again
+    @Transaction
+    public void createCategories(List<Category> categories){
+        for(Category category : categories){
+            long key = insert(category);
+            if(key < 0){
+                category.key = readCategoryKey(category.id);
+                update(category);
+            }else{
+                category.key = key;
+            }
+        }
+    }
 
     @Query("SELECT * FROM Category WHERE category_id = :id")
     public abstract LiveData<Category> readFoursquareCategory(String id);
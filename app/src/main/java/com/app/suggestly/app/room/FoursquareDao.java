@@ -1,34 +1,150 @@
 package com.app.suggestly.app.room;
 
-import androidx.lifecycle.LiveData;
 import androidx.paging.DataSource;
 import androidx.room.Dao;
 import androidx.room.Delete;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.RewriteQueriesToDropUnusedColumns;
+import androidx.room.RoomWarnings;
 import androidx.room.Transaction;
 import androidx.room.Update;
 
+import com.app.suggestly.app.category.CategoryHierarchy;
 import com.app.suggestly.app.model.foursquare.Venue;
+import com.app.suggestly.app.model.relations.CategoryAffinity;
+import com.app.suggestly.app.model.relations.HomeFeed;
+import com.app.suggestly.app.model.relations.RecommendedVenue;
 import com.app.suggestly.app.model.relations.SimilarVenues;
 import com.app.suggestly.app.model.relations.VenueAndCategory;
-import com.app.suggestly.utility.DistanceCalculator;
-
+import com.app.suggestly.app.model.relations.VenueCoordinates;
+import com.app.suggestly.app.model.relations.VenueSignals;
+import com.app.suggestly.app.ranking.AffinityIndex;
+import com.app.suggestly.app.ranking.RankingEngine;
+import com.app.suggestly.utility.Config;
+import com.app.suggestly.utility.DistanceKernel;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
-import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Maybe;
 
 @Dao
 public abstract class FoursquareDao {
+    private static final String LATEST_RECOMMENDED = "venue_key IN (SELECT venue_key FROM RecommendedVenue"
+            + " WHERE recommended_generation = (SELECT MAX(recommended_generation) FROM RecommendedVenue))";
+    private static final String VENUE_SIGNALS = "venue_key, venue_category_id, venue_category_index, venue_rating,"
+            + " venue_rating_signals, checkinsCount, isOpen, distance, venue_rank";
+
     @Insert(onConflict = OnConflictStrategy.IGNORE)
-    public abstract long create(Venue venue);
+    protected abstract long insert(Venue venue);
 
     @Insert(onConflict = OnConflictStrategy.IGNORE)
-    public abstract long createSimilarVenue(SimilarVenues venue);
+    protected abstract long insertSimilarVenue(SimilarVenues venue);
+
+    @Insert
+    protected abstract void insertRecommendedVenues(List<RecommendedVenue> venues);
+
+    @Query("SELECT venue_key FROM Venue WHERE id = :id")
+    public abstract Long readVenueKey(String id);
+
+    @Query("SELECT category_key FROM Category WHERE category_id = :categoryId")
+    protected abstract Long readCategoryKey(String categoryId);
+
+    /*
+     * Foursquare ids only identify a venue towards the API. Inside the database every venue and
+     * category row is addressed by its integer rowid, which is handed out the first time the id
+     * is seen and kept on every later upsert, so joins and relation tables compare integers.
+     */
+    @Transaction
+    public long create(Venue venue){
+        Long categoryKey = readCategoryKey(venue.categoryId);
+        venue.categoryKey = categoryKey != null ? categoryKey : 0;
+        long key = insert(venue);
+        if(key < 0){
+            Long existing = readVenueKey(venue.venueId);
+            venue.venueKey = existing != null ? existing : 0;
+        }else{
+            venue.venueKey = key;
+        }
+        return key;
+    }
+
+    @Transaction
+    public void createSimilarVenue(String ownerId, String siblingId){
+        Long ownerKey = readVenueKey(ownerId);
+        Long siblingKey = readVenueKey(siblingId);
+        if(ownerKey != null && siblingKey != null){
+            insertSimilarVenue(new SimilarVenues(ownerKey, siblingKey));
+        }
+    }
+
+    // similar venues arrive as compact search results, an existing row keeps its details
+    @Transaction
+    public void createSimilarVenues(String ownerId, List<Venue> venues, CategoryHierarchy hierarchy){
+        List<String> ids = new ArrayList<>();
+        for(Venue venue : venues){
+            create(venue);
+            createSimilarVenue(ownerId, venue.venueId);
+            ids.add(venue.venueId);
+        }
+        rankVenues(hierarchy, ids);
+    }
+
+    // recommendations arrive as compact results, an existing row keeps its details. When the batch
+    // holds recommendations they become the recommended set, otherwise the current set is kept
+    @Transaction
+    public void upsertVenues(List<Venue> venues, CategoryHierarchy hierarchy){
+        List<String> ids = new ArrayList<>();
+        Set<Long> recommended = new LinkedHashSet<>();
+        for(Venue venue : venues){
+            if(create(venue) < 0 && !venue.isRecommended){
+                update(venue);
+            }
+            if(venue.isRecommended){
+                recommended.add(venue.venueKey);
+            }
+            ids.add(venue.venueId);
+        }
+        if(!recommended.isEmpty()){
+            swapRecommendedVenues(recommended);
+        }
+        rankVenues(hierarchy, ids);
+    }
+
+    @Query("SELECT IFNULL(MAX(recommended_generation), 0) FROM RecommendedVenue")
+    protected abstract long readRecommendedGeneration();
+
+    @Query("DELETE FROM RecommendedVenue WHERE recommended_generation < :generation")
+    protected abstract int deleteRecommendedGenerationsBefore(long generation);
+
+    /*
+     * Writes the venues as the next generation and deletes every older one. Readers only look at
+     * the latest generation, and both steps commit together, so they see either the whole
+     * previous set or the whole new one.
+     */
+    @Transaction
+    public long swapRecommendedVenues(Set<Long> venueKeys){
+        long generation = readRecommendedGeneration() + 1;
+        List<RecommendedVenue> rows = new ArrayList<>(venueKeys.size());
+        for(long venueKey : venueKeys){
+            rows.add(new RecommendedVenue(generation, rows.size(), venueKey));
+        }
+        insertRecommendedVenues(rows);
+        deleteRecommendedGenerationsBefore(generation);
+        return generation;
+    }
 
     @Query("SELECT * from Venue WHERE id = :id")
-    public abstract LiveData<Venue> readVenueById(String id);
+    public abstract Venue readVenue(String id);
+
+    @Query("SELECT * from Venue WHERE id = :id")
+    public abstract Maybe<Venue> readVenueMaybe(String id);
 
     @Query("SELECT * from Venue")
     public abstract List<Venue> readVenues();
@@ -36,46 +152,77 @@ public abstract class FoursquareDao {
     @Query("SELECT * FROM venue ORDER BY RANDOM() LIMIT 1")
     public abstract Venue readRandomVenue();
 
-    @Query("SELECT * FROM venue WHERE is_venue_recommended = 1 ORDER BY RANDOM() LIMIT 1")
-    public abstract Venue readRandomRecommendedVenue();
+    @Query("SELECT * FROM (SELECT * FROM Venue WHERE " + LATEST_RECOMMENDED + " ORDER BY venue_rank DESC LIMIT 5) ORDER BY RANDOM() LIMIT 1")
+    public abstract Venue readTopRecommendedVenue();
 
     @Transaction
-    @Query("SELECT * FROM venue v JOIN category c ON(v.venue_category_id = c.category_id) WHERE is_venue_recommended = 1 ORDER BY distance")
+    @Query("SELECT * FROM venue v JOIN category c ON(v.venue_category_key = c.category_key) WHERE " + LATEST_RECOMMENDED + " ORDER BY venue_rank DESC")
     public abstract DataSource.Factory<Integer, VenueAndCategory> readRecommendedVenuesDataFactory();
 
     @Transaction
-    @Query("SELECT * FROM Venue v JOIN category c ON(v.venue_category_id = c.category_id) WHERE is_venue_recommended = 1 ORDER BY distance")
+    @Query("SELECT * FROM Venue v JOIN category c ON(v.venue_category_key = c.category_key) WHERE " + LATEST_RECOMMENDED + " ORDER BY venue_rank DESC")
     public abstract List<VenueAndCategory> readRecommendedVenuesLiveData();
 
     @Transaction
-    @Query("SELECT * FROM Venue v JOIN category c ON(v.venue_category_id = c.category_id) WHERE is_venue_recommended = 1 ORDER BY distance LIMIT 10")
-    public abstract DataSource.Factory<Integer, VenueAndCategory> readRecommendedVenuesDataFactoryHomeFragment();
+    @Query("SELECT * FROM Venue v JOIN category c ON(v.venue_category_key = c.category_key) WHERE " + LATEST_RECOMMENDED
+            + " ORDER BY venue_rank DESC LIMIT :limit")
+    protected abstract List<VenueAndCategory> readTopRecommendedVenues(int limit);
 
     @Transaction
-    @Query("SELECT * FROM Venue v JOIN category c ON(v.venue_category_id = c.category_id)"
-            + "WHERE id IN (SELECT siblingId FROM SimilarVenues where ownerId=:venueId)")
-    public abstract LiveData<List<VenueAndCategory>> readSimilarVenuesLiveData(String venueId);
+    @Query("SELECT * FROM Venue v JOIN category c ON(v.venue_category_key = c.category_key)"
+            + " WHERE venue_key IN (SELECT sibling_key FROM SimilarVenues WHERE owner_key = (SELECT venue_key FROM Venue WHERE id = :venueId))")
+    public abstract List<VenueAndCategory> readSimilarVenues(String venueId);
 
     @Transaction
-    @Query("select * from venue v JOIN category c ON(v.venue_category_id = c.category_id) where venue_category_id IN (select child from categoryclosure where parent =:categoryId)"
-            + "ORDER BY distance")
-    public abstract DataSource.Factory<Integer, VenueAndCategory> readVenueByCategoryId(String categoryId);
+    @Query("select * from venue v JOIN category c ON(v.venue_category_key = c.category_key) WHERE venue_category_index BETWEEN :first AND :last"
+            + " ORDER BY venue_rank DESC")
+    public abstract DataSource.Factory<Integer, VenueAndCategory> readVenueByCategoryIndex(int first, int last);
 
     @Transaction
-    @Query("select * from venue v JOIN category c ON(v.venue_category_id = c.category_id) where venue_category_id IN (select child from categoryclosure where parent =:categoryId)"
-            + "ORDER BY distance LIMIT 10")
-    public abstract DataSource.Factory<Integer, VenueAndCategory> readVenueByCategoryIdHomeFragment(String categoryId);
+    @Query("select * from venue v JOIN category c ON(v.venue_category_key = c.category_key) WHERE venue_category_index BETWEEN :first AND :last"
+            + " ORDER BY venue_rank DESC LIMIT :limit")
+    protected abstract List<VenueAndCategory> readTopVenuesByCategoryIndex(int first, int last, int limit);
 
-    @Transaction
-    @Query("select * from venue v JOIN category c ON(v.venue_category_id = c.category_id) where venue_category_id IN (select child from categoryclosure where parent =:categoryId)"
-            + "ORDER BY distance")
-    public abstract Observable<List<VenueAndCategory>> readVenueByCategoryIdObservable(String categoryId);
+    // the cards only carry the bound columns, the rest of Venue and Category stays unset
+    @SuppressWarnings(RoomWarnings.CURSOR_MISMATCH)
+    @RewriteQueriesToDropUnusedColumns
+    @Query("SELECT * FROM HomeFeed WHERE home_section = :section ORDER BY home_position")
+    public abstract DataSource.Factory<Integer, VenueAndCategory> readHomeFeed(String section);
 
-    @Query("SELECT * FROM Venue ORDER BY ABS(lat -:lat) + ABS(lng -:lng) ASC LIMIT 1")
-    public abstract Venue readClosestEntry(double lat, double lng);
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    protected abstract void insertHomeFeed(List<HomeFeed> cards);
+
+    @Query("SELECT * FROM HomeFeed WHERE home_section = :section ORDER BY home_position")
+    protected abstract List<HomeFeed> readHomeFeedRows(String section);
+
+    @Query("SELECT COUNT(*) > 0 FROM RecommendedVenue WHERE venue_key IN (:keys)"
+            + " AND recommended_generation = (SELECT MAX(recommended_generation) FROM RecommendedVenue)")
+    protected abstract boolean isAnyRecommended(List<Long> keys);
+
+    @Query("DELETE FROM HomeFeed WHERE home_section = :section AND home_position >= :size")
+    protected abstract int trimHomeFeed(String section, int size);
+
+    @Transaction
+    @Query("select * from venue v JOIN category c ON(v.venue_category_key = c.category_key) WHERE venue_category_index BETWEEN :first AND :last"
+            + " ORDER BY venue_rank DESC")
+    public abstract List<VenueAndCategory> readVenuesByCategoryIndex(int first, int last);
 
     @Update
-    public abstract int update(Venue venue);
+    protected abstract int updateRow(Venue venue);
+
+    @Transaction
+    public int update(Venue venue){
+        if(venue.venueKey == 0){
+            Long key = readVenueKey(venue.venueId);
+            if(key == null){
+                return 0;
+            }
+            venue.venueKey = key;
+        }
+        Long categoryKey = readCategoryKey(venue.categoryId);
+        venue.categoryKey = categoryKey != null ? categoryKey : 0;
+        return updateRow(venue);
+    }
 
     @Query("UPDATE Venue SET phone=:phone, formattedPhone=:formattedPhone,"
             + "twitter=:twitter, instagram=:instagram, facebook=:facebook, facebookName =:facebookName,"
@@ -107,42 +254,223 @@ public abstract class FoursquareDao {
     public abstract int updateVenueHours(String id, String status,
                                          boolean isOpen, boolean isLocalHoliday);
 
-    @Query("UPDATE Venue SET is_venue_recommended=:isRecommended WHERE id=:id")
-    public abstract int updateVenueRecommended(String id, boolean isRecommended);
+    @Query("UPDATE Venue SET venue_has_details=:hasDetails, venue_updated_at=:updatedAt WHERE id=:id")
+    public abstract int updateVenueHasDetails(String id, boolean hasDetails, Date updatedAt);
+
+    // the details response fills several column groups, one transaction notifies observers of Venue once
+    @Transaction
+    public int updateVenueDetails(Venue venue, CategoryHierarchy hierarchy){
+        updateVenueHasDetails(venue.venueId, true, venue.venueUpdatedDate);
+        if(venue.contact != null){
+            updateVenueContact(venue.venueId, venue.contact.phone, venue.contact.formattedPhone,
+                    venue.contact.twitter, venue.contact.instagram, venue.contact.facebook,
+                    venue.contact.facebookName, venue.contact.facebookUsername);
+        }
+        if(venue.stats != null){
+            updateVenueStats(venue.venueId, venue.stats.checkinsCount, venue.stats.usersCount,
+                    venue.stats.tipCount, venue.stats.visitsCount);
+        }
+        updateVenueDescription(venue.venueId, venue.url, venue.rating, venue.ratingColor,
+                venue.ratingSignals, venue.description);
+        if(venue.bestPhoto != null){
+            updateVenueImage(venue.venueId, venue.bestPhoto.prefix, venue.bestPhoto.suffix,
+                    venue.bestPhoto.width, venue.bestPhoto.height, venue.bestPhoto.visibility);
+        }
+        int result = -1;
+        if(venue.hours != null){
+            result = updateVenueHours(venue.venueId, venue.hours.status, venue.hours.isOpen, venue.hours.isLocalHoliday);
+        }
+        rankVenues(hierarchy, Collections.singletonList(venue.venueId));
+        return result;
+    }
 
-    @Query("UPDATE Venue SET venue_has_details=:hasDetails WHERE id=:id")
-    public abstract int updateVenueHasDetails(String id, boolean hasDetails);
+    @Query("UPDATE Venue SET distance=:distance WHERE venue_key=:key")
+    public abstract int updateDistance(double distance, long key);
 
-    @Query("UPDATE Venue SET distance=:distance WHERE id=:id")
-    public abstract int updateDistance(double distance, String id);
+    @Query("SELECT venue_key, lat, lng FROM Venue WHERE lat IS NOT NULL AND lng IS NOT NULL")
+    public abstract List<VenueCoordinates> readVenueCoordinates();
 
     @Transaction
-    public void updateVenueDistance(double lat, double lng){
-        List<Venue> venues = readVenues();
-        for(Venue venue : venues){
-            venue.location.distance = DistanceCalculator.distanceMeter(lat, venue.location.lat, lng, venue.location.lng);
-            updateDistance(venue.location.distance, venue.venueId);
+    public void updateVenueDistance(double lat, double lng, CategoryHierarchy hierarchy){
+        List<VenueCoordinates> venues = readVenueCoordinates();
+        int count = venues.size();
+        double[] lats = new double[count];
+        double[] lngs = new double[count];
+        double[] distances = new double[count];
+        for(int i = 0; i < count; i++){
+            lats[i] = venues.get(i).lat;
+            lngs[i] = venues.get(i).lng;
         }
+
+        DistanceKernel.haversineMeters(lat, lng, lats, lngs, distances, count);
+        for(int i = 0; i < count; i++){
+            updateDistance(distances[i], venues.get(i).key);
+        }
+        rankVenues(hierarchy);
     }
 
-    @Delete
-    public abstract int delete(Venue venue);
+    @Query("UPDATE Venue SET venue_rank=:rank WHERE venue_key=:key")
+    public abstract int updateVenueRank(long key, double rank);
+
+    @Query("SELECT " + VENUE_SIGNALS + " FROM Venue WHERE id IN (:ids)")
+    public abstract List<VenueSignals> readVenueSignals(List<String> ids);
+
+    @Query("SELECT " + VENUE_SIGNALS + " FROM Venue")
+    public abstract List<VenueSignals> readVenueSignals();
+
+    @Query("SELECT " + VENUE_SIGNALS + " FROM Venue WHERE venue_category_index BETWEEN :first AND :last")
+    protected abstract List<VenueSignals> readVenueSignalsByCategoryIndex(int first, int last);
+
+    @Query("SELECT DISTINCT venue_category_index FROM Venue WHERE id IN (:ids)")
+    protected abstract List<Integer> readCategoryIndices(List<String> ids);
+
+    @Query("SELECT v.venue_category_id AS category_id, SUM(s.is_saved + 2 * s.is_favorite) AS weight FROM UserSavedVenue s "
+            + "JOIN Venue v ON(v.venue_key = s.venue_key) GROUP BY v.venue_category_id")
+    public abstract List<CategoryAffinity> readCategoryAffinity();
+
+    @Query("UPDATE Venue SET venue_category_index=:index WHERE venue_key=:key")
+    public abstract int updateVenueCategoryIndex(long key, int index);
+
+    @Query("UPDATE Venue SET venue_category_key = IFNULL((SELECT category_key FROM Category WHERE category_id = venue_category_id), 0)")
+    public abstract int updateVenueCategoryKeys();
 
     @Transaction
-    public Boolean isEmpty(Venue venue){
-        return venue == null;
+    public void rankVenues(CategoryHierarchy hierarchy, List<String> ids){
+        if(!ids.isEmpty()){
+            List<VenueSignals> venues = readVenueSignals(ids);
+            rank(hierarchy, venues);
+            refreshHomeFeed(hierarchy, venues);
+        }
     }
 
     @Transaction
-    public Boolean isFresh(double lat, double lng) {
-        Venue venue = readClosestEntry(lat , lng);
-        boolean isEmpty = isEmpty(venue);
-        if (isEmpty) {
+    public void rankVenues(CategoryHierarchy hierarchy){
+        rank(hierarchy, readVenueSignals());
+        refreshHomeFeed(hierarchy, null);
+    }
+
+    /*
+     * A save or favorite changes the weight of the venue's category and of each of its
+     * ancestors, and every category under the same top level category averages one of those
+     * weights in. Only the venues under those top level categories are scored again. Venues
+     * elsewhere keep the affinity scale they were last ranked with until the next full pass.
+     */
+    @Transaction
+    public void rankVenuesAffectedBy(CategoryHierarchy hierarchy, List<String> ids){
+        Set<Integer> roots = new LinkedHashSet<>();
+        for(int index : readCategoryIndices(ids)){
+            if(index < 0 || index >= hierarchy.size()){
+                continue;
+            }
+            int root = index;
+            while(hierarchy.parentOf(root) >= 0){
+                root = hierarchy.parentOf(root);
+            }
+            roots.add(root);
+        }
+
+        List<VenueSignals> venues = new ArrayList<>();
+        for(int root : roots){
+            venues.addAll(readVenueSignalsByCategoryIndex(root, hierarchy.lastDescendantOf(root)));
+        }
+        if(!venues.isEmpty()){
+            rank(hierarchy, venues);
+            refreshHomeFeed(hierarchy, venues);
+        }
+    }
+
+    @Transaction
+    public void reindexCategories(CategoryHierarchy hierarchy){
+        updateVenueCategoryKeys();
+        List<VenueSignals> venues = readVenueSignals();
+        for(VenueSignals venue : venues){
+            updateVenueCategoryIndex(venue.key, hierarchy.indexOf(venue.categoryId));
+        }
+        rank(hierarchy, venues);
+        refreshHomeFeed(hierarchy, null);
+    }
+
+    private void rank(CategoryHierarchy hierarchy, List<VenueSignals> venues){
+        AffinityIndex affinityIndex = new AffinityIndex(readCategoryAffinity(), hierarchy);
+        for(VenueSignals venue : venues){
+            double rank = RankingEngine.scoreVenue(venue, affinityIndex.affinity(venue.categoryId));
+            if(rank != venue.rank){
+                updateVenueRank(venue.key, rank);
+            }
+        }
+    }
+
+    /*
+     * Rewrites the HomeFeed rows of every section the ranked venues can appear in, or of every
+     * section when venues is null, inside the caller's transaction. The home carousels observe
+     * HomeFeed alone, so an ingest reaches them as one invalidation of that table instead of
+     * each carousel re-running its join whenever Venue is written. A section whose rows come
+     * out the same is not written at all.
+     */
+    private void refreshHomeFeed(CategoryHierarchy hierarchy, List<VenueSignals> venues){
+        for(String section : Config.HOME_SECTIONS){
+            if(Config.RECOMMENDED.equals(section)){
+                if(venues == null || isAnyRecommended(keys(venues))){
+                    writeHomeFeed(section, readTopRecommendedVenues(HomeFeed.SIZE));
+                }
+                continue;
+            }
+            int first = hierarchy.indexOf(section);
+            int last = first < 0 ? -1 : hierarchy.lastDescendantOf(first);
+            if(venues == null || containsCategoryIndex(hierarchy, venues, first, last)){
+                writeHomeFeed(section, readTopVenuesByCategoryIndex(first, last, HomeFeed.SIZE));
+            }
+        }
+    }
+
+    private void writeHomeFeed(String section, List<VenueAndCategory> cards){
+        List<HomeFeed> rows = new ArrayList<>(cards.size());
+        for(int i = 0; i < cards.size(); i++){
+            rows.add(new HomeFeed(section, i, cards.get(i)));
+        }
+        if(isSameFeed(rows, readHomeFeedRows(section))){
+            return;
+        }
+        insertHomeFeed(rows);
+        trimHomeFeed(section, rows.size());
+    }
+
+    private static boolean isSameFeed(List<HomeFeed> rows, List<HomeFeed> current){
+        if(rows.size() != current.size()){
             return false;
         }
-        double distance = DistanceCalculator.distanceMile(lat, venue.getLocation().lat, lng, venue.getLocation().lng);
+        for(int i = 0; i < rows.size(); i++){
+            if(!rows.get(i).isCardSame(current.get(i))){
+                return false;
+            }
+        }
+        return true;
+    }
 
-        return distance <= 15.0d;
+    private static List<Long> keys(List<VenueSignals> venues){
+        List<Long> keys = new ArrayList<>(venues.size());
+        for(VenueSignals venue : venues){
+            keys.add(venue.key);
+        }
+        return keys;
+    }
+
+    private static boolean containsCategoryIndex(CategoryHierarchy hierarchy, List<VenueSignals> venues, int first, int last){
+        for(VenueSignals venue : venues){
+            int index = hierarchy.indexOf(venue.categoryId);
+            if(index >= first && index <= last){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Delete
+    public abstract int delete(Venue venue);
+
+    @Transaction
+    public Boolean isEmpty(Venue venue){
+        return venue == null;
     }
 
     @Transaction
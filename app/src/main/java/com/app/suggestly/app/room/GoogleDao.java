@@ -0,0 +1,42 @@
+package com.app.suggestly.app.room;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import androidx.room.Transaction;
+
+import com.app.suggestly.app.model.google.CachedGeocode;
+import com.app.suggestly.app.model.google.CachedPrediction;
+
+import java.util.List;
+
+@Dao
+public abstract class GoogleDao {
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    public abstract void createGeocode(CachedGeocode geocode);
+
+    @Query("SELECT * FROM CachedGeocode WHERE search_query = :query AND cached_at >= :minCachedAt")
+    public abstract CachedGeocode readGeocode(String query, long minCachedAt);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    public abstract void createPredictions(List<CachedPrediction> predictions);
+
+    @Query("SELECT * FROM CachedPrediction WHERE search_query = :query AND cached_at >= :minCachedAt ORDER BY position")
+    public abstract List<CachedPrediction> readPredictions(String query, long minCachedAt);
+
+    @Query("DELETE FROM CachedPrediction WHERE search_query = :query")
+    public abstract int deletePredictions(String query);
+
+    @Transaction
+    public void replacePredictions(String query, List<CachedPrediction> predictions){
+        deletePredictions(query);
+        createPredictions(predictions);
+    }
+
+    @Query("DELETE FROM CachedPrediction WHERE cached_at < :minCachedAt")
+    public abstract int deleteExpiredPredictions(long minCachedAt);
+
+    @Query("DELETE FROM CachedGeocode WHERE cached_at < :minCachedAt")
+    public abstract int deleteExpiredGeocodes(long minCachedAt);
+}
@@ -0,0 +1,296 @@
+package com.app.suggestly.app.room;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
+import androidx.paging.DataSource;
+import androidx.paging.PositionalDataSource;
+import androidx.room.InvalidationTracker;
+
+import com.app.suggestly.app.scheduler.SuggestlySchedulers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.ObservableEmitter;
+
+/*
+ * Coalesces Room's table invalidations for the reads the UI observes. Room re-runs an observed
+ * query after every transaction that touched one of its tables, so a burst of small writes
+ * re-runs every observer once per write. Reads built here re-run at most once per WINDOW_MILLIS
+ * and not at all while a bulk write is open; each read that was invalidated during the bulk
+ * write re-runs once when it closes. Room's own notifications per table are counted next to
+ * the re-queries they caused.
+ */
+public final class InvalidationThrottle {
+    public static final long WINDOW_MILLIS = 100;
+    public static final String[] WATCHED_TABLES = {"Venue", "HomeFeed", "SimilarVenues", "Book"};
+
+    private static final Map<String, Stats> STATS = new HashMap<>();
+    private static final Map<String, Long> TABLE_INVALIDATIONS = new HashMap<>();
+    private static final Set<Coalescer> HELD = new LinkedHashSet<>();
+    private static int bulkWrites;
+
+    private InvalidationThrottle(){}
+
+    public static void watch(InvalidationTracker tracker){
+        tracker.addObserver(new InvalidationTracker.Observer(WATCHED_TABLES) {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                synchronized (InvalidationThrottle.class){
+                    for(String table : tables){
+                        Long count = TABLE_INVALIDATIONS.get(table);
+                        TABLE_INVALIDATIONS.put(table, count == null ? 1 : count + 1);
+                    }
+                }
+            }
+        });
+    }
+
+    public static synchronized void beginBulkWrite(){
+        bulkWrites++;
+    }
+
+    public static void endBulkWrite(){
+        List<Coalescer> released;
+        synchronized (InvalidationThrottle.class){
+            bulkWrites--;
+            if(bulkWrites > 0 || HELD.isEmpty()){
+                return;
+            }
+            released = new ArrayList<>(HELD);
+            HELD.clear();
+        }
+        for(Coalescer coalescer : released){
+            coalescer.schedule();
+        }
+    }
+
+    public static <T> LiveData<T> liveData(InvalidationTracker tracker, String name, String[] tables, Callable<T> query){
+        return new ThrottledLiveData<>(tracker, name, tables, query);
+    }
+
+    public static <T> Observable<T> observable(InvalidationTracker tracker, String name, String[] tables, Callable<T> query){
+        return Observable.create(source -> {
+            ObservableEmitter<T> emitter = source.serialize();
+            Coalescer coalescer = new Coalescer(stats(name), () -> {
+                if(!emitter.isDisposed()){
+                    emitter.onNext(query.call());
+                }
+                return null;
+            });
+            InvalidationTracker.Observer observer = new InvalidationTracker.Observer(tables) {
+                @Override
+                public void onInvalidated(@NonNull Set<String> invalidated) {
+                    coalescer.onInvalidated();
+                }
+            };
+            tracker.addObserver(observer);
+            emitter.setCancellable(() -> SuggestlySchedulers.dbReadExecutor().execute(() -> tracker.removeObserver(observer)));
+            emitter.onNext(query.call());
+        }).subscribeOn(SuggestlySchedulers.dbRead());
+    }
+
+    public static <V> DataSource.Factory<Integer, V> dataSourceFactory(String name, DataSource.Factory<Integer, V> factory){
+        return new DataSource.Factory<Integer, V>() {
+            @NonNull
+            @Override
+            public DataSource<Integer, V> create() {
+                return new ThrottledDataSource<>(stats(name), (PositionalDataSource<V>) factory.create());
+            }
+        };
+    }
+
+    private static synchronized Stats stats(String name){
+        Stats stats = STATS.get(name);
+        if(stats == null){
+            stats = new Stats(name);
+            STATS.put(name, stats);
+        }
+        return stats;
+    }
+
+    public static synchronized Map<String, Long> tableInvalidations(){
+        return new HashMap<>(TABLE_INVALIDATIONS);
+    }
+
+    public static synchronized List<Metrics> snapshot(){
+        List<Metrics> metrics = new ArrayList<>();
+        for(Stats stats : STATS.values()){
+            metrics.add(new Metrics(stats.name, stats.received, stats.requeried));
+        }
+        return metrics;
+    }
+
+    // runs the re-query once for any number of invalidations inside one window
+    private static class Coalescer {
+        private final Stats stats;
+        private final Callable<?> requery;
+        private boolean isScheduled;
+
+        Coalescer(Stats stats, Callable<?> requery){
+            this.stats = stats;
+            this.requery = requery;
+        }
+
+        Coalescer(Stats stats, Runnable requery){
+            this(stats, () -> {
+                requery.run();
+                return null;
+            });
+        }
+
+        void onInvalidated(){
+            synchronized (InvalidationThrottle.class){
+                stats.received++;
+                if(bulkWrites > 0){
+                    HELD.add(this);
+                    return;
+                }
+            }
+            schedule();
+        }
+
+        void schedule(){
+            synchronized (this){
+                if(isScheduled){
+                    return;
+                }
+                isScheduled = true;
+            }
+            SuggestlySchedulers.dbRead().scheduleDirect(this::run, WINDOW_MILLIS, TimeUnit.MILLISECONDS);
+        }
+
+        private void run(){
+            synchronized (this){
+                isScheduled = false;
+            }
+            synchronized (InvalidationThrottle.class){
+                stats.requeried++;
+            }
+            try{
+                requery.call();
+            }catch (Exception e){
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private static class ThrottledLiveData<T> extends LiveData<T> {
+        private final InvalidationTracker tracker;
+        private final Callable<T> query;
+        private final InvalidationTracker.Observer observer;
+        private boolean isRegistered;
+
+        ThrottledLiveData(InvalidationTracker tracker, String name, String[] tables, Callable<T> query){
+            this.tracker = tracker;
+            this.query = query;
+            Coalescer coalescer = new Coalescer(stats(name), this::load);
+            this.observer = new InvalidationTracker.Observer(tables) {
+                @Override
+                public void onInvalidated(@NonNull Set<String> invalidated) {
+                    coalescer.onInvalidated();
+                }
+            };
+        }
+
+        // nothing is observed while inactive, so every activation reads again
+        @Override
+        protected void onActive() {
+            SuggestlySchedulers.dbReadExecutor().execute(() -> {
+                syncRegistration();
+                load();
+            });
+        }
+
+        @Override
+        protected void onInactive() {
+            SuggestlySchedulers.dbReadExecutor().execute(this::syncRegistration);
+        }
+
+        /*
+         * Adding or removing a tracker observer syncs Room's triggers with the database, so it
+         * never runs on the main thread. The pool may run an add and a remove out of order, so
+         * each one registers for whatever the active state is by the time it runs.
+         */
+        private synchronized void syncRegistration(){
+            boolean isActive = hasActiveObservers();
+            if(isActive == isRegistered){
+                return;
+            }
+            if(isActive){
+                tracker.addObserver(observer);
+            }else{
+                tracker.removeObserver(observer);
+            }
+            isRegistered = isActive;
+        }
+
+        private void load(){
+            try{
+                postValue(query.call());
+            }catch (Exception e){
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /*
+     * Room's data source invalidates itself on the first change to its tables and stops
+     * listening, this wrapper passes the invalidation on to the PagedList at most once per
+     * window. Pages loaded in between still come from the current tables.
+     */
+    private static class ThrottledDataSource<V> extends PositionalDataSource<V> {
+        private final PositionalDataSource<V> source;
+
+        ThrottledDataSource(Stats stats, PositionalDataSource<V> source){
+            this.source = source;
+            Coalescer coalescer = new Coalescer(stats, this::invalidate);
+            source.addInvalidatedCallback(coalescer::onInvalidated);
+        }
+
+        @Override
+        public void loadInitial(@NonNull LoadInitialParams params, @NonNull LoadInitialCallback<V> callback) {
+            source.loadInitial(params, callback);
+        }
+
+        @Override
+        public void loadRange(@NonNull LoadRangeParams params, @NonNull LoadRangeCallback<V> callback) {
+            source.loadRange(params, callback);
+        }
+    }
+
+    private static class Stats {
+        final String name;
+        long received;
+        long requeried;
+
+        Stats(String name){
+            this.name = name;
+        }
+    }
+
+    public static class Metrics {
+        public final String name;
+        public final long received;
+        public final long requeried;
+
+        Metrics(String name, long received, long requeried){
+            this.name = name;
+            this.received = received;
+            this.requeried = requeried;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return name + " received=" + received + " requeried=" + requeried;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.app.suggestly.app.room;
+
+import android.database.Cursor;
+import android.database.SQLException;
+import android.database.sqlite.SQLiteDatabase;
+import android.text.TextUtils;
+
+import androidx.annotation.NonNull;
+import androidx.room.RoomDatabase;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/*
+ * Carries the user's saved and favorite venues and books across the move to integer keys
+ * (version 46). Every upgrade is destructive, so before Room opens an older file the saved rows
+ * and the Venue and Book rows they point at are copied into side tables Room does not know and
+ * therefore does not drop. Once the new schema is open the venues are re-inserted with fresh
+ * venue_keys, the saved rows are re-pointed at them and the side tables are dropped. Similar
+ * venues are a cache of the details call and are simply fetched again.
+ */
+final class LegacySavedRows {
+    static final int KEYED_VERSION = 46;
+
+    private static final String VENUES = "LegacyVenue";
+    private static final String SAVED_VENUES = "LegacyUserSavedVenue";
+    private static final String BOOKS = "LegacyBook";
+    private static final String SAVED_BOOKS = "LegacyUserSavedBook";
+
+    static final RoomDatabase.Callback RESTORE = new RoomDatabase.Callback() {
+        @Override
+        public void onOpen(@NonNull SupportSQLiteDatabase db) {
+            restore(db);
+        }
+    };
+
+    private LegacySavedRows(){}
+
+    static void salvage(File databaseFile){
+        if(!databaseFile.exists()){
+            return;
+        }
+
+        SQLiteDatabase db = null;
+        try{
+            db = SQLiteDatabase.openDatabase(databaseFile.getPath(), null, SQLiteDatabase.OPEN_READWRITE);
+            if(db.getVersion() == 0 || db.getVersion() >= KEYED_VERSION || !hasColumn(db, "UserSavedVenue", "vid")){
+                return;
+            }
+
+            db.beginTransaction();
+            try{
+                db.execSQL("DROP TABLE IF EXISTS " + SAVED_VENUES);
+                db.execSQL("DROP TABLE IF EXISTS " + VENUES);
+                db.execSQL("DROP TABLE IF EXISTS " + SAVED_BOOKS);
+                db.execSQL("DROP TABLE IF EXISTS " + BOOKS);
+                db.execSQL("CREATE TABLE " + SAVED_VENUES + " AS SELECT * FROM UserSavedVenue");
+                db.execSQL("CREATE TABLE " + VENUES + " AS SELECT * FROM Venue WHERE id IN (SELECT vid FROM UserSavedVenue)");
+                db.execSQL("CREATE TABLE " + SAVED_BOOKS + " AS SELECT * FROM UserSavedBook");
+                db.execSQL("CREATE TABLE " + BOOKS + " AS SELECT * FROM Book WHERE primaryIsbn13 IN (SELECT bid FROM UserSavedBook)");
+                db.setTransactionSuccessful();
+            }finally {
+                db.endTransaction();
+            }
+        }catch (SQLException e){
+            // the saved rows are lost the way they were before, the app itself still opens
+            e.printStackTrace();
+        }finally {
+            if(db != null){
+                db.close();
+            }
+        }
+    }
+
+    static void restore(SupportSQLiteDatabase db){
+        if(!hasTable(db, SAVED_VENUES) && !hasTable(db, SAVED_BOOKS)){
+            return;
+        }
+
+        db.beginTransaction();
+        try{
+            // venue_category_key stays 0 until the category tree loads and re-resolves every venue
+            copy(db, VENUES, "Venue");
+            copy(db, BOOKS, "Book");
+            execute(db, "INSERT OR IGNORE INTO UserSavedVenue (uid, venue_key, is_saved, is_favorite) "
+                    + "SELECT s.uid, v.venue_key, s.is_saved, s.is_favorite FROM " + SAVED_VENUES + " s JOIN Venue v ON(v.id = s.vid)");
+            execute(db, "INSERT OR IGNORE INTO UserSavedBook (uid, bid, is_saved, is_favorite) "
+                    + "SELECT uid, bid, is_saved, is_favorite FROM " + SAVED_BOOKS);
+
+            // a copy that failed would fail the same way on every open, so the side tables go either way
+            db.execSQL("DROP TABLE IF EXISTS " + SAVED_VENUES);
+            db.execSQL("DROP TABLE IF EXISTS " + VENUES);
+            db.execSQL("DROP TABLE IF EXISTS " + SAVED_BOOKS);
+            db.execSQL("DROP TABLE IF EXISTS " + BOOKS);
+            db.setTransactionSuccessful();
+        }finally {
+            db.endTransaction();
+        }
+    }
+
+    // only the columns both versions share are copied, new columns take their defaults
+    private static void copy(SupportSQLiteDatabase db, String from, String to){
+        if(!hasTable(db, from)){
+            return;
+        }
+
+        Set<String> columns = columns(db, from);
+        columns.retainAll(columns(db, to));
+        columns.remove("venue_key");
+        if(columns.isEmpty()){
+            return;
+        }
+
+        String list = "`" + TextUtils.join("`, `", columns) + "`";
+        execute(db, "INSERT OR IGNORE INTO " + to + " (" + list + ") SELECT " + list + " FROM " + from);
+    }
+
+    private static void execute(SupportSQLiteDatabase db, String sql){
+        try{
+            db.execSQL(sql);
+        }catch (SQLException e){
+            e.printStackTrace();
+        }
+    }
+
+    private static boolean hasTable(SupportSQLiteDatabase db, String table){
+        try(Cursor cursor = db.query("SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = ?", new Object[]{table})){
+            return cursor.moveToFirst();
+        }
+    }
+
+    private static Set<String> columns(SupportSQLiteDatabase db, String table){
+        Set<String> columns = new LinkedHashSet<>();
+        try(Cursor cursor = db.query("PRAGMA table_info(`" + table + "`)")){
+            int name = cursor.getColumnIndex("name");
+            while(cursor.moveToNext()){
+                columns.add(cursor.getString(name));
+            }
+        }
+        return columns;
+    }
+
+    private static boolean hasColumn(SQLiteDatabase db, String table, String column){
+        List<String> columns = new ArrayList<>();
+        try(Cursor cursor = db.rawQuery("PRAGMA table_info(`" + table + "`)", null)){
+            int name = cursor.getColumnIndex("name");
+            while(cursor.moveToNext()){
+                columns.add(cursor.getString(name));
+            }
+        }
+        return columns.contains(column);
+    }
+}
@@ -10,10 +10,16 @@ import androidx.room.Transaction;
 import androidx.room.Update;
 
 import com.app.suggestly.app.model.nyt.Book;
+import com.app.suggestly.app.model.nyt.BookListSync;
+import com.app.suggestly.app.model.relations.BookHashes;
+import com.app.suggestly.app.model.relations.CategoryAffinity;
+import com.app.suggestly.app.ranking.RankingEngine;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 
@@ -22,8 +28,20 @@ import io.reactivex.rxjava3.core.Observable;
 @Dao
 public abstract class NewYorkTimesDAO {
 
-    @Insert(onConflict = OnConflictStrategy.REPLACE)
-    public abstract void createBooks(List<Book> books);
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    protected abstract void insertBooks(List<Book> books);
+
+    @Query("SELECT primaryIsbn13, book_content_hash, book_listing_hash FROM Book WHERE primaryIsbn13 IN (:isbns)")
+    protected abstract List<BookHashes> readBookHashes(List<String> isbns);
+
+    @Query("UPDATE Book SET rank=:rank, rankLastWeek=:rankLastWeek, weeksOnList=:weeksOnList,"
+            + "bestsellersDate=:bestsellersDate, publishedDate=:publishedDate, publishedDateDescription=:publishedDateDescription,"
+            + "nextPublishedDate=:nextPublishedDate, previousPublishedDate=:previousPublishedDate,"
+            + "book_listing_hash=:listingHash, book_rank=:rankScore WHERE primaryIsbn13=:isbn13")
+    protected abstract int updateBookListing(String isbn13, Integer rank, Integer rankLastWeek, Integer weeksOnList,
+                                             String bestsellersDate, String publishedDate, String publishedDateDescription,
+                                             String nextPublishedDate, String previousPublishedDate,
+                                             long listingHash, double rankScore);
 
     @Insert(onConflict = OnConflictStrategy.REPLACE)
     public abstract void createBook(Book book);
@@ -31,19 +49,25 @@ public abstract class NewYorkTimesDAO {
     @Query("SELECT * FROM Book ORDER BY publishedDate DESC LIMIT 1")
     public abstract Book readFreshestEntry();
 
-    @Query("SELECT * FROM Book ORDER BY RANDOM() LIMIT 1")
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    protected abstract void createBookListSync(List<BookListSync> lists);
+
+    @Query("SELECT * FROM BookListSync WHERE list_name_encoded IN (:lists)")
+    public abstract List<BookListSync> readBookListSync(List<String> lists);
+
+    @Query("SELECT * FROM Book ORDER BY book_rank DESC LIMIT 1")
     public abstract Observable<Book> readTopSuggestion();
 
     @Query("SELECT * FROM Book WHERE primaryIsbn13 = :isbn13")
     public abstract Observable<Book> readBookByISBN(String isbn13);
 
-    @Query("SELECT * FROM Book WHERE listNameEncoded =:name")
+    @Query("SELECT * FROM Book WHERE listNameEncoded =:name ORDER BY book_rank DESC")
     public abstract DataSource.Factory<Integer, Book> readBooksByListNameDataFactory(String name);
 
-    @Query("SELECT * FROM Book WHERE listNameEncoded =:name LIMIT 10")
+    @Query("SELECT * FROM Book WHERE listNameEncoded =:name ORDER BY book_rank DESC LIMIT 10")
     public abstract DataSource.Factory<Integer, Book> readBooksByListNameDataFactoryHomeFragment(String name);
 
-    @Query("SELECT * FROM Book WHERE listNameEncoded =:name")
+    @Query("SELECT * FROM Book WHERE listNameEncoded =:name ORDER BY book_rank DESC")
     public abstract List<Book> readBooksByListName(String name);
 
     @Query("SELECT * FROM Book WHERE (listNameEncoded=:name AND primaryIsbn13 !=:isbn13 AND RANDOM()) LIMIT 3")
@@ -83,4 +107,97 @@ public abstract class NewYorkTimesDAO {
 
         return true;
     }
-}
\ No newline at end of file
+
+    @Query("SELECT * FROM Book")
+    public abstract List<Book> readBooks();
+
+    @Query("UPDATE Book SET book_rank=:rank WHERE primaryIsbn13=:isbn13")
+    public abstract int updateBookRank(String isbn13, double rank);
+
+    @Query("SELECT b.listNameEncoded AS category_id, SUM(s.is_saved + 2 * s.is_favorite) AS weight FROM UserSavedBook s "
+            + "JOIN Book b ON(b.primaryIsbn13 = s.bid) GROUP BY b.listNameEncoded")
+    public abstract List<CategoryAffinity> readListAffinity();
+
+    /*
+     * Writes only the books that changed, matched by ISBN. A book new to the table is inserted, a
+     * book whose description hashes differently is rewritten and a book that only moved on the
+     * list has its rank, weeks on list and list dates updated in place. A book that is unchanged
+     * is not written, so fetching a list that has not changed leaves Book and its observers alone.
+     * Returns the number of books written.
+     */
+    @Transaction
+    public int createRankedBooks(List<Book> books){
+        List<String> isbns = new ArrayList<>(books.size());
+        for(Book book : books){
+            isbns.add(book.getPrimaryIsbn13());
+        }
+        HashMap<String, BookHashes> stored = new HashMap<>();
+        for(BookHashes hashes : readBookHashes(isbns)){
+            stored.put(hashes.primaryIsbn13, hashes);
+        }
+
+        List<Book> inserted = new ArrayList<>();
+        List<Book> rewritten = new ArrayList<>();
+        List<Book> moved = new ArrayList<>();
+        for(Book book : books){
+            book.contentHash = book.computeContentHash();
+            book.listingHash = book.computeListingHash();
+            BookHashes hashes = stored.get(book.getPrimaryIsbn13());
+            if(hashes == null){
+                inserted.add(book);
+            }else if(hashes.contentHash != book.contentHash){
+                rewritten.add(book);
+            }else if(hashes.listingHash != book.listingHash){
+                moved.add(book);
+            }
+        }
+        if(inserted.isEmpty() && rewritten.isEmpty() && moved.isEmpty()){
+            return 0;
+        }
+
+        score(books);
+        if(!inserted.isEmpty()){
+            insertBooks(inserted);
+        }
+        for(Book book : rewritten){
+            updateBook(book);
+        }
+        for(Book book : moved){
+            updateBookListing(book.getPrimaryIsbn13(), book.getRank(), book.getRankLastWeek(), book.getWeeksOnList(),
+                    book.bestsellersDate, book.publishedDate, book.publishedDateDescription,
+                    book.nextPublishedDate, book.previousPublishedDate, book.listingHash, book.rankScore);
+        }
+        return inserted.size() + rewritten.size() + moved.size();
+    }
+
+    @Transaction
+    public int createBookLists(List<Book> books, List<BookListSync> lists){
+        int written = createRankedBooks(books);
+        createBookListSync(lists);
+        return written;
+    }
+
+    @Transaction
+    public void rankBooks(){
+        List<Book> books = readBooks();
+        score(books);
+        for(Book book : books){
+            updateBookRank(book.getPrimaryIsbn13(), book.rankScore);
+        }
+    }
+
+    private void score(List<Book> books){
+        HashMap<String, Double> weightByList = new HashMap<>();
+        double maxWeight = 0;
+        for(CategoryAffinity affinity : readListAffinity()){
+            weightByList.put(affinity.category_id, affinity.weight);
+            maxWeight = Math.max(maxWeight, affinity.weight);
+        }
+
+        for(Book book : books){
+            Double weight = weightByList.get(book.listNameEncoded);
+            double affinity = weight == null || maxWeight <= 0 ? 0 : weight / maxWeight;
+            book.rankScore = RankingEngine.scoreBook(book.getRank(), book.getRankLastWeek(), book.getWeeksOnList(), affinity);
+        }
+    }
+}
@@ -8,17 +8,24 @@ import androidx.room.RoomDatabase;
 import androidx.room.TypeConverters;
 
 import com.app.suggestly.app.model.foursquare.Category;
+import com.app.suggestly.app.model.foursquare.TileCoverage;
 import com.app.suggestly.app.model.foursquare.Venue;
+import com.app.suggestly.app.model.google.CachedGeocode;
+import com.app.suggestly.app.model.google.CachedPrediction;
 import com.app.suggestly.app.model.nyt.Book;
-import com.app.suggestly.app.model.relations.CategoryClosure;
+import com.app.suggestly.app.model.nyt.BookListSync;
+import com.app.suggestly.app.model.relations.HomeFeed;
+import com.app.suggestly.app.model.relations.RecommendedVenue;
 import com.app.suggestly.app.model.relations.SimilarVenues;
 import com.app.suggestly.app.model.relations.UserSavedBook;
 import com.app.suggestly.app.model.relations.UserSavedVenue;
 import com.app.suggestly.app.model.user.User;
 
 @Database(entities = {Venue.class, SimilarVenues.class, Category.class,
-        CategoryClosure.class, User.class, Book.class,
-        UserSavedBook.class, UserSavedVenue.class}, exportSchema = false, version = 41)
+        User.class, Book.class,
+        UserSavedBook.class, UserSavedVenue.class, CachedGeocode.class,
+        CachedPrediction.class, TileCoverage.class, HomeFeed.class,
+        RecommendedVenue.class, BookListSync.class}, exportSchema = false, version = 51)
 @TypeConverters({Converter.class})
 public abstract class RoomDB extends RoomDatabase {
     public final static String DATABASE_NAME = "RoomDB";
@@ -28,9 +35,13 @@ public abstract class RoomDB extends RoomDatabase {
         if(INSTANCE == null){
             synchronized (RoomDB.class){
                 if(INSTANCE == null){
+                    // upgrades stay destructive, the saved rows are carried over around them
+                    LegacySavedRows.salvage(context.getDatabasePath(DATABASE_NAME));
                     INSTANCE = Room.databaseBuilder(context, RoomDB.class, DATABASE_NAME)
                             .fallbackToDestructiveMigration()
+                            .addCallback(LegacySavedRows.RESTORE)
                             .build();
+                    InvalidationThrottle.watch(INSTANCE.getInvalidationTracker());
                 }
             }
         }
@@ -42,4 +53,6 @@ public abstract class RoomDB extends RoomDatabase {
     public abstract FoursquareCategoryDao getFoursquareCategoryDao();
     public abstract NewYorkTimesDAO getNewYorkTimesDAO();
     public abstract SearchDao getSearchDAO();
+    public abstract GoogleDao getGoogleDao();
+    public abstract TileCoverageDao getTileCoverageDao();
 }
@@ -0,0 +1,22 @@
+package com.app.suggestly.app.room;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import com.app.suggestly.app.model.foursquare.TileCoverage;
+
+import java.util.List;
+
+@Dao
+public abstract class TileCoverageDao {
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    public abstract void createCoverage(List<TileCoverage> coverage);
+
+    @Query("SELECT section FROM TileCoverage WHERE tile_x = :tileX AND tile_y = :tileY AND fetched_at >= :minFetchedAt")
+    public abstract List<String> readCoveredSections(int tileX, int tileY, long minFetchedAt);
+
+    @Query("DELETE FROM TileCoverage WHERE fetched_at < :minFetchedAt")
+    public abstract int deleteExpiredCoverage(long minFetchedAt);
+}
@@ -13,6 +13,7 @@ import com.app.suggestly.app.model.relations.UserSavedBook;
 import com.app.suggestly.app.model.relations.UserSavedVenue;
 import com.app.suggestly.app.model.relations.VenueAndCategory;
 import com.app.suggestly.app.model.user.LocationTuple;
+import com.app.suggestly.app.model.user.SavedToggle;
 import com.app.suggestly.app.model.user.User;
 
 import java.util.List;
@@ -54,104 +55,95 @@ public abstract class UserDao {
     @Insert(onConflict = OnConflictStrategy.IGNORE)
     public abstract long saveVenue(UserSavedVenue savedVenues);
 
-    @Query("SELECT * FROM UserSavedVenue WHERE uid=:uid AND vid=:vid")
-    public abstract UserSavedVenue readSavedVenues(String uid, String vid);
+    @Query("SELECT venue_key FROM Venue WHERE id=:id")
+    public abstract Long readVenueKey(String id);
 
-    @Query("SELECT * FROM Venue v JOIN category c ON(v.venue_category_id = c.category_id) WHERE id IN (SELECT vid FROM UserSavedVenue WHERE is_saved=1 AND uid=:uid)")
+    @Query("SELECT * FROM Venue v JOIN category c ON(v.venue_category_key = c.category_key) WHERE venue_key IN (SELECT venue_key FROM UserSavedVenue WHERE is_saved=1 AND uid=:uid)")
     public abstract List<VenueAndCategory> readSavedVenues(String uid);
 
-    @Query("UPDATE UserSavedVenue SET is_saved=:saved WHERE uid=:uid AND vid=:vid ")
-    public abstract int updateSavedVenue(String uid, String vid, boolean saved);
+    @Query("UPDATE UserSavedVenue SET is_saved=:saved WHERE uid=:uid AND venue_key=:venueKey")
+    public abstract int updateSavedVenue(String uid, long venueKey, boolean saved);
 
-    @Transaction
-    public long upsertSavedVenue(String uid, String vid, boolean isSaved){
-        UserSavedVenue userSavedVenue = new UserSavedVenue(uid, vid, isSaved, false);
-        long result = saveVenue(userSavedVenue);
-        if(result < 0){
-            result = updateSavedVenue(uid, vid, isSaved);
-            deletedUnsavedVenue();
-        }
-        return result;
-    }
-
-    @Query("SELECT * FROM Venue v JOIN category c ON(v.venue_category_id = c.category_id )WHERE id IN (SELECT vid FROM UserSavedVenue WHERE is_favorite=1 AND uid=:uid)")
+    @Query("SELECT * FROM Venue v JOIN category c ON(v.venue_category_key = c.category_key) WHERE venue_key IN (SELECT venue_key FROM UserSavedVenue WHERE is_favorite=1 AND uid=:uid)")
     public abstract List<VenueAndCategory> readFavoriteVenues(String uid);
 
-    @Query("UPDATE UserSavedVenue SET is_favorite=:favorite WHERE uid=:uid AND vid=:vid ")
-    public abstract int updateFavoriteVenue(String uid, String vid, boolean favorite);
+    @Query("UPDATE UserSavedVenue SET is_favorite=:favorite WHERE uid=:uid AND venue_key=:venueKey")
+    public abstract int updateFavoriteVenue(String uid, long venueKey, boolean favorite);
 
-    @Transaction
-    public long upsertFavoriteVenue(String uid, String vid, boolean isFavorite){
-        UserSavedVenue userSavedVenue = new UserSavedVenue(uid, vid, false, isFavorite);
-        long result = saveVenue(userSavedVenue);
-        if(result < 0){
-            result = updateFavoriteVenue(uid, vid, isFavorite);
-            deletedUnsavedVenue();
-        }
-        return result;
-    }
+    @Query("DELETE FROM UserSavedVenue WHERE uid=:uid AND venue_key=:venueKey")
+    public abstract int deleteSavedVenue(String uid, long venueKey);
+
+    @Query("DELETE FROM UserSavedVenue WHERE uid=:uid AND venue_key=:venueKey AND is_saved=0 AND is_favorite=0")
+    public abstract int deleteUnsavedVenue(String uid, long venueKey);
 
     @Transaction
-    public int deletedSavedVenue(String uid, String vid){
-        UserSavedVenue savedVenue = readSavedVenues(uid, vid);
-        return deletedSavedVenue(savedVenue);
+    public void applyVenueToggles(List<SavedToggle> toggles){
+        for(SavedToggle toggle : toggles){
+            Long venueKey = readVenueKey(toggle.id);
+            if(venueKey == null){
+                continue;
+            }
+            if(toggle.isDeleted){
+                deleteSavedVenue(toggle.uid, venueKey);
+            }
+            if(!toggle.hasFlags()){
+                continue;
+            }
+
+            UserSavedVenue savedVenue = new UserSavedVenue(toggle.uid, venueKey, Boolean.TRUE.equals(toggle.isSaved), Boolean.TRUE.equals(toggle.isFavorite));
+            if(saveVenue(savedVenue) < 0){
+                if(toggle.isSaved != null){
+                    updateSavedVenue(toggle.uid, venueKey, toggle.isSaved);
+                }
+                if(toggle.isFavorite != null){
+                    updateFavoriteVenue(toggle.uid, venueKey, toggle.isFavorite);
+                }
+            }
+            deleteUnsavedVenue(toggle.uid, venueKey);
+        }
     }
 
-    @Delete
-    public abstract int deletedSavedVenue(UserSavedVenue savedVenues);
-
     @Insert(onConflict = OnConflictStrategy.IGNORE)
     public abstract long saveBook(UserSavedBook savedBook);
 
-    @Query("SELECT * FROM UserSavedBook WHERE uid=:uid AND bid=:bid")
-    public abstract UserSavedBook readSavedBook(String uid, String bid);
-
     @Query("SELECT * FROM Book WHERE primaryIsbn13 IN (SELECT bid FROM UserSavedBook WHERE is_saved=1 AND uid=:uid)")
     public abstract List<Book> readSavedBook(String uid);
 
-    @Query("UPDATE UserSavedBook SET is_saved=:favorite WHERE uid=:uid AND bid=:bid ")
-    public abstract int updateSavedBook(String uid, String bid, boolean favorite);
-
-    @Transaction
-    public long upsertSavedBook(String uid, String bid, boolean isSaved){
-        UserSavedBook savedBook = new UserSavedBook(uid, bid, isSaved, false);
-        long result = saveBook(savedBook);
-        if(result < 0){
-            result = updateSavedBook(uid, bid, isSaved);
-            deletedUnsavedBook();
-        }
-        return result;
-    }
+    @Query("UPDATE UserSavedBook SET is_saved=:saved WHERE uid=:uid AND bid=:bid ")
+    public abstract int updateSavedBook(String uid, String bid, boolean saved);
 
     @Query("SELECT * FROM Book WHERE primaryIsbn13 IN (SELECT bid FROM UserSavedBook WHERE is_favorite=1 AND uid=:uid)")
     public abstract List<Book> readFavoriteBook(String uid);
 
-    @Query("UPDATE UserSavedBook SET is_saved=:favorite WHERE uid=:uid AND bid=:bid ")
+    @Query("UPDATE UserSavedBook SET is_favorite=:favorite WHERE uid=:uid AND bid=:bid ")
     public abstract int updateFavoriteBook(String uid, String bid, boolean favorite);
 
-    @Transaction
-    public long upsertFavoriteBook(String uid, String bid, boolean isFavorite){
-        UserSavedBook savedBook = new UserSavedBook(uid, bid, false, isFavorite);
-        long result = saveBook(savedBook);
-        if(result < 0){
-            result = updateFavoriteBook(uid, bid, isFavorite);
-            deletedUnsavedBook();
-        }
-        return result;
-    }
+    @Query("DELETE FROM UserSavedBook WHERE uid=:uid AND bid=:bid")
+    public abstract int deleteSavedBook(String uid, String bid);
+
+    @Query("DELETE FROM UserSavedBook WHERE uid=:uid AND bid=:bid AND is_saved=0 AND is_favorite=0")
+    public abstract int deleteUnsavedBook(String uid, String bid);
 
     @Transaction
-    public int deletedSavedBook(String uid, String bid){
-        UserSavedBook savedBook = readSavedBook(uid, bid);
-        return deletedSavedBook(savedBook);
+    public void applyBookToggles(List<SavedToggle> toggles){
+        for(SavedToggle toggle : toggles){
+            if(toggle.isDeleted){
+                deleteSavedBook(toggle.uid, toggle.id);
+            }
+            if(!toggle.hasFlags()){
+                continue;
+            }
+
+            UserSavedBook savedBook = new UserSavedBook(toggle.uid, toggle.id, Boolean.TRUE.equals(toggle.isSaved), Boolean.TRUE.equals(toggle.isFavorite));
+            if(saveBook(savedBook) < 0){
+                if(toggle.isSaved != null){
+                    updateSavedBook(toggle.uid, toggle.id, toggle.isSaved);
+                }
+                if(toggle.isFavorite != null){
+                    updateFavoriteBook(toggle.uid, toggle.id, toggle.isFavorite);
+                }
+            }
+            deleteUnsavedBook(toggle.uid, toggle.id);
+        }
     }
-
-    @Delete
-    public abstract int deletedSavedBook(UserSavedBook book);
-
-    @Query("DELETE FROM UserSavedBook WHERE is_saved =0 AND is_favorite=0")
-    public abstract int deletedUnsavedBook();
-
-    @Query("DELETE FROM UserSavedVenue WHERE is_saved =0 AND is_favorite=0")
-    public abstract int deletedUnsavedVenue();
 }
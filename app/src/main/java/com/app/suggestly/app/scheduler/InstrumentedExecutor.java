@@ -0,0 +1,137 @@
+package com.app.suggestly.app.scheduler;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Fixed size pool that records how long tasks wait in the queue and how long they run.
+ * Idle threads time out so a pool that is rarely used does not hold threads open.
+ */
+public class InstrumentedExecutor extends ThreadPoolExecutor {
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private final String name;
+    private final AtomicLong submittedCount = new AtomicLong();
+    private final AtomicLong finishedCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong totalRunNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public InstrumentedExecutor(String name, int threads){
+        this(name, threads, Thread.NORM_PRIORITY - 1);
+    }
+
+    public InstrumentedExecutor(String name, int threads, int priority){
+        super(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new NamedThreadFactory(name, priority));
+        this.name = name;
+        allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void execute(@NonNull Runnable command) {
+        submittedCount.incrementAndGet();
+        super.execute(new TimedRunnable(command));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Metrics metrics(){
+        long finished = finishedCount.get();
+        return new Metrics(name, getMaximumPoolSize(), getActiveCount(), getQueue().size(),
+                submittedCount.get(), finished,
+                finished == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.get() / finished),
+                TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()),
+                finished == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalRunNanos.get() / finished));
+    }
+
+    private void record(long waitNanos, long runNanos){
+        finishedCount.incrementAndGet();
+        totalWaitNanos.addAndGet(waitNanos);
+        totalRunNanos.addAndGet(runNanos);
+
+        long max = maxWaitNanos.get();
+        while(waitNanos > max && !maxWaitNanos.compareAndSet(max, waitNanos)){
+            max = maxWaitNanos.get();
+        }
+    }
+
+    private class TimedRunnable implements Runnable {
+        private final Runnable delegate;
+        private final long enqueuedAt = System.nanoTime();
+
+        TimedRunnable(Runnable delegate){
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void run() {
+            long startedAt = System.nanoTime();
+            try{
+                delegate.run();
+            }finally {
+                record(startedAt - enqueuedAt, System.nanoTime() - startedAt);
+            }
+        }
+    }
+
+    private static class NamedThreadFactory implements ThreadFactory {
+        private final String name;
+        private final int priority;
+        private final AtomicInteger count = new AtomicInteger();
+
+        NamedThreadFactory(String name, int priority){
+            this.name = name;
+            this.priority = priority;
+        }
+
+        @Override
+        public Thread newThread(@NonNull Runnable runnable) {
+            Thread thread = new Thread(runnable, "suggestly-" + name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(priority);
+            return thread;
+        }
+    }
+
+    public static class Metrics {
+        public final String name;
+        public final int threads;
+        public final int activeThreads;
+        public final int queueDepth;
+        public final long submittedCount;
+        public final long finishedCount;
+        public final long averageWaitMillis;
+        public final long maxWaitMillis;
+        public final long averageRunMillis;
+
+        Metrics(String name, int threads, int activeThreads, int queueDepth, long submittedCount,
+                long finishedCount, long averageWaitMillis, long maxWaitMillis, long averageRunMillis){
+            this.name = name;
+            this.threads = threads;
+            this.activeThreads = activeThreads;
+            this.queueDepth = queueDepth;
+            this.submittedCount = submittedCount;
+            this.finishedCount = finishedCount;
+            this.averageWaitMillis = averageWaitMillis;
+            this.maxWaitMillis = maxWaitMillis;
+            this.averageRunMillis = averageRunMillis;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return name + " active=" + activeThreads + "/" + threads + " queued=" + queueDepth
+                    + " finished=" + finishedCount + "/" + submittedCount
+                    + " wait=" + averageWaitMillis + "ms (max " + maxWaitMillis + "ms)"
+                    + " run=" + averageRunMillis + "ms";
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.app.suggestly.app.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+/*
+ * The only place the app creates background threads. Work is split by what it waits on:
+ * Room reads can run side by side, Room writes are serialized since SQLite only allows one
+ * writer, network calls get their own pool so a slow API never starves the database and
+ * parsing or ranking runs on a pool sized to the cpu count. Speculative work such as prefetching
+ * gets a small pool of its own at the lowest priority, so it only runs when nothing else needs the cpu.
+ */
+public final class SuggestlySchedulers {
+    private static final int DB_READ_THREADS = 4;
+    private static final int DB_WRITE_THREADS = 1;
+    private static final int NETWORK_THREADS = 6;
+    private static final int CPU_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private static final int PREFETCH_THREADS = 2;
+
+    private static final InstrumentedExecutor dbReadExecutor = new InstrumentedExecutor("db-read", DB_READ_THREADS);
+    private static final InstrumentedExecutor dbWriteExecutor = new InstrumentedExecutor("db-write", DB_WRITE_THREADS);
+    private static final InstrumentedExecutor networkExecutor = new InstrumentedExecutor("network", NETWORK_THREADS);
+    private static final InstrumentedExecutor cpuExecutor = new InstrumentedExecutor("cpu", CPU_THREADS);
+    private static final InstrumentedExecutor prefetchExecutor = new InstrumentedExecutor("prefetch", PREFETCH_THREADS, Thread.MIN_PRIORITY);
+
+    private static final Scheduler dbRead = Schedulers.from(dbReadExecutor);
+    private static final Scheduler dbWrite = Schedulers.from(dbWriteExecutor);
+    private static final Scheduler network = Schedulers.from(networkExecutor);
+    private static final Scheduler cpu = Schedulers.from(cpuExecutor);
+
+    private SuggestlySchedulers(){}
+
+    public static Scheduler dbRead(){
+        return dbRead;
+    }
+
+    public static Scheduler dbWrite(){
+        return dbWrite;
+    }
+
+    public static Scheduler network(){
+        return network;
+    }
+
+    public static Scheduler cpu(){
+        return cpu;
+    }
+
+    public static ExecutorService dbReadExecutor(){
+        return dbReadExecutor;
+    }
+
+    public static ExecutorService dbWriteExecutor(){
+        return dbWriteExecutor;
+    }
+
+    public static ExecutorService networkExecutor(){
+        return networkExecutor;
+    }
+
+    public static ExecutorService cpuExecutor(){
+        return cpuExecutor;
+    }
+
+    public static ExecutorService prefetchExecutor(){
+        return prefetchExecutor;
+    }
+
+    public static List<InstrumentedExecutor.Metrics> snapshot(){
+        List<InstrumentedExecutor.Metrics> metrics = new ArrayList<>();
+        metrics.add(dbReadExecutor.metrics());
+        metrics.add(dbWriteExecutor.metrics());
+        metrics.add(networkExecutor.metrics());
+        metrics.add(cpuExecutor.metrics());
+        metrics.add(prefetchExecutor.metrics());
+        return metrics;
+    }
+}
@@ -3,47 +3,86 @@ package com.app.suggestly.app.source;
 import android.app.Application;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
 import androidx.lifecycle.LiveData;
 import androidx.paging.DataSource;
-
+import androidx.room.InvalidationTracker;
+
+import com.app.suggestly.app.cache.CachePolicy;
+import com.app.suggestly.app.cache.CachedResource;
+import com.app.suggestly.app.cache.Resource;
+import com.app.suggestly.app.category.CategoryHierarchy;
+import com.app.suggestly.app.category.CategoryHierarchyStore;
+import com.app.suggestly.app.location.LocationSnapshot;
 import com.app.suggestly.app.model.foursquare.Category;
 import com.app.suggestly.app.model.foursquare.Contact;
 import com.app.suggestly.app.model.foursquare.FoursquareResult;
+import com.app.suggestly.app.model.foursquare.TileCoverage;
 import com.app.suggestly.app.model.foursquare.Venue;
-import com.app.suggestly.app.model.relations.CategoryClosure;
 import com.app.suggestly.app.model.relations.CategoryTuple;
-import com.app.suggestly.app.model.relations.SimilarVenues;
 import com.app.suggestly.app.model.relations.VenueAndCategory;
 import com.app.suggestly.app.network.retrofit.FoursquareManager;
 import com.app.suggestly.app.network.retrofit.FoursquareService;
 import com.app.suggestly.app.network.retrofit.ServiceFactory;
 import com.app.suggestly.app.room.FoursquareCategoryDao;
 import com.app.suggestly.app.room.FoursquareDao;
+import com.app.suggestly.app.room.InvalidationThrottle;
 import com.app.suggestly.app.room.RoomDB;
+import com.app.suggestly.app.room.TileCoverageDao;
+import com.app.suggestly.app.scheduler.SuggestlySchedulers;
 import com.app.suggestly.utility.Config;
+import com.app.suggestly.utility.DistanceCalculator;
+import com.app.suggestly.utility.TileGrid;
 
 import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.core.Observer;
-import io.reactivex.rxjava3.schedulers.Schedulers;
+import io.reactivex.rxjava3.core.Single;
 
 public class FoursquareSource {
+    private static final long TILE_COVERAGE_TTL_MILLIS = TimeUnit.HOURS.toMillis(12);
+    private static final int RELATED_CATEGORY_LIMIT = 5;
+    private static final String[] VENUE_AND_CATEGORY_TABLES = {"Venue", "Category"};
+    private static final String[] VENUE_AND_CATEGORY_TABLES_WITH_SIMILAR = {"Venue", "Category", "SimilarVenues"};
+    public static final CachePolicy VENUE_DETAILS_POLICY = CachePolicy.staleWhileRevalidate(TimeUnit.HOURS.toMillis(Config.VENUE_DETAILS_TTL_HOURS));
+
     private final FoursquareDao foursquareDao;
     private final FoursquareCategoryDao foursquareCategoryDao;
+    private final TileCoverageDao tileCoverageDao;
     private final FoursquareService foursquareService;
-    private final ExecutorService executorService;
+    private final CategoryHierarchyStore categoryHierarchyStore;
+    private final InvalidationTracker invalidationTracker;
 
     public FoursquareSource(Application application) {
         this.foursquareDao = RoomDB.getInstance(application).getFoursquareDao();
         this.foursquareCategoryDao = RoomDB.getInstance(application).getFoursquareCategoryDao();
+        this.tileCoverageDao = RoomDB.getInstance(application).getTileCoverageDao();
         this.foursquareService = ServiceFactory.getFoursquareClient(Config.FOURSQUARE_BASE_URL, FoursquareService.class);
-        executorService = Executors.newFixedThreadPool(10);
+        this.categoryHierarchyStore = CategoryHierarchyStore.getInstance(application);
+        this.invalidationTracker = RoomDB.getInstance(application).getInvalidationTracker();
+    }
+
+    @VisibleForTesting
+    public FoursquareSource(FoursquareDao foursquareDao, FoursquareCategoryDao foursquareCategoryDao,
+                            TileCoverageDao tileCoverageDao, FoursquareService foursquareService){
+        this.foursquareDao = foursquareDao;
+        this.foursquareCategoryDao = foursquareCategoryDao;
+        this.tileCoverageDao = tileCoverageDao;
+        this.foursquareService = foursquareService;
+        this.categoryHierarchyStore = new CategoryHierarchyStore(null);
+        this.invalidationTracker = null;
     }
 
 /* *****************************************************************************************
@@ -51,7 +90,7 @@ public class FoursquareSource {
 ******************************************************************************************** */
     public void isCategoryTableEmpty(Observer<Boolean> observer){
         Observable<Boolean> observable = Observable.create(source -> {
-            Boolean isEmpty = foursquareCategoryDao.isTableEmpty();
+            Boolean isEmpty = foursquareCategoryDao.isTableEmpty() || categoryHierarchyStore.get().isEmpty();
             if(isEmpty){
                 source.onNext(true);
             }else{
@@ -60,7 +99,7 @@ public class FoursquareSource {
             source.onComplete();
         });
 
-        observable.subscribeOn(Schedulers.io())
+        observable.subscribeOn(SuggestlySchedulers.dbRead())
                 .subscribe(observer);
     }
 
@@ -68,33 +107,34 @@ public class FoursquareSource {
         HashMap<String, String> searchParameters = FoursquareManager.buildSearchWithCoordinatesQueryMap();
         foursquareService.getFoursquareCategories(searchParameters)
                 .map(response -> response.response.categories)
-                .subscribeOn(Schedulers.io())
+                .subscribeOn(SuggestlySchedulers.network())
                 .subscribe(observer);
     }
 
-    public void buildCategoryClosureTable(List<Category> tree, Category target, int depth){
-        tree.add(target);
-
-        while (target.hasChildren()){
-            Category child = target.removeChild();
-            buildCategoryClosureTable(tree, child,depth + 1);
-        }
-
-        for(Category parent : tree){
-            CategoryClosure categoryClosure = new CategoryClosure(parent.getId(), target.getId(), depth--);
-            createCategoryClosureTable(categoryClosure);
+    public void createCategories(List<Category> roots){
+        CategoryHierarchy hierarchy = CategoryHierarchy.fromTree(roots);
+        List<Category> categories = new ArrayList<>();
+        for(Category root : roots){
+            flatten(root, categories);
         }
 
-        createCategoryBaseTable(target);
-        tree.remove(target);
+        foursquareCategoryDao.createCategories(categories);
+        categoryHierarchyStore.replace(hierarchy);
+        SuggestlySchedulers.dbWriteExecutor().execute(() -> foursquareDao.reindexCategories(hierarchy));
     }
 
-    private void createCategoryBaseTable(Category category){
-        foursquareCategoryDao.createBaseTable(category);
+    public Single<List<CategoryTuple>> readRelatedCategories(String categoryId){
+        return Single.fromCallable(() -> categoryHierarchyStore.get().readRelated(categoryId, RELATED_CATEGORY_LIMIT))
+                .subscribeOn(SuggestlySchedulers.cpu());
     }
 
-    private void createCategoryClosureTable(CategoryClosure categoryClosure){
-        foursquareCategoryDao.createClosureTable(categoryClosure);
+    private static void flatten(Category category, List<Category> categories){
+        categories.add(category);
+        if(category.categories != null){
+            for(Category child : category.categories){
+                flatten(child, categories);
+            }
+        }
     }
 
     /* *****************************************************************************************
@@ -102,16 +142,11 @@ public class FoursquareSource {
 ******************************************************************************************** */
     public void isVenueTableFresh(double lat, double lng, Observer<Boolean> observer){
         Observable<Boolean> observable = Observable.create(source -> {
-            Boolean isFresh = foursquareDao.isFresh(lat, lng);
-            if(isFresh){
-                source.onNext(isFresh);
-            }else{
-                source.onNext(isFresh);
-            }
+            source.onNext(readUncoveredSections(lat, lng, Arrays.asList(Config.HOME_SECTIONS)).isEmpty());
             source.onComplete();
         });
 
-        observable.subscribeOn(Schedulers.io())
+        observable.subscribeOn(SuggestlySchedulers.dbRead())
                 .subscribe(observer);
     }
 
@@ -126,46 +161,115 @@ public class FoursquareSource {
             source.onComplete();
         });
 
-        observable.subscribeOn(Schedulers.io())
+        observable.subscribeOn(SuggestlySchedulers.dbRead())
                 .subscribe(observer);
     }
 
     public void getGeneralFoursquareVenuesNearUserById(@NonNull Double latitude, @NonNull Double longitude, @NonNull String id, @NonNull Observer<List<Venue>> placeObserver){
+        fetchUncovered(latitude, longitude, id, fetchGeneralFoursquareVenuesNearUserById(latitude, longitude, id))
+                .subscribe(placeObserver);
+    }
+
+    public Observable<List<Venue>> fetchGeneralFoursquareVenuesNearUserById(@NonNull Double latitude, @NonNull Double longitude, @NonNull String id){
         HashMap<String, String> searchParameters = FoursquareManager.buildCategoryQueryMap(latitude, longitude, id);
-        foursquareService.getFoursquareVenuesNearby(searchParameters)
+        return foursquareService.getFoursquareVenuesNearby(searchParameters)
                 .map(foursquareSearchResponse -> foursquareSearchResponse.response.venues)
-                .subscribeOn(Schedulers.io())
-                .subscribe(placeObserver);
+                .subscribeOn(SuggestlySchedulers.network());
     }
 
     public void getRecommendedFoursquareVenuesNearUser(@NonNull Double latitude, @NonNull Double longitude, @NonNull Observer<List<FoursquareResult>> placeObserver){
+        fetchUncovered(latitude, longitude, Config.RECOMMENDED, fetchRecommendedFoursquareVenuesNearUser(latitude, longitude))
+                .subscribe(placeObserver);
+    }
+
+    public Observable<List<FoursquareResult>> fetchRecommendedFoursquareVenuesNearUser(@NonNull Double latitude, @NonNull Double longitude){
         HashMap<String, String> searchParameters = FoursquareManager.buildCoordinatesQueryMap(latitude, longitude);
-        foursquareService.getRecommendedFoursquareVenuesNearby(searchParameters)
+        return foursquareService.getRecommendedFoursquareVenuesNearby(searchParameters)
                 .map(foursquareRecommendationsResponse -> foursquareRecommendationsResponse.response.group.results)
-                .subscribeOn(Schedulers.io())
-                .subscribe(placeObserver);
+                .subscribeOn(SuggestlySchedulers.network());
     }
 
     public void getFoursquareVenuesDetails(@NonNull String venueId, @NonNull Observer<Venue> placeObserver){
+        fetchFoursquareVenuesDetails(venueId)
+                .subscribe(placeObserver);
+    }
+
+    public Observable<Venue> fetchFoursquareVenuesDetails(@NonNull String venueId){
         HashMap<String, String> searchParameters = FoursquareManager.buildSearchWithCoordinatesQueryMap();
-        foursquareService.getFoursquareVenueDetails(venueId, searchParameters)
+        return foursquareService.getFoursquareVenueDetails(venueId, searchParameters)
                 .map(foursquareDetailsResponse -> foursquareDetailsResponse.response.venue)
-                .subscribeOn(Schedulers.io())
-                .subscribe(placeObserver);
+                .subscribeOn(SuggestlySchedulers.network());
+    }
+
+    // only a venue whose details were fetched counts as cached, a bare search result still loads.
+    // Similar venues are refreshed along with the details and share their timestamp
+    public Observable<Resource<Venue>> loadVenueDetails(@NonNull String venueId, @Nullable LocationSnapshot location){
+        return new CachedResource<Venue>("venue_details", VENUE_DETAILS_POLICY) {
+            @Override
+            protected Maybe<Venue> readCache() {
+                return foursquareDao.readVenueMaybe(venueId)
+                        .filter(venue -> Boolean.TRUE.equals(venue.hasDetails))
+                        .subscribeOn(SuggestlySchedulers.dbRead());
+            }
+
+            @Override
+            protected long fetchedAt(@NonNull Venue cached) {
+                return cached.venueUpdatedDate != null ? cached.venueUpdatedDate.getTime() : 0;
+            }
+
+            @Override
+            protected Completable fetch() {
+                Completable similar = fetchSimilarFoursquareVenuesNearby(venueId)
+                        .observeOn(SuggestlySchedulers.dbWrite())
+                        .doOnNext(venues -> createSimilarVenues(venueId, venues, location))
+                        .ignoreElements()
+                        .onErrorComplete();
+                return fetchFoursquareVenuesDetails(venueId)
+                        .observeOn(SuggestlySchedulers.dbWrite())
+                        .doOnNext(venue -> {
+                            setDistance(venue, location);
+                            updateVenueWithDetails(venue);
+                        })
+                        .ignoreElements()
+                        .andThen(similar);
+            }
+        }.load();
+    }
+
+    public void createSimilarVenues(String ownerId, List<Venue> venues, @Nullable LocationSnapshot location){
+        for(Venue venue : venues){
+            venue.categoryId = venue.categories.get(0).id;
+            setDistance(venue, location);
+        }
+        foursquareDao.createSimilarVenues(ownerId, venues, categoryHierarchyStore.get());
+    }
+
+    // without a known location the distance reported by Foursquare is kept
+    private static void setDistance(Venue venue, @Nullable LocationSnapshot location){
+        if(location != null){
+            venue.location.distance = DistanceCalculator.distanceMeter(venue.location.lat, location.lat, venue.location.lng, location.lng);
+        }
     }
 
     public void getSimilarFoursquareVenuesNearby(@NonNull String venueId, @NonNull Observer<List<Venue>> placeObserver){
+        fetchSimilarFoursquareVenuesNearby(venueId)
+                .subscribe(placeObserver);
+    }
+
+    public Observable<List<Venue>> fetchSimilarFoursquareVenuesNearby(@NonNull String venueId){
         HashMap<String, String> searchParameters = FoursquareManager.buildSearchWithCoordinatesQueryMap();
-        foursquareService.getSimilarFoursquareVenuesNearby(venueId, searchParameters)
+        return foursquareService.getSimilarFoursquareVenuesNearby(venueId, searchParameters)
                 .map(response -> response.response.similarVenues.items)
-                .subscribeOn(Schedulers.io())
-                .subscribe(placeObserver);
+                .subscribeOn(SuggestlySchedulers.network());
     }
 
     public void createVenue(Venue venue, Observer<Boolean> observer){
         Observable<Boolean> observable = Observable.create(source -> {
+            CategoryHierarchy hierarchy = categoryHierarchyStore.get();
             venue.venueCreatedDate = new Date(System.currentTimeMillis());
+            venue.categoryIndex = hierarchy.indexOf(venue.categoryId);
             long result = foursquareDao.create(venue);
+            foursquareDao.rankVenues(hierarchy, Collections.singletonList(venue.venueId));
             if(result >= 0){
                 source.onNext(true);
             }else{
@@ -174,94 +278,81 @@ public class FoursquareSource {
             source.onComplete();
         });
 
-        observable.subscribeOn(Schedulers.io())
+        observable.subscribeOn(SuggestlySchedulers.dbWrite())
                 .subscribe(observer);
     }
 
-    public void createSimilarVenue(SimilarVenues venue){
-        executorService.execute(() -> foursquareDao.createSimilarVenue(venue));
+    public void createVenues(List<Venue> venues){
+        CategoryHierarchy hierarchy = categoryHierarchyStore.get();
+        Date now = new Date(System.currentTimeMillis());
+        for(Venue venue : venues){
+            venue.venueCreatedDate = now;
+            venue.venueUpdatedDate = now;
+            venue.categoryIndex = hierarchy.indexOf(venue.categoryId);
+        }
+        foursquareDao.upsertVenues(venues, hierarchy);
     }
 
-    public void createRecommendedVenue(Venue venue, Observer<Boolean> observer){
-        Observable<Boolean> observable = Observable.create(source -> {
-            long result = foursquareDao.create(venue);
-            venue.venueCreatedDate = new Date(System.currentTimeMillis());
-            if(result >= 0){
-                source.onNext(true);
-            }else{
-                source.onNext(false);
-            }
-            source.onComplete();
-        });
+    // one transaction and one re-rank for a whole page of results
+    public void createVenues(List<Venue> venues, Observer<Boolean> observer){
+        Observable.fromCallable(() -> {
+            createVenues(venues);
+            return !venues.isEmpty();
+        }).subscribeOn(SuggestlySchedulers.dbWrite())
+                .subscribe(observer);
+    }
 
-        observable.subscribeOn(Schedulers.io())
+    // the venues replace the recommended set as a whole, an empty result keeps the current one
+    public void createRecommendedVenues(List<Venue> venues, Observer<Boolean> observer){
+        Observable.fromCallable(() -> {
+            for(Venue venue : venues){
+                venue.isRecommended = true;
+            }
+            createVenues(venues);
+            return !venues.isEmpty();
+        }).subscribeOn(SuggestlySchedulers.dbWrite())
                 .subscribe(observer);
     }
 
     public DataSource.Factory<Integer, VenueAndCategory> readRecommendedVenuesDataFactoryHomeFragment(){
-        try{
-            return executorService.submit(foursquareDao::readRecommendedVenuesDataFactoryHomeFragment).get();
-        } catch (InterruptedException | ExecutionException e) {
-            e.printStackTrace();
-        }
-        return null;
+        return InvalidationThrottle.dataSourceFactory("home_" + Config.RECOMMENDED, foursquareDao.readHomeFeed(Config.RECOMMENDED));
     }
 
     public DataSource.Factory<Integer, VenueAndCategory> readVenuesUsingCategoryIdDataFactoryHomeFragment(String categoryId){
-        try{
-            return executorService.submit(() -> foursquareDao.readVenueByCategoryIdHomeFragment(categoryId)).get();
-        } catch (InterruptedException | ExecutionException e) {
-            e.printStackTrace();
-        }
-        return null;
+        return InvalidationThrottle.dataSourceFactory("home_" + categoryId, foursquareDao.readHomeFeed(categoryId));
     }
 
-    public DataSource.Factory<Integer, CategoryTuple> readRelatedCategoriesDataFactory(String categoryId){
-        try{
-            return executorService.submit(() -> foursquareCategoryDao.readRelatedCategories(categoryId)).get();
-        } catch (InterruptedException | ExecutionException e) {
-            e.printStackTrace();
-        }
-        return null;
-    }
-
-    public List<VenueAndCategory> readRecommendedVenuesLiveData(){
-        try{
-            return executorService.submit(foursquareDao::readRecommendedVenuesLiveData).get();
-        } catch (InterruptedException | ExecutionException e) {
-            e.printStackTrace();
-        }
-        return null;
+    public Single<List<VenueAndCategory>> readRecommendedVenuesSingle(){
+        return Single.fromCallable(foursquareDao::readRecommendedVenuesLiveData)
+                .subscribeOn(SuggestlySchedulers.dbRead());
     }
 
     public LiveData<List<VenueAndCategory>> readSimilarVenuesLiveData(String id){
-        try{
-            return executorService.submit(() -> foursquareDao.readSimilarVenuesLiveData(id)).get();
-        } catch (InterruptedException | ExecutionException e) {
-            e.printStackTrace();
-        }
-        return null;
+        return InvalidationThrottle.liveData(invalidationTracker, "similar_venues", VENUE_AND_CATEGORY_TABLES_WITH_SIMILAR,
+                () -> foursquareDao.readSimilarVenues(id));
     }
 
     public void readVenuesObservable(String categoryId, Observer<List<VenueAndCategory>> observer){
-        foursquareDao.readVenueByCategoryIdObservable(categoryId)
-                .subscribeOn(Schedulers.io())
+        Observable.defer(() -> {
+            CategoryHierarchy hierarchy = categoryHierarchyStore.get();
+            int index = hierarchy.indexOf(categoryId);
+            int last = index < 0 ? -1 : hierarchy.lastDescendantOf(index);
+            return InvalidationThrottle.observable(invalidationTracker, "category_venues", VENUE_AND_CATEGORY_TABLES,
+                    () -> foursquareDao.readVenuesByCategoryIndex(index, last));
+        }).subscribeOn(SuggestlySchedulers.dbRead())
                 .subscribe(observer);
     }
 
     public LiveData<Venue> readVenueDetails(String id){
-        try{
-            return executorService.submit(() -> foursquareDao.readVenueById(id)).get();
-        } catch (InterruptedException | ExecutionException e) {
-            e.printStackTrace();
-        }
-        return null;
+        return InvalidationThrottle.liveData(invalidationTracker, "venue_details", new String[]{"Venue"},
+                () -> foursquareDao.readVenue(id));
     }
 
     public void updateVenue(Venue venue, Observer<Boolean> observer){
         Observable<Boolean> observable = Observable.create(source -> {
             venue.venueUpdatedDate = new Date(System.currentTimeMillis());
             int result = foursquareDao.update(venue);
+            foursquareDao.rankVenues(categoryHierarchyStore.get(), Collections.singletonList(venue.venueId));
             if(result >= 0){
                 source.onNext(true);
             }else{
@@ -269,44 +360,27 @@ public class FoursquareSource {
             }
             source.onComplete();
         });
-        observable.subscribeOn(Schedulers.io())
+        observable.subscribeOn(SuggestlySchedulers.dbWrite())
                 .subscribe(observer);
     }
 
     public void updateVenueDistance(double lat, double lng){
-        executorService.execute(() ->foursquareDao.updateVenueDistance(lat, lng));
-    }
-
-    public void updateVenueWithDetails(Venue venue, Observer<Boolean> observer){
-        Observable<Boolean> observable = Observable.create(source -> {
-            venue.venueUpdatedDate = new Date(System.currentTimeMillis());
-            updateVenueHasDetails(venue, true);
-            updateVenueContact(venue);
-            updateVenueStats(venue);
-            updateVenueDescription(venue);
-            updateVenueImage(venue);
-            int result = updateVenueHours(venue);
-            if(result >= 0){
-                source.onNext(true);
-            }else{
-                source.onNext(false);
-            }
-            source.onComplete();
-        });
-        observable.subscribeOn(Schedulers.io())
-                .subscribe(observer);
+        SuggestlySchedulers.dbWriteExecutor().execute(() ->foursquareDao.updateVenueDistance(lat, lng, categoryHierarchyStore.get()));
     }
 
-    public int updateVenueContact(Venue venue){
+    public int updateVenueWithDetails(Venue venue){
+        venue.venueUpdatedDate = new Date(System.currentTimeMillis());
         if(venue.contact != null){
             venue.contact = checkContactInformation(venue.contact);
-            return foursquareDao.updateVenueContact(venue.venueId,
-                    venue.contact.phone, venue.contact.formattedPhone,
-                    venue.contact.twitter, venue.contact.instagram,
-                    venue.contact.facebook, venue.contact.facebookName,
-                    venue.contact.facebookUsername);
         }
-        return -1;
+        checkDescriptionInformation(venue);
+        if(venue.bestPhoto != null){
+            venue.bestPhoto = checkImageInformation(venue.bestPhoto);
+        }
+        if(venue.hours != null){
+            venue.hours = checkHoursInformation(venue.hours);
+        }
+        return foursquareDao.updateVenueDetails(venue, categoryHierarchyStore.get());
     }
 
     public Contact checkContactInformation(Contact contact){
@@ -334,20 +408,6 @@ public class FoursquareSource {
         return contact;
     }
 
-    public int updateVenueStats(Venue venue){
-        return foursquareDao.updateVenueStats(venue.venueId, venue.stats.checkinsCount,
-                venue.stats.usersCount, venue.stats.tipCount, venue.stats.visitsCount);
-    }
-
-    public int updateVenueDescription(Venue venue){
-        if(venue != null){
-            venue = checkDescriptionInformation(venue);
-            return foursquareDao.updateVenueDescription(venue.venueId, venue.url,
-                    venue.rating, venue.ratingColor, venue.ratingSignals, venue.description);
-        }
-        return -1;
-    }
-
     public Venue checkDescriptionInformation(Venue venue){
         if(venue.url == null){
             venue.url = "";
@@ -368,16 +428,6 @@ public class FoursquareSource {
         return venue;
     }
 
-    public int updateVenueImage(Venue venue){
-        if(venue.bestPhoto != null){
-            venue.bestPhoto = checkImageInformation(venue.bestPhoto);
-            return foursquareDao.updateVenueImage(venue.venueId, venue.bestPhoto.prefix,
-                    venue.bestPhoto.suffix, venue.bestPhoto.width, venue.bestPhoto.height,
-                    venue.bestPhoto.visibility);
-        }
-        return -1;
-    }
-
     public Venue.BestPhoto checkImageInformation(Venue.BestPhoto bestPhoto){
         if(bestPhoto.prefix == null){
             bestPhoto.prefix = "";
@@ -391,16 +441,6 @@ public class FoursquareSource {
         return bestPhoto;
     }
 
-    public int updateVenueHours(Venue venue){
-        if(venue.hours != null){
-            venue.hours = checkHoursInformation(venue.hours);
-            return foursquareDao.updateVenueHours(venue.venueId,
-                    venue.hours.status, venue.hours.isOpen,
-                    venue.hours.isLocalHoliday);
-        }
-        return -1;
-    }
-
     public Venue.Hours checkHoursInformation(Venue.Hours hours){
         if(hours.status == null){
             hours.status = "";
@@ -408,11 +448,48 @@ public class FoursquareSource {
         return hours;
     }
 
-    public int updateVenueRecommended(Venue venue, boolean isRecommended){
-        return foursquareDao.updateVenueRecommended(venue.venueId, isRecommended);
+/* *****************************************************************************************
+    TILE COVERAGE
+******************************************************************************************** */
+    public List<String> readUncoveredSections(double lat, double lng, List<String> sections){
+        long minFetchedAt = System.currentTimeMillis() - TILE_COVERAGE_TTL_MILLIS;
+        Set<String> covered = new HashSet<>(tileCoverageDao.readCoveredSections(TileGrid.tileX(lat, lng), TileGrid.tileY(lat), minFetchedAt));
+        List<String> uncovered = new ArrayList<>();
+        for(String section : sections){
+            if(!covered.contains(section)){
+                uncovered.add(section);
+            }
+        }
+        return uncovered;
     }
 
-    public int updateVenueHasDetails(Venue venue, boolean hasDetails){
-        return foursquareDao.updateVenueHasDetails(venue.venueId, hasDetails);
+    public void createCoverage(double lat, double lng, List<String> sections){
+        if(sections.isEmpty()){
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        List<TileCoverage> coverage = new ArrayList<>();
+        for(int[] tile : TileGrid.tilesWithin(lat, lng, Config.COVERAGE_RADIUS_METERS)){
+            for(String section : sections){
+                coverage.add(new TileCoverage(tile[0], tile[1], section, now));
+            }
+        }
+        tileCoverageDao.createCoverage(coverage);
+        tileCoverageDao.deleteExpiredCoverage(now - TILE_COVERAGE_TTL_MILLIS);
+    }
+
+    /*
+     * Completes without emitting when the tile already holds this section. Otherwise runs the
+     * request and records the coverage on the write thread, queued behind the venue writes the
+     * observer makes in onNext.
+     */
+    private <T> Observable<T> fetchUncovered(double lat, double lng, String section, Observable<T> request){
+        List<String> sections = new ArrayList<>();
+        sections.add(section);
+        return Observable.fromCallable(() -> readUncoveredSections(lat, lng, sections).isEmpty())
+                .subscribeOn(SuggestlySchedulers.dbRead())
+                .flatMap(isCovered -> isCovered ? Observable.<T>empty() : request
+                        .doOnComplete(() -> SuggestlySchedulers.dbWriteExecutor().execute(() -> createCoverage(lat, lng, sections))));
     }
 }
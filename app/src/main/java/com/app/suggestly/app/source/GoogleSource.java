@@ -1,77 +1,235 @@
 package com.app.suggestly.app.source;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.HashMap;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
 import android.app.Application;
-import androidx.annotation.NonNull;
+import android.util.LruCache;
 
 import com.app.suggestly.BuildConfig;
+import com.app.suggestly.app.model.google.CachedGeocode;
+import com.app.suggestly.app.model.google.CachedPrediction;
 import com.app.suggestly.app.model.google.GeocodeResponse;
+import com.app.suggestly.app.model.google.Geometry;
 import com.app.suggestly.app.network.retrofit.GoogleManager;
 import com.app.suggestly.app.network.retrofit.GoogleService;
 import com.app.suggestly.app.network.retrofit.ServiceFactory;
+import com.app.suggestly.app.room.GoogleDao;
+import com.app.suggestly.app.room.RoomDB;
+import com.app.suggestly.app.scheduler.SuggestlySchedulers;
 import com.app.suggestly.utility.Config;
-import com.google.android.gms.common.api.ApiException;
-import com.google.android.gms.tasks.OnFailureListener;
-import com.google.android.gms.tasks.OnSuccessListener;
+import com.google.android.gms.tasks.CancellationTokenSource;
 import com.google.android.libraries.places.api.Places;
 import com.google.android.libraries.places.api.model.AutocompletePrediction;
+import com.google.android.libraries.places.api.model.AutocompleteSessionToken;
 import com.google.android.libraries.places.api.model.TypeFilter;
 import com.google.android.libraries.places.api.net.FindAutocompletePredictionsRequest;
-import com.google.android.libraries.places.api.net.FindAutocompletePredictionsResponse;
 import com.google.android.libraries.places.api.net.PlacesClient;
+import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.core.Observer;
-import io.reactivex.rxjava3.schedulers.Schedulers;
+import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.subjects.BehaviorSubject;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+
+public class GoogleSource {
+    private static final long AUTOCOMPLETE_DEBOUNCE_MILLIS = 300;
+    private static final int MIN_PREFIX_LENGTH = 3;
+    private static final int MAX_PREDICTIONS = 5;
+    private static final int MEMORY_CACHE_SIZE = 64;
+    private static final long PREDICTION_TTL_MILLIS = TimeUnit.DAYS.toMillis(7);
+    private static final long GEOCODE_TTL_MILLIS = TimeUnit.DAYS.toMillis(30);
 
-public class GoogleSource implements OnSuccessListener<FindAutocompletePredictionsResponse>,
-        OnFailureListener {
     private final BehaviorSubject<List<AutocompletePrediction>> predictionsBehaviorSubject;
+    private final PublishSubject<String> autoCompleteInputSubject;
+    private final LruCache<String, List<AutocompletePrediction>> predictionsCache;
+    private final LruCache<String, CachedGeocode> geocodeCache;
     private final GoogleService googleService;
     private final PlacesClient placesClient;
+    private final GoogleDao googleDao;
+    private AutocompleteSessionToken sessionToken;
 
     public GoogleSource(Application application){
         predictionsBehaviorSubject = BehaviorSubject.create();
+        autoCompleteInputSubject = PublishSubject.create();
+        predictionsCache = new LruCache<>(MEMORY_CACHE_SIZE);
+        geocodeCache = new LruCache<>(MEMORY_CACHE_SIZE);
         Places.initialize(application, BuildConfig.GOOGLE_API_KEY);
         placesClient = Places.createClient(application);
         googleService = ServiceFactory.getGeoCodeClient(Config.GEO_CODING_BASE_URL, GoogleService.class);
+        googleDao = RoomDB.getInstance(application).getGoogleDao();
+        initializeAutoCompletePipeline();
+    }
+
+    private void initializeAutoCompletePipeline(){
+        autoCompleteInputSubject
+                .map(GoogleSource::normalize)
+                .debounce(AUTOCOMPLETE_DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)
+                .distinctUntilChanged()
+                .switchMap(query -> readPredictions(query)
+                        .toObservable()
+                        .onErrorResumeNext(error -> {
+                            error.printStackTrace();
+                            return Observable.empty();
+                        }))
+                .subscribe(predictionsBehaviorSubject::onNext, Throwable::printStackTrace);
     }
 
     public void subscribeToManualLocationAutoCompleteResponse(Observer<List<AutocompletePrediction>> observer){
-        predictionsBehaviorSubject.subscribeOn(Schedulers.io())
+        predictionsBehaviorSubject.subscribeOn(SuggestlySchedulers.cpu())
                 .subscribe(observer);
     }
 
     public void fetchAddressAutoCompleteResults(String target){
-        FindAutocompletePredictionsRequest request = FindAutocompletePredictionsRequest.builder()
-                .setTypeFilter(TypeFilter.ADDRESS)
-                .setQuery(target)
-                .build();
-
-        placesClient.findAutocompletePredictions(request)
-                .addOnSuccessListener(this)
-                .addOnFailureListener(this);
+        autoCompleteInputSubject.onNext(target);
     }
 
     public void fetchCoordinatesForAddress(String target, Observer<GeocodeResponse> observer){
-        HashMap<String, String> map = GoogleManager.buildQueryMap(target);
-        googleService.fetchCoordinatesUsingAddress(map)
-                .subscribeOn(Schedulers.io())
+        String query = normalize(target);
+        Observable.defer(() -> {
+                    CachedGeocode cached = readGeocode(query);
+                    if(cached != null){
+                        return Observable.just(cached.toGeocodeResponse());
+                    }
+
+                    HashMap<String, String> map = GoogleManager.buildQueryMap(target);
+                    return googleService.fetchCoordinatesUsingAddress(map)
+                            .doOnNext(response -> storeGeocode(query, response));
+                })
+                .doOnNext(response -> endAutoCompleteSession())
+                .subscribeOn(SuggestlySchedulers.network())
                 .subscribe(observer);
     }
 
-    @Override
-    public void onSuccess(FindAutocompletePredictionsResponse findAutocompletePredictionsResponse) {
-        predictionsBehaviorSubject.onNext(findAutocompletePredictionsResponse.getAutocompletePredictions());
+    private Single<List<AutocompletePrediction>> readPredictions(String query){
+        if(query.length() < MIN_PREFIX_LENGTH){
+            return Single.just(new ArrayList<>());
+        }
+
+        List<AutocompletePrediction> cached = readPredictionsFromMemory(query);
+        if(cached != null){
+            return Single.just(cached);
+        }
+
+        return Single.fromCallable(() -> readPredictionsFromRoom(query))
+                .subscribeOn(SuggestlySchedulers.dbRead())
+                .flatMap(stored -> stored.isEmpty() ? fetchPredictions(query) : Single.just(stored));
     }
 
-    @Override
-    public void onFailure(@NonNull Exception e) {
-        if(e instanceof ApiException){
-            ApiException exception = (ApiException) e;
-            exception.printStackTrace();
-        }else{
-            e.printStackTrace();
+    private List<AutocompletePrediction> readPredictionsFromMemory(String query){
+        List<AutocompletePrediction> exact = predictionsCache.get(query);
+        if(exact != null){
+            return exact;
         }
+
+        for(int end = query.length() - 1; end >= MIN_PREFIX_LENGTH; end--){
+            List<AutocompletePrediction> prefix = predictionsCache.get(query.substring(0, end));
+            if(prefix == null){
+                continue;
+            }
+            // a full page for the prefix may have dropped matches for the longer query
+            if(prefix.size() >= MAX_PREDICTIONS){
+                return null;
+            }
+
+            List<AutocompletePrediction> filtered = new ArrayList<>();
+            for(AutocompletePrediction prediction : prefix){
+                if(prediction.getFullText(null).toString().toLowerCase(Locale.US).contains(query)){
+                    filtered.add(prediction);
+                }
+            }
+            predictionsCache.put(query, filtered);
+            return filtered;
+        }
+        return null;
+    }
+
+    private List<AutocompletePrediction> readPredictionsFromRoom(String query){
+        List<AutocompletePrediction> predictions = new ArrayList<>();
+        for(CachedPrediction cachedPrediction : googleDao.readPredictions(query, System.currentTimeMillis() - PREDICTION_TTL_MILLIS)){
+            predictions.add(cachedPrediction.toAutocompletePrediction());
+        }
+        if(!predictions.isEmpty()){
+            predictionsCache.put(query, predictions);
+        }
+        return predictions;
+    }
+
+    private Single<List<AutocompletePrediction>> fetchPredictions(String query){
+        return Single.<List<AutocompletePrediction>>create(emitter -> {
+            CancellationTokenSource cancellationTokenSource = new CancellationTokenSource();
+            emitter.setCancellable(cancellationTokenSource::cancel);
+
+            FindAutocompletePredictionsRequest request = FindAutocompletePredictionsRequest.builder()
+                    .setTypeFilter(TypeFilter.ADDRESS)
+                    .setSessionToken(getSessionToken())
+                    .setCancellationToken(cancellationTokenSource.getToken())
+                    .setQuery(query)
+                    .build();
+
+            placesClient.findAutocompletePredictions(request)
+                    .addOnSuccessListener(response -> emitter.onSuccess(response.getAutocompletePredictions()))
+                    .addOnFailureListener(emitter::tryOnError);
+        })
+                .observeOn(SuggestlySchedulers.dbWrite())
+                .doOnSuccess(predictions -> storePredictions(query, predictions));
+    }
+
+    private void storePredictions(String query, List<AutocompletePrediction> predictions){
+        predictionsCache.put(query, predictions);
+        if(predictions.isEmpty()){
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        List<CachedPrediction> cachedPredictions = new ArrayList<>();
+        for(int i = 0; i < predictions.size(); i++){
+            cachedPredictions.add(CachedPrediction.from(query, i, predictions.get(i), now));
+        }
+        googleDao.replacePredictions(query, cachedPredictions);
+        googleDao.deleteExpiredPredictions(now - PREDICTION_TTL_MILLIS);
+    }
+
+    private CachedGeocode readGeocode(String query){
+        CachedGeocode cached = geocodeCache.get(query);
+        if(cached != null){
+            return cached;
+        }
+
+        cached = googleDao.readGeocode(query, System.currentTimeMillis() - GEOCODE_TTL_MILLIS);
+        if(cached != null){
+            geocodeCache.put(query, cached);
+        }
+        return cached;
+    }
+
+    private void storeGeocode(String query, GeocodeResponse response){
+        if(response.results == null || response.results.isEmpty()){
+            return;
+        }
+
+        Geometry geometry = response.results.get(0).geometry;
+        long now = System.currentTimeMillis();
+        CachedGeocode cached = new CachedGeocode(query, geometry.location.lat, geometry.location.lng, now);
+        geocodeCache.put(query, cached);
+        googleDao.createGeocode(cached);
+        googleDao.deleteExpiredGeocodes(now - GEOCODE_TTL_MILLIS);
+    }
+
+    private synchronized AutocompleteSessionToken getSessionToken(){
+        if(sessionToken == null){
+            sessionToken = AutocompleteSessionToken.newInstance();
+        }
+        return sessionToken;
+    }
+
+    private synchronized void endAutoCompleteSession(){
+        sessionToken = null;
+    }
+
+    private static String normalize(String target){
+        return target.trim().replaceAll("\\s+", " ").toLowerCase(Locale.US);
     }
 }
@@ -0,0 +1,97 @@
+package com.app.suggestly.app.source;
+
+import com.app.suggestly.utility.Config;
+import com.app.suggestly.utility.DistanceCalculator;
+
+/*
+ * Decides which location fixes are worth acting on. A fix passes only when it is at least
+ * minDistanceMeters from the last fix that passed and minIntervalMillis has gone by since then,
+ * so GPS jitter and bursts of fixes never reach the user row or the venue distance rewrite.
+ * Every fix, passed or not, also updates whether the device looks like it is moving, which
+ * LocationSource uses to pick how often to ask for fixes. The requests carry a displacement
+ * filter, so a device that stops gets no more fixes at all; settle() lets the caller decay the
+ * moving state once fixes have been quiet for a while.
+ */
+public class LocationGate {
+    private final Thresholds thresholds;
+
+    private boolean hasAccepted;
+    private double acceptedLat;
+    private double acceptedLng;
+    private long acceptedTime;
+
+    private boolean hasPrevious;
+    private double previousLat;
+    private double previousLng;
+    private long previousTime;
+    private boolean isMoving;
+
+    public LocationGate(Thresholds thresholds){
+        this.thresholds = thresholds;
+    }
+
+    public Thresholds getThresholds(){
+        return thresholds;
+    }
+
+    public synchronized boolean accept(double lat, double lng, long timeMillis){
+        updateMotion(lat, lng, timeMillis);
+
+        if(hasAccepted){
+            double distance = DistanceCalculator.distanceMeter(acceptedLat, lat, acceptedLng, lng);
+            if(distance < thresholds.minDistanceMeters || timeMillis - acceptedTime < thresholds.minIntervalMillis){
+                return false;
+            }
+        }
+
+        hasAccepted = true;
+        acceptedLat = lat;
+        acceptedLng = lng;
+        acceptedTime = timeMillis;
+        return true;
+    }
+
+    public synchronized boolean isMoving(){
+        return isMoving;
+    }
+
+    // no fix for quietMillis means the displacement filter is holding them back, so the device stopped
+    public synchronized boolean settle(long timeMillis, long quietMillis){
+        if(isMoving && timeMillis - previousTime >= quietMillis){
+            isMoving = false;
+            return true;
+        }
+        return false;
+    }
+
+    private void updateMotion(double lat, double lng, long timeMillis){
+        if(hasPrevious && timeMillis > previousTime){
+            double distance = DistanceCalculator.distanceMeter(previousLat, lat, previousLng, lng);
+            isMoving = distance / ((timeMillis - previousTime) / 1000d) >= thresholds.movingMetersPerSecond;
+        }
+        hasPrevious = true;
+        previousLat = lat;
+        previousLng = lng;
+        previousTime = timeMillis;
+    }
+
+    public static class Thresholds {
+        public final double minDistanceMeters;
+        public final long minIntervalMillis;
+        public final double movingMetersPerSecond;
+        // how many request intervals without a fix before a moving device counts as stationary
+        public final int stillAfterIntervals;
+
+        public Thresholds(){
+            this(Config.LOCATION_MIN_DISTANCE_METERS, Config.LOCATION_MIN_INTERVAL_MILLIS,
+                    Config.LOCATION_MOVING_METERS_PER_SECOND, Config.LOCATION_STILL_AFTER_INTERVALS);
+        }
+
+        public Thresholds(double minDistanceMeters, long minIntervalMillis, double movingMetersPerSecond, int stillAfterIntervals){
+            this.minDistanceMeters = minDistanceMeters;
+            this.minIntervalMillis = minIntervalMillis;
+            this.movingMetersPerSecond = movingMetersPerSecond;
+            this.stillAfterIntervals = stillAfterIntervals;
+        }
+    }
+}
@@ -1,33 +1,43 @@
 package com.app.suggestly.app.source
 
 import android.annotation.SuppressLint
+import android.app.Activity
 import android.app.Application
 import android.location.Location
+import android.os.Bundle
+import android.os.Handler
 import android.os.HandlerThread
 import androidx.annotation.VisibleForTesting
+import com.app.suggestly.app.scheduler.SuggestlySchedulers
 import com.google.android.gms.location.*
-import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers
 import io.reactivex.rxjava3.core.Observer
 import io.reactivex.rxjava3.core.Single
-import io.reactivex.rxjava3.schedulers.Schedulers
 import io.reactivex.rxjava3.subjects.BehaviorSubject
 import java.util.concurrent.TimeUnit
 
 @VisibleForTesting
-class LocationSource constructor(application: Application) : FusedLocationProviderClient(application) {
+class LocationSource @JvmOverloads constructor(
+    application: Application,
+    thresholds: LocationGate.Thresholds = LocationGate.Thresholds()
+) : FusedLocationProviderClient(application) {
     private val locationUpdatesBehaviorSubject: BehaviorSubject<Location> = BehaviorSubject.create()
     private val locationSourceThread: HandlerThread = HandlerThread("LocationSource")
     private val locationCallback: LocationCallback
-    private val locationRequest: LocationRequest
+    private val locationGate = LocationGate(thresholds)
+    private val settleHandler: Handler
+    private val settleCheck = Runnable {
+        if (locationGate.settle(System.currentTimeMillis(), quietMillis())) {
+            updateRequestProfile()
+        }
+    }
+    private var requestProfile = RequestProfile.FOREGROUND_MOVING
+    @Volatile private var startedActivities = 0
     var isLocationUpdatesActive = false
         private set
 
     fun subscribeToLocationUpdates(locationObserver: Observer<Location>) {
         locationUpdatesBehaviorSubject
-            .subscribeOn(Schedulers.newThread())
-            .observeOn(AndroidSchedulers.mainThread())
-            .debounce(1000, TimeUnit.MILLISECONDS)
-            .distinctUntilChanged()
+            .debounce(1000, TimeUnit.MILLISECONDS, SuggestlySchedulers.cpu())
             .subscribe(locationObserver)
     }
 
@@ -38,12 +48,12 @@ class LocationSource constructor(application: Application) : FusedLocationProvid
     @SuppressLint("MissingPermission")
     fun requestLocationUpdates(): Single<Boolean> =
         Single.create{ emitter ->
-            requestLocationUpdates(locationRequest, locationCallback, locationSourceThread.looper)
+            requestLocationUpdates(buildLocationRequest(requestProfile), locationCallback, locationSourceThread.looper)
                 .addOnCanceledListener {
-                    isLocationUpdatesActive = true
                     emitter.onSuccess(false)
                 }
                 .addOnSuccessListener {
+                    isLocationUpdatesActive = true
                     emitter.onSuccess(true)
                 }
                 .addOnFailureListener {
@@ -53,26 +63,97 @@ class LocationSource constructor(application: Application) : FusedLocationProvid
 
     private fun removeLocationUpdates() {
         isLocationUpdatesActive = false
+        settleHandler.removeCallbacks(settleCheck)
         removeLocationUpdates(locationCallback)
     }
 
+    @Synchronized
+    @SuppressLint("MissingPermission")
+    private fun updateRequestProfile() {
+        val profile = when {
+            startedActivities > 0 && locationGate.isMoving -> RequestProfile.FOREGROUND_MOVING
+            startedActivities > 0 -> RequestProfile.FOREGROUND_STATIONARY
+            locationGate.isMoving -> RequestProfile.BACKGROUND_MOVING
+            else -> RequestProfile.BACKGROUND_STATIONARY
+        }
+        if (profile == requestProfile) {
+            return
+        }
+
+        requestProfile = profile
+        if (isLocationUpdatesActive) {
+            // re-registering the same callback replaces its request in place
+            requestLocationUpdates(buildLocationRequest(profile), locationCallback, locationSourceThread.looper)
+        }
+    }
+
+    // the displacement filter means a stopped device sends nothing, so only a missing fix can say it stopped
+    private fun scheduleSettleCheck() {
+        settleHandler.removeCallbacks(settleCheck)
+        if (locationGate.isMoving) {
+            settleHandler.postDelayed(settleCheck, quietMillis())
+        }
+    }
+
+    private fun quietMillis(): Long =
+        requestProfile.intervalMillis * locationGate.thresholds.stillAfterIntervals
+
+    private fun buildLocationRequest(profile: RequestProfile): LocationRequest {
+        val locationRequest = LocationRequest.create()
+        locationRequest.setSmallestDisplacement((locationGate.thresholds.minDistanceMeters * profile.displacementFactor).toFloat())
+            .setPriority(profile.priority)
+            .setInterval(profile.intervalMillis).fastestInterval = profile.intervalMillis
+        return locationRequest
+    }
+
     init {
         locationSourceThread.start()
+        settleHandler = Handler(locationSourceThread.looper)
         locationCallback = object : LocationCallback() {
             override fun onLocationResult(locationResult: LocationResult) {
                 locationResult.lastLocation?.let {
-                    locationUpdatesBehaviorSubject.onNext(it)
+                    val isAccepted = locationGate.accept(it.latitude, it.longitude, it.time)
+                    updateRequestProfile()
+                    scheduleSettleCheck()
+                    if (isAccepted) {
+                        locationUpdatesBehaviorSubject.onNext(it)
+                    }
                 }
             }
         }
-        locationRequest = LocationRequest.create()
-        locationRequest.setSmallestDisplacement(ONE_MILE)
-            .setPriority(Priority.PRIORITY_HIGH_ACCURACY)
-            .setInterval(TEN_SECONDS).fastestInterval = TEN_SECONDS
+
+        application.registerActivityLifecycleCallbacks(object : Application.ActivityLifecycleCallbacks {
+            override fun onActivityStarted(activity: Activity) {
+                startedActivities++
+                updateRequestProfile()
+            }
+
+            override fun onActivityStopped(activity: Activity) {
+                if (startedActivities > 0) {
+                    startedActivities--
+                }
+                updateRequestProfile()
+            }
+
+            override fun onActivityCreated(activity: Activity, savedInstanceState: Bundle?) {}
+            override fun onActivityResumed(activity: Activity) {}
+            override fun onActivityPaused(activity: Activity) {}
+            override fun onActivitySaveInstanceState(activity: Activity, outState: Bundle) {}
+            override fun onActivityDestroyed(activity: Activity) {}
+        })
+    }
+
+    private enum class RequestProfile(val priority: Int, val intervalMillis: Long, val displacementFactor: Double) {
+        FOREGROUND_MOVING(Priority.PRIORITY_HIGH_ACCURACY, TEN_SECONDS, 1.0),
+        FOREGROUND_STATIONARY(Priority.PRIORITY_BALANCED_POWER_ACCURACY, ONE_MINUTE, 1.0),
+        BACKGROUND_MOVING(Priority.PRIORITY_BALANCED_POWER_ACCURACY, FIVE_MINUTES, 4.0),
+        BACKGROUND_STATIONARY(Priority.PRIORITY_LOW_POWER, FIFTEEN_MINUTES, 4.0)
     }
 
     private companion object{
         const val TEN_SECONDS = 10000L
-        const val ONE_MILE = 100F
+        const val ONE_MINUTE = 60000L
+        const val FIVE_MINUTES = 300000L
+        const val FIFTEEN_MINUTES = 900000L
     }
-}
\ No newline at end of file
+}
@@ -1,37 +1,44 @@
 package com.app.suggestly.app.source;
 import android.app.Application;
 
+import androidx.annotation.VisibleForTesting;
 import androidx.paging.DataSource;
 
 import com.app.suggestly.app.model.nyt.Book;
+import com.app.suggestly.app.model.nyt.BookListSync;
+import com.app.suggestly.app.model.nyt.Overview;
+import com.app.suggestly.app.model.nyt.OverviewList;
 import com.app.suggestly.app.model.nyt.Result;
 import com.app.suggestly.app.network.retrofit.NewYorkTimesManager;
 import com.app.suggestly.app.network.retrofit.NewYorkTimesService;
 import com.app.suggestly.app.network.retrofit.ServiceFactory;
+import com.app.suggestly.app.room.InvalidationThrottle;
 import com.app.suggestly.app.room.NewYorkTimesDAO;
 import com.app.suggestly.app.room.RoomDB;
+import com.app.suggestly.app.scheduler.SuggestlySchedulers;
 import com.app.suggestly.utility.Config;
 
 import java.sql.Date;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.core.Observer;
-import io.reactivex.rxjava3.schedulers.Schedulers;
+import io.reactivex.rxjava3.core.Single;
 
 public class NewYorkTimesSource {
     private final NewYorkTimesService newYorkTimesService;
     private final NewYorkTimesDAO newYorkTimesDAO;
-    private final ExecutorService executorService;
     public NewYorkTimesSource(Application application){
         newYorkTimesService = ServiceFactory.getNewYorkTimesClient(Config.NEW_YORK_TIMES_BASE_URL, NewYorkTimesService.class);
         newYorkTimesDAO = RoomDB.getInstance(application).getNewYorkTimesDAO();
-        executorService = Executors.newFixedThreadPool(5);
+    }
+
+    @VisibleForTesting
+    public NewYorkTimesSource(NewYorkTimesService newYorkTimesService, NewYorkTimesDAO newYorkTimesDAO){
+        this.newYorkTimesService = newYorkTimesService;
+        this.newYorkTimesDAO = newYorkTimesDAO;
     }
 
     public void isNewYorkTimesTableFresh(Observer<Boolean> observer){
@@ -44,17 +51,43 @@ public class NewYorkTimesSource {
             source.onComplete();
         });
 
-        observable.subscribeOn(Schedulers.io())
+        observable.subscribeOn(SuggestlySchedulers.dbRead())
                 .subscribe(observer);
     }
 
     public void fetchNewYorkTimesBestsellingByListName(String listName, Observer<List<Book>> observer){
+        fetchNewYorkTimesBestsellingByListName(listName)
+                .subscribe(observer);
+    }
+
+    public Observable<List<Book>> fetchNewYorkTimesBestsellingByListName(String listName){
         HashMap<String, String> map = NewYorkTimesManager.buildQueryMap();
-        newYorkTimesService.fetchBestsellingBooksByListName(listName, map)
+        return newYorkTimesService.fetchBestsellingBooksByListName(listName, map)
                 .map(response -> response.results)
                 .map(this::convertResultsToBooks)
-                .subscribeOn(Schedulers.io())
-                .subscribe(observer);
+                .subscribeOn(SuggestlySchedulers.network());
+    }
+
+    public List<BookListSync> readBookListSync(List<String> lists){
+        return newYorkTimesDAO.readBookListSync(lists);
+    }
+
+    // one overview request returns every weekly list, only the lists asked for are kept
+    public Observable<List<Book>> fetchBestsellingOverview(List<String> lists){
+        HashMap<String, String> map = NewYorkTimesManager.buildQueryMap();
+        return newYorkTimesService.fetchBestsellingOverview(map)
+                .map(response -> convertOverviewToBooks(response.results, lists))
+                .subscribeOn(SuggestlySchedulers.network());
+    }
+
+    public List<Book> convertOverviewToBooks(Overview overview, List<String> lists){
+        List<Book> books = new ArrayList<>();
+        for(OverviewList list : overview.lists){
+            if(list.books != null && lists.contains(list.listNameEncoded)){
+                books.addAll(convertResultsToBooks(list.toResult(overview)));
+            }
+        }
+        return books;
     }
 
     public List<Book> convertResultsToBooks(Result result){
@@ -66,52 +99,59 @@ public class NewYorkTimesSource {
 
     public void readTopSuggestionBook(Observer<Book> observer){
         newYorkTimesDAO.readTopSuggestion()
-                .subscribeOn(Schedulers.io())
+                .subscribeOn(SuggestlySchedulers.dbRead())
                 .subscribe(observer);
     }
 
     public void readTopBookUsingISBN13(String isbn13, Observer<Book> observer){
         newYorkTimesDAO.readBookByISBN(isbn13)
-                .subscribeOn(Schedulers.io())
+                .subscribeOn(SuggestlySchedulers.dbRead())
                 .subscribe(observer);
     }
 
     public void insertNewYorkTimesBookListWithTimeStamp(List<Book> insertBooks, Observer<Void> observer){
         Observable<Void> observable = Observable.create(source -> {
-            for(Book book : insertBooks){
-                book.createdAt = new Date(System.currentTimeMillis());
-            }
-            newYorkTimesDAO.createBooks(insertBooks);
+            insertNewYorkTimesBookListWithTimeStamp(insertBooks);
             source.onComplete();
         });
-        observable.subscribeOn(Schedulers.io())
+        observable.subscribeOn(SuggestlySchedulers.dbWrite())
                 .subscribe(observer);
     }
 
-    public DataSource.Factory<Integer, Book> readNewYorkTimesBookListDataFactoryHomeFragment(String listName){
-        try {
-            return executorService.submit(() -> newYorkTimesDAO.readBooksByListNameDataFactoryHomeFragment(listName)).get();
-        } catch (ExecutionException | InterruptedException e) {
-            e.printStackTrace();
+    public void insertNewYorkTimesBookListWithTimeStamp(List<Book> insertBooks){
+        for(Book book : insertBooks){
+            book.createdAt = new Date(System.currentTimeMillis());
         }
-        return null;
+        newYorkTimesDAO.createRankedBooks(insertBooks);
     }
 
-    public List<Book> readBooksByListName(String name){
-        try{
-            return executorService.submit(() -> newYorkTimesDAO.readBooksByListName(name)).get();
-        }catch (ExecutionException | InterruptedException e) {
-            e.printStackTrace();
+    // every list asked for is marked checked, one the overview did not return keeps no next date.
+    // Returns the number of books that changed
+    public int insertBookLists(List<Book> books, List<String> lists){
+        long now = System.currentTimeMillis();
+        HashMap<String, String> nextPublishedDates = new HashMap<>();
+        for(Book book : books){
+            book.createdAt = new Date(now);
+            nextPublishedDates.put(book.listNameEncoded, book.nextPublishedDate);
+        }
+        List<BookListSync> checked = new ArrayList<>();
+        for(String list : lists){
+            checked.add(new BookListSync(list, nextPublishedDates.get(list), now));
         }
-        return new ArrayList<>();
+        return newYorkTimesDAO.createBookLists(books, checked);
     }
 
-    public List<Book> readBooksByListNameLimitThree(String isbn13, String name){
-        try{
-            return executorService.submit(() -> newYorkTimesDAO.readBooksByListNameLimit3(isbn13, name)).get();
-        }catch (ExecutionException | InterruptedException e) {
-            e.printStackTrace();
-        }
-        return new ArrayList<>();
+    public DataSource.Factory<Integer, Book> readNewYorkTimesBookListDataFactoryHomeFragment(String listName){
+        return InvalidationThrottle.dataSourceFactory("home_" + listName, newYorkTimesDAO.readBooksByListNameDataFactoryHomeFragment(listName));
+    }
+
+    public Single<List<Book>> readBooksByListName(String name){
+        return Single.fromCallable(() -> newYorkTimesDAO.readBooksByListName(name))
+                .subscribeOn(SuggestlySchedulers.dbRead());
+    }
+
+    public Single<List<Book>> readBooksByListNameLimitThree(String isbn13, String name){
+        return Single.fromCallable(() -> newYorkTimesDAO.readBooksByListNameLimit3(isbn13, name))
+                .subscribeOn(SuggestlySchedulers.dbRead());
     }
 }
\ No newline at end of file
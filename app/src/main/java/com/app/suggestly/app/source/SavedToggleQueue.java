@@ -0,0 +1,206 @@
+package com.app.suggestly.app.source;
+
+import com.app.suggestly.app.model.user.SavedToggle;
+import com.app.suggestly.app.room.UserDao;
+import com.app.suggestly.app.scheduler.SuggestlySchedulers;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Write-behind buffer for save, favorite and delete taps. A tap only updates the pending toggle
+ * for that id, so flipping the same card several times in a row costs one row write, and
+ * everything pending is written in a single transaction per table a short moment after the
+ * first tap. Readers call flush() first so they never see a state older than the last tap.
+ * Toggles change category and list affinity, so the matching re-rank runs after each batch with
+ * the toggles it committed. A batch that fails to commit is merged back under any newer taps and
+ * retried on its own with a doubling delay, so a locked database does not strand the taps until
+ * the next read.
+ */
+class SavedToggleQueue {
+    private static final long FLUSH_DELAY_MILLIS = 300;
+    private static final int MAX_BACKOFF_SHIFT = 6;
+
+    private final UserDao userDao;
+    private final Applied onVenueTogglesApplied;
+    private final Applied onBookTogglesApplied;
+    private final Object flushLock = new Object();
+    private final Map<String, SavedToggle> pendingVenues = new LinkedHashMap<>();
+    private final Map<String, SavedToggle> pendingBooks = new LinkedHashMap<>();
+    private boolean isFlushScheduled;
+    private boolean isFlushing;
+    private int failedFlushes;
+
+    SavedToggleQueue(UserDao userDao, Applied onVenueTogglesApplied, Applied onBookTogglesApplied){
+        this.userDao = userDao;
+        this.onVenueTogglesApplied = onVenueTogglesApplied;
+        this.onBookTogglesApplied = onBookTogglesApplied;
+    }
+
+    void saveVenue(String uid, String vid, boolean isSaved){
+        synchronized (this){
+            pending(pendingVenues, uid, vid).save(isSaved);
+        }
+        scheduleFlush();
+    }
+
+    void favoriteVenue(String uid, String vid, boolean isFavorite){
+        synchronized (this){
+            pending(pendingVenues, uid, vid).favorite(isFavorite);
+        }
+        scheduleFlush();
+    }
+
+    void deleteVenue(String uid, String vid){
+        synchronized (this){
+            pending(pendingVenues, uid, vid).delete();
+        }
+        scheduleFlush();
+    }
+
+    void saveBook(String uid, String bid, boolean isSaved){
+        synchronized (this){
+            pending(pendingBooks, uid, bid).save(isSaved);
+        }
+        scheduleFlush();
+    }
+
+    void favoriteBook(String uid, String bid, boolean isFavorite){
+        synchronized (this){
+            pending(pendingBooks, uid, bid).favorite(isFavorite);
+        }
+        scheduleFlush();
+    }
+
+    void deleteBook(String uid, String bid){
+        synchronized (this){
+            pending(pendingBooks, uid, bid).delete();
+        }
+        scheduleFlush();
+    }
+
+    // a batch that is drained but not committed yet still counts, readers wait for it in flush()
+    synchronized boolean hasPending(){
+        return isFlushing || !pendingVenues.isEmpty() || !pendingBooks.isEmpty();
+    }
+
+    void flush(){
+        // drained batches must commit in the order they were taken or an older tap could win
+        synchronized (flushLock){
+            Map<String, SavedToggle> venues;
+            Map<String, SavedToggle> books;
+            synchronized (this){
+                isFlushScheduled = false;
+                isFlushing = true;
+                venues = new LinkedHashMap<>(pendingVenues);
+                books = new LinkedHashMap<>(pendingBooks);
+                pendingVenues.clear();
+                pendingBooks.clear();
+            }
+
+            boolean isCommitted = true;
+            try{
+                if(!venues.isEmpty()){
+                    if(apply(venues, pendingVenues, userDao::applyVenueToggles)){
+                        onVenueTogglesApplied.onApplied(new ArrayList<>(venues.values()));
+                    }else{
+                        isCommitted = false;
+                    }
+                }
+                if(!books.isEmpty()){
+                    if(apply(books, pendingBooks, userDao::applyBookToggles)){
+                        onBookTogglesApplied.onApplied(new ArrayList<>(books.values()));
+                    }else{
+                        isCommitted = false;
+                    }
+                }
+            }catch (RuntimeException e){
+                e.printStackTrace();
+            }finally {
+                synchronized (this){
+                    isFlushing = false;
+                }
+            }
+            onFlushed(isCommitted);
+        }
+    }
+
+    private void onFlushed(boolean isCommitted){
+        long delay;
+        synchronized (this){
+            if(isCommitted){
+                failedFlushes = 0;
+                return;
+            }
+            failedFlushes++;
+            if(isFlushScheduled){
+                return;
+            }
+            isFlushScheduled = true;
+            delay = FLUSH_DELAY_MILLIS << Math.min(failedFlushes, MAX_BACKOFF_SHIFT);
+        }
+        SuggestlySchedulers.dbWrite().scheduleDirect(this::flush, delay, TimeUnit.MILLISECONDS);
+    }
+
+    // a batch that failed to commit goes back in the queue, onFlushed() schedules the retry
+    private boolean apply(Map<String, SavedToggle> batch, Map<String, SavedToggle> pending, Batch write){
+        try{
+            write.apply(new ArrayList<>(batch.values()));
+            return true;
+        }catch (RuntimeException e){
+            e.printStackTrace();
+            requeue(batch, pending);
+            return false;
+        }
+    }
+
+    // a tap made since the batch was drained is newer, so it keeps every flag it set
+    private synchronized void requeue(Map<String, SavedToggle> batch, Map<String, SavedToggle> pending){
+        for(Map.Entry<String, SavedToggle> entry : batch.entrySet()){
+            SavedToggle older = entry.getValue();
+            SavedToggle newer = pending.get(entry.getKey());
+            if(newer == null){
+                pending.put(entry.getKey(), older);
+            }else if(!newer.isDeleted){
+                newer.isDeleted = older.isDeleted;
+                if(newer.isSaved == null){
+                    newer.isSaved = older.isSaved;
+                }
+                if(newer.isFavorite == null){
+                    newer.isFavorite = older.isFavorite;
+                }
+            }
+        }
+    }
+
+    private void scheduleFlush(){
+        synchronized (this){
+            if(isFlushScheduled){
+                return;
+            }
+            isFlushScheduled = true;
+        }
+        SuggestlySchedulers.dbWrite().scheduleDirect(this::flush, FLUSH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private static SavedToggle pending(Map<String, SavedToggle> pending, String uid, String id){
+        String key = uid + "/" + id;
+        SavedToggle toggle = pending.get(key);
+        if(toggle == null){
+            toggle = new SavedToggle(uid, id);
+            pending.put(key, toggle);
+        }
+        return toggle;
+    }
+
+    interface Applied {
+        void onApplied(List<SavedToggle> toggles);
+    }
+
+    private interface Batch {
+        void apply(List<SavedToggle> toggles);
+    }
+}
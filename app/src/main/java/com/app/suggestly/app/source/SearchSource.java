@@ -2,6 +2,7 @@ package com.app.suggestly.app.source;
 
 import android.app.Application;
 
+import androidx.annotation.VisibleForTesting;
 import androidx.paging.DataSource;
 
 import com.app.suggestly.app.model.foursquare.Venue;
@@ -11,21 +12,19 @@ import com.app.suggestly.app.network.retrofit.FoursquareService;
 import com.app.suggestly.app.network.retrofit.ServiceFactory;
 import com.app.suggestly.app.room.RoomDB;
 import com.app.suggestly.app.room.SearchDao;
+import com.app.suggestly.app.scheduler.SuggestlySchedulers;
 import com.app.suggestly.utility.Config;
 
 import org.jetbrains.annotations.NotNull;
 
 import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
+import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.core.ObservableSource;
 import io.reactivex.rxjava3.core.Observer;
 import io.reactivex.rxjava3.functions.Function;
-import io.reactivex.rxjava3.schedulers.Schedulers;
 import io.reactivex.rxjava3.subjects.PublishSubject;
 
 
@@ -34,26 +33,24 @@ public class SearchSource {
     private final PublishSubject<String> publishSubject;
 
     private final FoursquareService foursquareService;
-    private final ExecutorService executorService;
 
     public SearchSource(Application application){
         foursquareService = ServiceFactory.getFoursquareClient(Config.FOURSQUARE_BASE_URL, FoursquareService.class);
 
         searchDao = RoomDB.getInstance(application).getSearchDAO();
         publishSubject = PublishSubject.create();
+    }
 
-        executorService = Executors.newFixedThreadPool(10);
+    @VisibleForTesting
+    public SearchSource(SearchDao searchDao, FoursquareService foursquareService){
+        this.searchDao = searchDao;
+        this.foursquareService = foursquareService;
+        publishSubject = PublishSubject.create();
     }
 
     public DataSource.Factory<Integer, SearchTuple> suggestlySearch(String search){
         publishSubject.onNext(search);
-        try{
-            return executorService.submit(() -> searchDao.venueSearch(formatString(search))).get();
-        }catch (ExecutionException|InterruptedException e){
-            e.printStackTrace();
-        }
-
-        return null;
+        return searchDao.venueSearch(formatString(search));
     }
 
     public void removeSuggestlySearch(){
@@ -63,16 +60,18 @@ public class SearchSource {
     public void initializeVenueSearch(Double lat, Double lng, Observer<List<Venue>> observer){
         publishSubject.debounce(500, TimeUnit.MILLISECONDS)
                 .distinctUntilChanged()
-                .switchMap((Function<String, ObservableSource<List<Venue>>>) s -> {
-                    HashMap<String, String> queryMap = FoursquareManager.buildSearchQueryMap(lat, lng, s);
-                    return foursquareService.getFoursquareVenuesNearby(queryMap)
-                            .map(foursquareSearchResponse -> foursquareSearchResponse.response.venues)
-                            .subscribeOn(Schedulers.io());
-                })
-                .subscribeOn(Schedulers.io())
+                .switchMap((Function<String, ObservableSource<List<Venue>>>) s -> fetchVenueSearch(lat, lng, s))
+                .subscribeOn(SuggestlySchedulers.network())
                 .subscribe(observer);
     }
 
+    public Observable<List<Venue>> fetchVenueSearch(Double lat, Double lng, String search){
+        HashMap<String, String> queryMap = FoursquareManager.buildSearchQueryMap(lat, lng, search);
+        return foursquareService.getFoursquareVenuesNearby(queryMap)
+                .map(foursquareSearchResponse -> foursquareSearchResponse.response.venues)
+                .subscribeOn(SuggestlySchedulers.network());
+    }
+
     @NotNull
     private String formatString(@NotNull String search){
         return "%"+search.replace(" ", "%")+"%";
@@ -2,25 +2,28 @@ package com.app.suggestly.app.source;
 
 import android.app.Application;
 
+import androidx.annotation.VisibleForTesting;
 import androidx.lifecycle.LiveData;
 import androidx.room.Insert;
 
 import com.google.firebase.auth.FirebaseAuth;
+import com.app.suggestly.app.category.CategoryHierarchyStore;
 import com.app.suggestly.app.model.Suggestion;
 import com.app.suggestly.app.model.foursquare.Venue;
 import com.app.suggestly.app.model.nyt.Book;
 import com.app.suggestly.app.model.relations.VenueAndCategory;
 import com.app.suggestly.app.model.user.LocationTuple;
+import com.app.suggestly.app.model.user.SavedToggle;
 import com.app.suggestly.app.model.user.User;
+import com.app.suggestly.app.room.FoursquareDao;
+import com.app.suggestly.app.room.NewYorkTimesDAO;
 import com.app.suggestly.app.room.RoomDB;
 import com.app.suggestly.app.room.UserDao;
+import com.app.suggestly.app.scheduler.SuggestlySchedulers;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import io.reactivex.CompletableObserver;
 import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
@@ -30,15 +33,23 @@ import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.core.Observer;
 import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.core.SingleObserver;
-import io.reactivex.rxjava3.schedulers.Schedulers;
 
 public class UserSource {
     private final UserDao userDao;
-    private final ExecutorService executorService;
+    private final SavedToggleQueue toggleQueue;
 
     public UserSource(Application application){
-        userDao = RoomDB.getInstance(application).getUserDao();
-        executorService = Executors.newFixedThreadPool(5);
+        this(RoomDB.getInstance(application).getUserDao(), RoomDB.getInstance(application).getFoursquareDao(),
+                RoomDB.getInstance(application).getNewYorkTimesDAO(), CategoryHierarchyStore.getInstance(application));
+    }
+
+    @VisibleForTesting
+    public UserSource(UserDao userDao, FoursquareDao foursquareDao, NewYorkTimesDAO newYorkTimesDAO,
+                      CategoryHierarchyStore categoryHierarchyStore){
+        this.userDao = userDao;
+        toggleQueue = new SavedToggleQueue(userDao,
+                toggles -> foursquareDao.rankVenuesAffectedBy(categoryHierarchyStore.get(), ids(toggles)),
+                toggles -> newYorkTimesDAO.rankBooks());
     }
 
     public void checkIfUserInRoom(String id, Observer<Boolean> observer){
@@ -54,14 +65,14 @@ public class UserSource {
             source.onComplete();
         });
 
-        observable.subscribeOn(Schedulers.io())
+        observable.subscribeOn(SuggestlySchedulers.dbRead())
                 .subscribe(observer);
     }
 
     @Insert
     public void createUser(User user, SingleObserver<Boolean> observer){
         Single.fromCallable(() -> userDao.createUser(user))
-                .subscribeOn(Schedulers.io())
+                .subscribeOn(SuggestlySchedulers.dbWrite())
                 .observeOn(AndroidSchedulers.mainThread())
                 .map(index -> (index >= 0))
                 .subscribe(observer);
@@ -81,7 +92,7 @@ public class UserSource {
 
     public void updateUserLocation(String id, double lat, double lng, SingleObserver<Boolean> observer){
         Single.fromCallable(() -> userDao.updateUserLocation(id, lat, lng))
-                .subscribeOn(Schedulers.io())
+                .subscribeOn(SuggestlySchedulers.dbWrite())
                 .observeOn(AndroidSchedulers.mainThread())
                 .map(index -> (index >= 0))
                 .subscribe(observer);
@@ -116,46 +127,38 @@ public class UserSource {
             }
         });
 
-        observable.subscribeOn(Schedulers.io())
+        observable.subscribeOn(SuggestlySchedulers.dbWrite())
                 .subscribe(observer);
     }
 
     public void readSavedSuggestions(Observer<List<Suggestion>> observer){
-        Observable<List<Suggestion>> observable = Observable.create(source -> {
+        read(() -> {
             List<Suggestion> suggestions = new ArrayList<>(readSavedVenueSuggestion());
             suggestions.addAll(readSavedBooksSuggestion());
-            source.onNext(suggestions);
-            source.onComplete();
-        });
-
-
-        observable.subscribeOn(Schedulers.io())
+            return suggestions;
+        })
+                .toObservable()
                 .subscribe(observer);
     }
 
     public void readFavoriteSuggestions(Observer<List<Suggestion>> observer){
-        Observable<List<Suggestion>> observable = Observable.create(source -> {
+        read(() -> {
             List<Suggestion> suggestions = new ArrayList<>(readFavoriteVenueSuggestion());
             suggestions.addAll(readFavoriteBooksSuggestion());
-            source.onNext(suggestions);
-            source.onComplete();
-        });
-
-
-        observable.subscribeOn(Schedulers.io())
+            return suggestions;
+        })
+                .toObservable()
                 .subscribe(observer);
     }
 
-    public long upsertSavedVenue(Venue venue, boolean isSaved){
-        if(FirebaseAuth.getInstance().getCurrentUser() == null || venue ==null){
-            return -1;
-        }
-        try{
-            return executorService.submit(() -> userDao.upsertSavedVenue(FirebaseAuth.getInstance().getCurrentUser().getUid(), venue.venueId, isSaved)).get();
-        }catch (InterruptedException|ExecutionException e){
-            e.printStackTrace();
+    public boolean upsertSavedVenue(Venue venue, boolean isSaved){
+        if(FirebaseAuth.getInstance().getCurrentUser() == null || venue == null){
+            return false;
         }
-        return -1;
+        // the bound card shows the tap right away, the row follows with the next flush
+        venue.isSaved = isSaved;
+        toggleQueue.saveVenue(FirebaseAuth.getInstance().getCurrentUser().getUid(), venue.venueId, isSaved);
+        return true;
     }
 
     private List<VenueAndCategory> readSavedVenueSuggestion(){
@@ -172,51 +175,34 @@ public class UserSource {
         return new ArrayList<>();
     }
 
-    public List<VenueAndCategory> readSavedVenues(){
-        if(FirebaseAuth.getInstance().getCurrentUser() != null){
-            try{
-                return executorService.submit(() -> userDao.readSavedVenues(FirebaseAuth.getInstance().getCurrentUser().getUid())).get();
-            }catch (InterruptedException|ExecutionException e){
-                e.printStackTrace();
-            }
-        }
-        return new ArrayList<>();
+    public Single<List<VenueAndCategory>> readSavedVenues(){
+        return read(this::readSavedVenueSuggestion);
     }
 
-    public List<VenueAndCategory> readFavoriteVenues(){
-        if(FirebaseAuth.getInstance().getCurrentUser() != null){
-            try{
-                return executorService.submit(() -> userDao.readFavoriteVenues(FirebaseAuth.getInstance().getCurrentUser().getUid())).get();
-            }catch (InterruptedException|ExecutionException e){
-                e.printStackTrace();
-            }
-        }
-        return new ArrayList<>();
+    public List<VenueAndCategory> readSavedVenuesSync(){
+        toggleQueue.flush();
+        return readSavedVenueSuggestion();
     }
 
-    public long upsertFavoriteVenue(Venue venue, boolean isFavorite){
-        if(FirebaseAuth.getInstance().getCurrentUser() == null){
-            return -1;
-        }
+    public Single<List<VenueAndCategory>> readFavoriteVenues(){
+        return read(this::readFavoriteVenueSuggestion);
+    }
 
-        try{
-            return executorService.submit(() -> userDao.upsertFavoriteVenue(FirebaseAuth.getInstance().getCurrentUser().getUid(), venue.venueId, isFavorite)).get();
-        }catch (InterruptedException|ExecutionException e){
-            e.printStackTrace();
+    public boolean upsertFavoriteVenue(Venue venue, boolean isFavorite){
+        if(FirebaseAuth.getInstance().getCurrentUser() == null || venue == null){
+            return false;
         }
-        return -1;
+        toggleQueue.favoriteVenue(FirebaseAuth.getInstance().getCurrentUser().getUid(), venue.venueId, isFavorite);
+        return true;
     }
 
-    public int deletedSavedVenue(Venue venue){
+    public boolean deletedSavedVenue(Venue venue){
         if(FirebaseAuth.getInstance().getCurrentUser() == null || venue == null){
-            return -1;
-        }
-        try{
-            return executorService.submit(() -> userDao.deletedSavedVenue(FirebaseAuth.getInstance().getCurrentUser().getUid(), venue.venueId)).get();
-        }catch (InterruptedException|ExecutionException e){
-            e.printStackTrace();
+            return false;
         }
-        return -1;
+        venue.isSaved = false;
+        toggleQueue.deleteVenue(FirebaseAuth.getInstance().getCurrentUser().getUid(), venue.venueId);
+        return true;
     }
 
     private List<Book> readSavedBooksSuggestion(){
@@ -226,39 +212,20 @@ public class UserSource {
         return new ArrayList<>();
     }
 
-    public List<Book> readSavedBooks(){
-        if(FirebaseAuth.getInstance().getCurrentUser() != null) {
-            try {
-                return executorService.submit(() -> userDao.readSavedBook(FirebaseAuth.getInstance().getCurrentUser().getUid())).get();
-            } catch (InterruptedException | ExecutionException e) {
-                e.printStackTrace();
-            }
-        }
-        return new ArrayList<>();
+    public Single<List<Book>> readSavedBooks(){
+        return read(this::readSavedBooksSuggestion);
     }
 
-    public long upsertSavedBook(Book book, boolean isSaved){
-        if(FirebaseAuth.getInstance().getCurrentUser() == null){
-            return -1;
-        }
-
-        try{
-            return executorService.submit(() -> userDao.upsertSavedBook(FirebaseAuth.getInstance().getCurrentUser().getUid(), book.getPrimaryIsbn13(), isSaved)).get();
-        }catch (InterruptedException|ExecutionException e){
-            e.printStackTrace();
+    public boolean upsertSavedBook(Book book, boolean isSaved){
+        if(FirebaseAuth.getInstance().getCurrentUser() == null || book == null){
+            return false;
         }
-        return -1;
+        toggleQueue.saveBook(FirebaseAuth.getInstance().getCurrentUser().getUid(), book.getPrimaryIsbn13(), isSaved);
+        return true;
     }
 
-    public List<Book> readFavoriteBooks(){
-        if(FirebaseAuth.getInstance().getCurrentUser() != null) {
-            try {
-                return executorService.submit(() -> userDao.readFavoriteBook(FirebaseAuth.getInstance().getCurrentUser().getUid())).get();
-            } catch (InterruptedException | ExecutionException e) {
-                e.printStackTrace();
-            }
-        }
-        return new ArrayList<>();
+    public Single<List<Book>> readFavoriteBooks(){
+        return read(this::readFavoriteBooksSuggestion);
     }
 
     public List<Book> readFavoriteBooksSuggestion(){
@@ -268,28 +235,40 @@ public class UserSource {
         return new ArrayList<>();
     }
 
-    public long upsertFavoriteBook(Book book, boolean isFavorite){
-        if(FirebaseAuth.getInstance().getCurrentUser() == null){
-            return -1;
-        }
-
-        try{
-            return executorService.submit(() -> userDao.upsertFavoriteBook(FirebaseAuth.getInstance().getCurrentUser().getUid(), book.getPrimaryIsbn13(), isFavorite)).get();
-        }catch (InterruptedException|ExecutionException e){
-            e.printStackTrace();
+    public boolean upsertFavoriteBook(Book book, boolean isFavorite){
+        if(FirebaseAuth.getInstance().getCurrentUser() == null || book == null){
+            return false;
         }
-        return -1;
+        toggleQueue.favoriteBook(FirebaseAuth.getInstance().getCurrentUser().getUid(), book.getPrimaryIsbn13(), isFavorite);
+        return true;
     }
 
-    public int deletedSavedBook(Book book){
+    public boolean deletedSavedBook(Book book){
         if(FirebaseAuth.getInstance().getCurrentUser() == null || book == null){
-            return -1;
+            return false;
         }
-        try{
-            return executorService.submit(() -> userDao.deletedSavedBook(FirebaseAuth.getInstance().getCurrentUser().getUid(), book.getPrimaryIsbn13())).get();
-        }catch (InterruptedException|ExecutionException e){
-            e.printStackTrace();
+        toggleQueue.deleteBook(FirebaseAuth.getInstance().getCurrentUser().getUid(), book.getPrimaryIsbn13());
+        return true;
+    }
+
+    private static List<String> ids(List<SavedToggle> toggles){
+        List<String> ids = new ArrayList<>(toggles.size());
+        for(SavedToggle toggle : toggles){
+            ids.add(toggle.id);
         }
-        return -1;
+        return ids;
+    }
+
+    private <T> Single<T> read(Callable<T> query){
+        return Single.defer(() -> {
+            Single<T> read = Single.fromCallable(query)
+                    .subscribeOn(SuggestlySchedulers.dbRead());
+            if(!toggleQueue.hasPending()){
+                return read;
+            }
+            return Completable.fromAction(toggleQueue::flush)
+                    .subscribeOn(SuggestlySchedulers.dbWrite())
+                    .andThen(read);
+        });
     }
 }
@@ -0,0 +1,64 @@
+package com.app.suggestly.app.subscription;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.rxjava3.disposables.CompositeDisposable;
+import io.reactivex.rxjava3.disposables.Disposable;
+
+/*
+ * Owns the Rx subscriptions started on behalf of one screen. Observers hand their Disposable to
+ * track() in onSubscribe and release() it once they complete or fail, so anything still held
+ * when the owner goes away is a query or call nobody will read. dispose() cancels all of it,
+ * which for Retrofit also cancels the OkHttp call in flight, and rejects any later track().
+ * The process wide count of tracked subscriptions lets tests catch a leak by checking it
+ * returns to where it started.
+ */
+public class SubscriptionScope {
+    private static final AtomicInteger liveSubscriptions = new AtomicInteger();
+
+    private final String name;
+    private final CompositeDisposable compositeDisposable;
+
+    public SubscriptionScope(String name){
+        this.name = name;
+        compositeDisposable = new CompositeDisposable();
+    }
+
+    public synchronized Disposable track(Disposable disposable){
+        if(compositeDisposable.add(disposable)){
+            liveSubscriptions.incrementAndGet();
+        }
+        return disposable;
+    }
+
+    public synchronized void release(Disposable disposable){
+        if(disposable == null){
+            return;
+        }
+        if(compositeDisposable.delete(disposable)){
+            liveSubscriptions.decrementAndGet();
+        }
+        disposable.dispose();
+    }
+
+    public synchronized void dispose(){
+        liveSubscriptions.addAndGet(-compositeDisposable.size());
+        compositeDisposable.dispose();
+    }
+
+    public synchronized int size(){
+        return compositeDisposable.size();
+    }
+
+    public boolean isDisposed(){
+        return compositeDisposable.isDisposed();
+    }
+
+    public String getName(){
+        return name;
+    }
+
+    public static int liveSubscriptionCount(){
+        return liveSubscriptions.get();
+    }
+}
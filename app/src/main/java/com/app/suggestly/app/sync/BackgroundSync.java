@@ -0,0 +1,110 @@
+package com.app.suggestly.app.sync;
+
+import androidx.annotation.NonNull;
+
+import com.app.suggestly.app.cache.Resource;
+import com.app.suggestly.app.model.foursquare.Venue;
+import com.app.suggestly.app.model.relations.VenueAndCategory;
+import com.app.suggestly.app.model.user.LocationTuple;
+import com.app.suggestly.app.refresh.HomeRefresh;
+import com.app.suggestly.app.refresh.HomeRefreshProgress;
+import com.app.suggestly.app.room.InvalidationThrottle;
+import com.app.suggestly.app.source.FoursquareSource;
+import com.app.suggestly.app.source.UserSource;
+import com.app.suggestly.utility.DistanceCalculator;
+
+import java.util.List;
+
+/*
+ * One pass of the background sync. Every step is synchronous because it always runs on the
+ * WorkManager thread, and every step is isolated so a single failing call does not abort the
+ * rest of the pass.
+ */
+public class BackgroundSync {
+    public static final int MAX_SAVED_VENUE_DETAILS = 25;
+
+    private final HomeRefresh homeRefresh;
+    private final FoursquareSource foursquareSource;
+    private final NewYorkTimesSync newYorkTimesSync;
+    private final UserSource userSource;
+
+    public BackgroundSync(HomeRefresh homeRefresh, FoursquareSource foursquareSource,
+                          NewYorkTimesSync newYorkTimesSync, UserSource userSource){
+        this.homeRefresh = homeRefresh;
+        this.foursquareSource = foursquareSource;
+        this.newYorkTimesSync = newYorkTimesSync;
+        this.userSource = userSource;
+    }
+
+    public Report run(LocationTuple location){
+        Report report = new Report();
+        syncRegion(location, report);
+        syncNewYorkTimesLists(report);
+        syncSavedVenueDetails(report);
+        return report;
+    }
+
+    private void syncRegion(LocationTuple location, Report report){
+        if(location == null || !DistanceCalculator.hasValidLocation(location.lat, location.lng)){
+            return;
+        }
+
+        try{
+            HomeRefreshProgress progress = homeRefresh.refresh(location.lat, location.lng).blockingLast();
+            report.venues += progress.venueCount;
+        }catch (RuntimeException e){
+            e.printStackTrace();
+            report.failures++;
+        }
+    }
+
+    private void syncNewYorkTimesLists(Report report){
+        try{
+            report.books += newYorkTimesSync.sync().blockingGet();
+        }catch (RuntimeException e){
+            e.printStackTrace();
+            report.failures++;
+        }
+    }
+
+    private void syncSavedVenueDetails(Report report){
+        List<VenueAndCategory> savedVenues = userSource.readSavedVenuesSync();
+        int count = Math.min(savedVenues.size(), MAX_SAVED_VENUE_DETAILS);
+        // observers of Venue re-query once after the pass instead of once per venue
+        InvalidationThrottle.beginBulkWrite();
+        try{
+            syncSavedVenueDetails(savedVenues.subList(0, count), report);
+        }finally {
+            InvalidationThrottle.endBulkWrite();
+        }
+    }
+
+    private void syncSavedVenueDetails(List<VenueAndCategory> savedVenues, Report report){
+        for(VenueAndCategory savedVenue : savedVenues){
+            try{
+                Resource<Venue> resource = foursquareSource.loadVenueDetails(savedVenue.getId(), null).blockingLast();
+                if(resource.status == Resource.Status.ERROR){
+                    report.failures++;
+                }else if(!resource.isFromCache){
+                    report.details++;
+                }
+            }catch (RuntimeException e){
+                e.printStackTrace();
+                report.failures++;
+            }
+        }
+    }
+
+    public static class Report {
+        public int venues;
+        public int books;
+        public int details;
+        public int failures;
+
+        @NonNull
+        @Override
+        public String toString() {
+            return "venues=" + venues + " books=" + books + " details=" + details + " failures=" + failures;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.app.suggestly.app.sync;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import com.app.suggestly.app.model.nyt.BookListSync;
+import com.app.suggestly.app.scheduler.SuggestlySchedulers;
+import com.app.suggestly.app.source.NewYorkTimesSource;
+import com.app.suggestly.utility.Config;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.core.Single;
+
+/*
+ * Keeps the bestseller lists current with as few requests as the lists allow. A list is due on
+ * the next_published_date it reported, midnight in New York, and every check before that is
+ * answered from Room. When any list is due one overview request brings all of them. A list that
+ * is due but comes back unchanged, or is missing from the overview, waits RECHECK_HOURS before
+ * the next try. The metrics count the requests saved against fetching each list on every check.
+ */
+public class NewYorkTimesSync {
+    public static final List<String> LISTS = Arrays.asList(Config.HARD_COVER_FICTION, Config.HARD_COVER_NON_FICTION);
+    public static final int RECHECK_HOURS = 6;
+    private static final TimeZone PUBLISHED_TIME_ZONE = TimeZone.getTimeZone("America/New_York");
+
+    private final NewYorkTimesSource newYorkTimesSource;
+    private long firstCheckAt;
+    private long checkCount;
+    private long skippedCount;
+    private long requestCount;
+    private long failedCount;
+
+    public NewYorkTimesSync(NewYorkTimesSource newYorkTimesSource){
+        this.newYorkTimesSource = newYorkTimesSource;
+    }
+
+    // emits the number of books written, 0 when no list was due or nothing changed
+    public Single<Integer> sync(){
+        return Single.defer(() -> {
+            long now = System.currentTimeMillis();
+            if(dueAt(newYorkTimesSource.readBookListSync(LISTS)) > now){
+                onChecked(now, false);
+                return Single.just(0);
+            }
+
+            onChecked(now, true);
+            return newYorkTimesSource.fetchBestsellingOverview(LISTS)
+                    .firstOrError()
+                    .observeOn(SuggestlySchedulers.dbWrite())
+                    .map(books -> newYorkTimesSource.insertBookLists(books, LISTS))
+                    .doOnError(e -> onFailed());
+        }).subscribeOn(SuggestlySchedulers.dbRead());
+    }
+
+    @VisibleForTesting
+    static long dueAt(List<BookListSync> checked){
+        Map<String, BookListSync> byList = new HashMap<>();
+        for(BookListSync list : checked){
+            byList.put(list.listNameEncoded, list);
+        }
+        long dueAt = Long.MAX_VALUE;
+        for(String list : LISTS){
+            dueAt = Math.min(dueAt, dueAt(byList.get(list)));
+        }
+        return dueAt;
+    }
+
+    @VisibleForTesting
+    static long dueAt(@Nullable BookListSync list){
+        if(list == null){
+            return 0;
+        }
+        long recheckAt = list.checkedAt + TimeUnit.HOURS.toMillis(RECHECK_HOURS);
+        Long publishedAt = parsePublishedDate(list.nextPublishedDate);
+        return publishedAt == null ? recheckAt : Math.max(publishedAt, recheckAt);
+    }
+
+    @Nullable
+    private static Long parsePublishedDate(@Nullable String date){
+        if(date == null){
+            return null;
+        }
+        try{
+            SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy-MM-dd", Locale.US);
+            simpleDateFormat.setTimeZone(PUBLISHED_TIME_ZONE);
+            return simpleDateFormat.parse(date).getTime();
+        }catch (ParseException e){
+            return null;
+        }
+    }
+
+    private synchronized void onChecked(long now, boolean isRequested){
+        if(checkCount == 0){
+            firstCheckAt = now;
+        }
+        checkCount++;
+        if(isRequested){
+            requestCount++;
+        }else{
+            skippedCount++;
+        }
+    }
+
+    private synchronized void onFailed(){
+        failedCount++;
+    }
+
+    public synchronized Metrics metrics(){
+        long elapsed = checkCount == 0 ? 0 : System.currentTimeMillis() - firstCheckAt;
+        return new Metrics(checkCount, skippedCount, requestCount, failedCount, checkCount * LISTS.size(), elapsed);
+    }
+
+    public static class Metrics {
+        public final long checkCount;
+        public final long skippedCount;
+        public final long requestCount;
+        public final long failedCount;
+        // what one request per list on every check would have cost
+        public final long perListRequestCount;
+        public final long elapsedMillis;
+
+        Metrics(long checkCount, long skippedCount, long requestCount, long failedCount, long perListRequestCount, long elapsedMillis){
+            this.checkCount = checkCount;
+            this.skippedCount = skippedCount;
+            this.requestCount = requestCount;
+            this.failedCount = failedCount;
+            this.perListRequestCount = perListRequestCount;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public long savedRequests(){
+            return perListRequestCount - requestCount;
+        }
+
+        // counted over at least a day, so a fresh process does not extrapolate a single check
+        public double savedRequestsPerDay(){
+            return savedRequests() / Math.max(1.0, elapsedMillis / (double) TimeUnit.DAYS.toMillis(1));
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return "nyt checks=" + checkCount + " skipped=" + skippedCount + " requests=" + requestCount
+                    + " failed=" + failedCount + " saved=" + savedRequests()
+                    + String.format(Locale.US, " (%.1f/day)", savedRequestsPerDay());
+        }
+    }
+}
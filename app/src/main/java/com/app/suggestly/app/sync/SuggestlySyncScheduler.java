@@ -0,0 +1,41 @@
+package com.app.suggestly.app.sync;
+
+import android.content.Context;
+
+import androidx.work.Constraints;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+
+import java.util.concurrent.TimeUnit;
+
+public class SuggestlySyncScheduler {
+    public static final String SYNC_WORK_NAME = "SUGGESTLY_PERIODIC_SYNC";
+    public static final long SYNC_INTERVAL_HOURS = 6;
+    public static final long SYNC_FLEX_HOURS = 2;
+
+    private SuggestlySyncScheduler(){}
+
+    public static PeriodicWorkRequest buildRequest(){
+        Constraints constraints = new Constraints.Builder()
+                .setRequiredNetworkType(NetworkType.UNMETERED)
+                .setRequiresCharging(true)
+                .setRequiresBatteryNotLow(true)
+                .build();
+
+        return new PeriodicWorkRequest.Builder(SuggestlySyncWorker.class,
+                SYNC_INTERVAL_HOURS, TimeUnit.HOURS, SYNC_FLEX_HOURS, TimeUnit.HOURS)
+                .setConstraints(constraints)
+                .build();
+    }
+
+    public static void schedule(Context context){
+        WorkManager.getInstance(context)
+                .enqueueUniquePeriodicWork(SYNC_WORK_NAME, ExistingPeriodicWorkPolicy.KEEP, buildRequest());
+    }
+
+    public static void cancel(Context context){
+        WorkManager.getInstance(context).cancelUniqueWork(SYNC_WORK_NAME);
+    }
+}
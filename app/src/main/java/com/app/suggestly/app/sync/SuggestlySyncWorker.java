@@ -0,0 +1,51 @@
+package com.app.suggestly.app.sync;
+
+import android.app.Application;
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.app.suggestly.app.Repository;
+
+public class SuggestlySyncWorker extends Worker {
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final Pass pass;
+
+    public SuggestlySyncWorker(@NonNull Context context, @NonNull WorkerParameters workerParams) {
+        this(context, workerParams, () -> {
+            Repository repository = Repository.getInstance((Application) context.getApplicationContext());
+            BackgroundSync.Report report = repository.runBackgroundSync();
+            Log.println(Log.DEBUG, "SuggestlySyncWorker", repository.readNewYorkTimesSyncMetrics().toString());
+            return report;
+        });
+    }
+
+    @VisibleForTesting
+    public SuggestlySyncWorker(@NonNull Context context, @NonNull WorkerParameters workerParams, @NonNull Pass pass) {
+        super(context, workerParams);
+        this.pass = pass;
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        try{
+            BackgroundSync.Report report = pass.run();
+            Log.println(Log.DEBUG, "SuggestlySyncWorker", report.toString());
+            return Result.success();
+        }catch (RuntimeException e){
+            e.printStackTrace();
+            return getRunAttemptCount() < MAX_ATTEMPTS ? Result.retry() : Result.failure();
+        }
+    }
+
+    // one sync pass, the app runs it through the Repository and tests against a local fake API
+    public interface Pass {
+        BackgroundSync.Report run();
+    }
+}
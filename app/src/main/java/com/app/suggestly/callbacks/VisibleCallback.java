@@ -0,0 +1,7 @@
+package com.app.suggestly.callbacks;
+
+import com.app.suggestly.app.model.Suggestion;
+
+public interface VisibleCallback {
+    void onSuggestionVisible(Suggestion suggestion);
+}
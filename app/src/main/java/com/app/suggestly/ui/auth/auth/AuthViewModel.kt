@@ -13,6 +13,7 @@ import com.app.suggestly.app.Repository
 import com.app.suggestly.app.network.auth.AuthResponse
 import com.app.suggestly.app.network.auth.LoggedInUser
 import com.app.suggestly.app.network.interfaces.AuthCompleteListener
+import com.app.suggestly.app.subscription.SubscriptionScope
 import com.app.suggestly.ui.auth.register.AuthResult
 import com.app.suggestly.ui.auth.signin.LoggedInUserView
 
@@ -45,7 +46,9 @@ class AuthViewModel(private val repository: Repository) : ViewModel() {
     private val _isLoading = MutableLiveData<Int>()
     val isLoading: LiveData<Int> get() = _isLoading
 
-    val isFoursquareTableFresh: LiveData<Boolean> = repository.isVenueTableFresh
+    private val scope = SubscriptionScope("auth")
+
+    val isFoursquareTableFresh: LiveData<Boolean> = repository.isVenueTableFresh(scope)
 
     var destination: Int?
     var isNewUser:Boolean = false
@@ -129,4 +132,8 @@ class AuthViewModel(private val repository: Repository) : ViewModel() {
         _navigate.value = destination
     }
 
-}
\ No newline at end of file
+    override fun onCleared() {
+        super.onCleared()
+        scope.dispose()
+    }
+}
@@ -11,6 +11,7 @@ import com.app.suggestly.app.model.user.User
 import com.app.suggestly.app.network.auth.AuthResponse
 import com.app.suggestly.app.network.auth.LoggedInUser
 import com.app.suggestly.app.network.interfaces.AuthCompleteListener
+import com.app.suggestly.app.subscription.SubscriptionScope
 import io.reactivex.rxjava3.disposables.Disposable
 
 class LoginViewModel(private val repository: Repository) : ViewModel() {
@@ -33,7 +34,9 @@ class LoginViewModel(private val repository: Repository) : ViewModel() {
 
     var destination:Int? = null
 
-    val isFoursquareTableEmpty: LiveData<Boolean> = repository.isVenueTableFresh
+    private val scope = SubscriptionScope("login")
+
+    val isFoursquareTableEmpty: LiveData<Boolean> = repository.isVenueTableFresh(scope)
 
     var disposable: Disposable? = null
 
@@ -82,7 +85,7 @@ class LoginViewModel(private val repository: Repository) : ViewModel() {
     }
 
     fun checkIfUserInRoom(id: String): LiveData<Boolean> {
-        return repository.checkIfUserInRoom(id)
+        return repository.checkIfUserInRoom(scope, id)
     }
 
     fun animate(){
@@ -121,4 +124,8 @@ class LoginViewModel(private val repository: Repository) : ViewModel() {
         disposable?.dispose()
     }
 
-}
\ No newline at end of file
+    override fun onCleared() {
+        super.onCleared()
+        scope.dispose()
+    }
+}
@@ -14,6 +14,7 @@ import android.view.ViewGroup;
 import android.view.animation.Animation;
 import android.view.animation.BounceInterpolator;
 import android.view.animation.ScaleAnimation;
+import android.widget.CompoundButton;
 import android.widget.ImageView;
 
 import androidx.annotation.NonNull;
@@ -67,7 +68,7 @@ public class DetailsFragment extends Fragment implements MoreCallback, DetailsCa
     @Override
     public void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
-        mViewModel = new ViewModelProvider(requireActivity()).get(DetailsViewModel.class);
+        mViewModel = new ViewModelProvider(this).get(DetailsViewModel.class);
     }
 
     @Override
@@ -126,14 +127,16 @@ public class DetailsFragment extends Fragment implements MoreCallback, DetailsCa
     }
 
     private void initializeFoursquare(String id){
+        // answered from Room when the details are fresh, otherwise fetched and written back into readVenueDetails
+        if(NetworkHandler.isNetworkConnectionActive(requireActivity())){
+            mViewModel.loadVenueDetails(id);
+        }
         mViewModel.readVenueDetails(id).observe(getViewLifecycleOwner(), venue -> {
             binding.venueDetails.takeActionButton.setOnClickListener(view -> goToMaps(venue.location.lat, venue.location.lng));
             if(venue != null){
                 bindVenueAnimation(venue);
                 if(!venue.hasDetails){
                     if(NetworkHandler.isNetworkConnectionActive(requireActivity())){
-                        mViewModel.getFoursquareVenuesDetails(venue);
-                        mViewModel.getFoursquareVenuesSimilar(venue);
                         binding.loading.loadingLayout.setVisibility(View.VISIBLE);
                         return;
                     }else{
@@ -416,18 +419,19 @@ public class DetailsFragment extends Fragment implements MoreCallback, DetailsCa
     }
 
     private void initializeBookRecyclerView(@NotNull Book book){
-        List<Suggestion> books = mViewModel.readNewYorkTimesBestsellingListLimitThree(book.getPrimaryIsbn13(), book.listNameEncoded);
-        if(books != null){
-            list.addAll(books);
-            binding.bookDetails.similarRecycler.setAdapter(similarAdapter);
-            binding.bookDetails.similarRecycler.setLayoutManager(new LinearLayoutManager(requireContext(), RecyclerView.HORIZONTAL, false));
-        }else{
-            new AlertDialog.Builder(requireContext()).setTitle("Database Error")
-                    .setMessage( "We experience errors while wiring data together for this suggestion.")
-                    .setCancelable(false)
-                    .setPositiveButton("TRY LATER", (dialogInterface, i) -> dialogInterface.dismiss())
-                    .show();
-        }
+        mViewModel.readNewYorkTimesBestsellingListLimitThree(book.getPrimaryIsbn13(), book.listNameEncoded).observe(getViewLifecycleOwner(), books -> {
+            if(books != null){
+                list.addAll(books);
+                binding.bookDetails.similarRecycler.setAdapter(similarAdapter);
+                binding.bookDetails.similarRecycler.setLayoutManager(new LinearLayoutManager(requireContext(), RecyclerView.HORIZONTAL, false));
+            }else{
+                new AlertDialog.Builder(requireContext()).setTitle("Database Error")
+                        .setMessage( "We experience errors while wiring data together for this suggestion.")
+                        .setCancelable(false)
+                        .setPositiveButton("TRY LATER", (dialogInterface, i) -> dialogInterface.dismiss())
+                        .show();
+            }
+        });
     }
 
     public void initBookImage(@NotNull Book book){
@@ -517,26 +521,30 @@ public class DetailsFragment extends Fragment implements MoreCallback, DetailsCa
         BounceInterpolator bounceInterpolator = new BounceInterpolator();
         scaleAnimation.setInterpolator(bounceInterpolator);
 
-        for(VenueAndCategory venue: mViewModel.getSavedVenues()){
-            if(venue.getId().equals(suggestion.getId())){
-                binding.venueDetails.saveToggle.setChecked(true);
-            }
-        }
-
-        binding.venueDetails.saveToggle.setOnCheckedChangeListener((compoundButton, isChecked) -> {
+        CompoundButton.OnCheckedChangeListener saveListener = (compoundButton, isChecked) -> {
             compoundButton.startAnimation(scaleAnimation);
             onSuggestionSaved(suggestion, isChecked);
-        });
-
-        for(VenueAndCategory venue: mViewModel.getFavoriteVenues()){
-            if(venue.getId().equals(suggestion.getId())){
-                binding.venueDetails.favoriteToggle.setChecked(true);
+        };
+        binding.venueDetails.saveToggle.setOnCheckedChangeListener(saveListener);
+        mViewModel.getSavedVenues().observe(getViewLifecycleOwner(), savedVenues -> {
+            for(VenueAndCategory venue: savedVenues){
+                if(venue.getId().equals(suggestion.getId())){
+                    checkWithoutNotifying(binding.venueDetails.saveToggle, saveListener);
+                }
             }
-        }
+        });
 
-        binding.venueDetails.favoriteToggle.setOnCheckedChangeListener((compoundButton, isChecked) -> {
+        CompoundButton.OnCheckedChangeListener favoriteListener = (compoundButton, isChecked) -> {
             compoundButton.startAnimation(scaleAnimation);
             onSuggestionFavorite(suggestion, isChecked);
+        };
+        binding.venueDetails.favoriteToggle.setOnCheckedChangeListener(favoriteListener);
+        mViewModel.getFavoriteVenues().observe(getViewLifecycleOwner(), favoriteVenues -> {
+            for(VenueAndCategory venue: favoriteVenues){
+                if(venue.getId().equals(suggestion.getId())){
+                    checkWithoutNotifying(binding.venueDetails.favoriteToggle, favoriteListener);
+                }
+            }
         });
     }
 
@@ -546,28 +554,39 @@ public class DetailsFragment extends Fragment implements MoreCallback, DetailsCa
         scaleAnimation.setDuration(500);
         BounceInterpolator bounceInterpolator = new BounceInterpolator();
         scaleAnimation.setInterpolator(bounceInterpolator);
-        for(Book temp: mViewModel.getSavedBooks()){
-            if(temp.getPrimaryIsbn13().equals(book.getPrimaryIsbn13())){
-                binding.bookDetails.saveToggle.setChecked(true);
-            }
-        }
-        binding.bookDetails.saveToggle.setOnCheckedChangeListener((compoundButton, isChecked) -> {
+        CompoundButton.OnCheckedChangeListener saveListener = (compoundButton, isChecked) -> {
             compoundButton.startAnimation(scaleAnimation);
             onSuggestionSaved(book, isChecked);
-        });
-
-        for(Book temp: mViewModel.getFavoriteBooks()){
-            if(temp.getPrimaryIsbn13().equals(book.getPrimaryIsbn13())){
-                binding.bookDetails.favoriteToggle.setChecked(true);
+        };
+        binding.bookDetails.saveToggle.setOnCheckedChangeListener(saveListener);
+        mViewModel.getSavedBooks().observe(getViewLifecycleOwner(), savedBooks -> {
+            for(Book temp: savedBooks){
+                if(temp.getPrimaryIsbn13().equals(book.getPrimaryIsbn13())){
+                    checkWithoutNotifying(binding.bookDetails.saveToggle, saveListener);
+                }
             }
-        }
+        });
 
-        binding.bookDetails.favoriteToggle.setOnCheckedChangeListener((compoundButton, isChecked) -> {
+        CompoundButton.OnCheckedChangeListener favoriteListener = (compoundButton, isChecked) -> {
             compoundButton.startAnimation(scaleAnimation);
             onSuggestionFavorite(book, isChecked);
+        };
+        binding.bookDetails.favoriteToggle.setOnCheckedChangeListener(favoriteListener);
+        mViewModel.getFavoriteBooks().observe(getViewLifecycleOwner(), favoriteBooks -> {
+            for(Book temp: favoriteBooks){
+                if(temp.getPrimaryIsbn13().equals(book.getPrimaryIsbn13())){
+                    checkWithoutNotifying(binding.bookDetails.favoriteToggle, favoriteListener);
+                }
+            }
         });
     }
 
+    private void checkWithoutNotifying(CompoundButton toggle, CompoundButton.OnCheckedChangeListener listener){
+        toggle.setOnCheckedChangeListener(null);
+        toggle.setChecked(true);
+        toggle.setOnCheckedChangeListener(listener);
+    }
+
     @Override
     public void onSuggestionSaved(Suggestion suggestion, @NotNull Boolean isChecked) {
         updateSavedSuggestion(suggestion, isChecked);
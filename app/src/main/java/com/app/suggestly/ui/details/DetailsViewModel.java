@@ -4,10 +4,10 @@ import android.app.Application;
 
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
-import androidx.paging.LivePagedListBuilder;
-import androidx.paging.PagedList;
 
 import com.app.suggestly.app.Repository;
+import com.app.suggestly.app.cache.Resource;
+import com.app.suggestly.app.subscription.SubscriptionScope;
 import com.app.suggestly.app.model.Suggestion;
 import com.app.suggestly.app.model.foursquare.Venue;
 import com.app.suggestly.app.model.nyt.Book;
@@ -18,76 +18,72 @@ import java.util.List;
 
 public class DetailsViewModel extends AndroidViewModel {
     private final Repository repository;
-    private final PagedList.Config config;
+    private final SubscriptionScope scope;
     public DetailsViewModel(Application application){
         super(application);
         repository = Repository.getInstance(application);
-
-        config = new PagedList.Config.Builder()
-                .setPageSize(4)
-                .setInitialLoadSizeHint(5)
-                .setEnablePlaceholders(true)
-                .build();
+        scope = new SubscriptionScope("details");
     }
 
-    public List<VenueAndCategory> getSavedVenues() {
-        return repository.readSavedVenues();
+    public LiveData<List<VenueAndCategory>> getSavedVenues() {
+        return repository.readSavedVenues(scope);
     }
 
-    public List<VenueAndCategory> getFavoriteVenues() {
-        return repository.readFavoriteVenues();
+    public LiveData<List<VenueAndCategory>> getFavoriteVenues() {
+        return repository.readFavoriteVenues(scope);
     }
 
-    public List<Book> getSavedBooks() {
-        return repository.readSavedBooks();
+    public LiveData<List<Book>> getSavedBooks() {
+        return repository.readSavedBooks(scope);
     }
 
-    public List<Book> getFavoriteBooks() {
-        return repository.readFavoriteBooks();
+    public LiveData<List<Book>> getFavoriteBooks() {
+        return repository.readFavoriteBooks(scope);
     }
 
     public LiveData<Venue> readVenueDetails(String id){
         return repository.readVenuesDetails(id);
     }
 
-    public void getFoursquareVenuesDetails(Venue venue){
-        repository.getFoursquareVenuesDetails(venue);
-    }
-
-    public void getFoursquareVenuesSimilar(Venue venue){
-        repository.getFoursquareVenuesSimilar(venue);
+    public LiveData<Resource<Venue>> loadVenueDetails(String id){
+        return repository.loadVenueDetails(scope, id);
     }
 
     public LiveData<List<VenueAndCategory>> readFoursquareVenuesSimilar(Venue venue){
         return repository.readSimilarVenuesLiveData(venue.getId());
     }
 
-    public LiveData<PagedList<CategoryTuple>> readRelatedCategories(String categoryId){
-        return new LivePagedListBuilder<> (repository.readRelatedCategoriesDataFactory(categoryId), config).build();
+    public LiveData<List<CategoryTuple>> readRelatedCategories(String categoryId){
+        return repository.readRelatedCategories(scope, categoryId);
     }
 
     public LiveData<Book> readBookDetails(String isbn13){
-        return repository.readNewYorkTimesBookUsingISBN13(isbn13);
+        return repository.readNewYorkTimesBookUsingISBN13(scope, isbn13);
     }
 
-    public List<Suggestion> readNewYorkTimesBestsellingListLimitThree(String isbn13, String listName){
-        return repository.readNewYorkTimesBestsellingListLimitThree(isbn13, listName);
+    public LiveData<List<Suggestion>> readNewYorkTimesBestsellingListLimitThree(String isbn13, String listName){
+        return repository.readNewYorkTimesBestsellingListLimitThree(scope, isbn13, listName);
     }
 
-    public long updateVenueFavoriteInUser(Venue savedVenue, Boolean isFavorite){
+    public LiveData<Boolean> updateVenueFavoriteInUser(Venue savedVenue, Boolean isFavorite){
         return repository.saveFavoriteVenue(savedVenue, isFavorite);
     }
 
-    public long updateBookFavoriteInUser(Book book, Boolean isFavorite){
+    public LiveData<Boolean> updateBookFavoriteInUser(Book book, Boolean isFavorite){
         return repository.saveFavoriteBook(book, isFavorite);
     }
 
-    public long updateVenueSavedInUser(Venue savedVenue, Boolean isSaved){
+    public LiveData<Boolean> updateVenueSavedInUser(Venue savedVenue, Boolean isSaved){
         return repository.saveBookmarkedVenue(savedVenue, isSaved);
     }
 
-    public long updateBookSavedInUser(Book book, Boolean isSaved){
+    public LiveData<Boolean> updateBookSavedInUser(Book book, Boolean isSaved){
         return repository.saveBookmarkedBook(book, isSaved);
     }
 
-}
\ No newline at end of file
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        scope.dispose();
+    }
+}
@@ -8,16 +8,19 @@ import androidx.paging.LivePagedListBuilder;
 import androidx.paging.PagedList;
 
 import com.app.suggestly.app.Repository;
+import com.app.suggestly.app.subscription.SubscriptionScope;
 import com.app.suggestly.app.model.relations.SearchTuple;
 import com.app.suggestly.app.model.user.LocationTuple;
 
 public class ExploreViewModel extends AndroidViewModel {
     private final Repository repository;
+    private final SubscriptionScope scope;
     private final PagedList.Config config;
     public LocationTuple location;
     public ExploreViewModel(Application application) {
         super(application);
         repository = Repository.getInstance(application);
+        scope = new SubscriptionScope("explore");
         location = repository.getLastFetchedLocation(0.0, 0.0);
         config = new PagedList.Config.Builder()
                 .setPageSize(10)
@@ -32,7 +35,12 @@ public class ExploreViewModel extends AndroidViewModel {
     }
 
     public void initializeVenueSearch(){
-        repository.initializeVenueSearch(location.lat, location.lng);
+        repository.initializeVenueSearch(scope, location.lat, location.lng);
     }
 
-}
\ No newline at end of file
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        scope.dispose();
+    }
+}
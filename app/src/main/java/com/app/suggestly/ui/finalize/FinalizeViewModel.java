@@ -7,6 +7,7 @@ import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 
 import com.app.suggestly.app.Repository;
+import com.app.suggestly.app.subscription.SubscriptionScope;
 import com.app.suggestly.app.model.user.LocationTuple;
 import com.app.suggestly.app.model.user.User;
 import com.app.suggestly.utility.Config;
@@ -18,6 +19,7 @@ import io.reactivex.rxjava3.disposables.Disposable;
 
 public class FinalizeViewModel extends AndroidViewModel {
     private final Repository repository;
+    private final SubscriptionScope scope;
     private final MutableLiveData<User> _userLocationLiveData;
 
     private final MutableLiveData<LocationTuple> _locationTuple;
@@ -25,6 +27,7 @@ public class FinalizeViewModel extends AndroidViewModel {
     public FinalizeViewModel(Application application) {
         super(application);
         repository = Repository.getInstance(application);
+        scope = new SubscriptionScope("finalize");
         _userLocationLiveData = new MutableLiveData<User>();
         _locationTuple = new MutableLiveData<LocationTuple>();
 //        fetchUserLocationLiveData();
@@ -69,30 +72,36 @@ public class FinalizeViewModel extends AndroidViewModel {
     }
 
     public LiveData<Boolean> getRecommendedFoursquareVenuesNearUser(double lat, double lng) {
-        return repository.getRecommendedFoursquareVenuesNearUser(lat, lng);
+        return repository.getRecommendedFoursquareVenuesNearUser(scope, lat, lng);
     }
 
     public LiveData<Boolean> getFoursquareVenuesNearUser_FOOD(double lat, double lng) {
-        return repository.getGeneralFoursquareVenuesNearUserById(lat, lng, Config.FOOD);
+        return repository.getGeneralFoursquareVenuesNearUserById(scope, lat, lng, Config.FOOD);
     }
 
     public LiveData<Boolean> getGeneralFoursquareVenuesNearUser_BREWERY(double lat, double lng) {
-        return repository.getGeneralFoursquareVenuesNearUserById(lat, lng, Config.BREWERY);
+        return repository.getGeneralFoursquareVenuesNearUserById(scope, lat, lng, Config.BREWERY);
     }
 
     public LiveData<Boolean> getGeneralFoursquareVenuesNearUserById_FAMILY_FUN(double lat, double lng) {
-        return repository.getGeneralFoursquareVenuesNearUserById(lat, lng, Config.FAMILY_FUN);
+        return repository.getGeneralFoursquareVenuesNearUserById(scope, lat, lng, Config.FAMILY_FUN);
     }
 
     public LiveData<Boolean> getGeneralFoursquareVenuesNearUserById_EVENTS(double lat, double lng) {
-        return repository.getGeneralFoursquareVenuesNearUserById(lat, lng, Config.EVENTS);
+        return repository.getGeneralFoursquareVenuesNearUserById(scope, lat, lng, Config.EVENTS);
     }
 
     public LiveData<Boolean> getGeneralFoursquareVenuesNearUserById_ACTIVE(double lat, double lng) {
-        return repository.getGeneralFoursquareVenuesNearUserById(lat, lng, Config.ACTIVE);
+        return repository.getGeneralFoursquareVenuesNearUserById(scope, lat, lng, Config.ACTIVE);
     }
 
     public LiveData<Boolean> getGeneralFoursquareVenuesNearUserById_SOCIAL(double lat, double lng) {
-        return repository.getGeneralFoursquareVenuesNearUserById(lat, lng, Config.SOCIAL);
+        return repository.getGeneralFoursquareVenuesNearUserById(scope, lat, lng, Config.SOCIAL);
     }
-}
\ No newline at end of file
+
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        scope.dispose();
+    }
+}
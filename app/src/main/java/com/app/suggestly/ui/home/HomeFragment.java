@@ -3,6 +3,7 @@ package com.app.suggestly.ui.home;
 import android.app.AlertDialog;
 import android.content.Intent;
 import android.os.Bundle;
+import android.view.Choreographer;
 import android.view.LayoutInflater;
 import android.view.Menu;
 import android.view.MenuInflater;
@@ -18,18 +19,21 @@ import androidx.databinding.DataBindingUtil;
 import androidx.fragment.app.Fragment;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.navigation.Navigation;
+import androidx.paging.PagedListAdapter;
+import androidx.recyclerview.widget.ConcatAdapter;
 import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.LinearLayoutManager;
-import androidx.swiperefreshlayout.widget.CircularProgressDrawable;
+import androidx.recyclerview.widget.RecyclerView;
 
-import com.bumptech.glide.Glide;
-import com.bumptech.glide.load.engine.DiskCacheStrategy;
 import com.app.suggestly.R;
 import com.app.suggestly.adapter.HomeBookAdapter;
+import com.app.suggestly.adapter.HomeHeaderAdapter;
+import com.app.suggestly.adapter.HomeSectionAdapter;
 import com.app.suggestly.adapter.HomeVenueAdapter;
 import com.app.suggestly.callbacks.DetailsCallback;
 import com.app.suggestly.callbacks.MoreCallback;
 import com.app.suggestly.callbacks.SaveCallback;
+import com.app.suggestly.callbacks.VisibleCallback;
 import com.app.suggestly.databinding.FragmentHomeBinding;
 import com.app.suggestly.app.model.Suggestion;
 import com.app.suggestly.app.model.foursquare.Venue;
@@ -38,26 +42,37 @@ import com.app.suggestly.app.model.user.LocationTuple;
 import com.app.suggestly.ui.main.MainActivity;
 import com.app.suggestly.ui.settings.SettingsActivity;
 import com.app.suggestly.utility.Config;
-import com.app.suggestly.utility.DistanceCalculator;
 import com.app.suggestly.utility.NetworkHandler;
 import com.app.suggestly.utility.SuggestionType;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
 public class HomeFragment extends Fragment implements MoreCallback, DetailsCallback, HomeVenueAdapter.VenueSelectedListener,
-        HomeBookAdapter.BookSelectedListener, SaveCallback, MainActivity.OnReloadListener {
+        HomeBookAdapter.BookSelectedListener, SaveCallback, VisibleCallback, MainActivity.OnReloadListener {
     private FragmentHomeBinding binding;
     private HomeViewModel homeViewModel;
-    private final HomeVenueAdapter recommendedAdapter = new HomeVenueAdapter(this, this);
-    private final HomeVenueAdapter foodAdapter = new HomeVenueAdapter(this, this);
-    private final HomeVenueAdapter breweryAdapter = new HomeVenueAdapter(this, this);
-    private final HomeBookAdapter fictionAdapter = new HomeBookAdapter(BOOK_CALLBACK,this, this);
-    private final HomeVenueAdapter familyAdapter = new HomeVenueAdapter(this, this);
-    private final HomeBookAdapter nonFictionAdapter = new HomeBookAdapter(BOOK_CALLBACK, this, this);
-    private final HomeVenueAdapter activeAdapter = new HomeVenueAdapter(this, this);
-    private final HomeVenueAdapter socialAdapter = new HomeVenueAdapter(this, this);
-    private final HomeVenueAdapter entertainmentAdapter = new HomeVenueAdapter(this, this);
+    private final Map<HomeSection, HomeVenueAdapter> venueAdapters = new EnumMap<>(HomeSection.class);
+    private final Map<HomeSection, HomeBookAdapter> bookAdapters = new EnumMap<>(HomeSection.class);
+    private final List<HomeSectionAdapter> sectionAdapters = new ArrayList<>();
     private final String MESSAGE = "To find Suggestions in your area connect to the Internet.";
+    private static final int CAROUSEL_POOL_SIZE = 12;
+
+    public HomeFragment(){
+        for(HomeSection section : HomeSection.values()){
+            if(section.isBook()){
+                bookAdapters.put(section, new HomeBookAdapter(BOOK_CALLBACK, this, this));
+            }else{
+                HomeVenueAdapter adapter = new HomeVenueAdapter(this, this);
+                adapter.setVisibleListener(this);
+                venueAdapters.put(section, adapter);
+            }
+        }
+    }
 
     @Override
     public void onActivityCreated(@Nullable Bundle savedInstanceState) {
@@ -65,26 +80,14 @@ public class HomeFragment extends Fragment implements MoreCallback, DetailsCallb
         homeViewModel = new ViewModelProvider(requireActivity()).get(HomeViewModel.class);
 
         initializeSavedList();
-        initializeTopSuggestion();
-        initializeRecommendedVenues();
-        initializeFoodVenues();
-        initializeFictionBooks();
-        initializeBreweryVenues();
-        initializeFamilyFunVenues();
-        initializeNonFictionBooks();
-        initializeActiveVenues();
-        initializeSocialVenues();
-        initializeEntertainmentVenues();
+        initializeHomeFeed();
 
         homeViewModel.getUserLocation().observe(getViewLifecycleOwner(), location -> {
-            LocationTuple last = homeViewModel.getLastFetchedLocation(location.lat, location.lng);
-            if(DistanceCalculator.distanceMile(location.lat, last.lat, location.lng, last.lng) > 2){
-                storeLastFetchedLocation(location.lat, location.lng);
-                if(NetworkHandler.isNetworkConnectionActive(requireActivity())){
-                    fetchVenues(location);
-                }else{
-                    NetworkHandler.notifyBadConnectionAndDismiss(requireActivity(), MESSAGE);
-                }
+            storeLastFetchedLocation(location.lat, location.lng);
+            if(NetworkHandler.isNetworkConnectionActive(requireActivity())){
+                fetchVenues(location);
+            }else{
+                NetworkHandler.notifyBadConnectionAndDismiss(requireActivity(), MESSAGE);
             }
         });
 
@@ -96,15 +99,16 @@ public class HomeFragment extends Fragment implements MoreCallback, DetailsCallb
     }
 
     public void initializeSavedList(){
-        fictionAdapter.setSavedList(homeViewModel.getSavedBooks());
-        nonFictionAdapter.setSavedList(homeViewModel.getSavedBooks());
-        recommendedAdapter.setSavedList(homeViewModel.getSavedVenues());
-        foodAdapter.setSavedList(homeViewModel.getSavedVenues());
-        breweryAdapter.setSavedList(homeViewModel.getSavedVenues());
-        familyAdapter.setSavedList(homeViewModel.getSavedVenues());
-        activeAdapter.setSavedList(homeViewModel.getSavedVenues());
-        socialAdapter.setSavedList(homeViewModel.getSavedVenues());
-        entertainmentAdapter.setSavedList(homeViewModel.getSavedVenues());
+        homeViewModel.getSavedBooks().observe(getViewLifecycleOwner(), savedBooks -> {
+            for(HomeBookAdapter adapter : bookAdapters.values()){
+                adapter.setSavedList(savedBooks);
+            }
+        });
+        homeViewModel.getSavedVenues().observe(getViewLifecycleOwner(), savedVenues -> {
+            for(HomeVenueAdapter adapter : venueAdapters.values()){
+                adapter.setSavedList(savedVenues);
+            }
+        });
     }
 
     public View onCreateView(@NonNull LayoutInflater inflater,
@@ -112,10 +116,8 @@ public class HomeFragment extends Fragment implements MoreCallback, DetailsCallb
         binding = DataBindingUtil.inflate(inflater, R.layout.fragment_home, container,  false);
         ((AppCompatActivity) requireActivity()).setSupportActionBar(binding.toolbar);
         setHasOptionsMenu(true);
-        binding.setMore(this);
-        binding.setDetails(this);
 
-        initializeRecyclerView();
+        binding.homeRecyclerView.setLayoutManager(new LinearLayoutManager(requireContext()));
 
         return binding.getRoot();
     }
@@ -154,86 +156,23 @@ public class HomeFragment extends Fragment implements MoreCallback, DetailsCallb
         navigateToDetails(venue);
     }
 
-    private boolean isRECOMMENDEDCompleted = false;
-    private boolean isFOODCompleted = false;
-    private boolean isBREWERYCompleted = false;
-    private boolean isFAMILYFUNCompleted = false;
-    private boolean isEVENTSCompleted = false;
-    private boolean isACTIVECompleted = false;
-    private boolean isSOCIALCompleted = false;
+    private boolean isRefreshing = false;
 
     public void fetchVenues(LocationTuple locationTuple) {
-        Toast.makeText(requireContext(), "Finding new suggestions near you!", Toast.LENGTH_SHORT).show();
-        getFoursquareVenuesNearUser_RECOMMENDED(locationTuple);
-        getFoursquareVenuesNearUser_FOOD(locationTuple);
-        getFoursquareVenuesNearUser_BREWERY(locationTuple);
-        getFoursquareVenuesNearUser_FAMILY_FUN(locationTuple);
-        getFoursquareVenuesNearUser_EVENTS(locationTuple);
-        getFoursquareVenuesNearUser_ACTIVE(locationTuple);
-        getFoursquareVenuesNearUser_SOCIAL(locationTuple);
-    }
-
-    public void getFoursquareVenuesNearUser_RECOMMENDED(LocationTuple locationTuple){
-        homeViewModel.getRecommendedFoursquareVenuesNearUser(locationTuple.lat, locationTuple.lng).observe(requireActivity(), aBoolean -> {
-            isRECOMMENDEDCompleted = true;
-            checkUpdateComplete();
-        });
-    }
-
-    public void getFoursquareVenuesNearUser_FOOD(LocationTuple locationTuple){
-        homeViewModel.getFoursquareVenuesNearUser_FOOD(locationTuple.lat, locationTuple.lng).observe(requireActivity(), aBoolean -> {
-            isFOODCompleted = true;
-            checkUpdateComplete();
-        });
-    }
-
-    public void getFoursquareVenuesNearUser_BREWERY(LocationTuple locationTuple){
-        homeViewModel.getGeneralFoursquareVenuesNearUser_BREWERY(locationTuple.lat, locationTuple.lng).observe(requireActivity(), aBoolean -> {
-            isBREWERYCompleted = true;
-            checkUpdateComplete();
-        });
-    }
-
-    public void getFoursquareVenuesNearUser_FAMILY_FUN(LocationTuple locationTuple){
-        homeViewModel.getGeneralFoursquareVenuesNearUserById_FAMILY_FUN(locationTuple.lat, locationTuple.lng).observe(requireActivity(), aBoolean -> {
-            isFAMILYFUNCompleted = true;
-            checkUpdateComplete();
-        });
-    }
-
-    public void getFoursquareVenuesNearUser_EVENTS(LocationTuple locationTuple){
-        homeViewModel.getGeneralFoursquareVenuesNearUserById_EVENTS(locationTuple.lat, locationTuple.lng).observe(requireActivity(), aBoolean -> {
-            isEVENTSCompleted = true;
-            checkUpdateComplete();
-        });
-    }
-
-    public void getFoursquareVenuesNearUser_ACTIVE(LocationTuple locationTuple){
-        homeViewModel.getGeneralFoursquareVenuesNearUserById_ACTIVE(locationTuple.lat, locationTuple.lng).observe(requireActivity(), aBoolean -> {
-            isACTIVECompleted = true;
-            checkUpdateComplete();
-        });
-    }
-
-    public void getFoursquareVenuesNearUser_SOCIAL(LocationTuple locationTuple){
-        homeViewModel.getGeneralFoursquareVenuesNearUserById_SOCIAL(locationTuple.lat, locationTuple.lng).observe(requireActivity(), aBoolean -> {
-            isSOCIALCompleted = true;
-            checkUpdateComplete();
-        });
-    }
-
-    public void checkUpdateComplete(){
-        if(isRECOMMENDEDCompleted && isFOODCompleted && isBREWERYCompleted && isFAMILYFUNCompleted &&
-                isEVENTSCompleted && isACTIVECompleted && isSOCIALCompleted){
-            isRECOMMENDEDCompleted = false;
-            isFOODCompleted = false;
-            isBREWERYCompleted = false;
-            isFAMILYFUNCompleted = false;
-            isEVENTSCompleted = false;
-            isACTIVECompleted = false;
-            isSOCIALCompleted = false;
+        if(isRefreshing){
+            return;
         }
-
+        isRefreshing = true;
+        boolean[] isAnnounced = {false};
+        homeViewModel.refreshHomeVenues(locationTuple.lat, locationTuple.lng).observe(getViewLifecycleOwner(), progress -> {
+            if(!isAnnounced[0] && !progress.isComplete()){
+                isAnnounced[0] = true;
+                Toast.makeText(requireContext(), "Finding new suggestions near you!", Toast.LENGTH_SHORT).show();
+            }
+            if(progress.isComplete()){
+                isRefreshing = false;
+            }
+        });
     }
 
     @Override
@@ -255,6 +194,13 @@ public class HomeFragment extends Fragment implements MoreCallback, DetailsCallb
     }
 
 
+    @Override
+    public void onSuggestionVisible(Suggestion suggestion) {
+        if(NetworkHandler.isNetworkConnectionActive(requireActivity())){
+            homeViewModel.prefetchDetails(suggestion);
+        }
+    }
+
     private void navigateToList(SuggestionType type, String id, String title){
         Bundle bundle = new Bundle();
         bundle.putString(Config.LIST_SUGGESTION_ID_KEY, id);
@@ -271,145 +217,75 @@ public class HomeFragment extends Fragment implements MoreCallback, DetailsCallb
         Navigation.findNavController(requireActivity(), R.id.nav_host_fragment).navigate(R.id.navigation_details, bundle);
     }
 
-    private void initializeTopSuggestion(){
-        CircularProgressDrawable circularProgressDrawable = new CircularProgressDrawable(requireContext());
-        circularProgressDrawable.start();
-        homeViewModel.topSuggestion.observe(getViewLifecycleOwner(), book -> {
-            binding.titleMainTitle.setText(book.getTitleWithAuthor());
-            binding.titleTopSuggestionDescription.setText(book.getDescription());
-            binding.setSuggestion(book);
-            Glide.with(this)
-                    .load(book.getBookImage())
-                    .placeholder(circularProgressDrawable)
-                    .diskCacheStrategy(DiskCacheStrategy.ALL)
-                    .into(binding.imageTopSuggestion);
-        });
-    }
+    private void initializeHomeFeed(){
+        homeViewModel.markRenderStarted();
+        RecyclerView.RecycledViewPool pool = new RecyclerView.RecycledViewPool();
+        pool.setMaxRecycledViews(HomeVenueAdapter.VIEW_TYPE, CAROUSEL_POOL_SIZE);
+        pool.setMaxRecycledViews(HomeBookAdapter.VIEW_TYPE, CAROUSEL_POOL_SIZE);
+
+        HomeHeaderAdapter headerAdapter = new HomeHeaderAdapter(this);
+        homeViewModel.topSuggestion.observe(getViewLifecycleOwner(), headerAdapter::setTopSuggestion);
+
+        List<RecyclerView.Adapter<? extends RecyclerView.ViewHolder>> adapters = new ArrayList<>();
+        adapters.add(headerAdapter);
+        sectionAdapters.clear();
+        for(HomeSection section : HomeSection.values()){
+            HomeSectionAdapter sectionAdapter = section.isBook()
+                    ? section(section, bookAdapters.get(section), () -> homeViewModel.readBookSection(section), pool)
+                    : section(section, venueAdapters.get(section), () -> homeViewModel.readVenueSection(section), pool);
+            sectionAdapters.add(sectionAdapter);
+            adapters.add(sectionAdapter);
+        }
 
-    private void initializeRecyclerView(){
-        binding.suggestionsRecommendedRecyclerView.setLayoutManager(new LinearLayoutManager(requireContext(), LinearLayoutManager.HORIZONTAL,false));
-        binding.suggestionsRestaurantsRecyclerView.setLayoutManager(new LinearLayoutManager(requireContext(), LinearLayoutManager.HORIZONTAL,false));
-        binding.suggestionsNytFictionRecyclerView.setLayoutManager(new LinearLayoutManager(requireContext(), LinearLayoutManager.HORIZONTAL,false));
-        binding.suggestionsBreweryRecyclerView.setLayoutManager(new LinearLayoutManager(requireContext(), LinearLayoutManager.HORIZONTAL,false));
-        binding.suggestionsFamilyFunRecyclerView.setLayoutManager(new LinearLayoutManager(requireContext(), LinearLayoutManager.HORIZONTAL,false));
-        binding.suggestionsNytNonfictionRecyclerView.setLayoutManager(new LinearLayoutManager(requireContext(), LinearLayoutManager.HORIZONTAL,false));
-        binding.suggestionsActiveRecyclerView.setLayoutManager(new LinearLayoutManager(requireContext(), LinearLayoutManager.HORIZONTAL,false));
-        binding.suggestionsSocialRecyclerView.setLayoutManager(new LinearLayoutManager(requireContext(), LinearLayoutManager.HORIZONTAL,false));
-        binding.suggestionsEntertainmentRecyclerView.setLayoutManager(new LinearLayoutManager(requireContext(), LinearLayoutManager.HORIZONTAL,false));
-
-        binding.suggestionsRecommendedRecyclerView.setAdapter(recommendedAdapter);
-        binding.suggestionsRestaurantsRecyclerView.setAdapter(foodAdapter);
-        binding.suggestionsNytFictionRecyclerView.setAdapter(fictionAdapter);
-        binding.suggestionsBreweryRecyclerView.setAdapter(breweryAdapter);
-        binding.suggestionsFamilyFunRecyclerView.setAdapter(familyAdapter);
-        binding.suggestionsNytNonfictionRecyclerView.setAdapter(nonFictionAdapter);
-        binding.suggestionsActiveRecyclerView.setAdapter(activeAdapter);
-        binding.suggestionsSocialRecyclerView.setAdapter(socialAdapter);
-        binding.suggestionsEntertainmentRecyclerView.setAdapter(entertainmentAdapter);
+        ConcatAdapter.Config config = new ConcatAdapter.Config.Builder()
+                .setIsolateViewTypes(false)
+                .build();
+        binding.homeRecyclerView.setAdapter(new ConcatAdapter(config, adapters));
     }
 
-    private boolean hasShown = false;
-
-    private void initializeRecommendedVenues(){
-        homeViewModel.recommendedVenuePagedList.observe(getViewLifecycleOwner(), data ->{
-            if(data != null){
-                binding.recommendedProgressBar.setVisibility(View.GONE);
-                recommendedAdapter.submitList(data);
-            }else{
+    // the paged list is only built and observed, and so only queried, once the section's row is
+    // bound or the section is reached by requestNextSection()
+    private <T> HomeSectionAdapter section(HomeSection section, PagedListAdapter<T, ?> carousel,
+                                           HomeSectionRegistry.Factory<T> pagedList, RecyclerView.RecycledViewPool pool){
+        HomeSectionAdapter sectionAdapter = new HomeSectionAdapter(section.title, section.description, section.type, section.id, carousel, pool, this);
+        sectionAdapter.setOnRequest(() -> pagedList.create().observe(getViewLifecycleOwner(), data -> {
+            if(data == null){
                 alertDatabaseError();
+                return;
             }
-        });
-    }
-
-    private void initializeFoodVenues(){
-        homeViewModel.foodVenuePagedList.observe(getViewLifecycleOwner(), data -> {
-                if (data != null) {
-                    binding.foodProgressBar.setVisibility(View.GONE);
-                    foodAdapter.submitList(data);
-                }else{
-                    alertDatabaseError();
+            sectionAdapter.setLoaded();
+            carousel.submitList(data, () -> {
+                if(!data.isEmpty() && !homeViewModel.isFirstCarouselShown()){
+                    Choreographer.getInstance().postFrameCallback(frameTimeNanos -> onCarouselShown(section));
                 }
-            }
-        );
-    }
-
-    private void initializeFictionBooks(){
-        homeViewModel.fictionBooksPagedList.observe(getViewLifecycleOwner(), data -> {
-            if (data != null) {
-                binding.fictionProgressBar.setVisibility(View.GONE);
-                fictionAdapter.submitList(data);
-            }else{
-                alertDatabaseError();
-            }
-        });
-    }
-
-
-    private void initializeBreweryVenues(){
-        homeViewModel.breweryVenuePagedList.observe(getViewLifecycleOwner(), data -> {
-            if (data != null) {
-                binding.breweryProgressBar.setVisibility(View.GONE);
-                breweryAdapter.submitList(data);
-            }else{
-                alertDatabaseError();
-            }
-        });
-    }
-
-    private void initializeFamilyFunVenues(){
-        homeViewModel.familyVenuePagedList.observe(getViewLifecycleOwner(), data -> {
-            if (data != null) {
-                binding.familyFunProgressBar.setVisibility(View.GONE);
-                familyAdapter.submitList(data);
-            }else{
-                alertDatabaseError();
-            }
-        });
+            });
+            requestNextSection();
+        }));
+        return sectionAdapter;
     }
 
-    private void initializeNonFictionBooks(){
-        homeViewModel.nonFictionBooksPagedList.observe(getViewLifecycleOwner(), data -> {
-            if (data != null) {
-                binding.nonFictionProgressBar.setVisibility(View.GONE);
-                nonFictionAdapter.submitList(data);
-            }else{
-                alertDatabaseError();
-            }
-        });
-    }
-
-    private void initializeActiveVenues(){
-        homeViewModel.activeVenuePagedList.observe(getViewLifecycleOwner(), data -> {
-            if (data != null) {
-                binding.activeProgressBar.setVisibility(View.GONE);
-                activeAdapter.submitList(data);
-            }else{
-                alertDatabaseError();
-            }
-        });
+    private void onCarouselShown(HomeSection section){
+        if(binding == null || homeViewModel.isFirstCarouselShown()){
+            return;
+        }
+        homeViewModel.markCarouselShown(section);
+        requestNextSection();
     }
 
-    private void initializeSocialVenues(){
-        homeViewModel.socialVenuePagedList.observe(getViewLifecycleOwner(), data -> {
-            if (data != null) {
-                binding.socialProgressBar.setVisibility(View.GONE);
-                socialAdapter.submitList(data);
-            }else{
-                alertDatabaseError();
+    // below the fold sections load one at a time in feed order, only after the first carousel is on screen
+    private void requestNextSection(){
+        if(!homeViewModel.isFirstCarouselShown()){
+            return;
+        }
+        for(HomeSectionAdapter sectionAdapter : sectionAdapters){
+            if(!sectionAdapter.isRequested()){
+                sectionAdapter.request();
+                return;
             }
-        });
+        }
     }
 
-    private void initializeEntertainmentVenues(){
-        homeViewModel.entertainmentVenuePagedList.observe(getViewLifecycleOwner(), data -> {
-            if (data != null) {
-                binding.entertainmentProgressBar.setVisibility(View.GONE);
-                entertainmentAdapter.submitList(data);
-            }else{
-                alertDatabaseError();
-            }
-        });
-    }
+    private boolean hasShown = false;
 
     private void alertDatabaseError(){
         if(!hasShown){
@@ -457,12 +333,8 @@ public class HomeFragment extends Fragment implements MoreCallback, DetailsCallb
     }
 
     public void reload(){
-        recommendedAdapter.notifyDataSetChanged();
-        foodAdapter.notifyDataSetChanged();
-        breweryAdapter.notifyDataSetChanged();
-        familyAdapter.notifyDataSetChanged();
-        activeAdapter.notifyDataSetChanged();
-        socialAdapter.notifyDataSetChanged();
-        entertainmentAdapter.notifyDataSetChanged();
+        for(HomeVenueAdapter adapter : venueAdapters.values()){
+            adapter.notifyDataSetChanged();
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.app.suggestly.ui.home;
+
+import androidx.annotation.StringRes;
+
+import com.app.suggestly.R;
+import com.app.suggestly.utility.Config;
+import com.app.suggestly.utility.SuggestionType;
+
+// declared in on-screen order, ordinal() is the section's position in the feed
+public enum HomeSection {
+    RECOMMENDED(R.string.suggestion_recommended_title, R.string.suggestion_recommended_short_description,
+            SuggestionType.RECOMMENDED_VENUE, Config.LIST_RECOMMENDED_ID_KEY),
+    FOOD(R.string.suggestion_restaurants_title, R.string.suggestion_restaurants_short_description,
+            SuggestionType.FOURSQUARE_VENUE, Config.FOOD),
+    FICTION(R.string.suggestion_bestsellers_title, R.string.suggestion_bestsellers_short_description,
+            SuggestionType.BOOK, Config.HARD_COVER_FICTION),
+    BREWERY(R.string.suggestion_breweries_title, R.string.suggestion_breweries_short_description,
+            SuggestionType.FOURSQUARE_VENUE, Config.BREWERY),
+    FAMILY_FUN(R.string.suggestion_family_fun_title, R.string.suggestion_family_fun_short_description,
+            SuggestionType.FOURSQUARE_VENUE, Config.FAMILY_FUN),
+    NON_FICTION(R.string.suggestion_nyt_nonfiction_title, R.string.suggestion_nyt_non_fiction_short_description,
+            SuggestionType.BOOK, Config.HARD_COVER_NON_FICTION),
+    ACTIVE(R.string.suggestion_active_title, R.string.suggestion_active_short_description,
+            SuggestionType.FOURSQUARE_VENUE, Config.ACTIVE),
+    SOCIAL(R.string.suggestion_social_title, R.string.suggestion_social_short_description,
+            SuggestionType.FOURSQUARE_VENUE, Config.SOCIAL),
+    EVENTS(R.string.suggestion_entertainment_title, R.string.suggestion_entertainment_short_description,
+            SuggestionType.FOURSQUARE_VENUE, Config.EVENTS);
+
+    @StringRes public final int title;
+    @StringRes public final int description;
+    public final SuggestionType type;
+    public final String id;
+
+    HomeSection(@StringRes int title, @StringRes int description, SuggestionType type, String id){
+        this.title = title;
+        this.description = description;
+        this.type = type;
+        this.id = id;
+    }
+
+    public boolean isBook(){
+        return type == SuggestionType.BOOK;
+    }
+}
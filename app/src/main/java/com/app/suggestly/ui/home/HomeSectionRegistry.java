@@ -0,0 +1,90 @@
+package com.app.suggestly.ui.home;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
+import androidx.paging.PagedList;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Owns the paged list of every home section, built the first time the section asks for it
+ * rather than when the ViewModel is created. A LivePagedList does not touch the database until
+ * it is observed, so a section that has not been requested costs nothing.
+ *
+ * Also times each home render: from markRenderStarted() (the fragment creating its view) to the
+ * first frame that shows a carousel with cards, and which sections had been requested by then.
+ */
+public class HomeSectionRegistry {
+    private static final String TAG = "HomeSections";
+
+    private final Map<HomeSection, LiveData<? extends PagedList<?>>> pagedLists = new EnumMap<>(HomeSection.class);
+    private final List<HomeSection> requested = new ArrayList<>();
+    private long renderStartedAt;
+    private boolean isFirstCarouselShown;
+    private Metrics metrics;
+
+    public interface Factory<T> {
+        LiveData<PagedList<T>> create();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> LiveData<PagedList<T>> get(HomeSection section, Factory<T> factory){
+        LiveData<? extends PagedList<?>> pagedList = pagedLists.get(section);
+        if(pagedList == null){
+            pagedList = factory.create();
+            pagedLists.put(section, pagedList);
+        }
+        if(!requested.contains(section)){
+            requested.add(section);
+        }
+        return (LiveData<PagedList<T>>) pagedList;
+    }
+
+    public void markRenderStarted(){
+        renderStartedAt = SystemClock.elapsedRealtime();
+        isFirstCarouselShown = false;
+        requested.clear();
+    }
+
+    public void markCarouselShown(HomeSection section){
+        if(isFirstCarouselShown || renderStartedAt == 0){
+            return;
+        }
+        isFirstCarouselShown = true;
+        metrics = new Metrics(section, SystemClock.elapsedRealtime() - renderStartedAt, new ArrayList<>(requested));
+        Log.println(Log.DEBUG, TAG, metrics.toString());
+    }
+
+    public boolean isFirstCarouselShown(){
+        return isFirstCarouselShown;
+    }
+
+    public Metrics metrics(){
+        return metrics;
+    }
+
+    public static class Metrics {
+        public final HomeSection firstSection;
+        public final long timeToFirstCarouselMillis;
+        public final List<HomeSection> requestedBeforeFirstCarousel;
+
+        Metrics(HomeSection firstSection, long timeToFirstCarouselMillis, List<HomeSection> requestedBeforeFirstCarousel){
+            this.firstSection = firstSection;
+            this.timeToFirstCarouselMillis = timeToFirstCarouselMillis;
+            this.requestedBeforeFirstCarousel = requestedBeforeFirstCarousel;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return "first carousel " + firstSection + " in " + timeToFirstCarouselMillis + "ms"
+                    + " requested=" + requestedBeforeFirstCarousel;
+        }
+    }
+}
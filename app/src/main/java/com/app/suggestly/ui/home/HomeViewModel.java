@@ -10,11 +10,14 @@ import androidx.paging.PagedList;
 
 import com.google.firebase.auth.FirebaseAuth;
 import com.app.suggestly.app.Repository;
+import com.app.suggestly.app.subscription.SubscriptionScope;
+import com.app.suggestly.app.model.Suggestion;
 import com.app.suggestly.app.model.foursquare.Venue;
 import com.app.suggestly.app.model.nyt.Book;
 import com.app.suggestly.app.model.relations.VenueAndCategory;
 import com.app.suggestly.app.model.user.LocationTuple;
-import com.app.suggestly.utility.Config;
+import com.app.suggestly.app.refresh.HomeRefreshProgress;
+import com.app.suggestly.utility.SuggestionType;
 
 import java.util.List;
 
@@ -24,51 +27,65 @@ import io.reactivex.rxjava3.disposables.Disposable;
 
 public class HomeViewModel extends AndroidViewModel {
     private final Repository repository;
+    private final SubscriptionScope scope;
 
     public LiveData<Book> topSuggestion;
 
-    public LiveData<PagedList<Book>> fictionBooksPagedList;
-    public LiveData<PagedList<Book>> nonFictionBooksPagedList;
-    public LiveData<PagedList<VenueAndCategory>> recommendedVenuePagedList;
-    public LiveData<PagedList<VenueAndCategory>> foodVenuePagedList;
-    public LiveData<PagedList<VenueAndCategory>> breweryVenuePagedList;
-    public LiveData<PagedList<VenueAndCategory>> familyVenuePagedList;
-    public LiveData<PagedList<VenueAndCategory>> activeVenuePagedList;
-    public LiveData<PagedList<VenueAndCategory>> socialVenuePagedList;
-    public LiveData<PagedList<VenueAndCategory>> entertainmentVenuePagedList;
+    private final PagedList.Config config;
+    private final HomeSectionRegistry sections = new HomeSectionRegistry();
 
     private final MutableLiveData<LocationTuple> _locationTuple;
 
     public HomeViewModel(Application application) {
         super(application);
         repository = Repository.getInstance(application);
-        topSuggestion = repository.readTopSuggestionNewYorkTimesBooksTable();
+        scope = new SubscriptionScope("home");
+        topSuggestion = repository.readTopSuggestionNewYorkTimesBooksTable(scope);
 
-        PagedList.Config config = new PagedList.Config.Builder()
+        config = new PagedList.Config.Builder()
                 .setPageSize(10)
                 .setInitialLoadSizeHint(10)
                 .setEnablePlaceholders(true)
                 .build();
 
-        fictionBooksPagedList = new LivePagedListBuilder<>(repository.readNewYorkTimesBestsellingListHomeFragment(Config.HARD_COVER_FICTION), config).build();
-        nonFictionBooksPagedList = new LivePagedListBuilder<>(repository.readNewYorkTimesBestsellingListHomeFragment(Config.HARD_COVER_NON_FICTION), config).build();
-        recommendedVenuePagedList = new LivePagedListBuilder<>(repository.readRecommendedVenuesDataFactoryHomeFragment(), config).build();
-        foodVenuePagedList = new LivePagedListBuilder<>(repository.readVenuesUsingCategoryDataFactoryHomeFragment(Config.FOOD),config).build();
-        breweryVenuePagedList = new LivePagedListBuilder<>(repository.readVenuesUsingCategoryDataFactoryHomeFragment(Config.BREWERY), config).build();
-        familyVenuePagedList = new LivePagedListBuilder<>(repository.readVenuesUsingCategoryDataFactoryHomeFragment(Config.FAMILY_FUN), config).build();
-        activeVenuePagedList = new LivePagedListBuilder<>(repository.readVenuesUsingCategoryDataFactoryHomeFragment(Config.ACTIVE), config).build();
-        socialVenuePagedList = new LivePagedListBuilder<>(repository.readVenuesUsingCategoryDataFactoryHomeFragment(Config.SOCIAL), config).build();
-        entertainmentVenuePagedList = new LivePagedListBuilder<>(repository.readVenuesUsingCategoryDataFactoryHomeFragment(Config.EVENTS), config).build();
         _locationTuple = new MutableLiveData<>();
 //        fetchUserLocation();
     }
 
-    public List<VenueAndCategory> getSavedVenues() {
-        return repository.readSavedVenues();
+    public LiveData<PagedList<VenueAndCategory>> readVenueSection(HomeSection section){
+        return sections.get(section, () -> new LivePagedListBuilder<>(section == HomeSection.RECOMMENDED
+                ? repository.readRecommendedVenuesDataFactoryHomeFragment()
+                : repository.readVenuesUsingCategoryDataFactoryHomeFragment(section.id), config).build());
     }
 
-    public List<Book> getSavedBooks() {
-        return repository.readSavedBooks();
+    public LiveData<PagedList<Book>> readBookSection(HomeSection section){
+        return sections.get(section, () -> new LivePagedListBuilder<>(repository.readNewYorkTimesBestsellingListHomeFragment(section.id), config).build());
+    }
+
+    public void markRenderStarted(){
+        sections.markRenderStarted();
+    }
+
+    public void markCarouselShown(HomeSection section){
+        sections.markCarouselShown(section);
+    }
+
+    public boolean isFirstCarouselShown(){
+        return sections.isFirstCarouselShown();
+    }
+
+    public void prefetchDetails(Suggestion suggestion){
+        if(suggestion.getSuggestionType() == SuggestionType.FOURSQUARE_VENUE){
+            repository.prefetchVenueDetails(suggestion.getId());
+        }
+    }
+
+    public LiveData<List<VenueAndCategory>> getSavedVenues() {
+        return repository.readSavedVenues(scope);
+    }
+
+    public LiveData<List<Book>> getSavedBooks() {
+        return repository.readSavedBooks(scope);
     }
 
 //    private void fetchUserLocation(){
@@ -108,43 +125,21 @@ public class HomeViewModel extends AndroidViewModel {
         repository.storeLastFetchedLocation(lat, lng);
     }
 
-    public LocationTuple getLastFetchedLocation(double lat, double lng){
-        return repository.getLastFetchedLocation(lat, lng);
-    }
-
-    public LiveData<Boolean> getRecommendedFoursquareVenuesNearUser(double lat, double lng){
-        return repository.getRecommendedFoursquareVenuesNearUser(lat, lng);
+    public LiveData<HomeRefreshProgress> refreshHomeVenues(double lat, double lng){
+        return repository.refreshHomeVenues(scope, lat, lng);
     }
 
-    public LiveData<Boolean> getFoursquareVenuesNearUser_FOOD(double lat, double lng){
-        return repository.getGeneralFoursquareVenuesNearUserById(lat, lng, Config.FOOD);
-    }
-
-    public LiveData<Boolean> getGeneralFoursquareVenuesNearUser_BREWERY(double lat, double lng){
-        return repository.getGeneralFoursquareVenuesNearUserById(lat, lng, Config.BREWERY);
-    }
-
-    public LiveData<Boolean> getGeneralFoursquareVenuesNearUserById_FAMILY_FUN(double lat, double lng){
-        return repository.getGeneralFoursquareVenuesNearUserById(lat, lng, Config.FAMILY_FUN);
-    }
-
-    public LiveData<Boolean> getGeneralFoursquareVenuesNearUserById_EVENTS(double lat, double lng){
-        return repository.getGeneralFoursquareVenuesNearUserById(lat, lng, Config.EVENTS);
-    }
-
-    public LiveData<Boolean> getGeneralFoursquareVenuesNearUserById_ACTIVE(double lat, double lng){
-        return repository.getGeneralFoursquareVenuesNearUserById(lat, lng, Config.ACTIVE);
-    }
-
-    public LiveData<Boolean> getGeneralFoursquareVenuesNearUserById_SOCIAL(double lat, double lng){
-        return repository.getGeneralFoursquareVenuesNearUserById(lat, lng, Config.SOCIAL);
-    }
-
-    public long updateVenueSavedInUser(Venue savedVenue, Boolean isSaved){
+    public LiveData<Boolean> updateVenueSavedInUser(Venue savedVenue, Boolean isSaved){
         return repository.saveBookmarkedVenue(savedVenue, isSaved);
     }
 
-    public long updateBookSavedInUser(Book book, Boolean isSaved){
+    public LiveData<Boolean> updateBookSavedInUser(Book book, Boolean isSaved){
         return repository.saveBookmarkedBook(book, isSaved);
     }
-}
\ No newline at end of file
+
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        scope.dispose();
+    }
+}
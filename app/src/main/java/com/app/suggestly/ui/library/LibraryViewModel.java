@@ -6,6 +6,7 @@ import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 
 import com.app.suggestly.app.Repository;
+import com.app.suggestly.app.subscription.SubscriptionScope;
 import com.app.suggestly.app.model.Suggestion;
 import com.app.suggestly.app.model.nyt.Book;
 import com.app.suggestly.app.model.relations.VenueAndCategory;
@@ -14,18 +15,20 @@ import java.util.List;
 
 public class LibraryViewModel extends AndroidViewModel {
     private final Repository repository;
+    private final SubscriptionScope scope;
 
     public LibraryViewModel(Application application) {
         super(application);
         repository = Repository.getInstance(application);
+        scope = new SubscriptionScope("library");
     }
 
     public LiveData<List<Suggestion>> readSavedSuggestions(){
-        return repository.readSavedSuggestions();
+        return repository.readSavedSuggestions(scope);
     }
 
     public LiveData<List<Suggestion>> readFavoriteSuggestions(){
-        return repository.readFavoriteSuggestions();
+        return repository.readFavoriteSuggestions(scope);
     }
 
     public void deleteSavedSuggestion(Suggestion suggestions){
@@ -40,13 +43,17 @@ public class LibraryViewModel extends AndroidViewModel {
         }
     }
 
-    public int deleteVenueInUser(VenueAndCategory savedVenue){
+    public LiveData<Boolean> deleteVenueInUser(VenueAndCategory savedVenue){
         return repository.deletedSavedVenue(savedVenue.venue);
     }
 
-    public int deleteBookInUser(Book book){
+    public LiveData<Boolean> deleteBookInUser(Book book){
         return repository.deletedSavedBook(book);
     }
 
-
-}
\ No newline at end of file
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        scope.dispose();
+    }
+}
@@ -7,16 +7,19 @@ import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 
 import com.app.suggestly.app.Repository;
+import com.app.suggestly.app.subscription.SubscriptionScope;
 import com.google.android.libraries.places.api.model.AutocompletePrediction;
 
 import java.util.List;
 
 public class ManualLocationViewModel extends AndroidViewModel{
     private final Repository repository;
+    private final SubscriptionScope scope;
 
     public ManualLocationViewModel(@NonNull Application application) {
         super(application);
         repository = Repository.getInstance(application);
+        scope = new SubscriptionScope("manual-location");
     }
 
     public void searchManualLocationInput(String target){
@@ -24,10 +27,16 @@ public class ManualLocationViewModel extends AndroidViewModel{
     }
 
     public LiveData<List<AutocompletePrediction>> listenForAutoCompleteResults(){
-        return repository.subscribeToAddressAutoCompletePredictions();
+        return repository.subscribeToAddressAutoCompletePredictions(scope);
     }
 
     public LiveData<Boolean> convertAddressToCoordinates(String target){
-        return repository.convertManualLocationInputToCoordinates(target);
+        return repository.convertManualLocationInputToCoordinates(scope, target);
     }
-}
\ No newline at end of file
+
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        scope.dispose();
+    }
+}
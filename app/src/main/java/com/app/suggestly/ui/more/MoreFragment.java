@@ -21,15 +21,14 @@ import com.app.suggestly.R;
 import com.app.suggestly.adapter.MoreFragmentAdapter;
 import com.app.suggestly.callbacks.FavoriteCallback;
 import com.app.suggestly.callbacks.SaveCallback;
+import com.app.suggestly.callbacks.VisibleCallback;
 import com.app.suggestly.databinding.FragmentMoreBinding;
 import com.app.suggestly.callbacks.DetailsCallback;
 import com.app.suggestly.app.model.Suggestion;
 import com.app.suggestly.app.model.foursquare.Venue;
 import com.app.suggestly.app.model.nyt.Book;
 import com.app.suggestly.app.model.relations.VenueAndCategory;
-import com.app.suggestly.app.model.user.LocationTuple;
 import com.app.suggestly.utility.Config;
-import com.app.suggestly.utility.DistanceCalculator;
 import com.app.suggestly.utility.NetworkHandler;
 import com.app.suggestly.utility.SuggestionType;
 
@@ -40,7 +39,7 @@ import java.util.List;
 import java.util.Objects;
 
 
-public class MoreFragment extends Fragment implements DetailsCallback, SaveCallback, FavoriteCallback {
+public class MoreFragment extends Fragment implements DetailsCallback, SaveCallback, FavoriteCallback, VisibleCallback {
     private FragmentMoreBinding binding;
     private MoreViewModel moreViewModel;
     private MoreFragmentAdapter adapter;
@@ -55,8 +54,9 @@ public class MoreFragment extends Fragment implements DetailsCallback, SaveCallb
         super.onCreate(savedInstanceState);
         moreViewModel = new ViewModelProvider(this).get(MoreViewModel.class);
         adapter = new MoreFragmentAdapter(suggestions, this, this, this);
-        adapter.setSavedSuggestions(moreViewModel.saveSuggestions);
-        adapter.setFavoriteSuggestions(moreViewModel.favoriteSuggestions);
+        adapter.setVisibleListener(this);
+        moreViewModel.readSavedSuggestions().observe(this, adapter::setSavedSuggestions);
+        moreViewModel.readFavoriteSuggestions().observe(this, adapter::setFavoriteSuggestions);
     }
 
     @Override
@@ -98,6 +98,13 @@ public class MoreFragment extends Fragment implements DetailsCallback, SaveCallb
         super.onStart();
     }
 
+    @Override
+    public void onSuggestionVisible(Suggestion suggestion) {
+        if(NetworkHandler.isNetworkConnectionActive(requireActivity())){
+            moreViewModel.prefetchDetails(suggestion);
+        }
+    }
+
     public void initRecommendedVenues(){
         moreViewModel.initRecommendedVenues().observe(getViewLifecycleOwner(), data -> {
             if(data != null){
@@ -225,12 +232,9 @@ public class MoreFragment extends Fragment implements DetailsCallback, SaveCallb
 
     public void getUserLocation(String id){
         moreViewModel.initUserLocation().observe(getViewLifecycleOwner(), location -> {
-            LocationTuple last = moreViewModel.getLastFetchedLocation(location.lat, location.lng);
-            if(!hasCalled || DistanceCalculator.distanceMile(location.lat, last.lat, location.lng, last.lng) > 5){
-                hasCalled = true;
-                storeLastFetchedLocation(location.lat, location.lng);
-                fetchVenues(location.lat, location.lng, id);
-            }
+            hasCalled = true;
+            storeLastFetchedLocation(location.lat, location.lng);
+            fetchVenues(location.lat, location.lng, id);
         });
     }
 
@@ -7,12 +7,13 @@ import androidx.lifecycle.MutableLiveData;
 
 import com.google.firebase.auth.FirebaseAuth;
 import com.app.suggestly.app.Repository;
+import com.app.suggestly.app.subscription.SubscriptionScope;
 import com.app.suggestly.app.model.Suggestion;
 import com.app.suggestly.app.model.foursquare.Venue;
 import com.app.suggestly.app.model.nyt.Book;
 import com.app.suggestly.app.model.user.LocationTuple;
+import com.app.suggestly.utility.SuggestionType;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import io.reactivex.rxjava3.annotations.NonNull;
@@ -21,32 +22,27 @@ import io.reactivex.rxjava3.disposables.Disposable;
 
 public class MoreViewModel extends AndroidViewModel {
     private final Repository repository;
-
-    public List<Suggestion> saveSuggestions = new ArrayList<>();
-    public List<Suggestion> favoriteSuggestions = new ArrayList<>();
+    private final SubscriptionScope scope;
 
     private final MutableLiveData<LocationTuple> _locationTuple;
 
     public MoreViewModel(Application application){
         super(application);
         repository = Repository.getInstance(application);
-
-        saveSuggestions.addAll(repository.readSavedBooks());
-        saveSuggestions.addAll(repository.readSavedVenues());
-
-        favoriteSuggestions.addAll(repository.readFavoriteBooks());
-        favoriteSuggestions.addAll(repository.readFavoriteVenues());
+        scope = new SubscriptionScope("more");
 
         _locationTuple = new MutableLiveData<LocationTuple>();
 //        fetchUserLocation();
     }
 
-    public void storeLastFetchedLocation(double lat, double lng){
-        repository.storeLastFetchedLocation(lat, lng);
+    public void prefetchDetails(Suggestion suggestion){
+        if(suggestion.getSuggestionType() == SuggestionType.FOURSQUARE_VENUE){
+            repository.prefetchVenueDetails(suggestion.getId());
+        }
     }
 
-    public LocationTuple getLastFetchedLocation(double lat, double lng){
-        return repository.getLastFetchedLocation(lat, lng);
+    public void storeLastFetchedLocation(double lat, double lng){
+        repository.storeLastFetchedLocation(lat, lng);
     }
 
 //    private void fetchUserLocation(){
@@ -85,35 +81,48 @@ public class MoreViewModel extends AndroidViewModel {
         return repository.readUserLocationLiveData(FirebaseAuth.getInstance().getCurrentUser().getUid());
     }
 
+    public LiveData<List<Suggestion>> readSavedSuggestions(){
+        return repository.readSavedSuggestions(scope);
+    }
+
+    public LiveData<List<Suggestion>> readFavoriteSuggestions(){
+        return repository.readFavoriteSuggestions(scope);
+    }
+
     public LiveData<List<Suggestion>> initRecommendedVenues(){
-        return repository.readRecommendedVenuesLiveData();
+        return repository.readRecommendedVenuesLiveData(scope);
     }
 
     public LiveData<List<Suggestion>> initVenues(String id){
-        return repository.readVenuesUsingCategoryIdLiveData(id);
+        return repository.readVenuesUsingCategoryIdLiveData(scope, id);
     }
 
     public LiveData<List<Suggestion>> initBooksByListName(String listName){
-        return repository.readNewYorkTimesBestsellingListLiveData(listName);
+        return repository.readNewYorkTimesBestsellingListLiveData(scope, listName);
     }
     public LiveData<Boolean> fetchVenues(double lat, double lng, String id){
-        return repository.getGeneralFoursquareVenuesNearUserById(lat, lng, id);
+        return repository.getGeneralFoursquareVenuesNearUserById(scope, lat, lng, id);
     }
 
-    public long updateVenueFavoriteInUser(Venue savedVenue, Boolean isFavorite){
+    public LiveData<Boolean> updateVenueFavoriteInUser(Venue savedVenue, Boolean isFavorite){
         return repository.saveFavoriteVenue(savedVenue, isFavorite);
     }
 
-    public long updateBookFavoriteInUser(Book book, Boolean isFavorite){
+    public LiveData<Boolean> updateBookFavoriteInUser(Book book, Boolean isFavorite){
         return repository.saveFavoriteBook(book, isFavorite);
     }
 
-    public long updateVenueSavedInUser(Venue savedVenue, Boolean isSaved){
+    public LiveData<Boolean> updateVenueSavedInUser(Venue savedVenue, Boolean isSaved){
         return repository.saveBookmarkedVenue(savedVenue, isSaved);
     }
 
-    public long updateBookSavedInUser(Book book, Boolean isSaved){
+    public LiveData<Boolean> updateBookSavedInUser(Book book, Boolean isSaved){
         return repository.saveBookmarkedBook(book, isSaved);
     }
 
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        scope.dispose();
+    }
 }
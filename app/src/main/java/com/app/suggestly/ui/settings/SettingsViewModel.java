@@ -11,6 +11,7 @@ import com.google.android.gms.auth.api.signin.GoogleSignInClient;
 import com.google.android.gms.auth.api.signin.GoogleSignInOptions;
 import com.app.suggestly.BuildConfig;
 import com.app.suggestly.app.Repository;
+import com.app.suggestly.app.subscription.SubscriptionScope;
 import com.app.suggestly.utility.PermissionManager;
 import com.google.android.libraries.places.api.model.AutocompletePrediction;
 import com.google.firebase.auth.FirebaseAuth;
@@ -20,11 +21,13 @@ import java.util.List;
 public class SettingsViewModel extends AndroidViewModel {
 
     private final Repository repository;
+    private final SubscriptionScope scope;
     private final PermissionManager permissionManager;
 
     public SettingsViewModel(@NonNull Application application) {
         super(application);
         repository = Repository.getInstance(application);
+        scope = new SubscriptionScope("settings");
         permissionManager = new PermissionManager(application);
     }
 /* ***************************************************************************************
@@ -45,7 +48,7 @@ public class SettingsViewModel extends AndroidViewModel {
     Manual Location
  *************************************************************************************** */
     public LiveData<List<AutocompletePrediction>> subscribeToAutoCompleteResults(){
-        return repository.subscribeToAddressAutoCompletePredictions();
+        return repository.subscribeToAddressAutoCompletePredictions(scope);
     }
 
     public void searchManualLocationInput(String target){
@@ -53,7 +56,7 @@ public class SettingsViewModel extends AndroidViewModel {
     }
 
     public LiveData<Boolean> convertAddressToCoordinates(String target){
-        return repository.convertManualLocationInputToCoordinates(target);
+        return repository.convertManualLocationInputToCoordinates(scope, target);
     }
 
 /* ***************************************************************************************
@@ -100,4 +103,10 @@ public class SettingsViewModel extends AndroidViewModel {
     public LiveData<Boolean> deleteAccount(){
         return repository.deleteUser();
     }
+
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        scope.dispose();
+    }
 }
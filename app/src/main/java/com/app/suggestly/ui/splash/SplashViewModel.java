@@ -7,6 +7,7 @@ import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 
 import com.app.suggestly.app.Repository;
+import com.app.suggestly.app.subscription.SubscriptionScope;
 import com.app.suggestly.app.model.user.LocationTuple;
 import com.app.suggestly.app.model.user.User;
 import com.firebase.ui.auth.IdpResponse;
@@ -18,11 +19,13 @@ import io.reactivex.rxjava3.disposables.Disposable;
 
 public class SplashViewModel extends AndroidViewModel {
     private final Repository repository;
+    private final SubscriptionScope scope;
     private final MutableLiveData<LocationTuple> _locationTuple;
 
     public SplashViewModel(Application application){
         super(application);
         repository = Repository.getInstance(application);
+        scope = new SubscriptionScope("splash");
         _locationTuple = new MutableLiveData<LocationTuple>();
     }
 
@@ -76,11 +79,11 @@ public class SplashViewModel extends AndroidViewModel {
     }
 
     public LiveData<Boolean> checkIfUserInRoom(User user){
-        return repository.checkIfUserInRoom(user.getId());
+        return repository.checkIfUserInRoom(scope, user.getId());
     }
 
     public LiveData<Boolean> isFoursquareTableFresh(double lat, double lng){
-        return repository.isVenueTableFresh(lat, lng);
+        return repository.isVenueTableFresh(scope, lat, lng);
     }
 
     public Boolean isLocationServicesEnabled(){
@@ -99,4 +102,9 @@ public class SplashViewModel extends AndroidViewModel {
         repository.disableLocationServices();
     }
 
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        scope.dispose();
+    }
 }
@@ -15,7 +15,14 @@ public class Config {
     public static final String SUGGESTLY_TOS_URL = "https://www.suggestlyapp.com/terms-of-service";
 
     public static final String RADIUS_DEFAULT_VALUE = "100000";
+    // the search radius is 100 km but a response only holds the venues nearest the fix, so a fetch covers this much
+    public static final double COVERAGE_RADIUS_METERS = 5000;
     public static final String FOURSQUARE_VERSION = "20201001";
+    public static final long VENUE_DETAILS_TTL_HOURS = 24;
+    public static final double LOCATION_MIN_DISTANCE_METERS = 100;
+    public static final long LOCATION_MIN_INTERVAL_MILLIS = 30000;
+    public static final double LOCATION_MOVING_METERS_PER_SECOND = 1;
+    public static final int LOCATION_STILL_AFTER_INTERVALS = 2;
 
     public final static String FOOD = "4d4b7105d754a06374d81259";
     public final static String BREWERY = "50327c8591d4c4b30a586d5d";
@@ -23,6 +30,8 @@ public class Config {
     public final static String EVENTS = "4d4b7105d754a06373d81259";
     public final static String ACTIVE = "4d4b7105d754a06377d81259";
     public final static String SOCIAL = "4d4b7105d754a06376d81259";
+    public final static String RECOMMENDED = "RECOMMENDED";
+    public final static String[] HOME_SECTIONS = {RECOMMENDED, FOOD, BREWERY, FAMILY_FUN, EVENTS, ACTIVE, SOCIAL};
     public final static String HARD_COVER_FICTION = "hardcover-fiction";
     public final static String HARD_COVER_NON_FICTION = "hardcover-nonfiction";
     public static final String ITALIAN = "4bf58dd8d48988d110941735";
@@ -52,6 +61,8 @@ public class Config {
     public static final String USER_SHARED_PREFERENCE_TERMS_OF_SERVICE = "TERMS_OF_SERVICE";
     public static final String USER_SHARED_PREFERENCE_PREVIOUS_LATITUDE = "LAST_FETCHED LAT";
     public static final String USER_SHARED_PREFERENCE_PREVIOUS_LONGITUDE = "LAST_FETCHED_LNG";
+    public static final String USER_SHARED_PREFERENCE_CURRENT_LATITUDE = "CURRENT_LAT";
+    public static final String USER_SHARED_PREFERENCE_CURRENT_LONGITUDE = "CURRENT_LNG";
 
     public static final int LOCATION_REQUEST_CODE = 102;
 
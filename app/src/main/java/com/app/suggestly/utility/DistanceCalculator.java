@@ -27,45 +27,14 @@ public class DistanceCalculator {
     }
 
     public static double distanceMeter(double lat1, double lat2, double lon1, double lon2) {
-
         if ((lat1 == lat2) && (lon1 == lon2)) {
             return 0;
         }
-
-        final int R = 6371; // Radius of the earth
-
-        double latDistance = Math.toRadians(lat2 - lat1);
-        double lonDistance = Math.toRadians(lon2 - lon1);
-        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
-                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        double distance = R * c * 1000; // convert to meters
-
-        distance = Math.pow(distance, 2);
-
-        return Math.sqrt(distance);
+        return DistanceKernel.haversineMeters(lat1, lon1, lat2, lon2);
     }
 
     public static double distanceMile(double lat1, double lat2, double lon1, double lon2) {
-
-        if ((lat1 == lat2) && (lon1 == lon2)) {
-            return 0;
-        }
-
-        final int R = 6371; // Radius of the earth
-
-        double latDistance = Math.toRadians(lat2 - lat1);
-        double lonDistance = Math.toRadians(lon2 - lon1);
-        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
-                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        double distance = R * c * 1000; // convert to meters
-        distance *= 0.000621371;
-        distance = Math.pow(distance, 2);
-
-        return Math.sqrt(distance);
+        return meterToMiles(distanceMeter(lat1, lat2, lon1, lon2));
     }
 
     public static double meterToMiles(double distance) {
@@ -0,0 +1,69 @@
+package com.app.suggestly.utility;
+
+/*
+ * Distances from one origin to many points held in primitive arrays. Everything that depends
+ * only on the origin (its latitude in radians, its cosine and sine) is computed once per call
+ * instead of once per point.
+ *
+ * haversine is exact on a sphere. equirectangular projects onto a plane around the midpoint
+ * latitude, linearized from the origin so it costs no trig per point; below
+ * EQUIRECTANGULAR_MAX_METERS and between +/-EQUIRECTANGULAR_MAX_LATITUDE its relative error
+ * against haversine stays under EQUIRECTANGULAR_MAX_RELATIVE_ERROR. Anything past that range
+ * should use haversine.
+ */
+public final class DistanceKernel {
+    public static final double EARTH_RADIUS_METERS = 6371000d;
+    public static final double EQUIRECTANGULAR_MAX_METERS = 100000d;
+    public static final double EQUIRECTANGULAR_MAX_LATITUDE = 70d;
+    public static final double EQUIRECTANGULAR_MAX_RELATIVE_ERROR = 1e-4;
+
+    private static final double RADIANS = Math.PI / 180d;
+
+    private DistanceKernel(){}
+
+    public static double haversineMeters(double originLat, double originLng, double lat, double lng){
+        double originLatRadians = originLat * RADIANS;
+        double latRadians = lat * RADIANS;
+        double sinLat = Math.sin((latRadians - originLatRadians) * 0.5);
+        double sinLng = Math.sin((lng - originLng) * RADIANS * 0.5);
+        double a = sinLat * sinLat + Math.cos(originLatRadians) * Math.cos(latRadians) * sinLng * sinLng;
+        return 2d * EARTH_RADIUS_METERS * Math.asin(Math.min(1d, Math.sqrt(a)));
+    }
+
+    public static void haversineMeters(double originLat, double originLng, double[] lats, double[] lngs, double[] out, int count){
+        double originLatRadians = originLat * RADIANS;
+        double cosOrigin = Math.cos(originLatRadians);
+        double diameter = 2d * EARTH_RADIUS_METERS;
+
+        for(int i = 0; i < count; i++){
+            double latRadians = lats[i] * RADIANS;
+            double sinLat = Math.sin((latRadians - originLatRadians) * 0.5);
+            double sinLng = Math.sin((lngs[i] - originLng) * RADIANS * 0.5);
+            double a = sinLat * sinLat + cosOrigin * Math.cos(latRadians) * sinLng * sinLng;
+            out[i] = diameter * Math.asin(Math.min(1d, Math.sqrt(a)));
+        }
+    }
+
+    public static void equirectangularMeters(double originLat, double originLng, double[] lats, double[] lngs, double[] out, int count){
+        double originLatRadians = originLat * RADIANS;
+        double cosOrigin = Math.cos(originLatRadians);
+        double halfSinOrigin = 0.5 * Math.sin(originLatRadians);
+
+        for(int i = 0; i < count; i++){
+            double deltaLat = lats[i] * RADIANS - originLatRadians;
+            double deltaLng = lngs[i] - originLng;
+            if(deltaLng > 180d){
+                deltaLng -= 360d;
+            }else if(deltaLng < -180d){
+                deltaLng += 360d;
+            }
+            // cos of the midpoint latitude, first order around the origin
+            double x = deltaLng * RADIANS * (cosOrigin - halfSinOrigin * deltaLat);
+            out[i] = EARTH_RADIUS_METERS * Math.sqrt(x * x + deltaLat * deltaLat);
+        }
+    }
+
+    public static boolean isEquirectangularSafe(double originLat, double maxMeters){
+        return maxMeters <= EQUIRECTANGULAR_MAX_METERS && Math.abs(originLat) <= EQUIRECTANGULAR_MAX_LATITUDE;
+    }
+}
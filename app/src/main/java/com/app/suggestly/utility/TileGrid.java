@@ -0,0 +1,52 @@
+package com.app.suggestly.utility;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Fixed-size cells over the globe. Rows are TILE_SIZE_METERS of latitude; each row is cut into
+ * columns of TILE_SIZE_METERS measured at the row's centre latitude, so cells stay roughly
+ * square instead of shrinking towards the poles the way a plain degree grid does.
+ */
+public final class TileGrid {
+    public static final double TILE_SIZE_METERS = 2000d;
+
+    private static final double METERS_PER_DEGREE = DistanceKernel.EARTH_RADIUS_METERS * Math.PI / 180d;
+    private static final double MIN_COLUMN_SCALE = 0.01d;
+
+    private TileGrid(){}
+
+    public static int tileY(double lat){
+        return (int) Math.floor(lat * METERS_PER_DEGREE / TILE_SIZE_METERS);
+    }
+
+    public static int tileX(double lat, double lng){
+        double scale = columnScale(rowCenterLat(tileY(lat)));
+        return (int) Math.floor(lng * METERS_PER_DEGREE * scale / TILE_SIZE_METERS);
+    }
+
+    // every tile that holds a point within radiusMeters of the centre, as {tileX, tileY}
+    public static List<int[]> tilesWithin(double lat, double lng, double radiusMeters){
+        double latSpan = radiusMeters / METERS_PER_DEGREE;
+        // the circle is widest in degrees of longitude at its edge nearest a pole
+        double widestLat = Math.min(90d, Math.abs(lat) + latSpan);
+        double lngSpan = radiusMeters / (METERS_PER_DEGREE * columnScale(widestLat));
+
+        List<int[]> tiles = new ArrayList<>();
+        for(int tileY = tileY(lat - latSpan); tileY <= tileY(lat + latSpan); tileY++){
+            double rowLat = rowCenterLat(tileY);
+            for(int tileX = tileX(rowLat, lng - lngSpan); tileX <= tileX(rowLat, lng + lngSpan); tileX++){
+                tiles.add(new int[]{tileX, tileY});
+            }
+        }
+        return tiles;
+    }
+
+    private static double rowCenterLat(int tileY){
+        return (tileY + 0.5d) * TILE_SIZE_METERS / METERS_PER_DEGREE;
+    }
+
+    private static double columnScale(double lat){
+        return Math.max(MIN_COLUMN_SCALE, Math.cos(Math.toRadians(lat)));
+    }
+}
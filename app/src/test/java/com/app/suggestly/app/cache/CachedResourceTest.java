@@ -0,0 +1,131 @@
+package com.app.suggestly.app.cache;
+
+import androidx.annotation.NonNull;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Maybe;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CachedResourceTest {
+    private static final long MAX_AGE = TimeUnit.HOURS.toMillis(1);
+
+    @Test
+    public void freshCacheIsServedWithoutFetching() {
+        FakeResource resource = new FakeResource("fresh", CachePolicy.staleWhileRevalidate(MAX_AGE), "cached", age(0));
+
+        List<Resource<String>> emitted = resource.load().toList().blockingGet();
+
+        assertEquals(1, emitted.size());
+        assertEquals(Resource.Status.SUCCESS, emitted.get(0).status);
+        assertEquals("cached", emitted.get(0).data);
+        assertEquals(0, resource.fetchCount);
+        assertEquals(1, CacheStats.forResource("fresh").metrics().cacheServed);
+    }
+
+    @Test
+    public void staleCacheIsEmittedBeforeTheRevalidatedValue() {
+        FakeResource resource = new FakeResource("stale", CachePolicy.staleWhileRevalidate(MAX_AGE), "cached", age(2 * MAX_AGE));
+
+        List<Resource<String>> emitted = resource.load().toList().blockingGet();
+
+        assertEquals(2, emitted.size());
+        assertEquals(Resource.Status.REFRESHING, emitted.get(0).status);
+        assertEquals("cached", emitted.get(0).data);
+        assertEquals(Resource.Status.SUCCESS, emitted.get(1).status);
+        assertEquals("fetched", emitted.get(1).data);
+        assertFalse(emitted.get(1).isFromCache);
+        CacheStats.Metrics metrics = CacheStats.forResource("stale").metrics();
+        assertEquals(1, metrics.staleServed);
+        assertEquals(1, metrics.networkServed);
+    }
+
+    @Test
+    public void cacheFirstFetchesOnlyOnAMiss() {
+        FakeResource resource = new FakeResource("miss", CachePolicy.cacheFirst(MAX_AGE), null, 0);
+
+        List<Resource<String>> emitted = resource.load().toList().blockingGet();
+
+        assertEquals(Resource.Status.LOADING, emitted.get(0).status);
+        assertNull(emitted.get(0).data);
+        assertEquals("fetched", emitted.get(1).data);
+        assertEquals(1, resource.fetchCount);
+
+        resource.load().toList().blockingGet();
+        assertEquals(1, resource.fetchCount);
+    }
+
+    @Test
+    public void failedFetchKeepsTheCachedValue() {
+        FakeResource resource = new FakeResource("failed", CachePolicy.networkFirst(), "cached", age(0));
+        resource.failure = new IOException("offline");
+
+        List<Resource<String>> emitted = resource.load().toList().blockingGet();
+
+        Resource<String> last = emitted.get(emitted.size() - 1);
+        assertEquals(Resource.Status.ERROR, last.status);
+        assertEquals("cached", last.data);
+        assertTrue(last.isFromCache);
+        assertEquals(1, CacheStats.forResource("failed").metrics().failed);
+    }
+
+    @Test
+    public void cacheOnlyNeverFetches() {
+        FakeResource resource = new FakeResource("only", CachePolicy.cacheOnly(), null, 0);
+
+        List<Resource<String>> emitted = resource.load().toList().blockingGet();
+
+        assertEquals(1, emitted.size());
+        assertEquals(Resource.Status.SUCCESS, emitted.get(0).status);
+        assertNull(emitted.get(0).data);
+        assertEquals(0, resource.fetchCount);
+    }
+
+    private static long age(long millis){
+        return System.currentTimeMillis() - millis;
+    }
+
+    private static class FakeResource extends CachedResource<String> {
+        String value;
+        long fetchedAt;
+        Throwable failure;
+        int fetchCount;
+
+        FakeResource(String name, CachePolicy policy, String value, long fetchedAt){
+            super(name, policy);
+            this.value = value;
+            this.fetchedAt = fetchedAt;
+        }
+
+        @Override
+        protected Maybe<String> readCache() {
+            return Maybe.fromCallable(() -> value);
+        }
+
+        @Override
+        protected long fetchedAt(@NonNull String cached) {
+            return fetchedAt;
+        }
+
+        @Override
+        protected Completable fetch() {
+            return Completable.fromAction(() -> {
+                fetchCount++;
+                if(failure != null){
+                    throw new IOException(failure);
+                }
+                value = "fetched";
+                fetchedAt = System.currentTimeMillis();
+            });
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.app.suggestly.app.model.nyt;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class BookHashTest {
+    @Test
+    public void sameBookHashesTheSame() {
+        assertEquals(book().computeContentHash(), book().computeContentHash());
+        assertEquals(book().computeListingHash(), book().computeListingHash());
+    }
+
+    @Test
+    public void newWeekOnTheListOnlyChangesTheListing() {
+        Book lastWeek = book();
+        Book thisWeek = book();
+        thisWeek.setRank(1);
+        thisWeek.setRankLastWeek(2);
+        thisWeek.setWeeksOnList(5);
+        thisWeek.publishedDate = "2021-06-20";
+
+        assertEquals(lastWeek.computeContentHash(), thisWeek.computeContentHash());
+        assertNotEquals(lastWeek.computeListingHash(), thisWeek.computeListingHash());
+    }
+
+    @Test
+    public void changedDescriptionChangesTheContent() {
+        Book stored = book();
+        Book fetched = book();
+        fetched.setDescription("A new description.");
+
+        assertNotEquals(stored.computeContentHash(), fetched.computeContentHash());
+        assertEquals(stored.computeListingHash(), fetched.computeListingHash());
+    }
+
+    @Test
+    public void buyLinksAreComparedByValue() {
+        Book stored = book();
+        Book fetched = book();
+        BuyLink buyLink = new BuyLink();
+        buyLink.name = "Bookshop";
+        buyLink.url = "https://bookshop.org/a/1/9780593321201";
+        stored.setBuyLinks(new ArrayList<>(Collections.singletonList(buyLink)));
+        BuyLink sameBuyLink = new BuyLink();
+        sameBuyLink.name = buyLink.name;
+        sameBuyLink.url = buyLink.url;
+        fetched.setBuyLinks(new ArrayList<>(Collections.singletonList(sameBuyLink)));
+
+        assertEquals(stored.computeContentHash(), fetched.computeContentHash());
+    }
+
+    private static Book book(){
+        Book book = new Book();
+        book.setPrimaryIsbn13("9780593321201");
+        book.setTitle("FIXTURE BOOK ONE");
+        book.setDescription("A fixture description for the first book.");
+        book.setRank(2);
+        book.setRankLastWeek(0);
+        book.setWeeksOnList(4);
+        book.listNameEncoded = "hardcover-fiction";
+        book.publishedDate = "2021-06-13";
+        return book;
+    }
+}
@@ -0,0 +1,52 @@
+package com.app.suggestly.app.model.relations;
+
+import com.app.suggestly.app.model.foursquare.Category;
+import com.app.suggestly.app.model.foursquare.Location;
+import com.app.suggestly.app.model.foursquare.Venue;
+import com.app.suggestly.utility.Config;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class HomeFeedTest {
+    @Test
+    public void rankAndUnshownDistanceDoNotChangeTheCard() {
+        VenueAndCategory before = card("venue", "Pizza Place", 1000.0);
+        before.venue.rank = 0.4;
+        VenueAndCategory after = card("venue", "Pizza Place", 1010.0);
+        after.venue.rank = 0.9;
+
+        assertTrue(new HomeFeed(Config.FOOD, 0, before).isCardSame(new HomeFeed(Config.FOOD, 0, after)));
+    }
+
+    @Test
+    public void shownFieldsChangeTheCard() {
+        HomeFeed card = new HomeFeed(Config.FOOD, 0, card("venue", "Pizza Place", 1000.0));
+
+        assertFalse(card.isCardSame(new HomeFeed(Config.FOOD, 0, card("venue", "Pizza Place", 1500.0))));
+        assertFalse(card.isCardSame(new HomeFeed(Config.FOOD, 0, card("venue", "Pizza Palace", 1000.0))));
+        assertFalse(card.isCardSame(new HomeFeed(Config.FOOD, 0, card("other", "Pizza Place", 1000.0))));
+        assertFalse(card.isCardSame(new HomeFeed(Config.FOOD, 1, card("venue", "Pizza Place", 1000.0))));
+    }
+
+    private static VenueAndCategory card(String id, String name, Double distance){
+        Category category = new Category();
+        category.id = "4bf58dd8d48988d1ca941735";
+        category.name = "Pizza Place";
+
+        Venue venue = new Venue();
+        venue.venueId = id;
+        venue.categoryId = category.id;
+        venue.name = name;
+        venue.location = new Location();
+        venue.location.address = "350 5th Ave";
+        venue.location.distance = distance;
+
+        VenueAndCategory card = new VenueAndCategory();
+        card.venue = venue;
+        card.category = category;
+        return card;
+    }
+}
@@ -0,0 +1,107 @@
+package com.app.suggestly.app.network.retrofit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CircuitBreakerInterceptorTest {
+    private static final long OPEN_MILLIS = 50;
+
+    private MockWebServer server;
+    private OkHttpClient client;
+    private CircuitBreaker breaker;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        client = new OkHttpClient.Builder()
+                .addInterceptor(new CircuitBreakerInterceptor())
+                .build();
+        // one counted failure opens the breaker
+        breaker = new CircuitBreaker(server.url("/").host(), 1, OPEN_MILLIS);
+        CircuitBreaker.install(breaker);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void cancelledCallsAreNotFailures() throws Exception {
+        for(int i = 0; i < 3; i++){
+            server.enqueue(slowResponse());
+            executeAndCancel();
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0, breaker.metrics().failureCount);
+    }
+
+    @Test
+    public void cancelledTrialReleasesTheHalfOpenBreaker() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        execute().close();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        Thread.sleep(OPEN_MILLIS * 2);
+        server.enqueue(slowResponse());
+        executeAndCancel();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        server.enqueue(new MockResponse().setResponseCode(200));
+        execute().close();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void tooManyRequestsCountsAsAFailure() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(429));
+        execute().close();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    private Response execute() throws IOException {
+        return client.newCall(new Request.Builder().url(server.url("/")).build()).execute();
+    }
+
+    private void executeAndCancel() throws InterruptedException {
+        Call call = client.newCall(new Request.Builder().url(server.url("/")).build());
+        Thread canceller = new Thread(() -> {
+            try{
+                server.takeRequest(5, TimeUnit.SECONDS);
+            }catch (InterruptedException e){
+                Thread.currentThread().interrupt();
+            }
+            call.cancel();
+        });
+        canceller.start();
+        try{
+            call.execute().close();
+            fail("the call was cancelled");
+        }catch (IOException e){
+            assertTrue(call.isCanceled());
+        }
+        canceller.join();
+    }
+
+    private static MockResponse slowResponse(){
+        return new MockResponse().setHeadersDelay(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,82 @@
+package com.app.suggestly.app.ranking;
+
+import com.app.suggestly.app.model.relations.VenueSignals;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RankingEngineTest {
+    private static final double DELTA = 1e-9;
+    private static final double PRIOR = RankingEngine.PRIOR_RATING / RankingEngine.MAX_RATING;
+
+    @Test
+    public void missingRatingScoresThePrior() {
+        assertEquals(PRIOR, RankingEngine.rating(null, null), DELTA);
+        assertEquals(PRIOR, RankingEngine.rating(8.5f, null), DELTA);
+        assertEquals(PRIOR, RankingEngine.rating(null, 120L), DELTA);
+        assertEquals(PRIOR, RankingEngine.rating(8.5f, 0L), DELTA);
+    }
+
+    @Test
+    public void unratedSentinelScoresThePrior() {
+        assertEquals(PRIOR, RankingEngine.rating(-1f, -1L), DELTA);
+        assertEquals(PRIOR, RankingEngine.rating(-1f, 50L), DELTA);
+        assertEquals(PRIOR, RankingEngine.rating(7.9f, -1L), DELTA);
+    }
+
+    @Test
+    public void fewVotesAreShrunkTowardsThePrior() {
+        double fewVotes = RankingEngine.rating(9.8f, 4L);
+        double manyVotes = RankingEngine.rating(9.1f, 4000L);
+
+        assertTrue(fewVotes > PRIOR);
+        assertTrue(manyVotes > fewVotes);
+        assertTrue(manyVotes <= 1);
+    }
+
+    @Test
+    public void nearnessFallsWithDistance() {
+        assertEquals(0, RankingEngine.nearness(null), DELTA);
+        assertEquals(0, RankingEngine.nearness(-1.0), DELTA);
+        assertEquals(1, RankingEngine.nearness(0.0), DELTA);
+        assertEquals(Math.exp(-1), RankingEngine.nearness(RankingEngine.DISTANCE_SCALE_METERS), DELTA);
+        assertTrue(RankingEngine.nearness(100.0) > RankingEngine.nearness(1000.0));
+    }
+
+    @Test
+    public void venueWithoutSignalsScoresOnlyThePriors() {
+        double expected = RankingEngine.WEIGHT_RATING * PRIOR + RankingEngine.WEIGHT_OPEN * RankingEngine.UNKNOWN_OPEN;
+
+        assertEquals(expected, RankingEngine.scoreVenue(new VenueSignals(), 0), DELTA);
+    }
+
+    @Test
+    public void unratedVenueScoresLikeAnUnknownOne() {
+        VenueSignals unrated = new VenueSignals();
+        unrated.rating = -1f;
+        unrated.ratingSignals = -1L;
+
+        assertEquals(RankingEngine.scoreVenue(new VenueSignals(), 0), RankingEngine.scoreVenue(unrated, 0), DELTA);
+    }
+
+    @Test
+    public void scoreStaysWithinBounds() {
+        VenueSignals best = new VenueSignals();
+        best.rating = 10f;
+        best.ratingSignals = Long.MAX_VALUE / 1000;
+        best.checkinsCount = Long.MAX_VALUE / 1000;
+        best.isOpen = true;
+        best.distance = 0.0;
+        VenueSignals worst = new VenueSignals();
+        worst.rating = 0f;
+        worst.ratingSignals = 1000000L;
+        worst.checkinsCount = 0L;
+        worst.isOpen = false;
+        worst.distance = 1e9;
+
+        assertTrue(RankingEngine.scoreVenue(best, 5) <= 1 + DELTA);
+        assertTrue(RankingEngine.scoreVenue(worst, -5) >= 0);
+    }
+}
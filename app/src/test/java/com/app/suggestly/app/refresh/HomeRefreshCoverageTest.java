@@ -0,0 +1,120 @@
+package com.app.suggestly.app.refresh;
+
+import androidx.annotation.NonNull;
+
+import com.app.suggestly.app.model.foursquare.FoursquareResult;
+import com.app.suggestly.app.model.foursquare.TileCoverage;
+import com.app.suggestly.app.model.foursquare.Venue;
+import com.app.suggestly.app.room.TileCoverageDao;
+import com.app.suggestly.app.source.FoursquareSource;
+import com.app.suggestly.utility.Config;
+import com.app.suggestly.utility.TileGrid;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.rxjava3.core.Observable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HomeRefreshCoverageTest {
+    private static final double LAT = 40.7484;
+    private static final double LNG = -73.9857;
+    private static final double METERS_PER_DEGREE = 111195d;
+
+    private CountingFoursquareSource foursquareSource;
+    private HomeRefresh homeRefresh;
+
+    @Before
+    public void setUp() {
+        foursquareSource = new CountingFoursquareSource();
+        homeRefresh = new HomeRefresh(foursquareSource);
+        foursquareSource.createCoverage(LAT, LNG, Arrays.asList(Config.HOME_SECTIONS));
+    }
+
+    @Test
+    public void movingIntoANeighbouringTileMakesNoRequests() {
+        double step = TileGrid.TILE_SIZE_METERS / METERS_PER_DEGREE;
+        double[][] neighbours = {
+                {LAT + step, LNG}, {LAT - step, LNG},
+                {LAT, LNG + step * 1.4}, {LAT, LNG - step * 1.4},
+                {LAT + step, LNG + step * 1.4}
+        };
+
+        for(double[] neighbour : neighbours){
+            assertNotEquals(TileGrid.tileX(LAT, LNG) + "/" + TileGrid.tileY(LAT),
+                    TileGrid.tileX(neighbour[0], neighbour[1]) + "/" + TileGrid.tileY(neighbour[0]));
+
+            HomeRefreshProgress progress = homeRefresh.refresh(neighbour[0], neighbour[1]).blockingLast();
+
+            assertEquals(Config.HOME_SECTIONS.length, progress.coveredSections);
+        }
+        assertEquals(0, foursquareSource.requests.get());
+    }
+
+    @Test
+    public void leavingTheCoveringRadiusNeedsEverySection() {
+        double edge = Config.COVERAGE_RADIUS_METERS / METERS_PER_DEGREE;
+
+        assertTrue(foursquareSource.readUncoveredSections(LAT + edge * 0.99, LNG, Arrays.asList(Config.HOME_SECTIONS)).isEmpty());
+        assertEquals(Config.HOME_SECTIONS.length,
+                foursquareSource.readUncoveredSections(LAT + edge * 3, LNG, Arrays.asList(Config.HOME_SECTIONS)).size());
+    }
+
+    private static class CountingFoursquareSource extends FoursquareSource {
+        final AtomicInteger requests = new AtomicInteger();
+
+        CountingFoursquareSource(){
+            super(null, null, new MemoryTileCoverageDao(), null);
+        }
+
+        @Override
+        public Observable<List<Venue>> fetchGeneralFoursquareVenuesNearUserById(@NonNull Double latitude, @NonNull Double longitude, @NonNull String id) {
+            requests.incrementAndGet();
+            return Observable.just(new ArrayList<>());
+        }
+
+        @Override
+        public Observable<List<FoursquareResult>> fetchRecommendedFoursquareVenuesNearUser(@NonNull Double latitude, @NonNull Double longitude) {
+            requests.incrementAndGet();
+            return Observable.just(new ArrayList<>());
+        }
+    }
+
+    private static class MemoryTileCoverageDao extends TileCoverageDao {
+        private final List<TileCoverage> rows = new ArrayList<>();
+
+        @Override
+        public synchronized void createCoverage(List<TileCoverage> coverage) {
+            for(TileCoverage tile : coverage){
+                rows.removeIf(row -> row.tileX == tile.tileX && row.tileY == tile.tileY && row.section.equals(tile.section));
+                rows.add(tile);
+            }
+        }
+
+        @Override
+        public synchronized List<String> readCoveredSections(int tileX, int tileY, long minFetchedAt) {
+            List<String> sections = new ArrayList<>();
+            for(TileCoverage row : rows){
+                if(row.tileX == tileX && row.tileY == tileY && row.fetchedAt >= minFetchedAt){
+                    sections.add(row.section);
+                }
+            }
+            return sections;
+        }
+
+        @Override
+        public synchronized int deleteExpiredCoverage(long minFetchedAt) {
+            int before = rows.size();
+            rows.removeIf(row -> row.fetchedAt < minFetchedAt);
+            return before - rows.size();
+        }
+    }
+}
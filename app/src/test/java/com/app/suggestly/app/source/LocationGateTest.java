@@ -0,0 +1,37 @@
+package com.app.suggestly.app.source;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LocationGateTest {
+    private static final double LAT = 40.7484;
+    private static final double LNG = -73.9857;
+    // about 111 m of latitude
+    private static final double STEP = 0.001;
+
+    private final LocationGate gate = new LocationGate(new LocationGate.Thresholds(100, 30000, 1, 2));
+
+    @Test
+    public void fixesInsideTheThresholdsAreDropped() {
+        assertTrue(gate.accept(LAT, LNG, 0));
+        assertFalse(gate.accept(LAT + STEP / 10, LNG, 60000));
+        assertFalse(gate.accept(LAT + STEP, LNG, 10000));
+        assertTrue(gate.accept(LAT + STEP, LNG, 70000));
+    }
+
+    @Test
+    public void quietFixesSettleAMovingDevice() {
+        gate.accept(LAT, LNG, 0);
+        gate.accept(LAT + STEP, LNG, 10000);
+        assertTrue(gate.isMoving());
+
+        assertFalse(gate.settle(15000, 20000));
+        assertTrue(gate.isMoving());
+
+        assertTrue(gate.settle(30000, 20000));
+        assertFalse(gate.isMoving());
+        assertFalse(gate.settle(60000, 20000));
+    }
+}
@@ -0,0 +1,58 @@
+package com.app.suggestly.app.subscription;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SubscriptionScopeTest {
+
+    @Test
+    public void releasedSubscriptionsLeaveTheCountWhereItStarted() {
+        int before = SubscriptionScope.liveSubscriptionCount();
+        SubscriptionScope scope = new SubscriptionScope("test");
+
+        Disposable disposable = scope.track(Single.just(true).subscribe());
+        assertEquals(before + 1, SubscriptionScope.liveSubscriptionCount());
+
+        scope.release(disposable);
+        assertEquals(0, scope.size());
+        assertEquals(before, SubscriptionScope.liveSubscriptionCount());
+    }
+
+    @Test
+    public void disposeCancelsQueriesThatNeverComplete() {
+        int before = SubscriptionScope.liveSubscriptionCount();
+        SubscriptionScope scope = new SubscriptionScope("test");
+        PublishSubject<String> table = PublishSubject.create();
+        AtomicBoolean cancelled = new AtomicBoolean(false);
+
+        scope.track(table.subscribe());
+        scope.track(Observable.never().doOnDispose(() -> cancelled.set(true)).subscribe());
+        assertEquals(before + 2, SubscriptionScope.liveSubscriptionCount());
+
+        scope.dispose();
+        assertFalse(table.hasObservers());
+        assertTrue(cancelled.get());
+        assertEquals(before, SubscriptionScope.liveSubscriptionCount());
+    }
+
+    @Test
+    public void trackAfterDisposeCancelsImmediately() {
+        int before = SubscriptionScope.liveSubscriptionCount();
+        SubscriptionScope scope = new SubscriptionScope("test");
+        scope.dispose();
+
+        Disposable disposable = scope.track(Observable.never().subscribe());
+        assertTrue(disposable.isDisposed());
+        assertEquals(before, SubscriptionScope.liveSubscriptionCount());
+    }
+}
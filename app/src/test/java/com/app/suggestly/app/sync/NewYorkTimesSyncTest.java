@@ -0,0 +1,60 @@
+package com.app.suggestly.app.sync;
+
+import com.app.suggestly.app.model.nyt.BookListSync;
+import com.app.suggestly.utility.Config;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class NewYorkTimesSyncTest {
+    private static final long RECHECK = TimeUnit.HOURS.toMillis(NewYorkTimesSync.RECHECK_HOURS);
+    // 2021-06-20T00:00 in New York
+    private static final long JUNE_20 = 1624161600000L;
+
+    @Test
+    public void listIsDueOnItsNextPublishedDate() {
+        BookListSync list = new BookListSync(Config.HARD_COVER_FICTION, "2021-06-20", JUNE_20 - TimeUnit.DAYS.toMillis(3));
+
+        assertEquals(JUNE_20, NewYorkTimesSync.dueAt(list));
+    }
+
+    @Test
+    public void listCheckedAfterItsNextPublishedDateWaitsForTheRecheck() {
+        long checkedAt = JUNE_20 + TimeUnit.HOURS.toMillis(2);
+        BookListSync list = new BookListSync(Config.HARD_COVER_FICTION, "2021-06-20", checkedAt);
+
+        assertEquals(checkedAt + RECHECK, NewYorkTimesSync.dueAt(list));
+    }
+
+    @Test
+    public void listWithoutADateWaitsForTheRecheck() {
+        BookListSync list = new BookListSync(Config.HARD_COVER_FICTION, null, JUNE_20);
+
+        assertEquals(JUNE_20 + RECHECK, NewYorkTimesSync.dueAt(list));
+    }
+
+    @Test
+    public void neverCheckedListIsDue() {
+        BookListSync fiction = new BookListSync(Config.HARD_COVER_FICTION, "2021-06-20", JUNE_20);
+
+        assertEquals(0, NewYorkTimesSync.dueAt(Collections.singletonList(fiction)));
+        assertEquals(0, NewYorkTimesSync.dueAt(new ArrayList<>()));
+    }
+
+    @Test
+    public void earliestListDecides() {
+        List<BookListSync> lists = Arrays.asList(
+                new BookListSync(Config.HARD_COVER_FICTION, "2021-06-27", JUNE_20),
+                new BookListSync(Config.HARD_COVER_NON_FICTION, "2021-06-20", JUNE_20 - TimeUnit.DAYS.toMillis(1)));
+
+        assertEquals(JUNE_20 + TimeUnit.DAYS.toMillis(7), NewYorkTimesSync.dueAt(lists.get(0)));
+        assertEquals(JUNE_20, NewYorkTimesSync.dueAt(lists));
+    }
+}
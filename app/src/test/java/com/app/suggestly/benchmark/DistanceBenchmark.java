@@ -0,0 +1,78 @@
+package com.app.suggestly.benchmark;
+
+import com.app.suggestly.utility.DistanceCalculator;
+import com.app.suggestly.utility.DistanceKernel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Throughput of one origin against a table's worth of venues: the scalar calculator the app
+ * used per venue, the batch haversine kernel, and the equirectangular kernel. Points are
+ * scattered within radiusMeters of a Manhattan origin, the way a Foursquare result set is.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DistanceBenchmark {
+    static final double ORIGIN_LAT = 40.7580;
+    static final double ORIGIN_LNG = -73.9855;
+
+    @Param({"100", "1000", "10000"})
+    public int count;
+
+    @Param({"5000", "100000"})
+    public double radiusMeters;
+
+    double[] lats;
+    double[] lngs;
+    double[] out;
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        lats = new double[count];
+        lngs = new double[count];
+        out = new double[count];
+        scatter(new Random(42), ORIGIN_LAT, ORIGIN_LNG, radiusMeters, lats, lngs);
+    }
+
+    @Benchmark
+    public double[] scalarCalculator(){
+        for(int i = 0; i < count; i++){
+            out[i] = DistanceCalculator.distanceMeter(lats[i], ORIGIN_LAT, lngs[i], ORIGIN_LNG);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public double[] batchHaversine(){
+        DistanceKernel.haversineMeters(ORIGIN_LAT, ORIGIN_LNG, lats, lngs, out, count);
+        return out;
+    }
+
+    @Benchmark
+    public double[] batchEquirectangular(){
+        DistanceKernel.equirectangularMeters(ORIGIN_LAT, ORIGIN_LNG, lats, lngs, out, count);
+        return out;
+    }
+
+    static void scatter(Random random, double originLat, double originLng, double radiusMeters, double[] lats, double[] lngs){
+        double metersPerDegree = DistanceKernel.EARTH_RADIUS_METERS * Math.PI / 180d;
+        for(int i = 0; i < lats.length; i++){
+            double bearing = random.nextDouble() * 2d * Math.PI;
+            double meters = Math.sqrt(random.nextDouble()) * radiusMeters;
+            lats[i] = originLat + meters * Math.cos(bearing) / metersPerDegree;
+            lngs[i] = originLng + meters * Math.sin(bearing) / (metersPerDegree * Math.cos(Math.toRadians(originLat)));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.app.suggestly.benchmark;
+
+import com.app.suggestly.utility.DistanceCalculator;
+import com.app.suggestly.utility.DistanceKernel;
+
+import org.junit.Test;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/*
+ * The accuracy checks always run. The JMH run is opt-in because it takes minutes:
+ *
+ *   ./gradlew :app:testDebugUnitTest --tests '*DistanceBenchmarkTest' -Djmh.run=true
+ *
+ * It runs in the test JVM (forks(0)) since the Android module has no standalone benchmark jar;
+ * app/build.gradle forwards jmh.run to that JVM.
+ */
+public class DistanceBenchmarkTest {
+    private static final int POINTS = 20000;
+
+    @Test
+    public void batchHaversineMatchesCalculator(){
+        double[] lats = new double[POINTS];
+        double[] lngs = new double[POINTS];
+        double[] out = new double[POINTS];
+        DistanceBenchmark.scatter(new Random(7), DistanceBenchmark.ORIGIN_LAT, DistanceBenchmark.ORIGIN_LNG, 500000d, lats, lngs);
+
+        DistanceKernel.haversineMeters(DistanceBenchmark.ORIGIN_LAT, DistanceBenchmark.ORIGIN_LNG, lats, lngs, out, POINTS);
+        for(int i = 0; i < POINTS; i++){
+            double expected = DistanceCalculator.distanceMeter(lats[i], DistanceBenchmark.ORIGIN_LAT, lngs[i], DistanceBenchmark.ORIGIN_LNG);
+            assertEquals(expected, out[i], 1e-6);
+        }
+    }
+
+    @Test
+    public void equirectangularStaysWithinBound(){
+        Random random = new Random(11);
+        double[] lats = new double[POINTS];
+        double[] lngs = new double[POINTS];
+        double[] exact = new double[POINTS];
+        double[] approximate = new double[POINTS];
+        double worst = 0;
+
+        for(double originLat = -DistanceKernel.EQUIRECTANGULAR_MAX_LATITUDE; originLat <= DistanceKernel.EQUIRECTANGULAR_MAX_LATITUDE; originLat += 10d){
+            double originLng = random.nextDouble() * 360d - 180d;
+            assertTrue(DistanceKernel.isEquirectangularSafe(originLat, DistanceKernel.EQUIRECTANGULAR_MAX_METERS));
+            DistanceBenchmark.scatter(random, originLat, originLng, DistanceKernel.EQUIRECTANGULAR_MAX_METERS, lats, lngs);
+
+            DistanceKernel.haversineMeters(originLat, originLng, lats, lngs, exact, POINTS);
+            DistanceKernel.equirectangularMeters(originLat, originLng, lats, lngs, approximate, POINTS);
+            for(int i = 0; i < POINTS; i++){
+                if(exact[i] > 1d){
+                    worst = Math.max(worst, Math.abs(approximate[i] - exact[i]) / exact[i]);
+                }
+            }
+        }
+
+        assertTrue("worst relative error " + worst, worst < DistanceKernel.EQUIRECTANGULAR_MAX_RELATIVE_ERROR);
+    }
+
+    @Test
+    public void equirectangularWrapsAntimeridian(){
+        double[] lats = {0d};
+        double[] lngs = {-179.9d};
+        double[] out = new double[1];
+        DistanceKernel.equirectangularMeters(0d, 179.9d, lats, lngs, out, 1);
+        assertEquals(DistanceKernel.haversineMeters(0d, 179.9d, 0d, -179.9d), out[0], 1d);
+    }
+
+    @Test
+    public void runBenchmarks() throws Exception {
+        assumeTrue(Boolean.getBoolean("jmh.run"));
+
+        Options options = new OptionsBuilder()
+                .include(DistanceBenchmark.class.getSimpleName())
+                .forks(0)
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .build();
+        new Runner(options).run();
+    }
+}
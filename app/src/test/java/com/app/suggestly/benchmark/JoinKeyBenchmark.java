@@ -0,0 +1,238 @@
+package com.app.suggestly.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * The joins the app runs against venues, categories and the relation tables, once over the
+ * schema keyed by 24 character Foursquare ids ("text") and once over the integer rowid keys
+ * ("integer"). Both databases hold the same rows. The relation tables live in an attached
+ * database so their page count can be compared on its own.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JoinKeyBenchmark {
+    static final int CATEGORIES = 400;
+    static final int VENUES = 5000;
+    static final int SAVED = 500;
+    static final int SIBLINGS = 10;
+    static final String UID = "user";
+
+    static final String[] TEXT_SCHEMA = {
+            "CREATE TABLE Category(category_id TEXT NOT NULL PRIMARY KEY, category_name TEXT)",
+            "CREATE TABLE Venue(id TEXT NOT NULL PRIMARY KEY, venue_category_id TEXT NOT NULL, venue_name TEXT, venue_rank REAL NOT NULL)",
+            "CREATE INDEX index_Venue_venue_rank ON Venue(venue_rank)",
+            "CREATE TABLE rel.UserSavedVenue(uid TEXT NOT NULL, vid TEXT NOT NULL, is_saved INTEGER NOT NULL, is_favorite INTEGER NOT NULL, PRIMARY KEY(uid, vid))",
+            "CREATE TABLE rel.SimilarVenues(ownerId TEXT NOT NULL, siblingId TEXT NOT NULL, PRIMARY KEY(ownerId, siblingId))"
+    };
+
+    static final String[] INTEGER_SCHEMA = {
+            "CREATE TABLE Category(category_key INTEGER PRIMARY KEY AUTOINCREMENT, category_id TEXT NOT NULL, category_name TEXT)",
+            "CREATE UNIQUE INDEX index_Category_category_id ON Category(category_id)",
+            "CREATE TABLE Venue(venue_key INTEGER PRIMARY KEY AUTOINCREMENT, id TEXT NOT NULL, venue_category_id TEXT NOT NULL, venue_category_key INTEGER NOT NULL, venue_name TEXT, venue_rank REAL NOT NULL)",
+            "CREATE UNIQUE INDEX index_Venue_id ON Venue(id)",
+            "CREATE INDEX index_Venue_venue_rank ON Venue(venue_rank)",
+            "CREATE TABLE rel.UserSavedVenue(uid TEXT NOT NULL, venue_key INTEGER NOT NULL, is_saved INTEGER NOT NULL, is_favorite INTEGER NOT NULL, PRIMARY KEY(uid, venue_key))",
+            "CREATE TABLE rel.SimilarVenues(owner_key INTEGER NOT NULL, sibling_key INTEGER NOT NULL, PRIMARY KEY(owner_key, sibling_key))"
+    };
+
+    static final String TEXT_RANKED = "SELECT * FROM Venue v JOIN Category c ON(v.venue_category_id = c.category_id) ORDER BY venue_rank DESC LIMIT 100";
+    static final String INTEGER_RANKED = "SELECT * FROM Venue v JOIN Category c ON(v.venue_category_key = c.category_key) ORDER BY venue_rank DESC LIMIT 100";
+
+    static final String TEXT_SAVED = "SELECT * FROM Venue v JOIN Category c ON(v.venue_category_id = c.category_id)"
+            + " WHERE id IN (SELECT vid FROM UserSavedVenue WHERE is_saved=1 AND uid=?)";
+    static final String INTEGER_SAVED = "SELECT * FROM Venue v JOIN Category c ON(v.venue_category_key = c.category_key)"
+            + " WHERE venue_key IN (SELECT venue_key FROM UserSavedVenue WHERE is_saved=1 AND uid=?)";
+
+    static final String TEXT_SIMILAR = "SELECT * FROM Venue v JOIN Category c ON(v.venue_category_id = c.category_id)"
+            + " WHERE id IN (SELECT siblingId FROM SimilarVenues WHERE ownerId=?)";
+    static final String INTEGER_SIMILAR = "SELECT * FROM Venue v JOIN Category c ON(v.venue_category_key = c.category_key)"
+            + " WHERE venue_key IN (SELECT sibling_key FROM SimilarVenues WHERE owner_key = (SELECT venue_key FROM Venue WHERE id = ?))";
+
+    static final String TEXT_AFFINITY = "SELECT v.venue_category_id AS category_id, SUM(s.is_saved + 2 * s.is_favorite) AS weight FROM UserSavedVenue s"
+            + " JOIN Venue v ON(v.id = s.vid) GROUP BY v.venue_category_id";
+    static final String INTEGER_AFFINITY = "SELECT v.venue_category_id AS category_id, SUM(s.is_saved + 2 * s.is_favorite) AS weight FROM UserSavedVenue s"
+            + " JOIN Venue v ON(v.venue_key = s.venue_key) GROUP BY v.venue_category_id";
+
+    @Param({"text", "integer"})
+    public String keys;
+
+    Connection connection;
+    PreparedStatement ranked;
+    PreparedStatement saved;
+    PreparedStatement similar;
+    PreparedStatement affinity;
+    String ownerId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        boolean isInteger = "integer".equals(keys);
+        connection = open(isInteger, new Random(42));
+        ranked = connection.prepareStatement(isInteger ? INTEGER_RANKED : TEXT_RANKED);
+        saved = connection.prepareStatement(isInteger ? INTEGER_SAVED : TEXT_SAVED);
+        similar = connection.prepareStatement(isInteger ? INTEGER_SIMILAR : TEXT_SIMILAR);
+        affinity = connection.prepareStatement(isInteger ? INTEGER_AFFINITY : TEXT_AFFINITY);
+        saved.setString(1, UID);
+        ownerId = venueId(0);
+        similar.setString(1, ownerId);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public int rankedVenues() throws SQLException {
+        return count(ranked);
+    }
+
+    @Benchmark
+    public int savedVenues() throws SQLException {
+        return count(saved);
+    }
+
+    @Benchmark
+    public int similarVenues() throws SQLException {
+        return count(similar);
+    }
+
+    @Benchmark
+    public int categoryAffinity() throws SQLException {
+        return count(affinity);
+    }
+
+    static Connection open(boolean isInteger, Random random) throws SQLException {
+        Connection connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        try(Statement statement = connection.createStatement()){
+            statement.execute("ATTACH DATABASE ':memory:' AS rel");
+            for(String sql : isInteger ? INTEGER_SCHEMA : TEXT_SCHEMA){
+                statement.execute(sql);
+            }
+        }
+        fill(connection, isInteger, random);
+        return connection;
+    }
+
+    static int count(PreparedStatement statement) throws SQLException {
+        int rows = 0;
+        try(ResultSet resultSet = statement.executeQuery()){
+            while(resultSet.next()){
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    static long pageCount(Connection connection, String schema) throws SQLException {
+        try(Statement statement = connection.createStatement();
+            ResultSet resultSet = statement.executeQuery("PRAGMA " + schema + ".page_count")){
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    // Foursquare ids are 24 hex characters; the same seed gives both schemas the same ids
+    static String venueId(int i){
+        return String.format("%08x%016x", 0x5a000000 + i, (long) i * 0x9E3779B97F4A7C15L);
+    }
+
+    static String categoryId(int i){
+        return String.format("%08x%016x", 0x4b000000 + i, (long) i * 0xC2B2AE3D27D4EB4FL);
+    }
+
+    private static void fill(Connection connection, boolean isInteger, Random random) throws SQLException {
+        connection.setAutoCommit(false);
+        int[] venueCategories = new int[VENUES];
+
+        try(PreparedStatement category = connection.prepareStatement(isInteger
+                ? "INSERT INTO Category(category_key, category_id, category_name) VALUES(?, ?, ?)"
+                : "INSERT INTO Category(category_id, category_name) VALUES(?, ?)")){
+            for(int i = 0; i < CATEGORIES; i++){
+                int column = 1;
+                if(isInteger){
+                    category.setLong(column++, i + 1);
+                }
+                category.setString(column++, categoryId(i));
+                category.setString(column, "category " + i);
+                category.executeUpdate();
+            }
+        }
+
+        try(PreparedStatement venue = connection.prepareStatement(isInteger
+                ? "INSERT INTO Venue(venue_key, id, venue_category_id, venue_category_key, venue_name, venue_rank) VALUES(?, ?, ?, ?, ?, ?)"
+                : "INSERT INTO Venue(id, venue_category_id, venue_name, venue_rank) VALUES(?, ?, ?, ?)")){
+            for(int i = 0; i < VENUES; i++){
+                venueCategories[i] = random.nextInt(CATEGORIES);
+                int column = 1;
+                if(isInteger){
+                    venue.setLong(column++, i + 1);
+                }
+                venue.setString(column++, venueId(i));
+                venue.setString(column++, categoryId(venueCategories[i]));
+                if(isInteger){
+                    venue.setLong(column++, venueCategories[i] + 1);
+                }
+                venue.setString(column++, "venue " + i);
+                venue.setDouble(column, random.nextDouble());
+                venue.executeUpdate();
+            }
+        }
+
+        try(PreparedStatement savedVenue = connection.prepareStatement(isInteger
+                ? "INSERT OR IGNORE INTO UserSavedVenue(uid, venue_key, is_saved, is_favorite) VALUES(?, ?, ?, ?)"
+                : "INSERT OR IGNORE INTO UserSavedVenue(uid, vid, is_saved, is_favorite) VALUES(?, ?, ?, ?)")){
+            for(int i = 0; i < SAVED; i++){
+                int v = random.nextInt(VENUES);
+                savedVenue.setString(1, UID);
+                if(isInteger){
+                    savedVenue.setLong(2, v + 1);
+                }else{
+                    savedVenue.setString(2, venueId(v));
+                }
+                savedVenue.setInt(3, 1);
+                savedVenue.setInt(4, random.nextInt(2));
+                savedVenue.executeUpdate();
+            }
+        }
+
+        try(PreparedStatement similarVenue = connection.prepareStatement(isInteger
+                ? "INSERT OR IGNORE INTO SimilarVenues(owner_key, sibling_key) VALUES(?, ?)"
+                : "INSERT OR IGNORE INTO SimilarVenues(ownerId, siblingId) VALUES(?, ?)")){
+            for(int owner = 0; owner < VENUES; owner += SIBLINGS){
+                for(int j = 1; j <= SIBLINGS; j++){
+                    int sibling = random.nextInt(VENUES);
+                    if(isInteger){
+                        similarVenue.setLong(1, owner + 1);
+                        similarVenue.setLong(2, sibling + 1);
+                    }else{
+                        similarVenue.setString(1, venueId(owner));
+                        similarVenue.setString(2, venueId(sibling));
+                    }
+                    similarVenue.executeUpdate();
+                }
+            }
+        }
+
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+}
@@ -0,0 +1,68 @@
+package com.app.suggestly.benchmark;
+
+import org.junit.Test;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/*
+ * The equivalence and size checks always run. The JMH run is opt-in like DistanceBenchmarkTest:
+ *
+ *   ./gradlew :app:testDebugUnitTest --tests '*JoinKeyBenchmarkTest' -Djmh.run=true
+ *
+ * and prints the per-query time for keys=text (before) and keys=integer (after). app/build.gradle
+ * forwards jmh.run to the test JVM.
+ */
+public class JoinKeyBenchmarkTest {
+
+    @Test
+    public void bothSchemasReturnTheSameRows() throws Exception {
+        try(Connection text = JoinKeyBenchmark.open(false, new Random(42));
+            Connection integer = JoinKeyBenchmark.open(true, new Random(42))){
+            assertEquals(rows(text, JoinKeyBenchmark.TEXT_RANKED, null), rows(integer, JoinKeyBenchmark.INTEGER_RANKED, null));
+            assertEquals(rows(text, JoinKeyBenchmark.TEXT_SAVED, JoinKeyBenchmark.UID), rows(integer, JoinKeyBenchmark.INTEGER_SAVED, JoinKeyBenchmark.UID));
+            assertEquals(rows(text, JoinKeyBenchmark.TEXT_SIMILAR, JoinKeyBenchmark.venueId(0)), rows(integer, JoinKeyBenchmark.INTEGER_SIMILAR, JoinKeyBenchmark.venueId(0)));
+            assertEquals(rows(text, JoinKeyBenchmark.TEXT_AFFINITY, null), rows(integer, JoinKeyBenchmark.INTEGER_AFFINITY, null));
+        }
+    }
+
+    @Test
+    public void integerKeysShrinkRelationTables() throws Exception {
+        try(Connection text = JoinKeyBenchmark.open(false, new Random(42));
+            Connection integer = JoinKeyBenchmark.open(true, new Random(42))){
+            long textPages = JoinKeyBenchmark.pageCount(text, "rel");
+            long integerPages = JoinKeyBenchmark.pageCount(integer, "rel");
+            assertTrue("relation pages text=" + textPages + " integer=" + integerPages, integerPages < textPages);
+        }
+    }
+
+    @Test
+    public void runBenchmarks() throws Exception {
+        assumeTrue(Boolean.getBoolean("jmh.run"));
+
+        Options options = new OptionsBuilder()
+                .include(JoinKeyBenchmark.class.getSimpleName())
+                .forks(0)
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .build();
+        new Runner(options).run();
+    }
+
+    private static int rows(Connection connection, String sql, String argument) throws Exception {
+        try(PreparedStatement statement = connection.prepareStatement(sql)){
+            if(argument != null){
+                statement.setString(1, argument);
+            }
+            return JoinKeyBenchmark.count(statement);
+        }
+    }
+}
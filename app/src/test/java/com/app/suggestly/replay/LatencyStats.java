@@ -0,0 +1,49 @@
+package com.app.suggestly.replay;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+public class LatencyStats {
+    private final String name;
+    private final List<Long> samples = new ArrayList<>();
+    private int failures;
+
+    public LatencyStats(String name){
+        this.name = name;
+    }
+
+    public synchronized void record(long millis){
+        samples.add(millis);
+    }
+
+    public synchronized void recordFailure(){
+        failures++;
+    }
+
+    public synchronized int count(){
+        return samples.size();
+    }
+
+    public synchronized int failures(){
+        return failures;
+    }
+
+    public synchronized long percentile(double percentile){
+        if(samples.isEmpty()){
+            return 0;
+        }
+
+        List<Long> sorted = new ArrayList<>(samples);
+        Collections.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+    }
+
+    public synchronized String summary(long wallMillis){
+        double throughput = wallMillis > 0 ? samples.size() * 1000.0 / wallMillis : 0;
+        return String.format(Locale.US, "%-14s n=%-4d failed=%-3d p50=%-5d p90=%-5d p99=%-5d %.1f ops/s",
+                name, samples.size(), failures, percentile(50), percentile(90), percentile(99), throughput);
+    }
+}
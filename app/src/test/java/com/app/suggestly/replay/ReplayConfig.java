@@ -0,0 +1,39 @@
+package com.app.suggestly.replay;
+
+/*
+ * Knobs for a replay run, read from system properties so the same driver can be pointed at
+ * different network conditions, e.g. ./gradlew test -Dreplay.run=true -Dreplay.latencyMs=400 -Dreplay.errorRate=0.05
+ * app/build.gradle forwards every replay.* property to the test JVM.
+ */
+public class ReplayConfig {
+    public final long latencyMs;
+    public final long bytesPerSecond;
+    public final double errorRate;
+    public final int iterations;
+    public final long seed;
+
+    public ReplayConfig(long latencyMs, long bytesPerSecond, double errorRate, int iterations, long seed){
+        this.latencyMs = latencyMs;
+        this.bytesPerSecond = bytesPerSecond;
+        this.errorRate = errorRate;
+        this.iterations = iterations;
+        this.seed = seed;
+    }
+
+    public static ReplayConfig fromSystemProperties(){
+        return new ReplayConfig(
+                Long.getLong("replay.latencyMs", 50),
+                Long.getLong("replay.bytesPerSecond", 0),
+                Double.parseDouble(System.getProperty("replay.errorRate", "0")),
+                Integer.getInteger("replay.iterations", 10),
+                Long.getLong("replay.seed", 42));
+    }
+
+    @Override
+    public String toString() {
+        return "latency=" + latencyMs + "ms"
+                + " bandwidth=" + (bytesPerSecond > 0 ? bytesPerSecond + "B/s" : "unlimited")
+                + " errorRate=" + errorRate
+                + " iterations=" + iterations;
+    }
+}
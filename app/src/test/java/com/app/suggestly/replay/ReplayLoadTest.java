@@ -0,0 +1,184 @@
+package com.app.suggestly.replay;
+
+import com.app.suggestly.app.model.foursquare.Venue;
+import com.app.suggestly.app.model.google.GeocodeResponse;
+import com.app.suggestly.app.model.nyt.Book;
+import com.app.suggestly.app.network.retrofit.CircuitBreaker;
+import com.app.suggestly.app.network.retrofit.FoursquareService;
+import com.app.suggestly.app.network.retrofit.GoogleManager;
+import com.app.suggestly.app.network.retrofit.GoogleService;
+import com.app.suggestly.app.network.retrofit.NewYorkTimesService;
+import com.app.suggestly.app.network.retrofit.ServiceFactory;
+import com.app.suggestly.app.refresh.HomeRefresh;
+import com.app.suggestly.app.refresh.HomeRefreshProgress;
+import com.app.suggestly.app.scheduler.InstrumentedExecutor;
+import com.app.suggestly.app.scheduler.SuggestlySchedulers;
+import com.app.suggestly.app.source.FoursquareSource;
+import com.app.suggestly.app.source.NewYorkTimesSource;
+import com.app.suggestly.app.source.SearchSource;
+import com.app.suggestly.app.sync.NewYorkTimesSync;
+import com.app.suggestly.utility.Config;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/*
+ * Drives the ingest, search and detail flows against a local replay server so throughput and
+ * tail latency can be compared between changes without touching the real APIs. Room and the
+ * Places SDK need a device, so the flows stop at the source layer: writes are counted instead
+ * of committed and geocoding goes straight through GoogleService.
+ *
+ * The run is opt-in like the benchmarks, and its summary is written to REPORT_FILE:
+ *
+ *   ./gradlew :app:testDebugUnitTest --tests '*ReplayLoadTest' -Dreplay.run=true -Dreplay.latencyMs=400
+ */
+public class ReplayLoadTest {
+    private static final double LAT = 40.7484;
+    private static final double LNG = -73.9857;
+    private static final String VENUE_ID = "49b7ed6df964a52030531fe3";
+    private static final String[] SEARCHES = {"pizza", "coffee", "park", "museum", "tacos"};
+
+    private static final Logger LOGGER = Logger.getLogger(ReplayLoadTest.class.getName());
+    private static final File REPORT_FILE = new File("build/reports/replay/replay.txt");
+
+    private final List<String> report = new ArrayList<>();
+    private ReplayConfig config;
+    private ReplayServer server;
+    private FoursquareService foursquareService;
+    private CountingFoursquareSource foursquareSource;
+
+    @Before
+    public void setUp() throws Exception {
+        assumeTrue(Boolean.getBoolean("replay.run"));
+        config = ReplayConfig.fromSystemProperties();
+        server = new ReplayServer(config);
+        server.start();
+        ServiceFactory.overrideBaseUrl(server.baseUrl());
+
+        foursquareService = ServiceFactory.getFoursquareClient(Config.FOURSQUARE_BASE_URL, FoursquareService.class);
+        foursquareSource = new CountingFoursquareSource(foursquareService);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if(server == null){
+            return;
+        }
+        ServiceFactory.overrideBaseUrl(null);
+        server.shutdown();
+        REPORT_FILE.getParentFile().mkdirs();
+        Files.write(REPORT_FILE.toPath(), report, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void replayUserFlows() {
+        report("replay " + config);
+
+        LatencyStats ingest = new LatencyStats("ingest");
+        long start = System.currentTimeMillis();
+        HomeRefresh homeRefresh = new HomeRefresh(foursquareSource);
+        for(int i = 0; i < config.iterations; i++){
+            long requestStart = System.currentTimeMillis();
+            HomeRefreshProgress progress = homeRefresh.refresh(LAT, LNG).blockingLast();
+            ingest.record(System.currentTimeMillis() - requestStart);
+            assertTrue(progress.isComplete());
+        }
+        report(ingest.summary(System.currentTimeMillis() - start));
+
+        SearchSource searchSource = new SearchSource(null, foursquareService);
+        LatencyStats search = run("search", i -> searchSource.fetchVenueSearch(LAT, LNG, SEARCHES[i % SEARCHES.length]).blockingFirst());
+
+        LatencyStats details = run("details", i -> {
+            Venue venue = foursquareSource.fetchFoursquareVenuesDetails(VENUE_ID).blockingFirst();
+            List<Venue> similar = foursquareSource.fetchSimilarFoursquareVenuesNearby(venue.venueId).blockingFirst();
+            assertTrue(similar.size() > 0);
+        });
+
+        NewYorkTimesSource newYorkTimesSource = new NewYorkTimesSource(
+                ServiceFactory.getNewYorkTimesClient(Config.NEW_YORK_TIMES_BASE_URL, NewYorkTimesService.class), null);
+        LatencyStats books = run("books", i -> {
+            List<Book> lists = newYorkTimesSource.fetchBestsellingOverview(NewYorkTimesSync.LISTS).blockingFirst();
+            assertTrue(lists.size() > 0);
+        });
+
+        GoogleService googleService = ServiceFactory.getGeoCodeClient(Config.GEO_CODING_BASE_URL, GoogleService.class);
+        LatencyStats geocode = run("geocode", i -> {
+            GeocodeResponse response = googleService.fetchCoordinatesUsingAddress(GoogleManager.buildQueryMap("350 5th Ave")).blockingFirst();
+            assertTrue(response.results.size() > 0);
+        });
+
+        for(CircuitBreaker.Metrics metrics : CircuitBreaker.snapshot()){
+            report("breaker " + metrics);
+        }
+        for(InstrumentedExecutor.Metrics metrics : SuggestlySchedulers.snapshot()){
+            report("pool " + metrics);
+        }
+        report("served=" + server.served() + " injectedErrors=" + server.injectedErrors()
+                + " missingFixtures=" + server.missing() + " venuesCommitted=" + foursquareSource.committed.get());
+
+        assertEquals(0, server.missing());
+        if(config.errorRate == 0){
+            assertEquals(0, ingest.failures() + search.failures() + details.failures() + books.failures() + geocode.failures());
+        }
+    }
+
+    private void report(String line){
+        report.add(line);
+        LOGGER.info(line);
+    }
+
+    private LatencyStats run(String name, Flow flow){
+        LatencyStats stats = new LatencyStats(name);
+        long start = System.currentTimeMillis();
+        for(int i = 0; i < config.iterations; i++){
+            long requestStart = System.currentTimeMillis();
+            try{
+                flow.run(i);
+                stats.record(System.currentTimeMillis() - requestStart);
+            }catch (RuntimeException e){
+                stats.recordFailure();
+            }
+        }
+        report(stats.summary(System.currentTimeMillis() - start));
+        return stats;
+    }
+
+    private interface Flow {
+        void run(int iteration);
+    }
+
+    private static class CountingFoursquareSource extends FoursquareSource {
+        final AtomicInteger committed = new AtomicInteger();
+
+        CountingFoursquareSource(FoursquareService foursquareService){
+            super(null, null, null, foursquareService);
+        }
+
+        @Override
+        public void createVenues(List<Venue> venues) {
+            committed.addAndGet(venues.size());
+        }
+
+        @Override
+        public List<String> readUncoveredSections(double lat, double lng, List<String> sections) {
+            return sections;
+        }
+
+        @Override
+        public void createCoverage(double lat, double lng, List<String> sections) {
+        }
+    }
+}
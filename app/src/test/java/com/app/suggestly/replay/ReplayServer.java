@@ -0,0 +1,139 @@
+package com.app.suggestly.replay;
+
+import com.app.suggestly.app.network.retrofit.FixtureNaming;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import okio.Buffer;
+
+/*
+ * Serves fixtures recorded by RecordingInterceptor (or written by hand) from the test
+ * classpath. A request is matched by its exact fixture name first, then by path, then by one
+ * of the templates below so that a single fixture covers every venue id or list name.
+ */
+public class ReplayServer extends Dispatcher {
+    private static final String FIXTURE_ROOT = "/fixtures/";
+    private static final Map<String, String> TEMPLATES = new LinkedHashMap<>();
+    static {
+        TEMPLATES.put("/v2/venues/[^/]+/similar", "GET_v2_venues_similar");
+        TEMPLATES.put("/v2/venues/(?!search$|categories$)[^/]+", "GET_v2_venues_details");
+        TEMPLATES.put("/svc/books/v3/lists/current/[^/]+\\.json", "GET_svc_books_v3_lists_current");
+    }
+
+    private final MockWebServer server = new MockWebServer();
+    private final ReplayConfig config;
+    private final Random random;
+    private final AtomicInteger served = new AtomicInteger();
+    private final AtomicInteger injectedErrors = new AtomicInteger();
+    private final AtomicInteger missing = new AtomicInteger();
+
+    public ReplayServer(ReplayConfig config){
+        this.config = config;
+        this.random = new Random(config.seed);
+        server.setDispatcher(this);
+    }
+
+    public void start() throws IOException {
+        server.start();
+    }
+
+    public void shutdown() throws IOException {
+        server.shutdown();
+    }
+
+    public String baseUrl(){
+        return server.url("/").toString();
+    }
+
+    public int served(){
+        return served.get();
+    }
+
+    public int injectedErrors(){
+        return injectedErrors.get();
+    }
+
+    public int missing(){
+        return missing.get();
+    }
+
+    @NotNull
+    @Override
+    public MockResponse dispatch(@NotNull RecordedRequest request) {
+        if(shouldFail()){
+            injectedErrors.incrementAndGet();
+            return random.nextBoolean()
+                    ? new MockResponse().setResponseCode(500)
+                    : new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START);
+        }
+
+        byte[] body = findFixture(request);
+        if(body == null){
+            missing.incrementAndGet();
+            return new MockResponse().setResponseCode(404);
+        }
+
+        served.incrementAndGet();
+        MockResponse response = new MockResponse()
+                .setHeader("Content-Type", "application/json")
+                .setBody(new Buffer().write(body))
+                .setBodyDelay(config.latencyMs, TimeUnit.MILLISECONDS);
+        if(config.bytesPerSecond > 0){
+            response.throttleBody(config.bytesPerSecond, 1, TimeUnit.SECONDS);
+        }
+        return response;
+    }
+
+    private synchronized boolean shouldFail(){
+        return config.errorRate > 0 && random.nextDouble() < config.errorRate;
+    }
+
+    private byte[] findFixture(RecordedRequest request){
+        HttpUrl url = request.getRequestUrl();
+        if(url == null){
+            return null;
+        }
+
+        String method = request.getMethod();
+        byte[] body = readFixture(FixtureNaming.fullName(method, url));
+        if(body == null){
+            body = readFixture(FixtureNaming.pathName(method, url));
+        }
+        if(body == null){
+            for(Map.Entry<String, String> template : TEMPLATES.entrySet()){
+                if(url.encodedPath().matches(template.getKey())){
+                    body = readFixture(template.getValue());
+                    break;
+                }
+            }
+        }
+        return body;
+    }
+
+    private static byte[] readFixture(String name){
+        try(InputStream inputStream = ReplayServer.class.getResourceAsStream(FIXTURE_ROOT + name + ".json")){
+            if(inputStream == null){
+                return null;
+            }
+            Buffer buffer = new Buffer();
+            buffer.readFrom(inputStream);
+            return buffer.readByteArray();
+        }catch (IOException e){
+            return null;
+        }
+    }
+}